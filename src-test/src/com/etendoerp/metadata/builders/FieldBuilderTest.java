@@ -33,6 +33,8 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Method;
@@ -85,6 +87,8 @@ import org.openbravo.userinterface.selector.Selector;
 import org.openbravo.userinterface.selector.SelectorField;
 
 import com.etendoerp.etendorx.utils.DataSourceUtils;
+import com.etendoerp.metadata.cache.ReferenceListCache;
+import com.etendoerp.metadata.cache.SelectorMetadataCache;
 import com.etendoerp.metadata.data.ReferenceSelectors;
 import com.etendoerp.metadata.utils.Constants;
 
@@ -136,8 +140,6 @@ class FieldBuilderTest {
   private static final String PROC_ID = "proc-id";
   private static final String CONTEXT = "context";
   private static final String TEST_FIELD_ID = "test-field-id";
-  private static final String RECORD_ID = "record-id";
-  private static final String RECORD_NAME = "record-name";
   private static final String DATASOURCE_FIELD = "datasource.field";
   private static final String DATASOURCE_FIELD_DOLLAR = "datasource$field";
   private static final String VALUE_PROPERTY = "valueProperty";
@@ -175,6 +177,8 @@ class FieldBuilderTest {
    */
   @BeforeEach
   void setUp() {
+    ReferenceListCache.clear();
+    SelectorMetadataCache.clear();
     when(field.getColumn()).thenReturn(column);
     when(field.getTab()).thenReturn(tab);
     when(field.getId()).thenReturn(FIELD_ID);
@@ -937,10 +941,8 @@ class FieldBuilderTest {
   }
 
   /**
-   * Tests the addComboTableSelectorInfo method.
-   * This test ensures that the method can correctly generate combo table selector
-   * information
-   * by mocking all necessary Openbravo infrastructure and dependencies.
+   * Tests that combo table selectors of process parameters point to the combo data endpoint
+   * instead of embedding the combo values, and that no combo query runs while building them.
    *
    * @throws JSONException if there is an error during JSON construction
    */
@@ -948,50 +950,25 @@ class FieldBuilderTest {
   void testAddComboTableSelectorInfo() throws JSONException {
     ProcessParameter processParameter = mock(ProcessParameter.class);
     Reference ref = mock(Reference.class);
-    Validation validation = mock(Validation.class);
     Process processMock = mock(Process.class);
-    VariablesSecureApp vars = mock(VariablesSecureApp.class);
-    RequestContext requestContext = mock(RequestContext.class);
-    DalConnectionProvider connProvider = mock(DalConnectionProvider.class);
-    FieldProvider fieldProvider = mock(FieldProvider.class);
 
     try (MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class);
-        MockedStatic<DalConnectionProvider> dalConnStatic = mockStatic(DalConnectionProvider.class);
-        MockedStatic<RequestContext> requestContextStatic = mockStatic(RequestContext.class);
-        MockedStatic<Utility> utilityStatic = mockStatic(Utility.class);
-        MockedConstruction<ComboTableData> comboTableDataMockedConstruction = mockConstruction(ComboTableData.class,
-            (mock, context) -> when(mock.select(false)).thenReturn(new FieldProvider[] { fieldProvider }))) {
+        MockedConstruction<ComboTableData> comboTableDataMockedConstruction = mockConstruction(
+            ComboTableData.class)) {
 
       OBDal obDal = mock(OBDal.class);
       obDalStatic.when(OBDal::getInstance).thenReturn(obDal);
       when(obDal.get(ProcessParameter.class, TEST_FIELD_ID)).thenReturn(processParameter);
-
       when(processParameter.getReference()).thenReturn(ref);
-      when(ref.getId()).thenReturn(REF_ID);
-      when(processParameter.getDBColumnName()).thenReturn(COLUMN_NAME);
-      when(processParameter.getValidation()).thenReturn(validation);
-      when(validation.getId()).thenReturn(VAL_ID);
       when(processParameter.getProcess()).thenReturn(processMock);
-      when(processMock.getId()).thenReturn(PROC_ID);
-
-      dalConnStatic.when(DalConnectionProvider::getReadOnlyConnectionProvider).thenReturn(connProvider);
-      requestContextStatic.when(RequestContext::get).thenReturn(requestContext);
-      when(requestContext.getVariablesSecureApp()).thenReturn(vars);
-
-      utilityStatic.when(() -> Utility.getContext(any(), any(), anyString(), anyString())).thenReturn(CONTEXT);
-
-      when(fieldProvider.getField("ID")).thenReturn(RECORD_ID);
-      when(fieldProvider.getField("NAME")).thenReturn(RECORD_NAME);
 
       JSONObject result = FieldBuilder.getSelectorInfo(TEST_FIELD_ID, null);
 
       assertNotNull(result);
       assertEquals(Constants.TABLE_DATASOURCE, result.getString(Constants.DATASOURCE_PROPERTY));
-      JSONArray responseValues = result.getJSONArray(Constants.RESPONSE_VALUES);
-      assertEquals(1, responseValues.length());
-      JSONObject entry = responseValues.getJSONObject(0);
-      assertEquals(RECORD_ID, entry.getString("id"));
-      assertEquals(RECORD_NAME, entry.getString("name"));
+      assertEquals(Constants.COMBO_PATH + TEST_FIELD_ID, result.getString(Constants.COMBO_DATA_PATH_PROPERTY));
+      assertFalse(result.has(Constants.RESPONSE_VALUES));
+      assertTrue(comboTableDataMockedConstruction.constructed().isEmpty());
     }
   }
 
@@ -1023,35 +1000,6 @@ class FieldBuilderTest {
     }
   }
 
-  /**
-   * Tests the addComboTableSelectorInfo method when an exception occurs.
-   */
-  @Test
-  void testAddComboTableSelectorInfoWithException() {
-    ProcessParameter processParameter = mock(ProcessParameter.class);
-    Process processMock = mock(Process.class);
-    Reference ref = mock(Reference.class);
-
-    try (MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class);
-        MockedStatic<DalConnectionProvider> dalConnStatic = mockStatic(DalConnectionProvider.class)) {
-
-      OBDal obDal = mock(OBDal.class);
-      obDalStatic.when(OBDal::getInstance).thenReturn(obDal);
-      when(obDal.get(ProcessParameter.class, TEST_FIELD_ID)).thenReturn(processParameter);
-
-      // Configure processParameter to return non-null values so code reaches
-      // try-catch block
-      when(processParameter.getProcess()).thenReturn(processMock);
-      when(processParameter.getReference()).thenReturn(ref);
-
-      dalConnStatic.when(DalConnectionProvider::getReadOnlyConnectionProvider)
-          .thenThrow(new RuntimeException("DB Error"));
-
-      assertThrows(org.openbravo.base.exception.OBException.class,
-          () -> FieldBuilder.getSelectorInfo(TEST_FIELD_ID, null));
-    }
-  }
-
   /**
    * Tests that addSelectorInfo correctly generates selector properties with
    * display and value fields.
@@ -1649,6 +1597,24 @@ class FieldBuilderTest {
     }
   }
 
+  /**
+   * Tests that getListInfo reuses the cached entries of a reference and language
+   * instead of loading the list again.
+   */
+  @Test
+  void testGetListInfoReusesCachedEntries() throws JSONException {
+    org.openbravo.model.ad.domain.List listItem = mock(org.openbravo.model.ad.domain.List.class);
+    when(listItem.getId()).thenReturn(LIST_ID_STRING);
+    when(listItem.getSearchKey()).thenReturn("searchKey");
+    when(reference.getADListList()).thenReturn(List.of(listItem));
+
+    FieldBuilder.getListInfo(reference, language);
+    JSONArray result = FieldBuilder.getListInfo(reference, language);
+
+    assertEquals(1, result.length());
+    verify(reference, times(1)).getADListList();
+  }
+
   /**
    * Tests getListInfo with empty list.
    */
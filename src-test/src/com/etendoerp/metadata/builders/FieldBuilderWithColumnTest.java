@@ -21,7 +21,6 @@ import static com.etendoerp.metadata.builders.FieldBuilderWithColumnTestHelpers.
 import static com.etendoerp.metadata.builders.FieldBuilderWithColumnTestHelpers.mockDataToJsonConverter;
 import static com.etendoerp.metadata.builders.FieldBuilderWithColumnTestHelpers.setJson;
 import static com.etendoerp.metadata.builders.FieldBuilderWithColumnTestHelpers.setupOBDalWithTabCriteria;
-import static com.etendoerp.metadata.builders.FieldBuilderWithColumnTestHelpers.setupWindowAccessMocks;
 import static com.etendoerp.metadata.MetadataTestConstants.LIST_ID;
 import static com.etendoerp.metadata.MetadataTestConstants.REF_LIST;
 import static com.etendoerp.metadata.MetadataTestConstants.TABLE_ID;
@@ -32,7 +31,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -41,7 +39,7 @@ import static org.mockito.Answers.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -85,13 +83,15 @@ import org.openbravo.model.ad.ui.Window;
 import org.openbravo.service.json.DataResolvingMode;
 import org.openbravo.service.json.DataToJsonConverter;
 
-import java.util.Map;
 
 import org.openbravo.model.ad.domain.ReferencedTree;
 import org.openbravo.userinterface.selector.Selector;
 import org.openbravo.userinterface.selector.SelectorField;
 
 import com.etendoerp.etendorx.utils.DataSourceUtils;
+import com.etendoerp.metadata.cache.RoleAccessMatrix;
+import com.etendoerp.metadata.cache.ReferenceListCache;
+import com.etendoerp.metadata.cache.SelectorMetadataCache;
 import com.etendoerp.metadata.data.ReferenceSelectors;
 import com.etendoerp.metadata.utils.Constants;
 import com.etendoerp.metadata.utils.LegacyUtils;
@@ -143,7 +143,6 @@ class FieldBuilderWithColumnTest {
     private static final String WINDOW_ID_STRING = "window-id";
     private static final String ROLE_ID_STRING = "role-id";
 
-    private static final String METH_CHECK_ACCESS_IN_DB = "checkAccessInDB";
     private static final String METH_IS_WINDOW_ACCESSIBLE = "isWindowAccessible";
     private static final String METH_ADD_LINK_ACCESSIBILITY = "addLinkAccessibilityInfo";
 
@@ -159,6 +158,8 @@ class FieldBuilderWithColumnTest {
 
     @BeforeEach
     void setUp() {
+        ReferenceListCache.clear();
+        SelectorMetadataCache.clear();
         when(field.getId()).thenReturn(FIELD_ID);
         when(field.getColumn()).thenReturn(column);
         when(field.getTab()).thenReturn(tab);
@@ -182,37 +183,26 @@ class FieldBuilderWithColumnTest {
         when(tabEntity.getTableId()).thenReturn(TABLE_ID);
 
         when(obContext.getLanguage()).thenReturn(language);
-
-        // Clear static cache via reflection
-        try {
-            java.lang.reflect.Field cacheField = FieldBuilderWithColumn.class.getDeclaredField("windowAccessCache");
-            cacheField.setAccessible(true);
-            Map<?, ?> cache = (Map<?, ?>) cacheField.get(null);
-            cache.clear();
-        } catch (Exception e) {
-            fail("Could not clear windowAccessCache: " + e.getMessage());
-        }
     }
 
     /* ---------------------------------------------------------------------- */
     /* Helpers */
     /* ---------------------------------------------------------------------- */
 
-    private void runWindowAccessTest(WindowAccess windowAccess,
+    private void runWindowAccessTest(boolean hasAccess,
             WindowAccessTestAction action) throws Exception {
         Role role = mock(Role.class);
         when(role.getId()).thenReturn(ROLE_ID_STRING);
-        @SuppressWarnings("unchecked")
-        OBCriteria<WindowAccess> criteriaMock = mock(OBCriteria.class);
+        RoleAccessMatrix accessMatrix = mock(RoleAccessMatrix.class);
+        when(accessMatrix.hasWindowAccess(WINDOW_ID_STRING)).thenReturn(hasAccess);
 
-        try (MockedStatic<OBDal> mockedOBDal = mockStatic(OBDal.class);
+        try (MockedStatic<RoleAccessMatrix> mockedMatrix = mockStatic(RoleAccessMatrix.class);
                 MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
                 MockedConstruction<DataToJsonConverter> ignored = mockConstruction(DataToJsonConverter.class)) {
 
             mockedOBContext.when(OBContext::getOBContext).thenReturn(obContext);
             when(obContext.getRole()).thenReturn(role);
-            mockedOBDal.when(OBDal::getReadOnlyInstance).thenReturn(obDal);
-            setupWindowAccessMocks(obDal, WINDOW_ID_STRING, criteriaMock, windowAccess);
+            mockedMatrix.when(RoleAccessMatrix::forCurrentRole).thenReturn(accessMatrix);
 
             fieldBuilder = new FieldBuilderWithColumn(field, fieldAccess);
             action.execute(fieldBuilder, role);
@@ -534,30 +524,30 @@ class FieldBuilderWithColumnTest {
     }
 
     @Test
-    void testCheckAccessInDBAccessible() throws Exception {
-        runWindowAccessTest(mock(WindowAccess.class), (builder, role) -> {
-            boolean result = (boolean) invokePrivate(builder, METH_CHECK_ACCESS_IN_DB,
-                    new Class[] { Role.class, String.class }, role, WINDOW_ID_STRING);
+    void testIsWindowAccessibleAccessible() throws Exception {
+        runWindowAccessTest(true, (builder, role) -> {
+            boolean result = (boolean) invokePrivate(builder, METH_IS_WINDOW_ACCESSIBLE,
+                    new Class[] { String.class }, WINDOW_ID_STRING);
             assertTrue(result);
         });
     }
 
     @Test
-    void testCheckAccessInDBNotAccessible() throws Exception {
-        runWindowAccessTest(null, (builder, role) -> {
-            boolean result = (boolean) invokePrivate(builder, METH_CHECK_ACCESS_IN_DB,
-                    new Class[] { Role.class, String.class }, role, WINDOW_ID_STRING);
+    void testIsWindowAccessibleNotAccessible() throws Exception {
+        runWindowAccessTest(false, (builder, role) -> {
+            boolean result = (boolean) invokePrivate(builder, METH_IS_WINDOW_ACCESSIBLE,
+                    new Class[] { String.class }, WINDOW_ID_STRING);
             assertFalse(result);
         });
     }
 
     @Test
-    void testIsWindowAccessibleCached() throws Exception {
-        runWindowAccessTest(mock(WindowAccess.class), (builder, role) -> {
+    void testIsWindowAccessibleDoesNotQueryDatabase() throws Exception {
+        runWindowAccessTest(true, (builder, role) -> {
             invokePrivate(builder, METH_IS_WINDOW_ACCESSIBLE, new Class[] { String.class }, WINDOW_ID_STRING);
             invokePrivate(builder, METH_IS_WINDOW_ACCESSIBLE, new Class[] { String.class }, WINDOW_ID_STRING);
 
-            verify(obDal, times(1)).createCriteria(WindowAccess.class);
+            verify(obDal, never()).createCriteria(WindowAccess.class);
         });
     }
 
@@ -638,7 +628,7 @@ class FieldBuilderWithColumnTest {
         JSONObject json = new JSONObject();
         json.put(PROP_REFERENCED_WINDOW_ID, WINDOW_ID_STRING);
 
-        runWindowAccessTest(mock(WindowAccess.class), (builder, role) -> {
+        runWindowAccessTest(true, (builder, role) -> {
             setJson(builder, json);
             invokePrivate(builder, METH_ADD_LINK_ACCESSIBILITY, new Class[] {});
 
@@ -647,22 +637,6 @@ class FieldBuilderWithColumnTest {
         });
     }
 
-    @Test
-    void clearWindowAccessCacheDoesNotThrowWhenEmpty() {
-        FieldBuilderWithColumn.clearWindowAccessCache();
-    }
-
-    @SuppressWarnings("unchecked")
-    @Test
-    void clearWindowAccessCacheClearsPopulatedCache() throws Exception {
-        runWindowAccessTest(mock(WindowAccess.class), (builder, role) -> {
-            setJson(builder, new JSONObject());
-            invokePrivate(builder, METH_ADD_LINK_ACCESSIBILITY, new Class[] {});
-        });
-
-        FieldBuilderWithColumn.clearWindowAccessCache();
-    }
-
     @Test
     void testFieldGroupCollapsedTrueIsSerializedInJSON() throws JSONException {
         FieldGroup fieldGroup = mock(FieldGroup.class);
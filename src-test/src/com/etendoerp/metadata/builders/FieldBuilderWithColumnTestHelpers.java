@@ -33,12 +33,10 @@ import org.hibernate.criterion.Criterion;
 import org.mockito.MockedConstruction;
 import org.openbravo.dal.service.OBCriteria;
 import org.openbravo.dal.service.OBDal;
-import org.openbravo.model.ad.access.WindowAccess;
 import org.openbravo.model.ad.datamodel.Column;
 import org.openbravo.model.ad.datamodel.Table;
 import org.openbravo.model.ad.ui.Field;
 import org.openbravo.model.ad.ui.Tab;
-import org.openbravo.model.ad.ui.Window;
 import org.openbravo.service.json.DataResolvingMode;
 import org.openbravo.service.json.DataToJsonConverter;
 
@@ -76,25 +74,6 @@ final class FieldBuilderWithColumnTestHelpers {
         });
   }
 
-  /**
-   * Wires {@code obDal} to expose a single-result WindowAccess query for the
-   * supplied window identifier. Used by both the cached and uncached access
-   * test paths.
-   *
-   * @param obDal         The OBDal mock that should resolve the window lookup.
-   * @param windowId      The window id expected by {@code obDal.get(Window.class, …)}.
-   * @param criteriaMock  Pre-built OBCriteria&lt;WindowAccess&gt; mock to return.
-   * @param windowAccess  The unique result of the criteria, or {@code null}.
-   */
-  static void setupWindowAccessMocks(OBDal obDal, String windowId,
-      OBCriteria<WindowAccess> criteriaMock, WindowAccess windowAccess) {
-    when(obDal.get(Window.class, windowId)).thenReturn(mock(Window.class));
-    when(obDal.createCriteria(WindowAccess.class)).thenReturn(criteriaMock);
-    when(criteriaMock.add(any())).thenReturn(criteriaMock);
-    when(criteriaMock.setMaxResults(1)).thenReturn(criteriaMock);
-    when(criteriaMock.uniqueResult()).thenReturn(windowAccess);
-  }
-
   /**
    * Configures {@code obDal} so that table lookups return the supplied table
    * mock and Tab criteria chains return the supplied criteria mock with a
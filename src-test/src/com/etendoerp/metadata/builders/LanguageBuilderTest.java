@@ -27,9 +27,12 @@ import static com.etendoerp.metadata.MetadataTestConstants.SPANISH_SPAIN;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -53,6 +56,8 @@ import org.openbravo.model.ad.system.Language;
 import org.openbravo.service.json.DataResolvingMode;
 import org.openbravo.service.json.DataToJsonConverter;
 
+import com.etendoerp.metadata.cache.LanguageRegistry;
+
 /**
  * Test class for LanguageBuilder.
  * This class tests the functionality of the LanguageBuilder, ensuring it can retrieve system languages
@@ -88,6 +93,8 @@ class LanguageBuilderTest {
    */
   @BeforeEach
   void setUp() {
+    LanguageRegistry.clear();
+
     // Setup context language mock
     when(contextLanguage.getLanguage()).thenReturn(LANGUAGE_CODE);
     when(contextLanguage.getId()).thenReturn("context-language-id");
@@ -324,4 +331,29 @@ class LanguageBuilderTest {
     }
   }
 
+  /**
+   * Tests that the language list is built once per context language and then served from the
+   * language registry.
+   */
+  @Test
+  void testToJSONIsServedFromRegistry() {
+    when(language1.getLanguage()).thenReturn(LANGUAGE_CODE);
+
+    try (MockedStatic<OBContext> obContextStatic = mockStatic(OBContext.class);
+         MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class)) {
+      obContextStatic.when(OBContext::getOBContext).thenReturn(obContext);
+      when(obContext.getLanguage()).thenReturn(contextLanguage);
+      obDalStatic.when(OBDal::getReadOnlyInstance).thenReturn(obDal);
+      when(obDal.createCriteria(Language.class)).thenReturn(criteria);
+      when(criteria.add(any(Criterion.class))).thenReturn(criteria);
+      when(criteria.list()).thenReturn(List.of(language1));
+
+      JSONObject first = new LanguageBuilder().toJSON();
+      JSONObject second = new LanguageBuilder().toJSON();
+
+      assertTrue(first.has(LANGUAGE_CODE));
+      assertSame(first, second);
+      verify(criteria, times(1)).list();
+    }
+  }
 }
@@ -18,10 +18,14 @@ package com.etendoerp.metadata.builders;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -32,6 +36,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
@@ -96,6 +101,11 @@ class LegacyProcessResolverTest {
     private static final String EM_APRM_PROCESSED = "EM_APRM_Processed";
     private static final String ADDITIONAL_PARAMETERS = "additionalParameters";
 
+    @BeforeEach
+    void clearResolutionCache() {
+        LegacyProcessResolver.clearCache();
+    }
+
     /**
      * Representative case — fieldId 57A2B365BDC69F57E040007F010171B4 (Reschedule Process):
      * AD_Process.Classname is null; classname and URL live in AD_MODEL_OBJECT /
@@ -313,6 +323,74 @@ class LegacyProcessResolverTest {
         }
     }
 
+    // -------------------------------------------------------------------------
+    // Resolution cache
+    // -------------------------------------------------------------------------
+
+    @Test
+    void resolveReusesCachedResolutionForSameFieldAndProcess() {
+        ModelImplementationMapping mapping = mockMapping(RESCHEDULE_URL, true);
+        ModelImplementation impl = mockImpl(ACTION_PROCESS, RESCHEDULE_FQCN, true, List.of(mapping));
+        Process process = mockManualProcess(null, List.of(impl));
+        Field field = mockFieldWithProcess(process, RESCHEDULE_KEY, KEY_COLUMN);
+
+        Optional<LegacyProcessParams> first = LegacyProcessResolver.resolve(field);
+        Optional<LegacyProcessParams> second = LegacyProcessResolver.resolve(field);
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+        verify(process, times(1)).getADModelImplementationList();
+    }
+
+    @Test
+    void clearCacheForcesNewResolution() {
+        ModelImplementationMapping mapping = mockMapping(RESCHEDULE_URL, true);
+        ModelImplementation impl = mockImpl(ACTION_PROCESS, RESCHEDULE_FQCN, true, List.of(mapping));
+        Process process = mockManualProcess(null, List.of(impl));
+        Field field = mockFieldWithProcess(process, RESCHEDULE_KEY, KEY_COLUMN);
+
+        LegacyProcessResolver.resolve(field);
+        LegacyProcessResolver.clearCache();
+        LegacyProcessResolver.resolve(field);
+
+        verify(process, times(2)).getADModelImplementationList();
+    }
+
+    @Test
+    void resolutionOverlappingClearCacheIsNotStored() {
+        ModelImplementationMapping mapping = mockMapping(RESCHEDULE_URL, true);
+        ModelImplementation impl = mockImpl(ACTION_PROCESS, RESCHEDULE_FQCN, true, List.of(mapping));
+        Process process = mockManualProcess(null, List.of(impl));
+        when(process.getADModelImplementationList()).thenAnswer(invocation -> {
+            LegacyProcessResolver.clearCache();
+            return List.of(impl);
+        }).thenReturn(List.of(impl));
+        Field field = mockFieldWithProcess(process, RESCHEDULE_KEY, KEY_COLUMN);
+
+        assertTrue(LegacyProcessResolver.resolve(field).isPresent());
+        LegacyProcessResolver.resolve(field);
+        LegacyProcessResolver.resolve(field);
+
+        verify(process, times(2)).getADModelImplementationList();
+    }
+
+    @Test
+    void resolveDoesNotCacheFailedResolutions() {
+        Process process = mockManualProcess(null, Collections.emptyList());
+        when(process.getADModelImplementationList()).thenThrow(new IllegalStateException("boom"));
+        Field field = mockFieldWithProcess(process, RESCHEDULE_KEY, KEY_COLUMN);
+
+        assertFalse(LegacyProcessResolver.resolve(field).isPresent());
+
+        ModelImplementationMapping mapping = mockMapping(RESCHEDULE_URL, true);
+        ModelImplementation impl = mockImpl(ACTION_PROCESS, RESCHEDULE_FQCN, true, List.of(mapping));
+        doReturn(List.of(impl)).when(process).getADModelImplementationList();
+
+        Optional<LegacyProcessParams> params = LegacyProcessResolver.resolve(field);
+        assertTrue(params.isPresent());
+        assertEquals(RESCHEDULE_URL, extractUrl(params));
+    }
+
     // -------------------------------------------------------------------------
     // javaClassToUrl — direct tests of the package-based derivation helper
     // -------------------------------------------------------------------------
@@ -43,6 +43,8 @@ import org.openbravo.model.ad.ui.ProcessParameter;
 import org.openbravo.service.json.DataResolvingMode;
 import org.openbravo.service.json.DataToJsonConverter;
 
+import com.etendoerp.metadata.cache.ReferenceListCache;
+import com.etendoerp.metadata.cache.SelectorMetadataCache;
 import com.etendoerp.metadata.utils.Constants;
 
 /**
@@ -83,6 +85,8 @@ class ProcessParameterBuilderTest {
 
     @BeforeEach
     void setUp() {
+        ReferenceListCache.clear();
+        SelectorMetadataCache.clear();
         when(parameter.getId()).thenReturn(PARAMETER_ID);
         when(parameter.getReferenceSearchKey()).thenReturn(referenceSearchKey);
         when(parameter.getReference()).thenReturn(reference);
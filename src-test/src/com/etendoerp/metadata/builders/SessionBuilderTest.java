@@ -37,6 +37,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -78,6 +79,8 @@ import org.openbravo.model.ad.system.Language;
 import org.openbravo.model.common.enterprise.Organization;
 import org.openbravo.model.common.enterprise.Warehouse;
 
+import com.etendoerp.metadata.cache.OrganizationWarehouseIndex;
+import com.etendoerp.metadata.cache.SessionRolesCache;
 import com.etendoerp.metadata.utils.Utils;
 
 /**
@@ -174,6 +177,9 @@ class SessionBuilderTest {
   @Mock
   private Query<Warehouse> warehousesQuery;
 
+  @Mock
+  private Query<Object[]> warehouseIndexQuery;
+
   private MockedStatic<OBDal> obDalStatic;
 
   /**
@@ -181,7 +187,8 @@ class SessionBuilderTest {
    */
   @BeforeEach
   void setUp() {
-    SessionBuilder.clearRolesCache();
+    SessionRolesCache.clear();
+    OrganizationWarehouseIndex.clear();
 
     // Setup basic context mocks
     when(obContext.getUser()).thenReturn(user);
@@ -216,6 +223,13 @@ class SessionBuilderTest {
     when(warehousesQuery.setParameter(anyString(), any())).thenReturn(warehousesQuery);
     when(warehousesQuery.list()).thenReturn(Arrays.asList(warehouse1, warehouse2));
 
+    // Mock the warehouse index query of the client
+    when(session.createQuery(anyString(), eq(Object[].class))).thenReturn(warehouseIndexQuery);
+    when(warehouseIndexQuery.setParameter(anyString(), any())).thenReturn(warehouseIndexQuery);
+    when(warehouseIndexQuery.list()).thenReturn(Arrays.asList(
+        new Object[] { "warehouse1-id", ORG1_ID },
+        new Object[] { "warehouse2-id", ORG2_ID }));
+
     // Setup user roles
     when(userRole1.getRole()).thenReturn(role1);
     when(userRole2.getRole()).thenReturn(role2);
@@ -268,7 +282,12 @@ class SessionBuilderTest {
   @AfterEach
   void tearDown() {
     obDalStatic.close();
-    SessionBuilder.clearRolesCache();
+    SessionRolesCache.clear();
+    OrganizationWarehouseIndex.clear();
+  }
+
+  private static JSONArray rolesOf(JSONObject session) throws JSONException {
+    return new JSONArray(session.get(ROLES).toString());
   }
 
 
@@ -315,7 +334,7 @@ class SessionBuilderTest {
       assertEquals(ORG_ID, result.getJSONObject(CURRENT_ORGANIZATION).getString("id"));
       assertEquals(WAREHOUSE_ID, result.getJSONObject(CURRENT_WAREHOUSE).getString("id"));
 
-      JSONArray roles = result.getJSONArray(ROLES);
+      JSONArray roles = rolesOf(result);
       assertEquals(2, roles.length());
 
       // The role tree must come from a single batched query, not per-role lazy navigation
@@ -346,7 +365,7 @@ class SessionBuilderTest {
       JSONObject result = sessionBuilder.toJSON();
 
       assertNotNull(result);
-      JSONArray roles = result.getJSONArray(ROLES);
+      JSONArray roles = rolesOf(result);
       assertEquals(0, roles.length());
     }
   }
@@ -401,7 +420,7 @@ class SessionBuilderTest {
       JSONObject result = sessionBuilder.toJSON();
 
       assertNotNull(result);
-      JSONArray roles = result.getJSONArray(ROLES);
+      JSONArray roles = rolesOf(result);
       assertEquals(0, roles.length());
     }
   }
@@ -428,7 +447,7 @@ class SessionBuilderTest {
       JSONObject result = sessionBuilder.toJSON();
 
       assertNotNull(result);
-      JSONArray roles = result.getJSONArray(ROLES);
+      JSONArray roles = rolesOf(result);
       assertEquals(2, roles.length());
 
       // The role with exception should have empty organizations array
@@ -473,7 +492,7 @@ class SessionBuilderTest {
       JSONObject result = sessionBuilder.toJSON();
 
       assertNotNull(result);
-      JSONArray roles = result.getJSONArray(ROLES);
+      JSONArray roles = rolesOf(result);
       assertEquals(2, roles.length());
 
       for (int i = 0; i < roles.length(); i++) {
@@ -529,13 +548,13 @@ class SessionBuilderTest {
       JSONObject first = sessionBuilder.toJSON();
       JSONObject second = sessionBuilder.toJSON();
 
-      assertEquals(first.getJSONArray(ROLES).length(), second.getJSONArray(ROLES).length());
+      assertEquals(rolesOf(first).length(), rolesOf(second).length());
       verify(session, times(1)).createQuery(anyString(), eq(UserRoles.class));
     }
   }
 
   /**
-   * Verifies that clearRolesCache() forces the roles tree to be rebuilt from the database again.
+   * Verifies that SessionRolesCache.clear() forces the roles tree to be rebuilt from the database again.
    *
    * @throws JSONException if JSON operations fail during assertions or building
    */
@@ -549,13 +568,90 @@ class SessionBuilderTest {
 
       SessionBuilder sessionBuilder = new SessionBuilder();
       sessionBuilder.toJSON();
-      SessionBuilder.clearRolesCache();
+      SessionRolesCache.clear();
       sessionBuilder.toJSON();
 
       verify(session, times(2)).createQuery(anyString(), eq(UserRoles.class));
     }
   }
 
+  /**
+   * Verifies that the roles tree is cached per language, so a user switching language gets
+   * translated names instead of the tree built for the previous language.
+   *
+   * @throws JSONException if JSON operations fail during assertions or building
+   */
+  @Test
+  void testRolesAreCachedPerLanguage() throws JSONException {
+    Language spanish = mock(Language.class);
+    when(language.getId()).thenReturn("en_US");
+    when(spanish.getId()).thenReturn("es_ES");
+
+    try (MockedStatic<OBContext> obContextStatic = mockStatic(OBContext.class);
+         MockedStatic<Utils> utilsStatic = mockStatic(Utils.class)) {
+
+      obContextStatic.when(OBContext::getOBContext).thenReturn(obContext);
+      utilsStatic.when(() -> Utils.getJsonObject(any())).thenReturn(new JSONObject());
+
+      new SessionBuilder().toJSON();
+      when(obContext.getLanguage()).thenReturn(spanish);
+      new SessionBuilder().toJSON();
+      new SessionBuilder().toJSON();
+
+      verify(session, times(2)).createQuery(anyString(), eq(UserRoles.class));
+    }
+  }
+
+  /**
+   * Verifies that the cached roles tree is written verbatim into the serialized session.
+   *
+   * @throws JSONException if JSON operations fail during assertions or building
+   */
+  @Test
+  void testRolesAreWrittenAsSerializedFragment() throws JSONException {
+    try (MockedStatic<OBContext> obContextStatic = mockStatic(OBContext.class);
+         MockedStatic<Utils> utilsStatic = mockStatic(Utils.class)) {
+
+      obContextStatic.when(OBContext::getOBContext).thenReturn(obContext);
+      utilsStatic.when(() -> Utils.getJsonObject(any())).thenReturn(new JSONObject());
+
+      JSONObject result = new SessionBuilder().toJSON();
+
+      assertTrue(result.get(ROLES) instanceof SessionRolesCache.Fragment);
+      JSONArray roles = new JSONObject(result.toString()).getJSONArray(ROLES);
+      assertEquals("Role 1", roles.getJSONObject(0).getString("name"));
+    }
+  }
+
+  /**
+   * Verifies that a warehouse is listed under every role organization whose natural tree holds
+   * the organization of the warehouse, and that the client warehouse index is built only once.
+   *
+   * @throws JSONException if JSON operations fail during assertions or building
+   */
+  @Test
+  void testWarehousesFollowNaturalTreeAndIndexIsCached() throws JSONException {
+    // org1 is an ancestor of org2: warehouse2 is visible from both organizations
+    when(osp.getNaturalTree(ORG2_ID)).thenReturn(Set.of(ORG1_ID, ORG2_ID));
+    when(role1.getADRoleOrganizationList()).thenReturn(Arrays.asList(roleOrg1, roleOrg2));
+
+    try (MockedStatic<OBContext> obContextStatic = mockStatic(OBContext.class);
+         MockedStatic<Utils> utilsStatic = mockStatic(Utils.class)) {
+
+      obContextStatic.when(OBContext::getOBContext).thenReturn(obContext);
+      utilsStatic.when(() -> Utils.getJsonObject(any())).thenReturn(new JSONObject());
+
+      JSONObject result = new SessionBuilder().toJSON();
+      SessionRolesCache.clear();
+      new SessionBuilder().toJSON();
+
+      JSONArray orgs = rolesOf(result).getJSONObject(0).getJSONArray(ORGANIZATIONS);
+      assertEquals(2, orgs.getJSONObject(0).getJSONArray(WAREHOUSES).length());
+      assertEquals(1, orgs.getJSONObject(1).getJSONArray(WAREHOUSES).length());
+      verify(warehouseIndexQuery, times(1)).list();
+    }
+  }
+
   /**
    * Verifies that when the client is configured for centralized accounting
    * dimensions, {@code toJSON()} emits {@code attributes} containing
@@ -653,7 +749,7 @@ class SessionBuilderTest {
       SessionBuilder sessionBuilder = new SessionBuilder();
       JSONObject result = sessionBuilder.toJSON();
 
-      JSONArray roles = result.getJSONArray(ROLES);
+      JSONArray roles = rolesOf(result);
       assertEquals(2, roles.length());
 
       for (int i = 0; i < roles.length(); i++) {
@@ -300,6 +300,37 @@ class TabBuilderTest extends TabBuilderTestBase {
         });
     }
 
+    /**
+     * Tests that the audit fields of a table are built once and reused by later tabs on the same
+     * table, each with its own tab keys.
+     */
+    @Test
+    void auditFieldsAreBuiltOncePerTable() throws Exception {
+        TestContext ctx = setupTestContext();
+        List<Column> columns = createAllAuditColumns();
+        setupBasicMocks(ctx.context, ctx.language, ctx.tab, ctx.table, ctx.kernelUtils, columns);
+        when(ctx.table.getId()).thenReturn("table-audit");
+
+        Tab otherTab = mock(Tab.class);
+        lenient().when(otherTab.getId()).thenReturn("OtherTabId");
+        lenient().when(otherTab.getTable()).thenReturn(ctx.table);
+        lenient().when(otherTab.getTabLevel()).thenReturn(0L);
+
+        executeTabBuilderTest(ctx.context, ctx.kernelUtils, ctx.tab, new JSONObject(), result -> {
+        });
+        executeTabBuilderTest(ctx.context, ctx.kernelUtils, otherTab, new JSONObject(), result -> {
+            try {
+                JSONObject updated = result.getJSONObject(FIELDS_KEY).getJSONObject(UPDATED_FIELD);
+                assertEquals("OtherTabId", updated.getString("tab"));
+                assertEquals(9002, updated.getInt(GRID_POSITION_KEY));
+            } catch (JSONException e) {
+                fail(JSON_EXCEPTION + ": " + e.getMessage());
+            }
+        });
+
+        verify(ctx.table, times(1)).getADColumnList();
+    }
+
     /**
      * Tests that uIPattern is set to "RO" and readOnly to true when
      * isWindowReadOnly is true
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.function.Consumer;
 
 import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
 import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
 import org.openbravo.base.model.Entity;
@@ -43,6 +44,7 @@ import org.openbravo.model.ad.system.Language;
 import org.openbravo.model.ad.ui.Tab;
 import org.openbravo.service.json.DataToJsonConverter;
 
+import com.etendoerp.metadata.cache.TableColumnCache;
 import com.etendoerp.metadata.data.TabProcessor;
 
 /**
@@ -68,6 +70,11 @@ abstract class TabBuilderTestBase {
     protected static final String TEST_HELP = "Test help";
     protected static final String ENTITY_NAME_KEY = "entityName";
 
+    @BeforeEach
+    void clearTableColumnCache() {
+        TableColumnCache.clear();
+    }
+
     /**
      * Executes a TabBuilder test with common mock setup
      */
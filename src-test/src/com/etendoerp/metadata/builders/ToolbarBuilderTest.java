@@ -45,7 +45,10 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
@@ -66,14 +69,18 @@ import org.mockito.quality.Strictness;
 import org.openbravo.dal.core.OBContext;
 import org.openbravo.dal.service.OBCriteria;
 import org.openbravo.dal.service.OBDal;
+import org.openbravo.model.ad.access.Role;
 import org.openbravo.model.ad.access.User;
 import org.openbravo.model.ad.module.Module;
 import org.openbravo.model.ad.system.Client;
 import org.openbravo.model.ad.system.Language;
 import org.openbravo.model.ad.ui.Message;
+import org.openbravo.model.ad.ui.Window;
 import org.openbravo.model.common.enterprise.Organization;
 
+import com.etendoerp.metadata.cache.ToolbarCache;
 import com.etendoerp.metadata.data.Toolbar;
+import com.etendoerp.metadata.data.ToolbarWindow;
 
 /**
  * Test class for ToolbarBuilder.
@@ -122,6 +129,8 @@ class ToolbarBuilderTest {
    */
   @BeforeEach
   void setUp() {
+    ToolbarCache.clear();
+
     // Setup context mocks
     when(obContext.getLanguage()).thenReturn(language);
     when(language.getLanguage()).thenReturn(LANGUAGE_CODE);
@@ -475,4 +484,84 @@ class ToolbarBuilderTest {
       assertEquals(2, data.length());
     }
   }
+
+  private ToolbarWindow mockToolbarWindow(String windowId, boolean active) {
+    Window window = mock(Window.class);
+    when(window.getId()).thenReturn(windowId);
+    when(window.getName()).thenReturn("Window " + windowId);
+    ToolbarWindow toolbarWindow = mock(ToolbarWindow.class);
+    when(toolbarWindow.isActive()).thenReturn(active);
+    when(toolbarWindow.getWindow()).thenReturn(window);
+    return toolbarWindow;
+  }
+
+  private static List<String> ids(JSONObject result) throws JSONException {
+    JSONArray data = result.getJSONObject(RESPONSE).getJSONArray("data");
+    String[] ids = new String[data.length()];
+    for (int i = 0; i < data.length(); i++) {
+      ids[i] = data.getJSONObject(i).getString("id");
+    }
+    return Arrays.asList(ids);
+  }
+
+  /**
+   * Verifies that a window-specific build returns the active buttons assigned to the window
+   * followed by the active global buttons, skipping inactive assignments.
+   *
+   * @throws JSONException if JSON parsing or construction fails during assertions
+   */
+  @Test
+  void testToJSONForWindowReturnsAssignedAndGlobalButtons() throws JSONException {
+    when(toolbar2.isActive()).thenReturn(true);
+    List<ToolbarWindow> toolbar1Windows = Arrays.asList(mockToolbarWindow("143", true),
+        mockToolbarWindow("100", false));
+    when(toolbar1.getEtmetaToolbarWindowList()).thenReturn(toolbar1Windows);
+    when(toolbar2.getEtmetaToolbarWindowList()).thenReturn(Collections.emptyList());
+
+    try (MockedStatic<OBContext> obContextStatic = mockStatic(OBContext.class);
+         MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class)) {
+
+      obContextStatic.when(OBContext::getOBContext).thenReturn(obContext);
+      obDalStatic.when(OBDal::getInstance).thenReturn(obDal);
+      when(obDal.createCriteria(Toolbar.class)).thenReturn(criteria);
+      when(criteria.list()).thenReturn(Arrays.asList(toolbar1, toolbar2));
+
+      assertEquals(Arrays.asList(TOOLBAR1_ID, "toolbar2-id"), ids(new ToolbarBuilder("143").toJSON()));
+      assertEquals(Collections.singletonList("toolbar2-id"), ids(new ToolbarBuilder("100").toJSON()));
+
+      JSONObject toolbar1Json = new ToolbarBuilder().toJSON().getJSONObject(RESPONSE)
+          .getJSONArray("data").getJSONObject(0);
+      assertEquals(1, toolbar1Json.getJSONArray("windows").length());
+      assertEquals("143", toolbar1Json.getJSONArray("windows").getJSONObject(0).getString("id"));
+    }
+  }
+
+  /**
+   * Verifies that the toolbar rows are read once per role and reused by later builds.
+   *
+   * @throws JSONException if JSON parsing or construction fails during assertions
+   */
+  @Test
+  void testToJSONReusesCachedToolbarsForSameRole() throws JSONException {
+    Role role = mock(Role.class);
+    when(role.getId()).thenReturn("role-id");
+    when(obContext.getRole()).thenReturn(role);
+
+    try (MockedStatic<OBContext> obContextStatic = mockStatic(OBContext.class);
+         MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class)) {
+
+      obContextStatic.when(OBContext::getOBContext).thenReturn(obContext);
+      obDalStatic.when(OBDal::getInstance).thenReturn(obDal);
+      when(obDal.createCriteria(Toolbar.class)).thenReturn(criteria);
+      when(criteria.list()).thenReturn(Arrays.asList(toolbar1, toolbar2));
+
+      new ToolbarBuilder().toJSON();
+      JSONObject result = new ToolbarBuilder("143").toJSON();
+
+      verify(criteria, times(1)).list();
+      assertEquals(Collections.singletonList(TOOLBAR1_ID), ids(result));
+    } finally {
+      ToolbarCache.clear();
+    }
+  }
 }
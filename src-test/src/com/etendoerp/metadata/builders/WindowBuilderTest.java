@@ -37,7 +37,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONObject;
@@ -51,7 +53,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openbravo.dal.core.OBContext;
-import org.openbravo.dal.service.OBCriteria;
 import org.openbravo.dal.service.OBDal;
 import org.openbravo.dal.service.OBQuery;
 import org.openbravo.model.ad.access.FieldAccess;
@@ -63,6 +64,7 @@ import org.openbravo.model.ad.ui.Tab;
 import org.openbravo.model.ad.ui.Window;
 import org.openbravo.service.json.DataToJsonConverter;
 
+import com.etendoerp.metadata.cache.RoleAccessMatrix;
 import com.etendoerp.metadata.exceptions.NotFoundException;
 import com.etendoerp.metadata.exceptions.UnauthorizedException;
 
@@ -87,7 +89,7 @@ class WindowBuilderTest {
   @Mock
   private Role mockRole;
   @Mock
-  private OBCriteria<WindowAccess> mockCriteria;
+  private RoleAccessMatrix mockAccessMatrix;
   @Mock
   private OBQuery<TabAccess> mockTabAccessQuery;
   @Mock
@@ -96,6 +98,9 @@ class WindowBuilderTest {
   // Test data
   private static final String WINDOW_TYPE = "windowType";
   private static final String WINDOW_TYPE_VALUE = "OBUIAPP_PickAndExecute";
+  private static final String WINDOW_ACCESS_ID = "window-access-id";
+
+  private boolean windowGrantedToAnyRole;
 
   /**
    * Sets up the basic mock behavior before each test.
@@ -125,24 +130,35 @@ class WindowBuilderTest {
   }
 
   /**
-   * Sets up the mock behavior for OBDal to simulate window existence and access permissions.
+   * Sets up the mock behavior for OBDal and the role access matrix to simulate window existence
+   * and access permissions.
    *
    * @param windowExists whether the window exists in the database
    * @param hasAccess    whether the current role has access to the window
    */
   private void setupWindowAccess(boolean windowExists, boolean hasAccess) {
     when(mockOBDal.get(Window.class, WINDOW_ID)).thenReturn(windowExists ? mockWindow : null);
-    when(mockOBDal.createCriteria(WindowAccess.class)).thenReturn(mockCriteria);
-    when(mockCriteria.add(any())).thenReturn(mockCriteria);
-    when(mockCriteria.setMaxResults(1)).thenReturn(mockCriteria);
-    when(mockCriteria.uniqueResult()).thenReturn(hasAccess ? mockWindowAccess : null);
-    
+    when(mockAccessMatrix.getWindowAccessId(WINDOW_ID)).thenReturn(hasAccess ? WINDOW_ACCESS_ID : null);
+    when(mockAccessMatrix.isWindowEditable(WINDOW_ID)).thenReturn(hasAccess);
+    windowGrantedToAnyRole = hasAccess;
+
     if (hasAccess) {
-      when(mockWindowAccess.getWindow()).thenReturn(mockWindow);
       when(mockWindow.getADTabList()).thenReturn(new ArrayList<>());
     }
   }
 
+  /**
+   * Creates a mock for RoleAccessMatrix that returns the test matrix for any role.
+   *
+   * @return a MockedStatic of RoleAccessMatrix
+   */
+  private MockedStatic<RoleAccessMatrix> createRoleAccessMatrixMock() {
+    MockedStatic<RoleAccessMatrix> mockedMatrix = mockStatic(RoleAccessMatrix.class);
+    mockedMatrix.when(() -> RoleAccessMatrix.forRole(any())).thenReturn(mockAccessMatrix);
+    mockedMatrix.when(() -> RoleAccessMatrix.isGrantedToAnyRole(WINDOW_ID)).thenReturn(windowGrantedToAnyRole);
+    return mockedMatrix;
+  }
+
   /**
    * Creates a mock for OBContext that returns a predefined OBContext instance.
    *
@@ -214,6 +230,7 @@ class WindowBuilderTest {
   private JSONObject executeToJSON(WindowBuilder windowBuilder) {
     try (MockedStatic<OBContext> ignored1 = createOBContextMock();
          MockedStatic<OBDal> ignored2 = createOBDalMock();
+         MockedStatic<RoleAccessMatrix> ignored3 = createRoleAccessMatrixMock();
          MockedConstruction<DataToJsonConverter> ignored = createDataToJsonConverterMock()) {
       return windowBuilder.toJSON();
     }
@@ -229,6 +246,7 @@ class WindowBuilderTest {
   private JSONObject executeToJSONWithTabs(WindowBuilder windowBuilder, String tabId) {
     try (MockedStatic<OBContext> ignored = createOBContextMock();
          MockedStatic<OBDal> ignored3 = createOBDalMock();
+         MockedStatic<RoleAccessMatrix> ignored4 = createRoleAccessMatrixMock();
          MockedConstruction<DataToJsonConverter> ignored1 = createDataToJsonConverterMock();
          MockedConstruction<TabBuilder> ignored2 = createTabBuilderMock(tabId)) {
       return windowBuilder.toJSON();
@@ -329,6 +347,7 @@ class WindowBuilderTest {
     }
     try (MockedStatic<OBContext> ignored1 = createOBContextMock();
          MockedStatic<OBDal> ignored2 = createOBDalMock();
+         MockedStatic<RoleAccessMatrix> ignored4 = createRoleAccessMatrixMock();
          MockedConstruction<DataToJsonConverter> ignored3 = createConverterMockWithWindowType(WINDOW_TYPE_VALUE)) {
       result = windowBuilder.toJSON();
     }
@@ -480,6 +499,7 @@ class WindowBuilderTest {
     JSONObject result;
     try (MockedStatic<OBContext> ignored = createOBContextMock();
          MockedStatic<OBDal> ignored3 = createOBDalMock();
+         MockedStatic<RoleAccessMatrix> ignored4 = createRoleAccessMatrixMock();
          MockedConstruction<DataToJsonConverter> ignored1 = createDataToJsonConverterMock();
          MockedConstruction<TabBuilder> ignored2 = createTabBuilderMock(TAB_ID_HYPHEN)) {
       result = windowBuilder.toJSON();
@@ -497,17 +517,14 @@ class WindowBuilderTest {
   /**
    * Tests that when the current role has no explicit WindowAccess but at least one other role does,
    * toJSON() returns valid JSON (implicit read-only fallback path) instead of throwing.
-   * This covers the getWindowAccess() null-return path introduced to prevent privilege escalation.
+   * This covers the implicit read-only path introduced to prevent privilege escalation.
    */
   @Test
   void toJSONWithNoRoleAccessButWindowExistsForOtherRoleReturnsJSON() throws Exception {
     when(mockOBDal.get(Window.class, WINDOW_ID)).thenReturn(mockWindow);
-    when(mockOBDal.createCriteria(WindowAccess.class)).thenReturn(mockCriteria);
-    when(mockCriteria.add(any())).thenReturn(mockCriteria);
-    when(mockCriteria.setMaxResults(1)).thenReturn(mockCriteria);
-    // First uniqueResult call: role-specific query → null (no explicit access for this role)
-    // Second uniqueResult call: fallback query → mockWindowAccess (window exists for another role)
-    when(mockCriteria.uniqueResult()).thenReturn(null, mockWindowAccess);
+    // No explicit access for this role, but the window is granted to another role
+    when(mockAccessMatrix.getWindowAccessId(WINDOW_ID)).thenReturn(null);
+    windowGrantedToAnyRole = true;
     when(mockWindow.getId()).thenReturn(WINDOW_ID);
     when(mockWindow.getADTabList()).thenReturn(new ArrayList<>());
 
@@ -544,6 +561,93 @@ class WindowBuilderTest {
     WindowBuilder.clearTabAllowedCache();
   }
 
+  /**
+   * Tests that in skeleton mode only the first tab of the window (lowest tab level, then lowest
+   * sequence number) is built with its fields, and the other tabs are built as headers.
+   */
+  @Test
+  void toJSONInSkeletonModeBuildsFieldsOfFirstTabOnly() throws Exception {
+    setupWindowAccess(true, true);
+    Tab childTab = mockTab("child-tab", 1L, 10L);
+    Tab headerTab = mockTab("header-tab", 0L, 20L);
+    when(mockWindow.getADTabList()).thenReturn(List.of(childTab, headerTab));
+
+    WindowBuilder windowBuilder;
+    try (MockedStatic<OBContext> ignored1 = createOBContextMock();
+         MockedConstruction<DataToJsonConverter> ignored = createDataToJsonConverterMock()) {
+      windowBuilder = new WindowBuilder(WINDOW_ID, true);
+    }
+
+    Map<Tab, Boolean> headerOnlyByTab = new HashMap<>();
+    try (MockedStatic<OBContext> ignored = createOBContextMock();
+         MockedStatic<OBDal> ignored3 = createOBDalMock();
+         MockedStatic<RoleAccessMatrix> ignored4 = createRoleAccessMatrixMock();
+         MockedConstruction<DataToJsonConverter> ignored1 = createDataToJsonConverterMock();
+         MockedConstruction<TabBuilder> ignored2 = mockConstruction(TabBuilder.class, (mock, context) -> {
+           headerOnlyByTab.put((Tab) context.arguments().get(0), (Boolean) context.arguments().get(4));
+           when(mock.toJSON()).thenReturn(new JSONObject());
+         })) {
+      assertEquals(2, windowBuilder.toJSON().getJSONArray("tabs").length());
+    }
+
+    assertEquals(Boolean.FALSE, headerOnlyByTab.get(headerTab));
+    assertEquals(Boolean.TRUE, headerOnlyByTab.get(childTab));
+  }
+
+  /**
+   * Tests that toTabJSON builds only the requested tab, with its fields.
+   */
+  @Test
+  void toTabJSONBuildsRequestedTabWithFields() throws Exception {
+    setupWindowAccess(true, true);
+    Tab headerTab = mockTab("header-tab", 0L, 10L);
+    Tab childTab = mockTab("child-tab", 1L, 20L);
+    when(mockWindow.getADTabList()).thenReturn(List.of(headerTab, childTab));
+
+    WindowBuilder windowBuilder = createWindowBuilder();
+    JSONObject result;
+    try (MockedStatic<OBContext> ignored = createOBContextMock();
+         MockedStatic<OBDal> ignored3 = createOBDalMock();
+         MockedStatic<RoleAccessMatrix> ignored4 = createRoleAccessMatrixMock();
+         MockedConstruction<DataToJsonConverter> ignored1 = createDataToJsonConverterMock();
+         MockedConstruction<TabBuilder> tabBuilders = mockConstruction(TabBuilder.class, (mock, context) -> {
+           assertEquals(childTab, context.arguments().get(0));
+           assertEquals(Boolean.FALSE, context.arguments().get(4));
+           when(mock.toJSON()).thenReturn(new JSONObject().put("id", "child-tab"));
+         })) {
+      result = windowBuilder.toTabJSON("child-tab");
+      assertEquals(1, tabBuilders.constructed().size());
+    }
+
+    assertEquals("child-tab", result.getString("id"));
+  }
+
+  /**
+   * Tests that toTabJSON throws NotFoundException for a tab outside the window.
+   */
+  @Test
+  void toTabJSONWithTabOutsideWindowThrowsNotFoundException() {
+    setupWindowAccess(true, true);
+    Tab headerTab = mockTab("header-tab", 0L, 10L);
+    when(mockWindow.getADTabList()).thenReturn(List.of(headerTab));
+
+    WindowBuilder windowBuilder = createWindowBuilder();
+    try (MockedStatic<OBContext> ignored = createOBContextMock();
+         MockedStatic<OBDal> ignored3 = createOBDalMock();
+         MockedStatic<RoleAccessMatrix> ignored4 = createRoleAccessMatrixMock();
+         MockedConstruction<DataToJsonConverter> ignored1 = createDataToJsonConverterMock()) {
+      assertThrows(NotFoundException.class, () -> windowBuilder.toTabJSON("other-tab"));
+    }
+  }
+
+  private static Tab mockTab(String id, Long tabLevel, Long sequenceNumber) {
+    Tab tab = mock(Tab.class);
+    when(tab.getId()).thenReturn(id);
+    when(tab.getTabLevel()).thenReturn(tabLevel);
+    when(tab.getSequenceNumber()).thenReturn(sequenceNumber);
+    return tab;
+  }
+
   /**
    * Sets up the mock behavior for TabAccess and Tab entities.
    *
@@ -0,0 +1,118 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jettison.json.JSONException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BoundedCache}.
+ */
+class BoundedCacheTest {
+
+  private BoundedCache<String> cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    cache = new BoundedCache<>(2);
+    loads = new AtomicInteger();
+  }
+
+  private String load() {
+    return "value-" + loads.incrementAndGet();
+  }
+
+  @Test
+  void getBuildsEachKeyOnce() {
+    String first = cache.get("a", this::load);
+    String second = cache.get("a", this::load);
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void getEvictsLeastRecentlyUsedValueWhenFull() {
+    cache.get("a", this::load);
+    cache.get("b", this::load);
+    cache.get("a", this::load);
+    cache.get("c", this::load);
+
+    assertEquals(2, cache.size());
+    assertEquals(3, loads.get());
+    cache.get("a", this::load);
+    assertEquals(3, loads.get());
+    cache.get("b", this::load);
+    assertEquals(4, loads.get());
+  }
+
+  @Test
+  void getDoesNotStoreValueBuiltAcrossClear() {
+    String value = cache.get("a", () -> {
+      cache.clear();
+      return load();
+    });
+
+    assertEquals("value-1", value);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void getDoesNotStoreNullValues() {
+    assertNull(cache.get("a", () -> null));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void getPropagatesLoadFailuresWithoutStoring() {
+    assertThrows(JSONException.class, () -> cache.get("a", () -> {
+      throw new JSONException("broken");
+    }));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void getRebuildsExpiredValues() {
+    BoundedCache<String> expiring = new BoundedCache<>(2, 0L);
+
+    String first = expiring.get("a", this::load);
+    String second = expiring.get("a", this::load);
+
+    assertEquals("value-1", first);
+    assertEquals("value-2", second);
+    assertEquals(1, expiring.size());
+  }
+
+  @Test
+  void clearDropsEveryValue() {
+    cache.get("a", this::load);
+    cache.clear();
+    cache.get("a", this::load);
+
+    assertEquals(2, loads.get());
+  }
+}
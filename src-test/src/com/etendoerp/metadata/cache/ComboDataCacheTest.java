@@ -0,0 +1,107 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ComboDataCache}.
+ */
+class ComboDataCacheTest {
+
+  private static final String KEY = "ref|val|role";
+
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    ComboDataCache.clear();
+    loads = new AtomicInteger();
+  }
+
+  private List<ComboDataCache.Value> load() {
+    loads.incrementAndGet();
+    List<ComboDataCache.Value> values = new ArrayList<>();
+    values.add(new ComboDataCache.Value("1", "Standard"));
+    return values;
+  }
+
+  @Test
+  void getLoadsOncePerKey() throws Exception {
+    List<ComboDataCache.Value> first = ComboDataCache.get(KEY, this::load);
+    List<ComboDataCache.Value> second = ComboDataCache.get(KEY, this::load);
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+    assertEquals("Standard", second.get(0).getName());
+  }
+
+  @Test
+  void getKeepsKeysApart() throws Exception {
+    ComboDataCache.get(KEY, this::load);
+    ComboDataCache.get(KEY + "|other-role", this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void valuesAreImmutable() throws Exception {
+    List<ComboDataCache.Value> values = ComboDataCache.get(KEY, this::load);
+
+    assertThrows(UnsupportedOperationException.class, values::clear);
+  }
+
+  @Test
+  void loaderFailuresAreNotCached() throws Exception {
+    assertThrows(IllegalStateException.class, () -> ComboDataCache.get(KEY, () -> {
+      throw new IllegalStateException("DB error");
+    }));
+    ComboDataCache.get(KEY, this::load);
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void valuesLoadedAcrossClearAreNotStored() throws Exception {
+    ComboDataCache.get(KEY, () -> {
+      ComboDataCache.clear();
+      return load();
+    });
+    ComboDataCache.get(KEY, this::load);
+    ComboDataCache.get(KEY, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void clearForcesReload() throws Exception {
+    ComboDataCache.get(KEY, this::load);
+    ComboDataCache.clear();
+    ComboDataCache.get(KEY, this::load);
+
+    assertEquals(2, loads.get());
+  }
+}
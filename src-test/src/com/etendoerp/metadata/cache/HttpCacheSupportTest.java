@@ -33,6 +33,7 @@ import java.util.Date;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.codehaus.jettison.json.JSONObject;
 import org.hibernate.query.Query;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -155,16 +156,55 @@ class HttpCacheSupportTest extends AbstractMockedContextTest {
     }
 
     @Test
-    void computeETagForLabelsUsesLanguageAndModuleVersions() throws Exception {
+    void isCacheableFalseForLabelVariants() {
+        for (String parameter : new String[] { Constants.LABELS_SINCE_PARAMETER,
+                Constants.LABELS_MODULE_PARAMETER, Constants.LABELS_PARTITIONS_PARAMETER }) {
+            HttpServletRequest req = mockRequest(Constants.GET);
+            when(req.getParameter(parameter)).thenReturn("");
+            assertFalse(HttpCacheSupport.isCacheable(req, Constants.LABELS_PATH), parameter);
+        }
+    }
+
+    @Test
+    void computeETagForLabelsUsesLanguageBundleAndModuleVersions() throws Exception {
         when(language.getId()).thenReturn(LANGUAGE_ID);
         when(obContext.getLanguage()).thenReturn(language);
         when(session.createQuery(anyString(), eq(Date.class))).thenReturn(query);
         when(query.uniqueResult()).thenReturn(new Date(9000L));
 
-        String[] etag = new String[1];
-        runWithMockedContext(() -> etag[0] = HttpCacheSupport.computeETag(Constants.LABELS_PATH));
+        try {
+            LabelBundleCache.get(language, () -> new JSONObject().put("OBUIAPP_Save", "Save"));
+            String[] etags = new String[2];
+            runWithMockedContext(() -> etags[0] = HttpCacheSupport.computeETag(Constants.LABELS_PATH));
 
-        assertNotNull(etag[0]);
+            LabelBundleCache.invalidate();
+            LabelBundleCache.get(language, () -> new JSONObject().put("OBUIAPP_Save", "Guardar"));
+            runWithMockedContext(() -> etags[1] = HttpCacheSupport.computeETag(Constants.LABELS_PATH));
+
+            assertNotNull(etags[0]);
+            assertNotNull(etags[1]);
+            assertNotEquals(etags[0], etags[1]);
+        } finally {
+            LabelBundleCache.clear();
+        }
+    }
+
+    @Test
+    void computeETagForLabelsNullWhenBundleIsStale() throws Exception {
+        when(language.getId()).thenReturn(LANGUAGE_ID);
+        when(obContext.getLanguage()).thenReturn(language);
+
+        try {
+            LabelBundleCache.get(language, () -> new JSONObject().put("OBUIAPP_Save", "Save"));
+            LabelBundleCache.invalidate();
+
+            String[] etag = new String[1];
+            runWithMockedContext(() -> etag[0] = HttpCacheSupport.computeETag(Constants.LABELS_PATH));
+
+            assertNull(etag[0]);
+        } finally {
+            LabelBundleCache.clear();
+        }
     }
 
     @Test
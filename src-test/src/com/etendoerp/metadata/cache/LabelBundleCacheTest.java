@@ -0,0 +1,287 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Unit tests for {@link LabelBundleCache}.
+ */
+class LabelBundleCacheTest {
+
+  private Language english;
+  private Language spanish;
+  private JSONObject labels;
+  private AtomicInteger loads;
+  private Map<String, String> modules;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    LabelBundleCache.clear();
+    english = mock(Language.class);
+    spanish = mock(Language.class);
+    when(english.getId()).thenReturn("en_US");
+    when(spanish.getId()).thenReturn("es_ES");
+    labels = new JSONObject().put("OBUIAPP_Save", "Save").put("OBUIAPP_Cancel", "Cancel");
+    loads = new AtomicInteger();
+    modules = new HashMap<>();
+    modules.put("OBUIAPP_Save", "org.openbravo.client.application");
+  }
+
+  private Map<String, String> loadModules() {
+    return new HashMap<>(modules);
+  }
+
+  private JSONObject load() throws JSONException {
+    loads.incrementAndGet();
+    return new JSONObject(labels.toString());
+  }
+
+  @Test
+  void getReusesBundlePerLanguage() throws Exception {
+    LabelBundleCache.Bundle first = LabelBundleCache.get(english, this::load);
+    LabelBundleCache.Bundle second = LabelBundleCache.get(english, this::load);
+    LabelBundleCache.get(spanish, this::load);
+
+    assertSame(first, second);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getLoadsOnEveryCallWithoutLanguage() throws Exception {
+    LabelBundleCache.get(null, this::load);
+    LabelBundleCache.get(null, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void bundleHoldsSerializedAndCompressedLabels() throws Exception {
+    LabelBundleCache.Bundle bundle = LabelBundleCache.get(english, this::load);
+
+    JSONObject json = new JSONObject(new String(bundle.getJson(), StandardCharsets.UTF_8));
+    assertEquals("Save", json.getString("OBUIAPP_Save"));
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bundle.getGzip()))) {
+      assertEquals(new String(bundle.getJson(), StandardCharsets.UTF_8),
+          new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void invalidateKeepsVersionWhenLabelsDidNotChange() throws Exception {
+    LabelBundleCache.Bundle first = LabelBundleCache.get(english, this::load);
+    LabelBundleCache.invalidate();
+    LabelBundleCache.Bundle second = LabelBundleCache.get(english, this::load);
+
+    assertEquals(2, loads.get());
+    assertEquals(first.getVersion(), second.getVersion());
+    assertSame(first.getGzip(), second.getGzip());
+  }
+
+  @Test
+  void deltaReturnsOnlyLabelsChangedAfterVersion() throws Exception {
+    LabelBundleCache.Bundle first = LabelBundleCache.get(english, this::load);
+    labels.put("OBUIAPP_Save", "Save record").remove("OBUIAPP_Cancel");
+    labels.put("OBUIAPP_New", "New");
+    LabelBundleCache.invalidate();
+    LabelBundleCache.Bundle second = LabelBundleCache.get(english, this::load);
+
+    assertTrue(second.getVersion() > first.getVersion());
+    JSONObject delta = second.delta(first.getVersion());
+    assertEquals(second.getVersion(), delta.getLong(LabelBundleCache.VERSION));
+    assertFalse(delta.getBoolean(LabelBundleCache.FULL));
+    JSONObject changed = delta.getJSONObject(LabelBundleCache.LABELS);
+    assertEquals(2, changed.length());
+    assertEquals("Save record", changed.getString("OBUIAPP_Save"));
+    assertEquals("New", changed.getString("OBUIAPP_New"));
+    assertEquals("OBUIAPP_Cancel", delta.getJSONArray(LabelBundleCache.REMOVED).getString(0));
+
+    JSONObject empty = second.delta(second.getVersion());
+    assertEquals(0, empty.getJSONObject(LabelBundleCache.LABELS).length());
+    assertEquals(0, empty.getJSONArray(LabelBundleCache.REMOVED).length());
+  }
+
+  @Test
+  void deltaReturnsFullBundleForUnknownVersion() throws Exception {
+    LabelBundleCache.Bundle bundle = LabelBundleCache.get(english, this::load);
+
+    JSONObject older = bundle.delta(bundle.getVersion() - 1);
+    JSONObject newer = bundle.delta(bundle.getVersion() + 1);
+
+    assertTrue(older.getBoolean(LabelBundleCache.FULL));
+    assertEquals(2, older.getJSONObject(LabelBundleCache.LABELS).length());
+    assertTrue(newer.getBoolean(LabelBundleCache.FULL));
+  }
+
+  @Test
+  void clearDropsHistory() throws Exception {
+    LabelBundleCache.Bundle first = LabelBundleCache.get(english, this::load);
+    LabelBundleCache.clear();
+    LabelBundleCache.Bundle second = LabelBundleCache.get(english, this::load);
+
+    assertNotEquals(first.getVersion(), second.getVersion());
+    assertTrue(second.delta(first.getVersion()).getBoolean(LabelBundleCache.FULL));
+  }
+
+  @Test
+  void deltaHistoryDropsVersionsOlderThanTheWindow() throws Exception {
+    Map<String, String> all = new LinkedHashMap<>();
+    all.put("OBUIAPP_Save", "Save");
+    all.put("OBUIAPP_Cancel", "Cancel");
+    all.put("OBUIAPP_New", "New");
+    Map<String, String> withoutCancel = new LinkedHashMap<>(all);
+    withoutCancel.remove("OBUIAPP_Cancel");
+    Map<String, String> saveOnly = new LinkedHashMap<>(withoutCancel);
+    saveOnly.remove("OBUIAPP_New");
+    byte[] json = new byte[0];
+    long firstVersion = 1_000L;
+    long secondVersion = 2_000L;
+    long thirdVersion = secondVersion + LabelBundleCache.DELTA_HISTORY_MILLIS + 1;
+
+    LabelBundleCache.Bundle first = LabelBundleCache.Bundle.initial(all, json, modules, firstVersion, 0L);
+    LabelBundleCache.Bundle second = first.next(withoutCancel, json, modules, secondVersion, 0L);
+    LabelBundleCache.Bundle third = second.next(saveOnly, json, modules, thirdVersion, 0L);
+
+    assertFalse(second.delta(firstVersion).getBoolean(LabelBundleCache.FULL));
+    assertTrue(third.delta(firstVersion).getBoolean(LabelBundleCache.FULL));
+    JSONObject delta = third.delta(secondVersion);
+    assertFalse(delta.getBoolean(LabelBundleCache.FULL));
+    assertEquals(1, delta.getJSONArray(LabelBundleCache.REMOVED).length());
+    assertEquals("OBUIAPP_New", delta.getJSONArray(LabelBundleCache.REMOVED).getString(0));
+  }
+
+  @Test
+  void reloadOfOneLanguageDoesNotWaitForAnother() throws Exception {
+    CountDownLatch englishLoading = new CountDownLatch(1);
+    CountDownLatch spanishLoaded = new CountDownLatch(1);
+    AtomicBoolean englishSawSpanish = new AtomicBoolean();
+    Thread englishRequest = new Thread(() -> {
+      try {
+        LabelBundleCache.get(english, () -> {
+          englishLoading.countDown();
+          try {
+            englishSawSpanish.set(spanishLoaded.await(5, TimeUnit.SECONDS));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return load();
+        });
+      } catch (JSONException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    englishRequest.start();
+    assertTrue(englishLoading.await(5, TimeUnit.SECONDS));
+
+    LabelBundleCache.get(spanish, this::load);
+    spanishLoaded.countDown();
+    englishRequest.join();
+
+    assertTrue(englishSawSpanish.get());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void bundleIsPartitionedByModule() throws Exception {
+    LabelBundleCache.Bundle bundle = LabelBundleCache.get(english, this::load, this::loadModules);
+
+    assertEquals(2, bundle.getPartitions().size());
+    LabelBundleCache.Partition application = bundle.getPartition("org.openbravo.client.application");
+    JSONObject json = new JSONObject(new String(application.getJson(), StandardCharsets.UTF_8));
+    assertEquals(1, application.getSize());
+    assertEquals("Save", json.getString("OBUIAPP_Save"));
+    assertFalse(json.has("OBUIAPP_Cancel"));
+    assertTrue(application.getETag().startsWith("\""));
+    assertEquals(1, bundle.getPartition(LabelBundleCache.UNASSIGNED_PARTITION).getSize());
+    assertEquals(0, bundle.getPartition("com.example.unknown").getSize());
+  }
+
+  @Test
+  void partitionETagChangesOnlyForChangedModule() throws Exception {
+    LabelBundleCache.Bundle first = LabelBundleCache.get(english, this::load, this::loadModules);
+    labels.put("OBUIAPP_Cancel", "Discard");
+    LabelBundleCache.invalidate();
+    LabelBundleCache.Bundle second = LabelBundleCache.get(english, this::load, this::loadModules);
+
+    assertEquals(first.getPartition("org.openbravo.client.application").getETag(),
+        second.getPartition("org.openbravo.client.application").getETag());
+    assertNotEquals(first.getPartition(LabelBundleCache.UNASSIGNED_PARTITION).getETag(),
+        second.getPartition(LabelBundleCache.UNASSIGNED_PARTITION).getETag());
+  }
+
+  @Test
+  void invalidateRepartitionsWhenModulesChange() throws Exception {
+    LabelBundleCache.Bundle first = LabelBundleCache.get(english, this::load, this::loadModules);
+    modules.put("OBUIAPP_Cancel", "org.openbravo.client.application");
+    LabelBundleCache.invalidate();
+    LabelBundleCache.Bundle second = LabelBundleCache.get(english, this::load, this::loadModules);
+
+    assertEquals(first.getVersion(), second.getVersion());
+    assertEquals(2, second.getPartition("org.openbravo.client.application").getSize());
+    assertEquals(1, second.getPartitions().size());
+    assertNotEquals(first.getPartitionsETag(), second.getPartitionsETag());
+  }
+
+  @Test
+  void partitionsETagFollowsTheBundleVersion() throws Exception {
+    LabelBundleCache.Bundle first = LabelBundleCache.get(english, this::load, this::loadModules);
+    LabelBundleCache.invalidate();
+    LabelBundleCache.Bundle unchanged = LabelBundleCache.get(english, this::load, this::loadModules);
+    labels.put("OBUIAPP_Save", "Store");
+    LabelBundleCache.invalidate();
+    LabelBundleCache.Bundle changed = LabelBundleCache.get(english, this::load, this::loadModules);
+
+    assertTrue(first.getPartitionsETag().startsWith("\""));
+    assertEquals(first.getPartitionsETag(), unchanged.getPartitionsETag());
+    assertNotEquals(first.getPartitionsETag(), changed.getPartitionsETag());
+  }
+
+  @Test
+  void deltaCanBeRestrictedToModule() throws Exception {
+    LabelBundleCache.Bundle bundle = LabelBundleCache.get(english, this::load, this::loadModules);
+
+    JSONObject delta = bundle.delta(bundle.getVersion() - 1, "org.openbravo.client.application");
+
+    JSONObject changed = delta.getJSONObject(LabelBundleCache.LABELS);
+    assertEquals(1, changed.length());
+    assertEquals("Save", changed.getString("OBUIAPP_Save"));
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createDeleteEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createNewEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createUpdateEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.setupMocks;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.dal.core.TriggerHandler;
+import org.openbravo.model.ad.ui.Message;
+import org.openbravo.model.ad.ui.MessageTrl;
+
+/**
+ * Unit tests for {@link LabelCacheInvalidationObserver}.
+ * Verifies that changes to messages and their translations mark the label bundles as stale.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class LabelCacheInvalidationObserverTest {
+
+  private static final String[] OBSERVED_ENTITY_NAMES = {
+      Message.ENTITY_NAME, MessageTrl.ENTITY_NAME
+  };
+
+  @Test
+  void onNewInvalidatesLabelsForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<LabelBundleCache> cacheMock = mockStatic(LabelBundleCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      LabelCacheInvalidationObserver observer = new LabelCacheInvalidationObserver();
+      observer.onNew(createNewEvent(observer.getObservedEntities()[0]));
+
+      cacheMock.verify(LabelBundleCache::invalidate, times(1));
+    }
+  }
+
+  @Test
+  void onUpdateInvalidatesLabelsForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<LabelBundleCache> cacheMock = mockStatic(LabelBundleCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      LabelCacheInvalidationObserver observer = new LabelCacheInvalidationObserver();
+      observer.onUpdate(createUpdateEvent(observer.getObservedEntities()[1]));
+
+      cacheMock.verify(LabelBundleCache::invalidate, times(1));
+    }
+  }
+
+  @Test
+  void onDeleteInvalidatesLabelsForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<LabelBundleCache> cacheMock = mockStatic(LabelBundleCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      LabelCacheInvalidationObserver observer = new LabelCacheInvalidationObserver();
+      observer.onDelete(createDeleteEvent(observer.getObservedEntities()[1]));
+
+      cacheMock.verify(LabelBundleCache::invalidate, times(1));
+    }
+  }
+
+  @Test
+  void onNewDoesNotInvalidateForUnobservedEntity() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<LabelBundleCache> cacheMock = mockStatic(LabelBundleCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      LabelCacheInvalidationObserver observer = new LabelCacheInvalidationObserver();
+      observer.onNew(createNewEvent(mock(Entity.class)));
+
+      cacheMock.verify(LabelBundleCache::invalidate, never());
+    }
+  }
+}
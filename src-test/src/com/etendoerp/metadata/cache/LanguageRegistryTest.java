@@ -0,0 +1,88 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Unit tests for {@link LanguageRegistry}.
+ */
+class LanguageRegistryTest {
+
+  private Language english;
+  private Language spanish;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    LanguageRegistry.clear();
+    english = mock(Language.class);
+    spanish = mock(Language.class);
+    when(english.getId()).thenReturn("192");
+    when(spanish.getId()).thenReturn("140");
+    loads = new AtomicInteger();
+  }
+
+  private JSONObject loadList() throws JSONException {
+    loads.incrementAndGet();
+    return new JSONObject().put("en_US", new JSONObject().put("id", "192"));
+  }
+
+  @Test
+  void getLanguagesReusesListPerLanguage() throws Exception {
+    JSONObject first = LanguageRegistry.getLanguages(english, this::loadList);
+    JSONObject second = LanguageRegistry.getLanguages(english, this::loadList);
+    LanguageRegistry.getLanguages(spanish, this::loadList);
+    LanguageRegistry.getLanguages(null, this::loadList);
+
+    assertSame(first, second);
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void listBuiltAcrossClearIsNotStored() throws Exception {
+    LanguageRegistry.getLanguages(english, () -> {
+      LanguageRegistry.clear();
+      return loadList();
+    });
+    LanguageRegistry.getLanguages(english, this::loadList);
+    LanguageRegistry.getLanguages(english, this::loadList);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void clearDropsLists() throws Exception {
+    LanguageRegistry.getLanguages(english, this::loadList);
+    LanguageRegistry.clear();
+    LanguageRegistry.getLanguages(english, this::loadList);
+
+    assertEquals(2, loads.get());
+  }
+}
@@ -59,7 +59,8 @@ class MenuCacheInvalidationObserverTest {
     try (
         MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
-        MockedStatic<MenuBuilder> menuBuilderMock = mockStatic(MenuBuilder.class)
+        MockedStatic<MenuBuilder> menuBuilderMock = mockStatic(MenuBuilder.class);
+        MockedStatic<RoleAccessMatrix> roleAccessMock = mockStatic(RoleAccessMatrix.class)
     ) {
       setupMocks(modelProviderMock, triggerMock);
 
@@ -69,6 +70,7 @@ class MenuCacheInvalidationObserverTest {
       observer.onNew(newEvent(observedEntity));
 
       menuBuilderMock.verify(MenuBuilder::clearMenuCache, times(1));
+      roleAccessMock.verify(RoleAccessMatrix::clear, times(1));
     }
   }
 
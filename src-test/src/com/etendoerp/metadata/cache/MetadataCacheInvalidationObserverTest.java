@@ -41,7 +41,6 @@ import org.openbravo.client.kernel.event.EntityNewEvent;
 import org.openbravo.client.kernel.event.EntityUpdateEvent;
 import org.openbravo.dal.core.TriggerHandler;
 
-import com.etendoerp.metadata.builders.FieldBuilderWithColumn;
 import com.etendoerp.metadata.builders.WindowBuilder;
 import com.etendoerp.metadata.data.TabProcessor;
 
@@ -65,7 +64,7 @@ class MetadataCacheInvalidationObserverTest {
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
         MockedStatic<TabProcessor> tabProcessorMock = mockStatic(TabProcessor.class);
         MockedStatic<WindowBuilder> windowBuilderMock = mockStatic(WindowBuilder.class);
-        MockedStatic<FieldBuilderWithColumn> fieldBuilderMock = mockStatic(FieldBuilderWithColumn.class)
+        MockedStatic<RoleAccessMatrix> roleAccessMock = mockStatic(RoleAccessMatrix.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
@@ -78,7 +77,7 @@ class MetadataCacheInvalidationObserverTest {
       tabProcessorMock.verify(TabProcessor::clearFieldCache, times(1));
       tabProcessorMock.verify(TabProcessor::clearFieldAccessCache, times(1));
       windowBuilderMock.verify(WindowBuilder::clearTabAllowedCache, times(1));
-      fieldBuilderMock.verify(FieldBuilderWithColumn::clearWindowAccessCache, times(1));
+      roleAccessMock.verify(RoleAccessMatrix::clear, times(1));
     }
   }
 
@@ -89,7 +88,7 @@ class MetadataCacheInvalidationObserverTest {
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
         MockedStatic<TabProcessor> tabProcessorMock = mockStatic(TabProcessor.class);
         MockedStatic<WindowBuilder> windowBuilderMock = mockStatic(WindowBuilder.class);
-        MockedStatic<FieldBuilderWithColumn> fieldBuilderMock = mockStatic(FieldBuilderWithColumn.class)
+        MockedStatic<RoleAccessMatrix> roleAccessMock = mockStatic(RoleAccessMatrix.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
@@ -110,7 +109,7 @@ class MetadataCacheInvalidationObserverTest {
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
         MockedStatic<TabProcessor> tabProcessorMock = mockStatic(TabProcessor.class);
         MockedStatic<WindowBuilder> windowBuilderMock = mockStatic(WindowBuilder.class);
-        MockedStatic<FieldBuilderWithColumn> fieldBuilderMock = mockStatic(FieldBuilderWithColumn.class)
+        MockedStatic<RoleAccessMatrix> roleAccessMock = mockStatic(RoleAccessMatrix.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
@@ -131,7 +130,7 @@ class MetadataCacheInvalidationObserverTest {
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
         MockedStatic<TabProcessor> tabProcessorMock = mockStatic(TabProcessor.class);
         MockedStatic<WindowBuilder> windowBuilderMock = mockStatic(WindowBuilder.class);
-        MockedStatic<FieldBuilderWithColumn> fieldBuilderMock = mockStatic(FieldBuilderWithColumn.class)
+        MockedStatic<RoleAccessMatrix> roleAccessMock = mockStatic(RoleAccessMatrix.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
@@ -155,7 +154,7 @@ class MetadataCacheInvalidationObserverTest {
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
         MockedStatic<TabProcessor> tabProcessorMock = mockStatic(TabProcessor.class);
         MockedStatic<WindowBuilder> windowBuilderMock = mockStatic(WindowBuilder.class);
-        MockedStatic<FieldBuilderWithColumn> fieldBuilderMock = mockStatic(FieldBuilderWithColumn.class)
+        MockedStatic<RoleAccessMatrix> roleAccessMock = mockStatic(RoleAccessMatrix.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
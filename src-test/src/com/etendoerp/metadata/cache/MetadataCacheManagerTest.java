@@ -17,6 +17,7 @@
 package com.etendoerp.metadata.cache;
 
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 
 import org.junit.jupiter.api.Test;
@@ -26,7 +27,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
-import com.etendoerp.metadata.builders.FieldBuilderWithColumn;
+import com.etendoerp.metadata.builders.LegacyProcessResolver;
 import com.etendoerp.metadata.builders.MenuBuilder;
 import com.etendoerp.metadata.builders.WindowBuilder;
 import com.etendoerp.metadata.data.TabProcessor;
@@ -44,7 +45,19 @@ class MetadataCacheManagerTest {
     try (
         MockedStatic<TabProcessor> tabProcessorMock = mockStatic(TabProcessor.class);
         MockedStatic<WindowBuilder> windowBuilderMock = mockStatic(WindowBuilder.class);
-        MockedStatic<FieldBuilderWithColumn> fieldBuilderMock = mockStatic(FieldBuilderWithColumn.class);
+        MockedStatic<RoleAccessMatrix> roleAccessMock = mockStatic(RoleAccessMatrix.class);
+        MockedStatic<TableColumnCache> tableColumnMock = mockStatic(TableColumnCache.class);
+        MockedStatic<TabHierarchyCache> tabHierarchyMock = mockStatic(TabHierarchyCache.class);
+        MockedStatic<ReferenceListCache> referenceListMock = mockStatic(ReferenceListCache.class);
+        MockedStatic<SelectorMetadataCache> selectorMock = mockStatic(SelectorMetadataCache.class);
+        MockedStatic<ProcessDefinitionCache> processMock = mockStatic(ProcessDefinitionCache.class);
+        MockedStatic<LegacyProcessResolver> legacyMock = mockStatic(LegacyProcessResolver.class);
+        MockedStatic<ComboDataCache> comboMock = mockStatic(ComboDataCache.class);
+        MockedStatic<ToolbarCache> toolbarMock = mockStatic(ToolbarCache.class);
+        MockedStatic<LabelBundleCache> labelMock = mockStatic(LabelBundleCache.class);
+        MockedStatic<SessionRolesCache> sessionRolesMock = mockStatic(SessionRolesCache.class);
+        MockedStatic<OrganizationWarehouseIndex> warehouseIndexMock = mockStatic(OrganizationWarehouseIndex.class);
+        MockedStatic<LanguageRegistry> languageMock = mockStatic(LanguageRegistry.class);
         MockedStatic<MenuBuilder> menuBuilderMock = mockStatic(MenuBuilder.class)
     ) {
       MetadataCacheManager.invalidateAll();
@@ -52,7 +65,19 @@ class MetadataCacheManagerTest {
       tabProcessorMock.verify(TabProcessor::clearFieldCache, times(1));
       tabProcessorMock.verify(TabProcessor::clearFieldAccessCache, times(1));
       windowBuilderMock.verify(WindowBuilder::clearTabAllowedCache, times(1));
-      fieldBuilderMock.verify(FieldBuilderWithColumn::clearWindowAccessCache, times(1));
+      roleAccessMock.verify(RoleAccessMatrix::clear, times(1));
+      tableColumnMock.verify(TableColumnCache::clear, times(1));
+      tabHierarchyMock.verify(TabHierarchyCache::clear, times(1));
+      referenceListMock.verify(ReferenceListCache::clear, times(1));
+      selectorMock.verify(SelectorMetadataCache::clear, times(1));
+      processMock.verify(ProcessDefinitionCache::clear, times(1));
+      legacyMock.verify(LegacyProcessResolver::clearCache, times(1));
+      comboMock.verify(ComboDataCache::clear, times(1));
+      toolbarMock.verify(ToolbarCache::clear, times(1));
+      labelMock.verify(LabelBundleCache::invalidate, times(1));
+      sessionRolesMock.verify(SessionRolesCache::clear, times(1));
+      warehouseIndexMock.verify(OrganizationWarehouseIndex::clear, times(1));
+      languageMock.verify(LanguageRegistry::clear, times(1));
       menuBuilderMock.verify(MenuBuilder::clearMenuCache, times(1));
     }
   }
@@ -62,7 +87,10 @@ class MetadataCacheManagerTest {
     try (
         MockedStatic<TabProcessor> tabProcessorMock = mockStatic(TabProcessor.class);
         MockedStatic<WindowBuilder> windowBuilderMock = mockStatic(WindowBuilder.class);
-        MockedStatic<FieldBuilderWithColumn> fieldBuilderMock = mockStatic(FieldBuilderWithColumn.class);
+        MockedStatic<RoleAccessMatrix> roleAccessMock = mockStatic(RoleAccessMatrix.class);
+        MockedStatic<ReferenceListCache> referenceListMock = mockStatic(ReferenceListCache.class);
+        MockedStatic<SelectorMetadataCache> selectorMock = mockStatic(SelectorMetadataCache.class);
+        MockedStatic<ComboDataCache> comboMock = mockStatic(ComboDataCache.class);
         MockedStatic<MenuBuilder> menuBuilderMock = mockStatic(MenuBuilder.class)
     ) {
       MetadataCacheManager.invalidateAll();
@@ -71,8 +99,51 @@ class MetadataCacheManagerTest {
       tabProcessorMock.verify(TabProcessor::clearFieldCache, times(2));
       tabProcessorMock.verify(TabProcessor::clearFieldAccessCache, times(2));
       windowBuilderMock.verify(WindowBuilder::clearTabAllowedCache, times(2));
-      fieldBuilderMock.verify(FieldBuilderWithColumn::clearWindowAccessCache, times(2));
+      roleAccessMock.verify(RoleAccessMatrix::clear, times(2));
+      referenceListMock.verify(ReferenceListCache::clear, times(2));
+      selectorMock.verify(SelectorMetadataCache::clear, times(2));
+      comboMock.verify(ComboDataCache::clear, times(2));
       menuBuilderMock.verify(MenuBuilder::clearMenuCache, times(2));
     }
   }
+
+  @Test
+  void invalidateReferencesClearsReferenceAndFieldCaches() {
+    try (
+        MockedStatic<TabProcessor> tabProcessorMock = mockStatic(TabProcessor.class);
+        MockedStatic<ReferenceListCache> referenceListMock = mockStatic(ReferenceListCache.class);
+        MockedStatic<SelectorMetadataCache> selectorMock = mockStatic(SelectorMetadataCache.class);
+        MockedStatic<ProcessDefinitionCache> processMock = mockStatic(ProcessDefinitionCache.class);
+        MockedStatic<ComboDataCache> comboMock = mockStatic(ComboDataCache.class);
+        MockedStatic<MenuBuilder> menuBuilderMock = mockStatic(MenuBuilder.class)
+    ) {
+      MetadataCacheManager.invalidateReferences();
+
+      referenceListMock.verify(ReferenceListCache::clear, times(1));
+      selectorMock.verify(SelectorMetadataCache::clear, times(1));
+      processMock.verify(ProcessDefinitionCache::clear, times(1));
+      comboMock.verify(ComboDataCache::clear, times(1));
+      tabProcessorMock.verify(TabProcessor::clearFieldCache, times(1));
+      tabProcessorMock.verify(TabProcessor::clearFieldAccessCache, times(1));
+      menuBuilderMock.verify(MenuBuilder::clearMenuCache, never());
+    }
+  }
+
+  @Test
+  void invalidateProcessesClearsProcessAndFieldCaches() {
+    try (
+        MockedStatic<TabProcessor> tabProcessorMock = mockStatic(TabProcessor.class);
+        MockedStatic<ProcessDefinitionCache> processMock = mockStatic(ProcessDefinitionCache.class);
+        MockedStatic<LegacyProcessResolver> legacyMock = mockStatic(LegacyProcessResolver.class);
+        MockedStatic<ReferenceListCache> referenceListMock = mockStatic(ReferenceListCache.class)
+    ) {
+      MetadataCacheManager.invalidateProcesses();
+
+      processMock.verify(ProcessDefinitionCache::clear, times(1));
+      legacyMock.verify(LegacyProcessResolver::clearCache, times(1));
+      tabProcessorMock.verify(TabProcessor::clearFieldCache, times(1));
+      tabProcessorMock.verify(TabProcessor::clearFieldAccessCache, times(1));
+      referenceListMock.verify(ReferenceListCache::clear, never());
+    }
+  }
 }
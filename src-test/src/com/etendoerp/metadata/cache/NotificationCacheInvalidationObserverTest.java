@@ -0,0 +1,233 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+package com.etendoerp.metadata.cache;
+
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createDeleteEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createNewEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createUpdateEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.setupMocks;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.hibernate.Transaction;
+import org.hibernate.resource.transaction.spi.TransactionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.base.model.Property;
+import org.openbravo.base.structure.BaseOBObject;
+import org.openbravo.client.kernel.event.EntityDeleteEvent;
+import org.openbravo.client.kernel.event.EntityNewEvent;
+import org.openbravo.client.kernel.event.EntityUpdateEvent;
+import org.openbravo.client.kernel.event.TransactionCompletedEvent;
+import org.openbravo.dal.core.TriggerHandler;
+import org.openbravo.model.ad.access.User;
+
+/**
+ * Unit tests for {@link NotificationCacheInvalidationObserver}.
+ * Verifies that committed note events are applied to, or invalidate, the recipient's cached
+ * notifications, and that rolled back ones are discarded.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class NotificationCacheInvalidationObserverTest {
+
+  private static final String USER_ID = "user-1";
+
+  @BeforeEach
+  void setUp() {
+    NotificationCache.clear();
+    NotificationCache.prime(USER_ID, NotificationCache.loadStamp(USER_ID), 1L, Collections.emptyList());
+  }
+
+  private static TransactionCompletedEvent completed(TransactionStatus status) {
+    Transaction transaction = mock(Transaction.class);
+    when(transaction.getStatus()).thenReturn(status);
+    TransactionCompletedEvent event = mock(TransactionCompletedEvent.class);
+    when(event.getTransaction()).thenReturn(transaction);
+    return event;
+  }
+
+  private static void setupNoteEntity(MockedStatic<ModelProvider> modelProviderMock,
+      MockedStatic<TriggerHandler> triggerMock) {
+    setupMocks(modelProviderMock, triggerMock, new String[0]);
+    when(ModelProvider.getInstance().getEntity(NotificationCacheInvalidationObserver.NOTE_ENTITY, false))
+        .thenReturn(mock(Entity.class));
+  }
+
+  private static User mockUser() {
+    User user = mock(User.class);
+    when(user.getId()).thenReturn(USER_ID);
+    return user;
+  }
+
+  @Test
+  void onNewAppliesActiveNoteToCachedCounter() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class)
+    ) {
+      setupNoteEntity(modelProviderMock, triggerMock);
+
+      NotificationCacheInvalidationObserver observer = new NotificationCacheInvalidationObserver();
+      EntityNewEvent event = createNewEvent(observer.getObservedEntities()[0]);
+      BaseOBObject note = event.getTargetInstance();
+      User user = mockUser();
+      when(note.get(NotificationCacheInvalidationObserver.PROPERTY_ACTIVE)).thenReturn(true);
+      when(note.get(NotificationCacheInvalidationObserver.PROPERTY_USER)).thenReturn(user);
+      when(note.get(NotificationCacheInvalidationObserver.PROPERTY_NOTE)).thenReturn("Costs calculated");
+      when(note.get(NotificationCacheInvalidationObserver.PROPERTY_CREATION_DATE)).thenReturn(new Date());
+
+      observer.onNew(event);
+      assertEquals(1L, NotificationCache.get(USER_ID).getUnreadCount());
+      observer.onTransactionCompleted(completed(TransactionStatus.COMMITTED));
+
+      NotificationCache.Snapshot snapshot = NotificationCache.get(USER_ID);
+      assertNotNull(snapshot);
+      assertEquals(2L, snapshot.getUnreadCount());
+      assertEquals("Costs calculated", snapshot.getItems().get(0).getText());
+    }
+  }
+
+  @Test
+  void onNewIsDiscardedWhenTransactionRollsBack() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class)
+    ) {
+      setupNoteEntity(modelProviderMock, triggerMock);
+
+      NotificationCacheInvalidationObserver observer = new NotificationCacheInvalidationObserver();
+      EntityNewEvent event = createNewEvent(observer.getObservedEntities()[0]);
+      BaseOBObject note = event.getTargetInstance();
+      User user = mockUser();
+      when(note.get(NotificationCacheInvalidationObserver.PROPERTY_ACTIVE)).thenReturn(true);
+      when(note.get(NotificationCacheInvalidationObserver.PROPERTY_USER)).thenReturn(user);
+      when(note.get(NotificationCacheInvalidationObserver.PROPERTY_NOTE)).thenReturn("Costs calculated");
+
+      observer.onNew(event);
+      observer.onTransactionCompleted(completed(TransactionStatus.ROLLED_BACK));
+      observer.onTransactionCompleted(completed(TransactionStatus.COMMITTED));
+
+      assertEquals(1L, NotificationCache.get(USER_ID).getUnreadCount());
+    }
+  }
+
+  @Test
+  void onNewIgnoresInactiveNote() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class)
+    ) {
+      setupNoteEntity(modelProviderMock, triggerMock);
+
+      NotificationCacheInvalidationObserver observer = new NotificationCacheInvalidationObserver();
+      EntityNewEvent event = createNewEvent(observer.getObservedEntities()[0]);
+      BaseOBObject note = event.getTargetInstance();
+      User user = mockUser();
+      when(note.get(NotificationCacheInvalidationObserver.PROPERTY_ACTIVE)).thenReturn(false);
+      when(note.get(NotificationCacheInvalidationObserver.PROPERTY_USER)).thenReturn(user);
+
+      observer.onNew(event);
+      observer.onTransactionCompleted(completed(TransactionStatus.COMMITTED));
+
+      assertEquals(1L, NotificationCache.get(USER_ID).getUnreadCount());
+    }
+  }
+
+  @Test
+  void onUpdateInvalidatesRecipient() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class)
+    ) {
+      setupNoteEntity(modelProviderMock, triggerMock);
+
+      NotificationCacheInvalidationObserver observer = new NotificationCacheInvalidationObserver();
+      Entity noteEntity = observer.getObservedEntities()[0];
+      EntityUpdateEvent event = createUpdateEvent(noteEntity);
+      Property userProperty = mock(Property.class);
+      User user = mockUser();
+      when(noteEntity.getProperty(NotificationCacheInvalidationObserver.PROPERTY_USER, false))
+          .thenReturn(userProperty);
+      when(event.getPreviousState(userProperty)).thenReturn(user);
+      when(event.getCurrentState(userProperty)).thenReturn(user);
+
+      observer.onUpdate(event);
+      assertNotNull(NotificationCache.get(USER_ID));
+      observer.onTransactionCompleted(completed(TransactionStatus.COMMITTED));
+
+      assertNull(NotificationCache.get(USER_ID));
+    }
+  }
+
+  @Test
+  void onDeleteInvalidatesRecipient() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class)
+    ) {
+      setupNoteEntity(modelProviderMock, triggerMock);
+
+      NotificationCacheInvalidationObserver observer = new NotificationCacheInvalidationObserver();
+      EntityDeleteEvent event = createDeleteEvent(observer.getObservedEntities()[0]);
+      User user = mockUser();
+      when(event.getTargetInstance().get(NotificationCacheInvalidationObserver.PROPERTY_USER))
+          .thenReturn(user);
+
+      observer.onDelete(event);
+      observer.onTransactionCompleted(completed(TransactionStatus.COMMITTED));
+
+      assertNull(NotificationCache.get(USER_ID));
+    }
+  }
+
+  @Test
+  void onDeleteIgnoredWhenTriggersDisabled() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class)
+    ) {
+      setupNoteEntity(modelProviderMock, triggerMock);
+      when(TriggerHandler.getInstance().isDisabled()).thenReturn(true);
+
+      NotificationCacheInvalidationObserver observer = new NotificationCacheInvalidationObserver();
+      EntityDeleteEvent event = createDeleteEvent(observer.getObservedEntities()[0]);
+      User user = mockUser();
+      when(event.getTargetInstance().get(NotificationCacheInvalidationObserver.PROPERTY_USER))
+          .thenReturn(user);
+
+      observer.onDelete(event);
+      observer.onTransactionCompleted(completed(TransactionStatus.COMMITTED));
+
+      assertNotNull(NotificationCache.get(USER_ID));
+    }
+  }
+}
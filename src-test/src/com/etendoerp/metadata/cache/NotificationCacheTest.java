@@ -0,0 +1,165 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link NotificationCache}.
+ */
+class NotificationCacheTest {
+
+  private static final String USER_ID = "user-1";
+
+  @BeforeEach
+  void setUp() {
+    NotificationCache.clear();
+  }
+
+  private static NotificationCache.Snapshot prime(long unreadCount, List<NotificationCache.Item> items) {
+    return NotificationCache.prime(USER_ID, NotificationCache.loadStamp(USER_ID), unreadCount, items);
+  }
+
+  private static void create(String text) {
+    long changeStamp = NotificationCache.beginChange(USER_ID);
+    NotificationCache.onCreated(USER_ID, new NotificationCache.Item(text, "1", new Date()), changeStamp);
+  }
+
+  @Test
+  void getReturnsNullOnColdStart() {
+    assertNull(NotificationCache.get(USER_ID));
+  }
+
+  @Test
+  void primeStoresCountAndItems() {
+    prime(3L, Collections.singletonList(new NotificationCache.Item("note", "0", new Date())));
+
+    NotificationCache.Snapshot snapshot = NotificationCache.get(USER_ID);
+
+    assertNotNull(snapshot);
+    assertEquals(3L, snapshot.getUnreadCount());
+    assertEquals(1, snapshot.getItems().size());
+    assertEquals("note", snapshot.getItems().get(0).getText());
+  }
+
+  @Test
+  void primeBoundsBufferSize() {
+    List<NotificationCache.Item> items = new ArrayList<>();
+    for (int i = 0; i < NotificationCache.BUFFER_SIZE + 10; i++) {
+      items.add(new NotificationCache.Item("note " + i, "0", new Date()));
+    }
+
+    NotificationCache.Snapshot snapshot = prime(items.size(), items);
+
+    assertEquals(NotificationCache.BUFFER_SIZE, snapshot.getItems().size());
+  }
+
+  @Test
+  void onCreatedIncrementsCounterAndPrependsItem() {
+    NotificationCache.Snapshot primed = prime(1L,
+        Collections.singletonList(new NotificationCache.Item("old", "0", new Date())));
+
+    create("new");
+    NotificationCache.Snapshot snapshot = NotificationCache.get(USER_ID);
+
+    assertNotNull(snapshot);
+    assertEquals(2L, snapshot.getUnreadCount());
+    assertEquals("new", snapshot.getItems().get(0).getText());
+    assertTrue(snapshot.getVersion() > primed.getVersion());
+  }
+
+  @Test
+  void onCreatedIgnoresUsersWithoutEntry() {
+    create("new");
+
+    assertNull(NotificationCache.get(USER_ID));
+  }
+
+  @Test
+  void onCreatedInvalidatesEntryLoadedAfterFlush() {
+    long changeStamp = NotificationCache.beginChange(USER_ID);
+    // Loaded between the flush and the commit of the note: it may already count it
+    prime(1L, Collections.emptyList());
+
+    NotificationCache.onCreated(USER_ID, new NotificationCache.Item("new", "1", new Date()), changeStamp);
+
+    assertNull(NotificationCache.get(USER_ID));
+  }
+
+  @Test
+  void primeDoesNotStoreLoadOverlappingCommittedChange() {
+    long loadStamp = NotificationCache.loadStamp(USER_ID);
+    NotificationCache.invalidate(USER_ID);
+
+    NotificationCache.Snapshot snapshot = NotificationCache.prime(USER_ID, loadStamp, 1L, Collections.emptyList());
+
+    assertEquals(1L, snapshot.getUnreadCount());
+    assertNull(NotificationCache.get(USER_ID));
+  }
+
+  @Test
+  void invalidateForcesReload() {
+    prime(1L, Collections.emptyList());
+
+    NotificationCache.invalidate(USER_ID);
+
+    assertNull(NotificationCache.get(USER_ID));
+  }
+
+  @Test
+  void awaitChangeReturnsWhenNotificationArrives() throws Exception {
+    NotificationCache.Snapshot primed = prime(0L, Collections.emptyList());
+
+    Thread producer = new Thread(() -> {
+      try {
+        Thread.sleep(50L);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      create("new");
+    });
+    producer.start();
+
+    long start = System.currentTimeMillis();
+    NotificationCache.awaitChange(USER_ID, primed.getVersion(), 5_000L);
+    producer.join();
+
+    assertTrue(System.currentTimeMillis() - start < 5_000L);
+    assertNotEquals(primed.getVersion(), NotificationCache.get(USER_ID).getVersion());
+  }
+
+  @Test
+  void awaitChangeReturnsImmediatelyWithoutEntry() throws Exception {
+    long start = System.currentTimeMillis();
+
+    NotificationCache.awaitChange(USER_ID, 0L, 5_000L);
+
+    assertTrue(System.currentTimeMillis() - start < 5_000L);
+  }
+}
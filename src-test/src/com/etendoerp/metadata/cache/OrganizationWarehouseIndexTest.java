@@ -0,0 +1,122 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OrganizationWarehouseIndex}.
+ */
+class OrganizationWarehouseIndexTest {
+
+  // Organization tree: * > spain > madrid
+  private static final Map<String, Set<String>> NATURAL_TREES = Map.of(
+      "0", Set.of("0", "spain", "madrid"),
+      "spain", Set.of("0", "spain", "madrid"),
+      "madrid", Set.of("0", "spain", "madrid"),
+      "usa", Set.of("0", "usa"));
+
+  private AtomicInteger loads;
+  private AtomicInteger naturalTreeLookups;
+
+  @BeforeEach
+  void setUp() {
+    OrganizationWarehouseIndex.clear();
+    loads = new AtomicInteger();
+    naturalTreeLookups = new AtomicInteger();
+  }
+
+  private OrganizationWarehouseIndex.Index load() {
+    loads.incrementAndGet();
+    return new OrganizationWarehouseIndex.Index(List.of(
+        new OrganizationWarehouseIndex.Entry("central", "spain"),
+        new OrganizationWarehouseIndex.Entry("store", "madrid"),
+        new OrganizationWarehouseIndex.Entry("outlet", "madrid"),
+        new OrganizationWarehouseIndex.Entry("texas", "usa")), organizationId -> {
+          naturalTreeLookups.incrementAndGet();
+          return NATURAL_TREES.get(organizationId);
+        });
+  }
+
+  private static List<String> warehouseIds(OrganizationWarehouseIndex.Index index, String organizationId) {
+    return index.getWarehouses(organizationId)
+        .stream()
+        .map(OrganizationWarehouseIndex.Entry::getWarehouseId)
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  void indexFollowsNaturalTree() {
+    OrganizationWarehouseIndex.Index index = load();
+
+    assertEquals(List.of("central", "store", "outlet"), warehouseIds(index, "spain"));
+    assertEquals(List.of("central", "store", "outlet"), warehouseIds(index, "madrid"));
+    assertEquals(List.of("central", "store", "outlet", "texas"), warehouseIds(index, "0"));
+    assertEquals(List.of("texas"), warehouseIds(index, "usa"));
+    assertTrue(index.getWarehouses("unknown").isEmpty());
+  }
+
+  @Test
+  void indexReadsNaturalTreeOncePerWarehouseOrganization() {
+    load();
+
+    assertEquals(3, naturalTreeLookups.get());
+  }
+
+  @Test
+  void getReusesIndexPerClient() {
+    OrganizationWarehouseIndex.Index first = OrganizationWarehouseIndex.get("client", this::load);
+    OrganizationWarehouseIndex.Index second = OrganizationWarehouseIndex.get("client", this::load);
+    OrganizationWarehouseIndex.get(null, this::load);
+
+    assertSame(first, second);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void indexBuiltAcrossClearIsNotStored() {
+    OrganizationWarehouseIndex.get("client", () -> {
+      OrganizationWarehouseIndex.clear();
+      return load();
+    });
+    OrganizationWarehouseIndex.get("client", this::load);
+    OrganizationWarehouseIndex.get("client", this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void clearDropsEveryIndex() {
+    OrganizationWarehouseIndex.get("client", this::load);
+    OrganizationWarehouseIndex.clear();
+    OrganizationWarehouseIndex.get("client", this::load);
+
+    assertEquals(2, loads.get());
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createDeleteEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createNewEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createUpdateEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.setupMocks;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.dal.core.TriggerHandler;
+import org.openbravo.model.ad.domain.Preference;
+
+/**
+ * Unit tests for {@link PreferenceCacheInvalidationObserver}.
+ * Verifies that changes to preferences drop the preference cache.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class PreferenceCacheInvalidationObserverTest {
+
+  private static final String[] OBSERVED_ENTITY_NAMES = {
+      Preference.ENTITY_NAME
+  };
+
+  @Test
+  void onNewClearsPreferencesForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<PreferenceCache> cacheMock = mockStatic(PreferenceCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      PreferenceCacheInvalidationObserver observer = new PreferenceCacheInvalidationObserver();
+      observer.onNew(createNewEvent(observer.getObservedEntities()[0]));
+
+      cacheMock.verify(PreferenceCache::clear, times(1));
+    }
+  }
+
+  @Test
+  void onUpdateClearsPreferencesForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<PreferenceCache> cacheMock = mockStatic(PreferenceCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      PreferenceCacheInvalidationObserver observer = new PreferenceCacheInvalidationObserver();
+      observer.onUpdate(createUpdateEvent(observer.getObservedEntities()[0]));
+
+      cacheMock.verify(PreferenceCache::clear, times(1));
+    }
+  }
+
+  @Test
+  void onDeleteClearsPreferencesForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<PreferenceCache> cacheMock = mockStatic(PreferenceCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      PreferenceCacheInvalidationObserver observer = new PreferenceCacheInvalidationObserver();
+      observer.onDelete(createDeleteEvent(observer.getObservedEntities()[0]));
+
+      cacheMock.verify(PreferenceCache::clear, times(1));
+    }
+  }
+
+  @Test
+  void onNewDoesNotInvalidateForUnobservedEntity() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<PreferenceCache> cacheMock = mockStatic(PreferenceCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      PreferenceCacheInvalidationObserver observer = new PreferenceCacheInvalidationObserver();
+      observer.onNew(createNewEvent(mock(Entity.class)));
+
+      cacheMock.verify(PreferenceCache::clear, never());
+    }
+  }
+}
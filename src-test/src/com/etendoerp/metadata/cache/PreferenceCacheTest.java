@@ -0,0 +1,90 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PreferenceCache}.
+ */
+class PreferenceCacheTest {
+
+  private Map<String, String> preferences;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    PreferenceCache.clear();
+    preferences = new LinkedHashMap<>();
+    preferences.put("ShowAuditDefault", "Y");
+    loads = new AtomicInteger();
+  }
+
+  private Map<String, String> load() {
+    loads.incrementAndGet();
+    return new LinkedHashMap<>(preferences);
+  }
+
+  @Test
+  void getReusesEntryPerContext() throws Exception {
+    PreferenceCache.Entry first = PreferenceCache.get("23C5", "0", "100", "0", this::load);
+    PreferenceCache.Entry second = PreferenceCache.get("23C5", "0", "100", "0", this::load);
+    PreferenceCache.get("23C5", "0", "100", "42", this::load);
+
+    assertSame(first, second);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getLoadsOnEveryCallWithIncompleteContext() throws Exception {
+    PreferenceCache.get("23C5", null, "100", "0", this::load);
+    PreferenceCache.get("23C5", null, "100", "0", this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void entryHoldsSerializedPreferencesAndETag() throws Exception {
+    PreferenceCache.Entry entry = PreferenceCache.get("23C5", "0", "100", "0", this::load);
+
+    JSONObject json = new JSONObject(new String(entry.getJson(), StandardCharsets.UTF_8));
+    assertEquals("Y", json.getJSONObject(PreferenceCache.PREFERENCES).getString("ShowAuditDefault"));
+    assertEquals('"', entry.getETag().charAt(0));
+  }
+
+  @Test
+  void etagChangesWithPreferences() throws Exception {
+    PreferenceCache.Entry first = PreferenceCache.get("23C5", "0", "100", "0", this::load);
+    preferences.put("ShowAuditDefault", "N");
+    PreferenceCache.clear();
+    PreferenceCache.Entry second = PreferenceCache.get("23C5", "0", "100", "0", this::load);
+
+    assertNotEquals(first.getETag(), second.getETag());
+  }
+}
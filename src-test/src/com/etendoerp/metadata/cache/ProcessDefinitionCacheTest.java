@@ -0,0 +1,114 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbravo.client.application.Process;
+import org.openbravo.model.ad.access.Role;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Unit tests for {@link ProcessDefinitionCache}.
+ */
+class ProcessDefinitionCacheTest {
+
+  private Process process;
+  private Role admin;
+  private Role sales;
+  private Language english;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    ProcessDefinitionCache.clear();
+    process = mock(Process.class);
+    admin = mock(Role.class);
+    sales = mock(Role.class);
+    english = mock(Language.class);
+    when(process.getId()).thenReturn("process-1");
+    when(admin.getId()).thenReturn("admin");
+    when(sales.getId()).thenReturn("sales");
+    when(english.getId()).thenReturn("en_US");
+    loads = new AtomicInteger();
+  }
+
+  private JSONObject load() throws JSONException {
+    loads.incrementAndGet();
+    return new JSONObject().put("name", "Post").put("parameters", new JSONObject());
+  }
+
+  @Test
+  void getDefinitionReusesDefinitionPerProcessRoleAndLanguage() throws Exception {
+    JSONObject first = ProcessDefinitionCache.getDefinition(process, admin, english, this::load);
+    JSONObject second = ProcessDefinitionCache.getDefinition(process, admin, english, this::load);
+
+    assertEquals(1, loads.get());
+    assertEquals("Post", second.getString("name"));
+    assertSame(first.get("parameters"), second.get("parameters"));
+  }
+
+  @Test
+  void getDefinitionReturnsIndependentTopLevelCopies() throws Exception {
+    JSONObject first = ProcessDefinitionCache.getDefinition(process, admin, english, this::load);
+    first.put("fieldId", "field-1");
+
+    JSONObject second = ProcessDefinitionCache.getDefinition(process, admin, english, this::load);
+
+    assertNotSame(first, second);
+    assertFalse(second.has("fieldId"));
+  }
+
+  @Test
+  void getDefinitionLoadsEachRoleSeparately() throws Exception {
+    ProcessDefinitionCache.getDefinition(process, admin, english, this::load);
+    ProcessDefinitionCache.getDefinition(process, sales, english, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getDefinitionDoesNotCacheProcessesWithoutId() throws Exception {
+    Process unsaved = mock(Process.class);
+
+    ProcessDefinitionCache.getDefinition(unsaved, admin, english, this::load);
+    ProcessDefinitionCache.getDefinition(unsaved, admin, english, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void clearDropsDefinitions() throws Exception {
+    ProcessDefinitionCache.getDefinition(process, admin, english, this::load);
+    ProcessDefinitionCache.clear();
+    ProcessDefinitionCache.getDefinition(process, admin, english, this::load);
+
+    assertEquals(2, loads.get());
+  }
+}
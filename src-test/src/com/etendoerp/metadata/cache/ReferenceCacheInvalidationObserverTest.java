@@ -0,0 +1,132 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+package com.etendoerp.metadata.cache;
+
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createDeleteEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createNewEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createUpdateEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.setupMocks;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.dal.core.TriggerHandler;
+
+/**
+ * Unit tests for {@link ReferenceCacheInvalidationObserver}.
+ * Verifies that changes to references and their list values invalidate the reference caches.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class ReferenceCacheInvalidationObserverTest {
+
+  private static final String[] OBSERVED_ENTITY_NAMES = {
+      "ADReference", "ADList", "ADListTrl", "OBUISEL_Selector", "OBUISEL_SelectorField",
+      "ADValRule"
+  };
+
+  @Test
+  void onNewInvalidatesReferencesForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<MetadataCacheManager> managerMock = mockStatic(MetadataCacheManager.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      ReferenceCacheInvalidationObserver observer = new ReferenceCacheInvalidationObserver();
+      observer.onNew(createNewEvent(observer.getObservedEntities()[0]));
+
+      managerMock.verify(MetadataCacheManager::invalidateReferences, times(1));
+    }
+  }
+
+  @Test
+  void onUpdateInvalidatesReferencesForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<MetadataCacheManager> managerMock = mockStatic(MetadataCacheManager.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      ReferenceCacheInvalidationObserver observer = new ReferenceCacheInvalidationObserver();
+      observer.onUpdate(createUpdateEvent(observer.getObservedEntities()[1]));
+
+      managerMock.verify(MetadataCacheManager::invalidateReferences, times(1));
+    }
+  }
+
+  @Test
+  void onDeleteInvalidatesReferencesForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<MetadataCacheManager> managerMock = mockStatic(MetadataCacheManager.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      ReferenceCacheInvalidationObserver observer = new ReferenceCacheInvalidationObserver();
+      observer.onDelete(createDeleteEvent(observer.getObservedEntities()[2]));
+
+      managerMock.verify(MetadataCacheManager::invalidateReferences, times(1));
+    }
+  }
+
+  @Test
+  void onNewDoesNotInvalidateWhenTriggersDisabled() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<MetadataCacheManager> managerMock = mockStatic(MetadataCacheManager.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+      when(TriggerHandler.getInstance().isDisabled()).thenReturn(true);
+
+      ReferenceCacheInvalidationObserver observer = new ReferenceCacheInvalidationObserver();
+      observer.onNew(createNewEvent(observer.getObservedEntities()[0]));
+
+      managerMock.verify(MetadataCacheManager::invalidateReferences, never());
+    }
+  }
+
+  @Test
+  void onNewDoesNotInvalidateForUnobservedEntity() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<MetadataCacheManager> managerMock = mockStatic(MetadataCacheManager.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      ReferenceCacheInvalidationObserver observer = new ReferenceCacheInvalidationObserver();
+      observer.onNew(createNewEvent(mock(Entity.class)));
+
+      managerMock.verify(MetadataCacheManager::invalidateReferences, never());
+    }
+  }
+}
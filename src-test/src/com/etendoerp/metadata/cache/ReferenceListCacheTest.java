@@ -0,0 +1,127 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbravo.model.ad.domain.Reference;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Unit tests for {@link ReferenceListCache}.
+ */
+class ReferenceListCacheTest {
+
+  private static final String REFERENCE_ID = "reference-1";
+  private static final String LIST_ID = "list-1";
+
+  private Reference reference;
+  private Language english;
+  private Language spanish;
+  private List<org.openbravo.model.ad.domain.List> values;
+
+  @BeforeEach
+  void setUp() {
+    ReferenceListCache.clear();
+    reference = mock(Reference.class);
+    english = mock(Language.class);
+    spanish = mock(Language.class);
+    when(reference.getId()).thenReturn(REFERENCE_ID);
+    when(english.getId()).thenReturn("en_US");
+    when(spanish.getId()).thenReturn("es_ES");
+
+    org.openbravo.model.ad.domain.List listItem = mock(org.openbravo.model.ad.domain.List.class);
+    when(listItem.getId()).thenReturn(LIST_ID);
+    when(listItem.getSearchKey()).thenReturn("DR");
+    when(listItem.isActive()).thenReturn(true);
+    when(listItem.get(org.openbravo.model.ad.domain.List.PROPERTY_NAME, english, LIST_ID)).thenReturn("Draft");
+    when(listItem.get(org.openbravo.model.ad.domain.List.PROPERTY_NAME, spanish, LIST_ID)).thenReturn("Borrador");
+    values = List.of(listItem);
+    when(reference.getADListList()).thenReturn(values);
+  }
+
+  @Test
+  void getLoadsTranslatedEntries() {
+    List<ReferenceListCache.Entry> entries = ReferenceListCache.get(reference, english);
+
+    assertEquals(1, entries.size());
+    assertEquals(LIST_ID, entries.get(0).getId());
+    assertEquals("DR", entries.get(0).getValue());
+    assertEquals("Draft", entries.get(0).getLabel());
+    assertTrue(entries.get(0).isActive());
+  }
+
+  @Test
+  void getReusesEntriesPerReferenceAndLanguage() {
+    List<ReferenceListCache.Entry> first = ReferenceListCache.get(reference, english);
+    List<ReferenceListCache.Entry> second = ReferenceListCache.get(reference, english);
+
+    assertSame(first, second);
+    verify(reference, times(1)).getADListList();
+  }
+
+  @Test
+  void getKeepsLanguagesApart() {
+    ReferenceListCache.get(reference, english);
+    List<ReferenceListCache.Entry> entries = ReferenceListCache.get(reference, spanish);
+
+    assertEquals("Borrador", entries.get(0).getLabel());
+  }
+
+  @Test
+  void entriesAreImmutable() {
+    List<ReferenceListCache.Entry> entries = ReferenceListCache.get(reference, english);
+
+    assertThrows(UnsupportedOperationException.class, entries::clear);
+  }
+
+  @Test
+  void clearForcesReload() {
+    ReferenceListCache.get(reference, english);
+    ReferenceListCache.clear();
+    ReferenceListCache.get(reference, english);
+
+    verify(reference, times(2)).getADListList();
+    assertFalse(ReferenceListCache.get(reference, english).isEmpty());
+  }
+
+  @Test
+  void listLoadedAcrossClearIsNotStored() {
+    when(reference.getADListList()).thenAnswer(invocation -> {
+      ReferenceListCache.clear();
+      return values;
+    }).thenReturn(values);
+
+    ReferenceListCache.get(reference, english);
+    ReferenceListCache.get(reference, english);
+    ReferenceListCache.get(reference, english);
+
+    verify(reference, times(2)).getADListList();
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.dal.core.OBContext;
+import org.openbravo.dal.service.OBDal;
+import org.openbravo.model.ad.access.Role;
+
+/**
+ * Unit tests for {@link RoleAccessMatrix}.
+ * Verifies that access is loaded once per role and answered from the matrix afterwards.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class RoleAccessMatrixTest {
+
+  private static final String ROLE_ID = "role-1";
+  private static final String EDITABLE_WINDOW_ID = "window-editable";
+  private static final String READ_ONLY_WINDOW_ID = "window-read-only";
+  private static final String OTHER_WINDOW_ID = "window-other";
+
+  @Mock
+  private OBDal obDal;
+  @Mock
+  private Session session;
+  @Mock
+  private Query<Object[]> windowAccessQuery;
+  @Mock
+  private Query<String> grantedWindowsQuery;
+
+  private MockedStatic<OBDal> obDalMock;
+  private MockedStatic<OBContext> obContextMock;
+
+  @BeforeEach
+  void setUp() {
+    RoleAccessMatrix.clear();
+    obDalMock = mockStatic(OBDal.class);
+    obContextMock = mockStatic(OBContext.class);
+    obDalMock.when(OBDal::getReadOnlyInstance).thenReturn(obDal);
+    when(obDal.getSession()).thenReturn(session);
+
+    List<Object[]> rows = List.of(
+        new Object[] { EDITABLE_WINDOW_ID, "access-1", true },
+        new Object[] { READ_ONLY_WINDOW_ID, "access-2", false });
+    when(session.createQuery(contains("wa.role.id"), eq(Object[].class))).thenReturn(windowAccessQuery);
+    when(windowAccessQuery.setParameter(anyString(), any())).thenReturn(windowAccessQuery);
+    when(windowAccessQuery.list()).thenReturn(rows);
+
+    when(session.createQuery(contains("distinct"), eq(String.class))).thenReturn(grantedWindowsQuery);
+    when(grantedWindowsQuery.list()).thenReturn(List.of(EDITABLE_WINDOW_ID, OTHER_WINDOW_ID));
+  }
+
+  @AfterEach
+  void tearDown() {
+    obDalMock.close();
+    obContextMock.close();
+    RoleAccessMatrix.clear();
+  }
+
+  @Test
+  void forRoleLoadsWindowAccessOnce() {
+    RoleAccessMatrix first = RoleAccessMatrix.forRole(ROLE_ID);
+    RoleAccessMatrix second = RoleAccessMatrix.forRole(ROLE_ID);
+
+    assertSame(first, second);
+    verify(windowAccessQuery, times(1)).list();
+  }
+
+  @Test
+  void windowAccessIsAnsweredFromMatrix() {
+    RoleAccessMatrix matrix = RoleAccessMatrix.forRole(ROLE_ID);
+
+    assertTrue(matrix.hasWindowAccess(EDITABLE_WINDOW_ID));
+    assertTrue(matrix.isWindowEditable(EDITABLE_WINDOW_ID));
+    assertTrue(matrix.hasWindowAccess(READ_ONLY_WINDOW_ID));
+    assertFalse(matrix.isWindowEditable(READ_ONLY_WINDOW_ID));
+    assertFalse(matrix.hasWindowAccess(OTHER_WINDOW_ID));
+    assertEquals("access-2", matrix.getWindowAccessId(READ_ONLY_WINDOW_ID));
+    assertNull(matrix.getWindowAccessId(OTHER_WINDOW_ID));
+  }
+
+  @Test
+  void isGrantedToAnyRoleUsesSharedGrantedWindows() {
+    assertTrue(RoleAccessMatrix.isGrantedToAnyRole(OTHER_WINDOW_ID));
+    assertFalse(RoleAccessMatrix.isGrantedToAnyRole("window-unknown"));
+    verify(grantedWindowsQuery, times(1)).list();
+  }
+
+  @Test
+  void hasProcessAccessEvaluatesEachPairOnce() {
+    RoleAccessMatrix matrix = RoleAccessMatrix.forRole(ROLE_ID);
+    AtomicInteger evaluations = new AtomicInteger();
+
+    boolean first = matrix.hasProcessAccess("process-1", EDITABLE_WINDOW_ID, () -> {
+      evaluations.incrementAndGet();
+      return true;
+    });
+    boolean second = matrix.hasProcessAccess("process-1", EDITABLE_WINDOW_ID, () -> {
+      evaluations.incrementAndGet();
+      return false;
+    });
+
+    assertTrue(first);
+    assertTrue(second);
+    assertEquals(1, evaluations.get());
+  }
+
+  @Test
+  void clearForcesReload() {
+    RoleAccessMatrix.forRole(ROLE_ID);
+    RoleAccessMatrix.clear();
+    RoleAccessMatrix.forRole(ROLE_ID);
+
+    verify(windowAccessQuery, times(2)).list();
+  }
+
+  @Test
+  void forRoleDoesNotKeepMatrixLoadedBeforeClear() {
+    when(windowAccessQuery.list()).thenAnswer(invocation -> {
+      RoleAccessMatrix.clear();
+      return List.of();
+    }).thenReturn(List.of());
+
+    RoleAccessMatrix stale = RoleAccessMatrix.forRole(ROLE_ID);
+    RoleAccessMatrix reloaded = RoleAccessMatrix.forRole(ROLE_ID);
+
+    assertNotSame(stale, reloaded);
+    verify(windowAccessQuery, times(2)).list();
+  }
+
+  @Test
+  void isGrantedToAnyRoleDoesNotKeepWindowsLoadedBeforeClear() {
+    when(grantedWindowsQuery.list()).thenAnswer(invocation -> {
+      RoleAccessMatrix.clear();
+      return List.of(OTHER_WINDOW_ID);
+    }).thenReturn(List.of(OTHER_WINDOW_ID));
+
+    RoleAccessMatrix.isGrantedToAnyRole(OTHER_WINDOW_ID);
+    RoleAccessMatrix.isGrantedToAnyRole(OTHER_WINDOW_ID);
+
+    verify(grantedWindowsQuery, times(2)).list();
+  }
+
+  @Test
+  void forCurrentRoleReturnsNullWithoutRole() {
+    OBContext context = mock(OBContext.class);
+    obContextMock.when(OBContext::getOBContext).thenReturn(context);
+
+    assertNull(RoleAccessMatrix.forCurrentRole());
+  }
+
+  @Test
+  void forCurrentRoleUsesContextRole() {
+    OBContext context = mock(OBContext.class);
+    Role role = mock(Role.class);
+    when(role.getId()).thenReturn(ROLE_ID);
+    when(context.getRole()).thenReturn(role);
+    obContextMock.when(OBContext::getOBContext).thenReturn(context);
+
+    assertSame(RoleAccessMatrix.forRole(ROLE_ID), RoleAccessMatrix.forCurrentRole());
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbravo.model.ad.datamodel.Column;
+import org.openbravo.model.ad.system.Language;
+import org.openbravo.model.ad.ui.Field;
+import org.openbravo.model.ad.ui.Tab;
+import org.openbravo.userinterface.selector.SelectorField;
+
+/**
+ * Unit tests for {@link SelectorMetadataCache}.
+ */
+class SelectorMetadataCacheTest {
+
+  private static final String SELECTOR_ID = "selector-1";
+  private static final String TAB_ID = "tab-1";
+
+  private Language english;
+  private Language spanish;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    SelectorMetadataCache.clear();
+    english = mock(Language.class);
+    spanish = mock(Language.class);
+    when(english.getId()).thenReturn("en_US");
+    when(spanish.getId()).thenReturn("es_ES");
+    loads = new AtomicInteger();
+  }
+
+  private JSONObject load(String label) throws JSONException {
+    loads.incrementAndGet();
+    return new JSONObject().put("datasource", "C_BPartner").put("label", label);
+  }
+
+  @Test
+  void getDefinitionLoadsOncePerSelectorAndLanguage() throws JSONException {
+    SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> load("Partner"));
+    JSONObject second = SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> load("Partner"));
+
+    assertEquals(1, loads.get());
+    assertEquals("C_BPartner", second.getString("datasource"));
+  }
+
+  @Test
+  void getDefinitionKeepsLanguagesApart() throws JSONException {
+    SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> load("Partner"));
+    JSONObject spanishDefinition = SelectorMetadataCache.getDefinition(SELECTOR_ID, spanish,
+        () -> load("Tercero"));
+
+    assertEquals(2, loads.get());
+    assertEquals("Tercero", spanishDefinition.getString("label"));
+  }
+
+  @Test
+  void getDefinitionReturnsIndependentCopies() throws JSONException {
+    JSONObject first = SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> load("Partner"));
+    first.put("fieldId", "field-1");
+    JSONObject second = SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> load("Partner"));
+
+    assertNotSame(first, second);
+    assertFalse(second.has("fieldId"));
+  }
+
+  @Test
+  void clearForcesReload() throws JSONException {
+    SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> load("Partner"));
+    SelectorMetadataCache.clear();
+    SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> load("Partner"));
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void definitionBuiltAcrossClearIsNotStored() throws JSONException {
+    SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> {
+      SelectorMetadataCache.clear();
+      return load("Partner");
+    });
+    SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> load("Partner"));
+    SelectorMetadataCache.getDefinition(SELECTOR_ID, english, () -> load("Partner"));
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getOutFieldTargetsIndexesTabFieldsOnce() {
+    SelectorField outField = mock(SelectorField.class);
+    SelectorField otherOutField = mock(SelectorField.class);
+    when(outField.getId()).thenReturn("sf-1");
+    when(otherOutField.getId()).thenReturn("sf-2");
+    Field target = mockField(outField, "C_PaymentTerm_ID");
+    Field plainField = mockField(null, "Name");
+    Tab tab = mock(Tab.class);
+    when(tab.getId()).thenReturn(TAB_ID);
+    when(tab.getADFieldList()).thenReturn(List.of(target, plainField));
+
+    List<SelectorMetadataCache.OutFieldTarget> targets =
+        SelectorMetadataCache.getOutFieldTargets(tab, outField, f -> "paymentTerms");
+    List<SelectorMetadataCache.OutFieldTarget> others =
+        SelectorMetadataCache.getOutFieldTargets(tab, otherOutField, f -> "paymentTerms");
+
+    assertEquals(1, targets.size());
+    assertEquals("C_PaymentTerm_ID", targets.get(0).getColumnName());
+    assertEquals("paymentTerms", targets.get(0).getHqlName());
+    assertTrue(others.isEmpty());
+    verify(tab, times(1)).getADFieldList();
+  }
+
+  private Field mockField(SelectorField outField, String columnName) {
+    Field field = mock(Field.class);
+    Column column = mock(Column.class);
+    when(field.getObuiselOutfield()).thenReturn(outField);
+    when(field.getColumn()).thenReturn(column);
+    when(column.getDBColumnName()).thenReturn(columnName);
+    return field;
+  }
+}
@@ -40,8 +40,8 @@ import org.openbravo.client.kernel.event.EntityDeleteEvent;
 import org.openbravo.client.kernel.event.EntityNewEvent;
 import org.openbravo.client.kernel.event.EntityUpdateEvent;
 import org.openbravo.dal.core.TriggerHandler;
-
-import com.etendoerp.metadata.builders.SessionBuilder;
+import org.openbravo.model.ad.utility.Tree;
+import org.openbravo.model.ad.utility.TreeNode;
 
 /**
  * Unit tests for {@link SessionCacheInvalidationObserver}.
@@ -54,7 +54,7 @@ class SessionCacheInvalidationObserverTest {
 
   private static final String[] OBSERVED_ENTITY_NAMES = {
       "ADUserRoles", "ADRoleOrganization", "OrganizationWarehouse",
-      "ADRole", "Organization", "Warehouse", "ADClient"
+      "ADRole", "Organization", "Warehouse", "ADClient", "ADTreeNode"
   };
 
   @Test
@@ -62,7 +62,8 @@ class SessionCacheInvalidationObserverTest {
     try (
         MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
-        MockedStatic<SessionBuilder> sessionBuilderMock = mockStatic(SessionBuilder.class)
+        MockedStatic<SessionRolesCache> rolesCacheMock = mockStatic(SessionRolesCache.class);
+        MockedStatic<OrganizationWarehouseIndex> indexMock = mockStatic(OrganizationWarehouseIndex.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
@@ -72,7 +73,8 @@ class SessionCacheInvalidationObserverTest {
       EntityNewEvent event = createNewEvent(observedEntity);
       observer.onNew(event);
 
-      sessionBuilderMock.verify(SessionBuilder::clearRolesCache, times(1));
+      rolesCacheMock.verify(SessionRolesCache::clear, times(1));
+      indexMock.verify(OrganizationWarehouseIndex::clear, times(1));
     }
   }
 
@@ -81,7 +83,7 @@ class SessionCacheInvalidationObserverTest {
     try (
         MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
-        MockedStatic<SessionBuilder> sessionBuilderMock = mockStatic(SessionBuilder.class)
+        MockedStatic<SessionRolesCache> rolesCacheMock = mockStatic(SessionRolesCache.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
@@ -91,7 +93,7 @@ class SessionCacheInvalidationObserverTest {
       EntityUpdateEvent event = createUpdateEvent(observedEntity);
       observer.onUpdate(event);
 
-      sessionBuilderMock.verify(SessionBuilder::clearRolesCache, times(1));
+      rolesCacheMock.verify(SessionRolesCache::clear, times(1));
     }
   }
 
@@ -100,7 +102,7 @@ class SessionCacheInvalidationObserverTest {
     try (
         MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
-        MockedStatic<SessionBuilder> sessionBuilderMock = mockStatic(SessionBuilder.class)
+        MockedStatic<SessionRolesCache> rolesCacheMock = mockStatic(SessionRolesCache.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
@@ -110,7 +112,54 @@ class SessionCacheInvalidationObserverTest {
       EntityDeleteEvent event = createDeleteEvent(observedEntity);
       observer.onDelete(event);
 
-      sessionBuilderMock.verify(SessionBuilder::clearRolesCache, times(1));
+      rolesCacheMock.verify(SessionRolesCache::clear, times(1));
+    }
+  }
+
+  private static EntityUpdateEvent treeNodeEvent(Entity treeNodeEntity, String typeArea) {
+    Tree tree = mock(Tree.class);
+    when(tree.getTypeArea()).thenReturn(typeArea);
+    TreeNode node = mock(TreeNode.class);
+    when(node.getEntity()).thenReturn(treeNodeEntity);
+    when(node.getTree()).thenReturn(tree);
+    EntityUpdateEvent event = mock(EntityUpdateEvent.class);
+    when(event.getTargetInstance()).thenReturn(node);
+    return event;
+  }
+
+  @Test
+  void onUpdateInvalidatesForOrganizationTreeNodes() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<SessionRolesCache> rolesCacheMock = mockStatic(SessionRolesCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      SessionCacheInvalidationObserver observer = new SessionCacheInvalidationObserver();
+      Entity treeNodeEntity = ModelProvider.getInstance().getEntity("ADTreeNode");
+
+      observer.onUpdate(treeNodeEvent(treeNodeEntity, "OO"));
+
+      rolesCacheMock.verify(SessionRolesCache::clear, times(1));
+    }
+  }
+
+  @Test
+  void onUpdateIgnoresNodesOfOtherTrees() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<SessionRolesCache> rolesCacheMock = mockStatic(SessionRolesCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      SessionCacheInvalidationObserver observer = new SessionCacheInvalidationObserver();
+      Entity treeNodeEntity = ModelProvider.getInstance().getEntity("ADTreeNode");
+
+      observer.onUpdate(treeNodeEvent(treeNodeEntity, "MM"));
+
+      rolesCacheMock.verify(SessionRolesCache::clear, never());
     }
   }
 
@@ -119,7 +168,7 @@ class SessionCacheInvalidationObserverTest {
     try (
         MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
-        MockedStatic<SessionBuilder> sessionBuilderMock = mockStatic(SessionBuilder.class)
+        MockedStatic<SessionRolesCache> rolesCacheMock = mockStatic(SessionRolesCache.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
@@ -132,7 +181,7 @@ class SessionCacheInvalidationObserverTest {
       EntityNewEvent event = createNewEvent(observedEntity);
       observer.onNew(event);
 
-      sessionBuilderMock.verify(SessionBuilder::clearRolesCache, never());
+      rolesCacheMock.verify(SessionRolesCache::clear, never());
     }
   }
 
@@ -141,7 +190,7 @@ class SessionCacheInvalidationObserverTest {
     try (
         MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
-        MockedStatic<SessionBuilder> sessionBuilderMock = mockStatic(SessionBuilder.class)
+        MockedStatic<SessionRolesCache> rolesCacheMock = mockStatic(SessionRolesCache.class)
     ) {
       setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
 
@@ -152,12 +201,12 @@ class SessionCacheInvalidationObserverTest {
       EntityNewEvent event = createNewEvent(unrelatedEntity);
       observer.onNew(event);
 
-      sessionBuilderMock.verify(SessionBuilder::clearRolesCache, never());
+      rolesCacheMock.verify(SessionRolesCache::clear, never());
     }
   }
 
   @Test
-  void getObservedEntitiesReturnsSevenEntities() {
+  void getObservedEntitiesReturnsEightEntities() {
     try (
         MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
         MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class)
@@ -0,0 +1,112 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Unit tests for {@link SessionRolesCache}.
+ */
+class SessionRolesCacheTest {
+
+  private static final String USER_ID = "100";
+
+  private Language english;
+  private Language spanish;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    SessionRolesCache.clear();
+    english = mock(Language.class);
+    spanish = mock(Language.class);
+    when(english.getId()).thenReturn("en_US");
+    when(spanish.getId()).thenReturn("es_ES");
+    loads = new AtomicInteger();
+  }
+
+  private JSONArray load() throws JSONException {
+    loads.incrementAndGet();
+    return new JSONArray().put(new JSONObject().put("id", "0").put("name", "System Administrator"));
+  }
+
+  @Test
+  void getReusesFragmentPerUserAndLanguage() throws Exception {
+    SessionRolesCache.Fragment first = SessionRolesCache.get(USER_ID, english, this::load);
+    SessionRolesCache.Fragment second = SessionRolesCache.get(USER_ID, english, this::load);
+    SessionRolesCache.Fragment translated = SessionRolesCache.get(USER_ID, spanish, this::load);
+
+    assertSame(first, second);
+    assertNotSame(first, translated);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getLoadsOnEveryCallWithoutUser() throws Exception {
+    SessionRolesCache.get(null, english, this::load);
+    SessionRolesCache.get(null, english, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void fragmentIsWrittenVerbatim() throws Exception {
+    SessionRolesCache.Fragment fragment = SessionRolesCache.get(USER_ID, english, this::load);
+
+    JSONObject session = new JSONObject().put("roles", fragment);
+
+    assertEquals("{\"roles\":" + load().toString() + "}", session.toString());
+  }
+
+  @Test
+  void getEvictsLeastRecentlyUsedTreeWhenFull() throws Exception {
+    for (int i = 0; i < SessionRolesCache.MAX_ENTRIES; i++) {
+      SessionRolesCache.get(String.valueOf(i), english, this::load);
+    }
+    SessionRolesCache.get("0", english, this::load);
+    SessionRolesCache.get("overflow", english, this::load);
+    SessionRolesCache.get("overflow", english, this::load);
+    SessionRolesCache.get("0", english, this::load);
+    assertEquals(SessionRolesCache.MAX_ENTRIES + 1, loads.get());
+
+    SessionRolesCache.get("1", english, this::load);
+    assertEquals(SessionRolesCache.MAX_ENTRIES + 2, loads.get());
+  }
+
+  @Test
+  void clearDropsEveryFragment() throws Exception {
+    SessionRolesCache.get(USER_ID, english, this::load);
+    SessionRolesCache.clear();
+    SessionRolesCache.get(USER_ID, english, this::load);
+
+    assertEquals(2, loads.get());
+  }
+}
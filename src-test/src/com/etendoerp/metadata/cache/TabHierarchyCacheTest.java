@@ -0,0 +1,148 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.client.kernel.KernelUtils;
+import org.openbravo.model.ad.ui.Tab;
+import org.openbravo.model.ad.ui.Window;
+
+/**
+ * Unit tests for {@link TabHierarchyCache}.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class TabHierarchyCacheTest {
+
+  private Window window;
+  private Tab header;
+  private Tab lines;
+  private Tab taxes;
+  private Tab payments;
+  private List<Tab> tabs;
+
+  @BeforeEach
+  void setUp() {
+    TabHierarchyCache.clear();
+    window = mock(Window.class);
+    when(window.getId()).thenReturn("window-1");
+    header = mockTab("header", 0L, 10L);
+    lines = mockTab("lines", 1L, 20L);
+    taxes = mockTab("taxes", 2L, 30L);
+    payments = mockTab("payments", 1L, 40L);
+    // Unsorted on purpose: the hierarchy follows the sequence numbers
+    tabs = List.of(payments, taxes, header, lines);
+    when(window.getADTabList()).thenReturn(tabs);
+  }
+
+  private Tab mockTab(String id, Long level, Long sequenceNumber) {
+    Tab tab = mock(Tab.class);
+    when(tab.getId()).thenReturn(id);
+    when(tab.getTabLevel()).thenReturn(level);
+    when(tab.getSequenceNumber()).thenReturn(sequenceNumber);
+    when(tab.getWindow()).thenReturn(window);
+    return tab;
+  }
+
+  @Test
+  void getNodeResolvesParentsChildrenAndLevels() {
+    assertNull(TabHierarchyCache.getNode(header).getParentTabId());
+    assertEquals(List.of("lines", "payments"), TabHierarchyCache.getNode(header).getChildTabIds());
+    assertEquals("header", TabHierarchyCache.getNode(lines).getParentTabId());
+    assertEquals(List.of("taxes"), TabHierarchyCache.getNode(lines).getChildTabIds());
+    assertEquals("lines", TabHierarchyCache.getNode(taxes).getParentTabId());
+    assertEquals("header", TabHierarchyCache.getNode(payments).getParentTabId());
+    assertEquals(2L, TabHierarchyCache.getNode(taxes).getLevel());
+  }
+
+  @Test
+  void getNodeBuildsHierarchyOncePerWindow() {
+    TabHierarchyCache.getNode(header);
+    TabHierarchyCache.getNode(lines);
+    TabHierarchyCache.getNode(taxes);
+
+    verify(window, times(1)).getADTabList();
+  }
+
+  @Test
+  void clearDropsHierarchies() {
+    TabHierarchyCache.getNode(header);
+    TabHierarchyCache.clear();
+    TabHierarchyCache.getNode(header);
+
+    verify(window, times(2)).getADTabList();
+  }
+
+  @Test
+  void hierarchyBuiltAcrossClearIsNotStored() {
+    when(window.getADTabList()).thenAnswer(invocation -> {
+      TabHierarchyCache.clear();
+      return tabs;
+    }).thenReturn(tabs);
+
+    assertEquals("header", TabHierarchyCache.getNode(lines).getParentTabId());
+    TabHierarchyCache.getNode(lines);
+    TabHierarchyCache.getNode(lines);
+
+    verify(window, times(2)).getADTabList();
+  }
+
+  @Test
+  void getParentTabResolvesParentFromApplicationDictionaryCache() {
+    try (MockedStatic<ADCacheProvider> adcs = mockStatic(ADCacheProvider.class)) {
+      adcs.when(() -> ADCacheProvider.getTab("lines")).thenReturn(lines);
+
+      assertSame(lines, TabHierarchyCache.getParentTab(taxes));
+    }
+  }
+
+  @Test
+  void getParentTabReturnsNullForTopLevelTab() {
+    assertNull(TabHierarchyCache.getParentTab(header));
+  }
+
+  @Test
+  void getParentTabFallsBackToKernelUtilsWithoutWindow() {
+    Tab detached = mock(Tab.class);
+    KernelUtils kernelUtils = mock(KernelUtils.class);
+    when(kernelUtils.getParentTab(detached)).thenReturn(header);
+
+    try (MockedStatic<KernelUtils> kernel = mockStatic(KernelUtils.class)) {
+      kernel.when(KernelUtils::getInstance).thenReturn(kernelUtils);
+
+      assertSame(header, TabHierarchyCache.getParentTab(detached));
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openbravo.model.ad.datamodel.Table;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Unit tests for {@link TableColumnCache}.
+ */
+class TableColumnCacheTest {
+
+  private Table table;
+  private Language english;
+  private Language spanish;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    TableColumnCache.clear();
+    table = mock(Table.class);
+    english = mock(Language.class);
+    spanish = mock(Language.class);
+    when(table.getId()).thenReturn("table-1");
+    when(english.getId()).thenReturn("en_US");
+    when(spanish.getId()).thenReturn("es_ES");
+    loads = new AtomicInteger();
+  }
+
+  private TableColumnCache.Entry load() {
+    loads.incrementAndGet();
+    return new TableColumnCache.Entry(List.of("order"), Map.of("updated", new JSONObject()));
+  }
+
+  @Test
+  void getReusesEntryPerTableAndLanguage() throws Exception {
+    TableColumnCache.Entry first = TableColumnCache.get(table, english, this::load);
+    TableColumnCache.Entry second = TableColumnCache.get(table, english, this::load);
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+    assertEquals(List.of("order"), first.getLinkToParentColumns());
+    assertNull(first.getAuditField("createdBy"));
+  }
+
+  @Test
+  void getLoadsEachLanguageSeparately() throws Exception {
+    TableColumnCache.Entry english1 = TableColumnCache.get(table, english, this::load);
+    TableColumnCache.Entry spanish1 = TableColumnCache.get(table, spanish, this::load);
+
+    assertNotSame(english1, spanish1);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getDoesNotCacheTablesWithoutId() throws Exception {
+    Table unsaved = mock(Table.class);
+
+    TableColumnCache.get(unsaved, english, this::load);
+    TableColumnCache.get(unsaved, english, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void clearDropsEntries() throws Exception {
+    TableColumnCache.get(table, english, this::load);
+    TableColumnCache.clear();
+    TableColumnCache.get(table, english, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void entryBuiltAcrossClearIsNotStored() throws Exception {
+    TableColumnCache.get(table, english, () -> {
+      TableColumnCache.clear();
+      return load();
+    });
+    TableColumnCache.get(table, english, this::load);
+    TableColumnCache.get(table, english, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void entryIsImmutable() throws Exception {
+    TableColumnCache.Entry entry = TableColumnCache.get(table, english, this::load);
+
+    assertThrows(UnsupportedOperationException.class, () -> entry.getLinkToParentColumns().add("other"));
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createDeleteEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createNewEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.createUpdateEvent;
+import static com.etendoerp.metadata.cache.EntityPersistenceEventTestSupport.setupMocks;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.dal.core.TriggerHandler;
+
+import com.etendoerp.metadata.data.Toolbar;
+import com.etendoerp.metadata.data.ToolbarWindow;
+
+/**
+ * Unit tests for {@link ToolbarCacheInvalidationObserver}.
+ * Verifies that changes to toolbar buttons and their window assignments drop the toolbar cache.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class ToolbarCacheInvalidationObserverTest {
+
+  private static final String[] OBSERVED_ENTITY_NAMES = {
+      Toolbar.ENTITY_NAME, ToolbarWindow.ENTITY_NAME
+  };
+
+  @Test
+  void onNewClearsToolbarCacheForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<ToolbarCache> cacheMock = mockStatic(ToolbarCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      ToolbarCacheInvalidationObserver observer = new ToolbarCacheInvalidationObserver();
+      observer.onNew(createNewEvent(observer.getObservedEntities()[0]));
+
+      cacheMock.verify(ToolbarCache::clear, times(1));
+    }
+  }
+
+  @Test
+  void onUpdateClearsToolbarCacheForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<ToolbarCache> cacheMock = mockStatic(ToolbarCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      ToolbarCacheInvalidationObserver observer = new ToolbarCacheInvalidationObserver();
+      observer.onUpdate(createUpdateEvent(observer.getObservedEntities()[1]));
+
+      cacheMock.verify(ToolbarCache::clear, times(1));
+    }
+  }
+
+  @Test
+  void onDeleteClearsToolbarCacheForValidEvent() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<ToolbarCache> cacheMock = mockStatic(ToolbarCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      ToolbarCacheInvalidationObserver observer = new ToolbarCacheInvalidationObserver();
+      observer.onDelete(createDeleteEvent(observer.getObservedEntities()[1]));
+
+      cacheMock.verify(ToolbarCache::clear, times(1));
+    }
+  }
+
+  @Test
+  void onNewDoesNotClearForUnobservedEntity() {
+    try (
+        MockedStatic<ModelProvider> modelProviderMock = mockStatic(ModelProvider.class);
+        MockedStatic<TriggerHandler> triggerMock = mockStatic(TriggerHandler.class);
+        MockedStatic<ToolbarCache> cacheMock = mockStatic(ToolbarCache.class)
+    ) {
+      setupMocks(modelProviderMock, triggerMock, OBSERVED_ENTITY_NAMES);
+
+      ToolbarCacheInvalidationObserver observer = new ToolbarCacheInvalidationObserver();
+      observer.onNew(createNewEvent(mock(Entity.class)));
+
+      cacheMock.verify(ToolbarCache::clear, never());
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ToolbarCache}.
+ */
+class ToolbarCacheTest {
+
+  private JSONObject windowButton;
+  private JSONObject otherWindowButton;
+  private JSONObject globalButton;
+  private JSONObject inactiveButton;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    ToolbarCache.clear();
+    windowButton = new JSONObject().put("id", "window-button");
+    otherWindowButton = new JSONObject().put("id", "other-window-button");
+    globalButton = new JSONObject().put("id", "global-button");
+    inactiveButton = new JSONObject().put("id", "inactive-button");
+    loads = new AtomicInteger();
+  }
+
+  private ToolbarCache.Index load() {
+    loads.incrementAndGet();
+    return new ToolbarCache.Index(List.of(
+        new ToolbarCache.Button(windowButton, true, List.of("143")),
+        new ToolbarCache.Button(globalButton, true, List.of()),
+        new ToolbarCache.Button(otherWindowButton, true, List.of("100")),
+        new ToolbarCache.Button(inactiveButton, false, List.of("143"))));
+  }
+
+  @Test
+  void getReusesIndexPerRole() throws Exception {
+    ToolbarCache.Index first = ToolbarCache.get("role-1", this::load);
+    ToolbarCache.Index second = ToolbarCache.get("role-1", this::load);
+    ToolbarCache.Index otherRole = ToolbarCache.get("role-2", this::load);
+
+    assertSame(first, second);
+    assertNotSame(first, otherRole);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getLoadsOnEveryCallWithoutRole() throws Exception {
+    ToolbarCache.get(null, this::load);
+    ToolbarCache.get(null, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void clearDropsEveryIndex() throws Exception {
+    ToolbarCache.get("role-1", this::load);
+    ToolbarCache.clear();
+    ToolbarCache.get("role-1", this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void indexBuiltAcrossClearIsNotStored() throws Exception {
+    BoundedCache.Loader<ToolbarCache.Index, RuntimeException> clearingLoad = () -> {
+      ToolbarCache.clear();
+      return load();
+    };
+
+    ToolbarCache.get("role-1", clearingLoad);
+    ToolbarCache.get("role-1", this::load);
+    ToolbarCache.get("role-1", this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getToolbarsReturnsEveryButtonInLoadOrder() throws Exception {
+    ToolbarCache.Index index = ToolbarCache.get("role-1", this::load);
+
+    assertEquals(List.of(windowButton, globalButton, otherWindowButton, inactiveButton), index.getToolbars());
+  }
+
+  @Test
+  void getWindowToolbarsReturnsActiveWindowButtonsFollowedByGlobalOnes() throws Exception {
+    ToolbarCache.Index index = ToolbarCache.get("role-1", this::load);
+
+    assertEquals(List.of(windowButton, globalButton), index.getWindowToolbars("143"));
+    assertEquals(List.of(otherWindowButton, globalButton), index.getWindowToolbars("100"));
+  }
+
+  @Test
+  void getWindowToolbarsReturnsGlobalButtonsForUnassignedWindow() throws Exception {
+    ToolbarCache.Index index = ToolbarCache.get("role-1", this::load);
+
+    assertEquals(List.of(globalButton), index.getWindowToolbars("unknown"));
+  }
+}
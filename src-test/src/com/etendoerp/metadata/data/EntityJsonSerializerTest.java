@@ -0,0 +1,204 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.Property;
+import org.openbravo.base.structure.BaseOBObject;
+import org.openbravo.dal.core.IdentifierProvider;
+import org.openbravo.dal.core.OBContext;
+import org.openbravo.dal.security.EntityAccessChecker;
+import org.openbravo.model.ad.system.Language;
+import org.openbravo.service.json.DataResolvingMode;
+import org.openbravo.service.json.DataToJsonConverter;
+
+/**
+ * Unit tests for {@link EntityJsonSerializer}.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class EntityJsonSerializerTest {
+
+  private static final String ID = "field-1";
+  private static final String ENTITY_NAME = "ADField";
+
+  @Mock
+  private OBContext context;
+  @Mock
+  private EntityAccessChecker accessChecker;
+  @Mock
+  private Language language;
+  @Mock
+  private IdentifierProvider identifierProvider;
+  @Mock
+  private Entity entity;
+  @Mock
+  private BaseOBObject bob;
+  @Mock
+  private BaseOBObject referenced;
+
+  private MockedStatic<OBContext> obContextStatic;
+  private MockedStatic<IdentifierProvider> identifierProviderStatic;
+
+  @BeforeEach
+  void setUp() {
+    Property id = property("id", false);
+    Property name = property("name", true);
+    Property description = property("description", false);
+    Property tab = property("tab", false);
+    Property fieldAccesses = property("aDFieldAccessList", false);
+    when(fieldAccesses.isOneToMany()).thenReturn(true);
+    when(entity.getProperties()).thenReturn(List.of(id, name, description, tab, fieldAccesses));
+
+    when(context.getEntityAccessChecker()).thenReturn(accessChecker);
+    when(context.getLanguage()).thenReturn(language);
+
+    when(referenced.getId()).thenReturn("tab-1");
+    when(bob.getEntity()).thenReturn(entity);
+    when(bob.getEntityName()).thenReturn(ENTITY_NAME);
+    when(bob.getId()).thenReturn(ID);
+    when(bob.get("id")).thenReturn(ID);
+    when(bob.get("name")).thenReturn("Product");
+    when(bob.get("tab")).thenReturn(referenced);
+
+    // Identifiers are only translated when resolved in the context language
+    when(bob.getIdentifier()).thenReturn("Product");
+    when(referenced.getIdentifier()).thenReturn("Header");
+    when(identifierProvider.getIdentifier(any())).thenAnswer(
+        invocation -> ((BaseOBObject) invocation.getArgument(0)).getIdentifier());
+    when(identifierProvider.getIdentifier(any(), anyBoolean(), any())).thenAnswer(
+        invocation -> ((BaseOBObject) invocation.getArgument(0)).getIdentifier());
+    when(identifierProvider.getIdentifier(eq(bob), anyBoolean(), eq(language))).thenReturn("Producto");
+    when(identifierProvider.getIdentifier(eq(referenced), anyBoolean(), eq(language))).thenReturn("Cabecera");
+
+    obContextStatic = mockStatic(OBContext.class);
+    obContextStatic.when(OBContext::getOBContext).thenReturn(context);
+    identifierProviderStatic = mockStatic(IdentifierProvider.class);
+    identifierProviderStatic.when(IdentifierProvider::getInstance).thenReturn(identifierProvider);
+  }
+
+  @AfterEach
+  void tearDown() {
+    identifierProviderStatic.close();
+    obContextStatic.close();
+  }
+
+  private static Property property(String name, boolean translatable) {
+    Property property = mock(Property.class);
+    when(property.getName()).thenReturn(name);
+    when(property.isTranslatable()).thenReturn(translatable);
+    when(property.isPrimitive()).thenReturn(!"tab".equals(name));
+    when(property.allowDerivedRead()).thenReturn("id".equals(name));
+    return property;
+  }
+
+  @Test
+  void forObjectReusesThePlanOfTheEntity() {
+    assertSame(EntityJsonSerializer.forObject(bob), EntityJsonSerializer.forObject(bob));
+    assertNull(EntityJsonSerializer.forObject(mock(BaseOBObject.class)));
+  }
+
+  @Test
+  void toJsonObjectWritesTheConverterShape() throws Exception {
+    JSONObject json = EntityJsonSerializer.forObject(bob).toJsonObject(bob, Map.of());
+
+    assertEquals("Producto", json.getString("_identifier"));
+    assertEquals(ENTITY_NAME, json.getString("_entityName"));
+    assertEquals(ENTITY_NAME + "/" + ID, json.getString("$ref"));
+    assertEquals(ID, json.getString("id"));
+    assertEquals("Product", json.getString("name"));
+    assertTrue(json.isNull("description"));
+    assertEquals("tab-1", json.getString("tab"));
+    assertEquals("Cabecera", json.getString("tab$_identifier"));
+    assertFalse(json.has("aDFieldAccessList"));
+  }
+
+  @Test
+  void toJsonObjectMatchesTheConverterForTranslatedEntities() throws Exception {
+    when(bob.get("name", language, ID)).thenReturn("Producto");
+
+    JSONObject expected = new DataToJsonConverter().toJsonObject(bob, DataResolvingMode.FULL_TRANSLATABLE);
+    JSONObject json = EntityJsonSerializer.forObject(bob).toJsonObject(bob, null);
+
+    assertEquals(expected.length(), json.length());
+    Iterator<?> keys = expected.keys();
+    while (keys.hasNext()) {
+      String key = (String) keys.next();
+      assertEquals(String.valueOf(expected.get(key)), String.valueOf(json.opt(key)), key);
+    }
+    assertEquals("Producto", json.getString("_identifier"));
+    assertEquals("Cabecera", json.getString("tab$_identifier"));
+  }
+
+  @Test
+  void toJsonObjectUsesBulkTranslations() throws Exception {
+    JSONObject json = EntityJsonSerializer.forObject(bob).toJsonObject(bob, Map.of("name", "Producto"));
+
+    assertEquals("Producto", json.getString("name"));
+    verify(bob, never()).get(anyString(), any(Language.class), anyString());
+  }
+
+  @Test
+  void toJsonObjectTranslatesOnDemandWithoutBulkTranslations() throws Exception {
+    when(bob.get("name", language, ID)).thenReturn("Producto");
+
+    JSONObject json = EntityJsonSerializer.forObject(bob).toJsonObject(bob, null);
+
+    assertEquals("Producto", json.getString("name"));
+  }
+
+  @Test
+  void toJsonObjectSkipsRestrictedPropertiesForDerivedReadableEntities() throws Exception {
+    when(accessChecker.isDerivedReadable(entity)).thenReturn(true);
+
+    JSONObject json = EntityJsonSerializer.forObject(bob).toJsonObject(bob, Map.of());
+
+    assertEquals(ID, json.getString("id"));
+    assertFalse(json.has("name"));
+    assertFalse(json.has("tab"));
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.openbravo.model.ad.domain.Reference;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Unit tests for {@link ReferenceDictionary}.
+ */
+class ReferenceDictionaryTest {
+
+  private static final String REFERENCE_ID = "reference-1";
+  private static final String ENTRY_ID = REFERENCE_ID + "/en_US";
+
+  private static Reference reference(String id) {
+    Reference reference = mock(Reference.class);
+    when(reference.getId()).thenReturn(id);
+    return reference;
+  }
+
+  private static Language language(String code) {
+    Language language = mock(Language.class);
+    when(language.getLanguage()).thenReturn(code);
+    return language;
+  }
+
+  private static JSONObject selectorField(String fieldId, String referenceId, String datasource)
+      throws Exception {
+    return selectorField(fieldId, referenceId, datasource, language("en_US"));
+  }
+
+  private static JSONObject selectorField(String fieldId, String referenceId, String datasource,
+      Language language) throws Exception {
+    JSONObject selector = new JSONObject()
+        .put("datasourceName", datasource)
+        .put("displayField", "_identifier")
+        .put("fieldId", fieldId)
+        .put("outFields", new JSONArray().put(new JSONObject().put("fieldName", fieldId)));
+    return new JSONObject()
+        .put("id", fieldId)
+        .put("column", new JSONObject().put("referenceSearchKey", referenceId))
+        .put("selector", ReferenceDictionary.keyed(selector, reference(referenceId), language));
+  }
+
+  private static JSONObject window(JSONObject fields) throws Exception {
+    JSONObject tab = new JSONObject().put("id", "tab-1").put("fields", fields);
+    return new JSONObject().put("id", "window-1").put("tabs", new JSONArray().put(tab));
+  }
+
+  @Test
+  void isRequestedOnlyForSharedReferences() {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    assertFalse(ReferenceDictionary.isRequested(request));
+
+    when(request.getParameter(ReferenceDictionary.PARAMETER)).thenReturn(ReferenceDictionary.SHARED);
+    assertTrue(ReferenceDictionary.isRequested(request));
+  }
+
+  @Test
+  void selectorsSharingAReferenceAreStoredOnce() throws Exception {
+    JSONObject fields = new JSONObject()
+        .put("product", selectorField("field-1", REFERENCE_ID, "Product"))
+        .put("productTo", selectorField("field-2", REFERENCE_ID, "Product"));
+
+    JSONObject result = ReferenceDictionary.apply(window(fields));
+
+    JSONObject selectors = result.getJSONObject(ReferenceDictionary.DICTIONARY_KEY).getJSONObject("selector");
+    assertEquals(1, selectors.length());
+    JSONObject shared = selectors.getJSONObject(ENTRY_ID);
+    assertEquals("Product", shared.getString("datasourceName"));
+    assertFalse(shared.has("fieldId"));
+    assertFalse(shared.has("outFields"));
+
+    JSONObject field = result.getJSONArray("tabs").getJSONObject(0).getJSONObject("fields")
+        .getJSONObject("productTo");
+    assertEquals(ENTRY_ID, field.getString("selectorRef"));
+    assertEquals("field-2", field.getJSONObject("selector").getString("fieldId"));
+    assertTrue(field.getJSONObject("selector").has("outFields"));
+    assertFalse(field.getJSONObject("selector").has("datasourceName"));
+  }
+
+  @Test
+  void valuesBuiltInAnotherLanguageGetSeparateEntries() throws Exception {
+    JSONObject fields = new JSONObject()
+        .put("a", selectorField("field-1", REFERENCE_ID, "Product", language("en_US")))
+        .put("b", selectorField("field-2", REFERENCE_ID, "Product", language("es_ES")));
+
+    JSONObject result = ReferenceDictionary.apply(window(fields));
+
+    JSONObject resultFields = result.getJSONArray("tabs").getJSONObject(0).getJSONObject("fields");
+    assertNotEquals(resultFields.getJSONObject("a").getString("selectorRef"),
+        resultFields.getJSONObject("b").getString("selectorRef"));
+    assertEquals(2, result.getJSONObject(ReferenceDictionary.DICTIONARY_KEY).getJSONObject("selector").length());
+  }
+
+  @Test
+  void valuesWithoutKeyAreNotSharedByContent() throws Exception {
+    JSONObject selector = new JSONObject().put("displayField", "_identifier");
+    JSONObject fields = new JSONObject()
+        .put("a", new JSONObject().put("id", "field-1").put("selector", selector))
+        .put("b", new JSONObject().put("id", "field-2").put("selector", new JSONObject(selector.toString())));
+
+    JSONObject result = ReferenceDictionary.apply(window(fields));
+
+    JSONObject resultFields = result.getJSONArray("tabs").getJSONObject(0).getJSONObject("fields");
+    assertNotEquals(resultFields.getJSONObject("a").getString("selectorRef"),
+        resultFields.getJSONObject("b").getString("selectorRef"));
+  }
+
+  @Test
+  void listsAreReplacedByReferences() throws Exception {
+    JSONArray values = new JSONArray().put(new JSONObject().put("id", "CO").put("label", "Complete"));
+    JSONObject status = new JSONObject()
+        .put("id", "field-3")
+        .put("column", new JSONObject().put("referenceSearchKey", "status-ref"))
+        .put("refList", ReferenceDictionary.keyed(values, reference("status-ref"), language("en_US")));
+    JSONObject plain = new JSONObject().put("id", "field-4");
+    JSONObject tab = new JSONObject().put("id", "tab-1")
+        .put("fields", new JSONObject().put("status", status).put("plain", plain));
+
+    JSONObject result = ReferenceDictionary.apply(tab);
+
+    JSONObject resultFields = result.getJSONObject("fields");
+    JSONObject resultStatus = resultFields.getJSONObject("status");
+    assertFalse(resultStatus.has("refList"));
+    assertEquals("status-ref/en_US", resultStatus.getString("refListRef"));
+    assertSame(values, result.getJSONObject(ReferenceDictionary.DICTIONARY_KEY)
+        .getJSONObject("refList").get("status-ref/en_US"));
+    assertSame(plain, resultFields.get("plain"));
+    assertTrue(status.has("refList"));
+  }
+
+  @Test
+  void rewrittenFieldsAreReusedForTheSameCachedFields() throws Exception {
+    JSONObject fields = new JSONObject().put("product", selectorField("field-1", REFERENCE_ID, "Product"));
+
+    JSONObject first = ReferenceDictionary.apply(window(fields));
+    JSONObject second = ReferenceDictionary.apply(window(fields));
+
+    assertSame(first.getJSONArray("tabs").getJSONObject(0).get("fields"),
+        second.getJSONArray("tabs").getJSONObject(0).get("fields"));
+    assertTrue(second.getJSONObject(ReferenceDictionary.DICTIONARY_KEY).getJSONObject("selector").has(ENTRY_ID));
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.etendoerp.metadata.exceptions.UnprocessableContentException;
+
+/**
+ * Unit tests for {@link SparseFieldset}.
+ */
+class SparseFieldsetTest {
+
+  private JSONObject fields;
+  private JSONObject window;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    SparseFieldset.clear();
+    JSONObject column = new JSONObject()
+        .put("id", "column-1")
+        .put("$ref", "ADColumn/column-1")
+        .put("dBColumnName", "Name");
+    JSONObject nameField = new JSONObject()
+        .put("id", "field-1")
+        .put("name", "Name")
+        .put("_entityName", "ADField")
+        .put("createdBy", "100")
+        .put("createdBy$_identifier", "System")
+        .put("column", column);
+    fields = new JSONObject()
+        .put("name", nameField)
+        .put("createdBy", new JSONObject().put("id", "audit").put("name", "Created By"));
+    JSONObject tab = new JSONObject()
+        .put("id", "tab-1")
+        .put("_entityName", "ADTab")
+        .put("fields", fields);
+    window = new JSONObject()
+        .put("id", "window-1")
+        .put("$ref", "ADWindow/window-1")
+        .put("tabs", new JSONArray().put(tab));
+  }
+
+  @Test
+  void noParametersKeepTheFullPayload() throws Exception {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    SparseFieldset fieldset = SparseFieldset.fromRequest(request);
+
+    assertTrue(fieldset.isFull());
+    assertSame(window, fieldset.apply(window));
+  }
+
+  @Test
+  void unknownProfileIsRejected() {
+    assertThrows(UnprocessableContentException.class, () -> SparseFieldset.of("tiny", null));
+  }
+
+  @Test
+  void compactProfileDropsBookkeepingKeysButNotFieldNames() throws Exception {
+    JSONObject pruned = SparseFieldset.of(SparseFieldset.PROFILE_COMPACT, null).apply(window);
+
+    assertFalse(pruned.has("$ref"));
+    JSONObject tab = pruned.getJSONArray("tabs").getJSONObject(0);
+    assertFalse(tab.has("_entityName"));
+    JSONObject prunedFields = tab.getJSONObject("fields");
+    assertTrue(prunedFields.has("createdBy"));
+    JSONObject nameField = prunedFields.getJSONObject("name");
+    assertFalse(nameField.has("_entityName"));
+    assertFalse(nameField.has("createdBy"));
+    assertFalse(nameField.has("createdBy$_identifier"));
+    assertFalse(nameField.getJSONObject("column").has("$ref"));
+    assertEquals("Name", nameField.getString("name"));
+  }
+
+  @Test
+  void fieldsParameterSelectsEntryKeys() throws Exception {
+    JSONObject pruned = SparseFieldset.of(null, "name, column").apply(window);
+
+    JSONObject nameField = pruned.getJSONArray("tabs").getJSONObject(0)
+        .getJSONObject("fields").getJSONObject("name");
+    assertEquals(3, nameField.length());
+    assertEquals("field-1", nameField.getString("id"));
+    assertEquals("Name", nameField.getString("name"));
+    assertTrue(nameField.getJSONObject("column").has("$ref"));
+  }
+
+  @Test
+  void sourcePayloadIsNotModified() throws Exception {
+    SparseFieldset.of(SparseFieldset.PROFILE_COMPACT, "name").apply(window);
+
+    assertTrue(window.has("$ref"));
+    assertTrue(fields.getJSONObject("name").has("_entityName"));
+    assertTrue(fields.getJSONObject("name").has("column"));
+  }
+
+  @Test
+  void fieldsetsAndPrunedFieldMapsAreReused() throws Exception {
+    SparseFieldset fieldset = SparseFieldset.of(SparseFieldset.PROFILE_COMPACT, "name,id");
+
+    assertSame(fieldset, SparseFieldset.of(" compact ", "id,name"));
+    JSONObject first = fieldset.apply(window).getJSONArray("tabs").getJSONObject(0).getJSONObject("fields");
+    JSONObject second = fieldset.apply(window).getJSONArray("tabs").getJSONObject(0).getJSONObject("fields");
+    assertSame(first, second);
+  }
+
+  @Test
+  void requestParametersAreRead() throws Exception {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    when(request.getParameter(SparseFieldset.PROFILE_PARAMETER)).thenReturn(SparseFieldset.PROFILE_COMPACT);
+
+    assertFalse(SparseFieldset.fromRequest(request).apply(window).has("$ref"));
+  }
+}
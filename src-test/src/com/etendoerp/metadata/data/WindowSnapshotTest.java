@@ -0,0 +1,271 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+package com.etendoerp.metadata.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.base.structure.BaseOBObject;
+import org.openbravo.dal.core.OBContext;
+import org.openbravo.dal.service.OBDal;
+import org.openbravo.dal.service.OBQuery;
+import org.openbravo.model.ad.datamodel.Column;
+import org.openbravo.model.ad.datamodel.Table;
+import org.openbravo.model.ad.domain.Reference;
+import org.openbravo.model.ad.domain.ReferencedTree;
+import org.openbravo.model.ad.system.Language;
+import org.openbravo.model.ad.ui.Field;
+import org.openbravo.model.ad.ui.FieldTrl;
+import org.openbravo.model.ad.ui.Tab;
+import org.openbravo.model.ad.ui.Window;
+import org.openbravo.userinterface.selector.Selector;
+import org.openbravo.userinterface.selector.SelectorField;
+
+import com.etendoerp.metadata.builders.FieldBuilder;
+
+/**
+ * Unit tests for {@link WindowSnapshot}.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class WindowSnapshotTest {
+
+  private static final String WINDOW_ID = "window-1";
+  private static final String TAB_ID = "tab-1";
+  private static final String TABLE_ID = "table-1";
+  private static final String REFERENCE_ID = "reference-1";
+  private static final String SELECTOR_ID = "selector-1";
+
+  @Mock
+  private OBDal obDal;
+
+  private Tab tab;
+  private Table table;
+  private Reference searchKey;
+  private Field field;
+  private Column column;
+  private Selector selector;
+  private SelectorField selectorField;
+
+  @BeforeEach
+  void setUp() {
+    Window window = mock(Window.class);
+    when(window.getId()).thenReturn(WINDOW_ID);
+    tab = mock(Tab.class);
+    when(tab.getId()).thenReturn(TAB_ID);
+    when(tab.getWindow()).thenReturn(window);
+    table = mock(Table.class);
+    when(table.getId()).thenReturn(TABLE_ID);
+    searchKey = mock(Reference.class);
+    when(searchKey.getId()).thenReturn(REFERENCE_ID);
+
+    column = mock(Column.class);
+    when(column.getTable()).thenReturn(table);
+    when(column.getReferenceSearchKey()).thenReturn(searchKey);
+    field = mock(Field.class);
+    when(field.getTab()).thenReturn(tab);
+    when(field.getColumn()).thenReturn(column);
+
+    selector = mock(Selector.class);
+    when(selector.getId()).thenReturn(SELECTOR_ID);
+    when(selector.getReference()).thenReturn(searchKey);
+    selectorField = mock(SelectorField.class);
+    when(selectorField.getObuiselSelector()).thenReturn(selector);
+
+    when(tab.getADFieldList()).thenReturn(List.of(field));
+    when(table.getADColumnList()).thenReturn(List.of(column));
+    when(searchKey.getOBUISELSelectorList()).thenReturn(List.of(selector));
+    when(searchKey.getADReferencedTreeList()).thenReturn(List.of());
+    when(selector.getOBUISELSelectorFieldList()).thenReturn(List.of(selectorField));
+
+    // Fetch joins repeat the root once per fetched child
+    stubQuery(Tab.class, List.of(tab, tab));
+    stubQuery(Table.class, List.of(table));
+    stubQuery(Reference.class, List.of(searchKey));
+    stubQuery(Selector.class, List.of(selector));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends BaseOBObject> void stubQuery(Class<T> type, List<T> result) {
+    OBQuery<T> query = mock(OBQuery.class);
+    when(query.setFilterOnActive(anyBoolean())).thenReturn(query);
+    when(query.setFilterOnReadableClients(anyBoolean())).thenReturn(query);
+    when(query.setFilterOnReadableOrganization(anyBoolean())).thenReturn(query);
+    when(query.list()).thenReturn(result);
+    when(obDal.createQuery(eq(type), anyString(), anyMap())).thenReturn(query);
+  }
+
+  @Test
+  void loadIndexesWindowObjects() {
+    try (MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class)) {
+      obDalStatic.when(OBDal::getReadOnlyInstance).thenReturn(obDal);
+
+      WindowSnapshot snapshot = WindowSnapshot.load(WINDOW_ID);
+
+      assertEquals(List.of(field), snapshot.getFields(tab));
+      assertEquals(List.of(column), snapshot.getColumns(table));
+      assertSame(selector, snapshot.getReferenceSelectors(searchKey).selector);
+      assertNull(snapshot.getReferenceSelectors(searchKey).treeSelector);
+      assertEquals(List.of(selectorField), snapshot.getSelectorFields(selector));
+    }
+  }
+
+  @Test
+  void snapshotMatchesLazyNavigation() {
+    Field secondField = mock(Field.class);
+    when(secondField.getTab()).thenReturn(tab);
+    Column secondColumn = mock(Column.class);
+    when(secondColumn.getTable()).thenReturn(table);
+    Selector secondSelector = mock(Selector.class);
+    when(secondSelector.getReference()).thenReturn(searchKey);
+    ReferencedTree tree = mock(ReferencedTree.class);
+    when(tab.getADFieldList()).thenReturn(List.of(secondField, field));
+    when(table.getADColumnList()).thenReturn(List.of(secondColumn, column));
+    when(searchKey.getOBUISELSelectorList()).thenReturn(List.of(secondSelector, selector));
+    when(searchKey.getADReferencedTreeList()).thenReturn(List.of(tree));
+
+    try (MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class)) {
+      obDalStatic.when(OBDal::getReadOnlyInstance).thenReturn(obDal);
+
+      WindowSnapshot snapshot = WindowSnapshot.load(WINDOW_ID);
+      // Not bound to the thread: FieldBuilder navigates the collections lazily
+      ReferenceSelectors lazy = FieldBuilder.getReferenceSelectors(searchKey);
+
+      assertEquals(tab.getADFieldList(), snapshot.getFields(tab));
+      assertEquals(table.getADColumnList(), snapshot.getColumns(table));
+      assertSame(lazy.selector, snapshot.getReferenceSelectors(searchKey).selector);
+      assertSame(lazy.treeSelector, snapshot.getReferenceSelectors(searchKey).treeSelector);
+      assertEquals(selector.getOBUISELSelectorFieldList(), snapshot.getSelectorFields(selector));
+    }
+  }
+
+  @Test
+  void lookupsOutsideTheWindowReturnNull() {
+    try (MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class)) {
+      obDalStatic.when(OBDal::getReadOnlyInstance).thenReturn(obDal);
+      Window otherWindow = mock(Window.class);
+      when(otherWindow.getId()).thenReturn("window-2");
+      Tab otherTab = mock(Tab.class);
+      when(otherTab.getWindow()).thenReturn(otherWindow);
+      Table otherTable = mock(Table.class);
+      when(otherTable.getId()).thenReturn("table-2");
+      Reference otherReference = mock(Reference.class);
+      when(otherReference.getId()).thenReturn("reference-2");
+
+      WindowSnapshot snapshot = WindowSnapshot.load(WINDOW_ID);
+
+      assertNull(snapshot.getFields(otherTab));
+      assertNull(snapshot.getColumns(otherTable));
+      assertNull(snapshot.getReferenceSelectors(otherReference));
+    }
+  }
+
+  @Test
+  void scopedLoadOnlyCoversTheFieldsOfTheGivenTabs() {
+    Window window = mock(Window.class);
+    when(window.getId()).thenReturn(WINDOW_ID);
+    Tab header = mock(Tab.class);
+    when(header.getId()).thenReturn("tab-2");
+    when(header.getWindow()).thenReturn(window);
+    Field headerField = mock(Field.class);
+    when(headerField.getTab()).thenReturn(header);
+
+    try (MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class)) {
+      obDalStatic.when(OBDal::getReadOnlyInstance).thenReturn(obDal);
+
+      WindowSnapshot snapshot = WindowSnapshot.load(WINDOW_ID, Set.of(TAB_ID));
+
+      assertEquals(List.of(field), snapshot.getFields(tab));
+      assertNull(snapshot.getFields(header));
+      assertNull(snapshot.getTranslations(headerField));
+      assertEquals(List.of(column), snapshot.getColumns(table));
+      verify(obDal).createQuery(eq(Tab.class), contains(":tabIds"),
+          argThat(params -> Set.of(TAB_ID).equals(params.get("tabIds"))));
+      verify(obDal).createQuery(eq(Selector.class), contains(":tabIds"), anyMap());
+      verify(obDal).createQuery(eq(Table.class), argThat(hql -> !hql.contains(":tabIds")), anyMap());
+    }
+  }
+
+  @Test
+  void currentIsLoadedLazilyOncePerScope() {
+    try (MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class)) {
+      obDalStatic.when(OBDal::getReadOnlyInstance).thenReturn(obDal);
+
+      assertNull(WindowSnapshot.current());
+      try (WindowSnapshot.Scope ignored = WindowSnapshot.open(WINDOW_ID)) {
+        verify(obDal, times(0)).createQuery(eq(Tab.class), anyString(), anyMap());
+        assertEquals(List.of(field), WindowSnapshot.fieldsOf(tab));
+        assertTrue(WindowSnapshot.columnsOf(table).contains(column));
+        verify(obDal, times(1)).createQuery(eq(Tab.class), anyString(), anyMap());
+      }
+      assertNull(WindowSnapshot.current());
+      assertNull(WindowSnapshot.fieldsOf(tab));
+    }
+  }
+
+  @Test
+  void fieldTranslationsAreLoadedOnceForTheWindow() {
+    OBContext context = mock(OBContext.class);
+    Language language = mock(Language.class);
+    when(language.getId()).thenReturn("language-1");
+    when(context.getLanguage()).thenReturn(language);
+    when(field.getId()).thenReturn("field-1");
+    FieldTrl translation = mock(FieldTrl.class);
+    when(translation.getField()).thenReturn(field);
+    when(translation.getName()).thenReturn("Nombre");
+    stubQuery(FieldTrl.class, List.of(translation));
+    Field untranslated = mock(Field.class);
+    when(untranslated.getId()).thenReturn("field-2");
+    when(untranslated.getTab()).thenReturn(tab);
+
+    try (MockedStatic<OBDal> obDalStatic = mockStatic(OBDal.class);
+        MockedStatic<OBContext> obContextStatic = mockStatic(OBContext.class)) {
+      obDalStatic.when(OBDal::getReadOnlyInstance).thenReturn(obDal);
+      obContextStatic.when(OBContext::getOBContext).thenReturn(context);
+
+      WindowSnapshot snapshot = WindowSnapshot.load(WINDOW_ID);
+
+      assertEquals("Nombre", snapshot.getTranslations(field).get(Field.PROPERTY_NAME));
+      assertTrue(snapshot.getTranslations(untranslated).isEmpty());
+      verify(obDal, times(1)).createQuery(eq(FieldTrl.class), anyString(), anyMap());
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.dal.core.OBContext;
+import org.openbravo.model.ad.access.Role;
+import org.openbravo.model.ad.access.User;
+import org.openbravo.model.ad.system.Client;
+import org.openbravo.model.ad.system.Language;
+import org.openbravo.model.common.enterprise.Organization;
+
+import com.etendoerp.metadata.builders.LanguageBuilder;
+import com.etendoerp.metadata.builders.MenuBuilder;
+import com.etendoerp.metadata.builders.SessionBuilder;
+import com.etendoerp.metadata.cache.LabelBundleCache;
+import com.etendoerp.metadata.cache.PreferenceCache;
+
+/**
+ * Unit tests for {@link BootstrapService}.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class BootstrapServiceTest {
+
+    private HttpServletRequest mockRequest;
+    private HttpServletResponse mockResponse;
+    private ByteArrayOutputStream responseOutput;
+    private AtomicInteger flushes;
+    private OBContext mockContext;
+    private Language mockLanguage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockRequest = mock(HttpServletRequest.class);
+        mockResponse = mock(HttpServletResponse.class);
+        mockContext = mock(OBContext.class);
+        mockLanguage = mock(Language.class);
+        when(mockContext.getLanguage()).thenReturn(mockLanguage);
+        when(mockContext.getCurrentClient()).thenReturn(mock(Client.class));
+        when(mockContext.getCurrentOrganization()).thenReturn(mock(Organization.class));
+        when(mockContext.getUser()).thenReturn(mock(User.class));
+        when(mockContext.getRole()).thenReturn(mock(Role.class));
+
+        responseOutput = new ByteArrayOutputStream();
+        flushes = new AtomicInteger();
+        when(mockResponse.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                responseOutput.write(b);
+            }
+
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                // not used
+            }
+        });
+    }
+
+    private JSONObject process(MockedStatic<LabelBundleCache> labels, MockedStatic<PreferenceCache> preferences)
+            throws Exception {
+        LabelBundleCache.Bundle bundle = mock(LabelBundleCache.Bundle.class);
+        when(bundle.getVersion()).thenReturn(7L);
+        when(bundle.getJson()).thenReturn("{\"OBUIAPP_Save\":\"Save\"}".getBytes(StandardCharsets.UTF_8));
+        labels.when(() -> LabelBundleCache.get(any(), any(), any())).thenReturn(bundle);
+
+        PreferenceCache.Entry entry = mock(PreferenceCache.Entry.class);
+        when(entry.getJson()).thenReturn("{\"preferences\":{\"p\":\"v\"}}".getBytes(StandardCharsets.UTF_8));
+        preferences.when(() -> PreferenceCache.get(any(), any(), any(), any(), any())).thenReturn(entry);
+
+        new BootstrapService(mockRequest, mockResponse).process();
+
+        return new JSONObject(new String(responseOutput.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void processWritesEverySection() throws Exception {
+        try (MockedStatic<OBContext> obContext = mockStatic(OBContext.class);
+             MockedStatic<LabelBundleCache> labels = mockStatic(LabelBundleCache.class);
+             MockedStatic<PreferenceCache> preferences = mockStatic(PreferenceCache.class);
+             MockedConstruction<SessionBuilder> session = mockConstruction(SessionBuilder.class,
+                     (builder, ctx) -> when(builder.toJSON()).thenReturn(new JSONObject().put("user", "100")));
+             MockedConstruction<MenuBuilder> menu = mockConstruction(MenuBuilder.class,
+                     (builder, ctx) -> when(builder.toJSON()).thenReturn(new JSONObject().put("menu", new JSONArray())));
+             MockedConstruction<LanguageBuilder> languages = mockConstruction(LanguageBuilder.class,
+                     (builder, ctx) -> when(builder.toJSON()).thenReturn(new JSONObject().put("en_US", "English")))) {
+            obContext.when(OBContext::getOBContext).thenReturn(mockContext);
+
+            JSONObject result = process(labels, preferences);
+
+            assertEquals("100", result.getJSONObject(BootstrapService.SESSION).getString("user"));
+            assertTrue(result.getJSONObject(BootstrapService.MENU).has("menu"));
+            assertEquals(7L, result.getLong(BootstrapService.LABELS_VERSION));
+            assertEquals("Save", result.getJSONObject(BootstrapService.LABELS).getString("OBUIAPP_Save"));
+            assertEquals("v", result.getJSONObject(BootstrapService.PREFERENCES)
+                    .getJSONObject(PreferenceCache.PREFERENCES).getString("p"));
+            assertEquals("English", result.getJSONObject(BootstrapService.LANGUAGES).getString("en_US"));
+            obContext.verify(() -> OBContext.setAdminMode(true));
+            obContext.verify(OBContext::restorePreviousMode);
+        }
+    }
+
+    @Test
+    void processWritesErrorOfFailedSectionAndKeepsTheRest() throws Exception {
+        try (MockedStatic<OBContext> obContext = mockStatic(OBContext.class);
+             MockedStatic<LabelBundleCache> labels = mockStatic(LabelBundleCache.class);
+             MockedStatic<PreferenceCache> preferences = mockStatic(PreferenceCache.class);
+             MockedConstruction<SessionBuilder> session = mockConstruction(SessionBuilder.class,
+                     (builder, ctx) -> when(builder.toJSON()).thenReturn(new JSONObject()));
+             MockedConstruction<MenuBuilder> menu = mockConstruction(MenuBuilder.class,
+                     (builder, ctx) -> when(builder.toJSON()).thenThrow(new JSONException("Broken menu")));
+             MockedConstruction<LanguageBuilder> languages = mockConstruction(LanguageBuilder.class,
+                     (builder, ctx) -> when(builder.toJSON()).thenReturn(new JSONObject()))) {
+            obContext.when(OBContext::getOBContext).thenReturn(mockContext);
+
+            JSONObject result = process(labels, preferences);
+
+            assertEquals("Broken menu", result.getJSONObject(BootstrapService.MENU).getString("error"));
+            assertTrue(result.has(BootstrapService.LABELS));
+            assertTrue(result.has(BootstrapService.LANGUAGES));
+        }
+    }
+
+    @Test
+    void processFlushesEachSection() throws Exception {
+        try (MockedStatic<OBContext> obContext = mockStatic(OBContext.class);
+             MockedStatic<LabelBundleCache> labels = mockStatic(LabelBundleCache.class);
+             MockedStatic<PreferenceCache> preferences = mockStatic(PreferenceCache.class);
+             MockedConstruction<SessionBuilder> session = mockConstruction(SessionBuilder.class,
+                     (builder, ctx) -> when(builder.toJSON()).thenReturn(new JSONObject()));
+             MockedConstruction<MenuBuilder> menu = mockConstruction(MenuBuilder.class,
+                     (builder, ctx) -> when(builder.toJSON()).thenReturn(new JSONObject()));
+             MockedConstruction<LanguageBuilder> languages = mockConstruction(LanguageBuilder.class,
+                     (builder, ctx) -> when(builder.toJSON()).thenReturn(new JSONObject()))) {
+            obContext.when(OBContext::getOBContext).thenReturn(mockContext);
+
+            process(labels, preferences);
+
+            assertEquals(6, flushes.get());
+        }
+    }
+}
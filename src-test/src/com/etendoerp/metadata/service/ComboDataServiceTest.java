@@ -0,0 +1,199 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance
+ * with the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright (C) 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+package com.etendoerp.metadata.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openbravo.base.secureApp.VariablesSecureApp;
+import org.openbravo.client.kernel.RequestContext;
+import org.openbravo.data.FieldProvider;
+import org.openbravo.erpCommon.utility.ComboTableData;
+import org.openbravo.erpCommon.utility.Utility;
+import org.openbravo.model.ad.domain.Reference;
+import org.openbravo.model.ad.domain.ReferencedTable;
+import org.openbravo.model.ad.domain.Validation;
+import org.openbravo.model.ad.ui.Process;
+import org.openbravo.model.ad.ui.ProcessParameter;
+import org.openbravo.service.db.DalConnectionProvider;
+
+import com.etendoerp.metadata.cache.ComboDataCache;
+import com.etendoerp.metadata.exceptions.NotFoundException;
+
+/**
+ * Unit tests for {@link ComboDataService}.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class ComboDataServiceTest extends AbstractMockedContextTest {
+
+  private static final String PARAMETER_ID = "param-1";
+  private static final String COMBO_PATH = "/com.etendoerp.metadata.meta/combo/" + PARAMETER_ID;
+
+  @BeforeEach
+  void clearCache() {
+    ComboDataCache.clear();
+  }
+
+  private ProcessParameter mockParameter() {
+    ProcessParameter parameter = mock(ProcessParameter.class);
+    Reference reference = mock(Reference.class);
+    Process process = mock(Process.class);
+    when(reference.getId()).thenReturn("19");
+    when(process.getId()).thenReturn("process-1");
+    when(parameter.getReference()).thenReturn(reference);
+    when(parameter.getProcess()).thenReturn(process);
+    when(parameter.getDBColumnName()).thenReturn("C_DocType_ID");
+    when(obDal.get(ProcessParameter.class, PARAMETER_ID)).thenReturn(parameter);
+    return parameter;
+  }
+
+  private static FieldProvider row(String id, String name) {
+    FieldProvider row = mock(FieldProvider.class);
+    when(row.getField("ID")).thenReturn(id);
+    when(row.getField("NAME")).thenReturn(name);
+    return row;
+  }
+
+  private void runWithComboQuery(FieldProvider[] rows, ComboAction action) throws Exception {
+    try (MockedStatic<DalConnectionProvider> dalConnStatic = mockStatic(DalConnectionProvider.class);
+        MockedStatic<RequestContext> requestContextStatic = mockStatic(RequestContext.class);
+        MockedStatic<Utility> utilityStatic = mockStatic(Utility.class);
+        MockedConstruction<ComboTableData> comboConstruction = mockConstruction(ComboTableData.class,
+            (mockCombo, context) -> when(mockCombo.select(false)).thenReturn(rows))) {
+      dalConnStatic.when(DalConnectionProvider::getReadOnlyConnectionProvider)
+          .thenReturn(mock(DalConnectionProvider.class));
+      RequestContext requestContext = mock(RequestContext.class);
+      requestContextStatic.when(RequestContext::get).thenReturn(requestContext);
+      when(requestContext.getVariablesSecureApp()).thenReturn(mock(VariablesSecureApp.class));
+      utilityStatic.when(() -> Utility.getContext(any(), any(), anyString(), anyString())).thenReturn("");
+
+      runWithMockedContext(() -> action.run(comboConstruction));
+    }
+  }
+
+  @FunctionalInterface
+  private interface ComboAction {
+    void run(MockedConstruction<ComboTableData> construction) throws Exception;
+  }
+
+  @Test
+  void processReturnsRequestedPage() throws Exception {
+    mockParameter();
+    when(request.getPathInfo()).thenReturn(COMBO_PATH);
+    when(request.getParameter("_startRow")).thenReturn("1");
+    when(request.getParameter("_endRow")).thenReturn("1");
+
+    runWithComboQuery(new FieldProvider[] { row("1", "Invoice"), row("2", "Order"), row("3", "Shipment") },
+        construction -> {
+          new ComboDataService(request, response).process();
+
+          JSONObject page = new JSONObject(responseCapture.toString()).getJSONObject("response");
+          JSONArray data = page.getJSONArray("data");
+          assertEquals(3, page.getInt("totalRows"));
+          assertEquals(1, data.length());
+          assertEquals("Order", data.getJSONObject(0).getString("name"));
+        });
+  }
+
+  @Test
+  void processFiltersBySearchText() throws Exception {
+    mockParameter();
+    when(request.getPathInfo()).thenReturn(COMBO_PATH);
+    when(request.getParameter("search")).thenReturn("ord");
+
+    runWithComboQuery(new FieldProvider[] { row("1", "Invoice"), row("2", "Order") }, construction -> {
+      new ComboDataService(request, response).process();
+
+      JSONObject page = new JSONObject(responseCapture.toString()).getJSONObject("response");
+      assertEquals(1, page.getInt("totalRows"));
+      assertEquals("2", page.getJSONArray("data").getJSONObject(0).getString("id"));
+    });
+  }
+
+  @Test
+  void processServesRepeatedRequestsFromCache() throws Exception {
+    mockParameter();
+    when(request.getPathInfo()).thenReturn(COMBO_PATH);
+
+    runWithComboQuery(new FieldProvider[] { row("1", "Invoice") }, construction -> {
+      new ComboDataService(request, response).process();
+      new ComboDataService(request, response).process();
+
+      assertEquals(1, construction.constructed().size());
+    });
+  }
+
+  @Test
+  void processDoesNotShareCombosFilteredByContextVariables() throws Exception {
+    ProcessParameter parameter = mockParameter();
+    Validation validation = mock(Validation.class);
+    when(validation.getId()).thenReturn("validation-1");
+    when(validation.getValidationCode()).thenReturn("C_DocType.CreatedBy = @#AD_User_ID@");
+    when(parameter.getValidation()).thenReturn(validation);
+    when(request.getPathInfo()).thenReturn(COMBO_PATH);
+
+    runWithComboQuery(new FieldProvider[] { row("1", "Invoice") }, construction -> {
+      new ComboDataService(request, response).process();
+      new ComboDataService(request, response).process();
+
+      assertEquals(2, construction.constructed().size());
+    });
+  }
+
+  @Test
+  void usesContextVariablesChecksTableReferenceFilter() {
+    ProcessParameter parameter = mockParameter();
+    Reference searchKey = mock(Reference.class);
+    ReferencedTable table = mock(ReferencedTable.class);
+    when(table.getSQLWhereClause()).thenReturn("AD_Org_ID = @AD_Org_ID@");
+    when(searchKey.getADReferencedTableList()).thenReturn(List.of(table));
+    when(parameter.getReferenceSearchKey()).thenReturn(searchKey);
+
+    assertTrue(ComboDataService.usesContextVariables(parameter));
+    when(table.getSQLWhereClause()).thenReturn("IsSOTrx = 'Y'");
+    assertFalse(ComboDataService.usesContextVariables(parameter));
+  }
+
+  @Test
+  void processThrowsNotFoundForUnknownParameter() throws Exception {
+    when(request.getPathInfo()).thenReturn(COMBO_PATH);
+
+    runWithMockedContext(() -> assertThrows(NotFoundException.class,
+        () -> new ComboDataService(request, response).process()));
+  }
+}
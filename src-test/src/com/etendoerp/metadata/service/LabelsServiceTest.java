@@ -17,9 +17,17 @@
 
 package com.etendoerp.metadata.service;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.codehaus.jettison.json.JSONException;
@@ -34,9 +42,14 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openbravo.dal.core.OBContext;
 import com.etendoerp.metadata.builders.LabelsBuilder;
+import com.etendoerp.metadata.cache.LabelBundleCache;
 import com.etendoerp.metadata.exceptions.InternalServerException;
+import com.etendoerp.metadata.exceptions.UnprocessableContentException;
+import com.etendoerp.metadata.utils.Constants;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -102,4 +115,220 @@ public class LabelsServiceTest {
             service.process();
         }
     }
-}
\ No newline at end of file
+
+    private ByteArrayOutputStream captureOutputStream() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(mockResponse.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                output.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                // not used
+            }
+        });
+        return output;
+    }
+
+    private static MockedConstruction<LabelsBuilder> mockLabels() {
+        return mockConstruction(LabelsBuilder.class, (mock, context) ->
+            when(mock.toJSON()).thenReturn(new JSONObject().put("OBUIAPP_Save", "Save")));
+    }
+
+    private static MockedStatic<LabelsBuilder> mockModules() {
+        MockedStatic<LabelsBuilder> mockedModules = mockStatic(LabelsBuilder.class);
+        mockedModules.when(LabelsBuilder::loadModules)
+            .thenReturn(Collections.singletonMap("OBUIAPP_Save", "org.openbravo.client.application"));
+        return mockedModules;
+    }
+
+    /**
+     * Tests that the full bundle is written pre-compressed when the client accepts gzip.
+     *
+     * @throws Exception if processing or decompression fails
+     */
+    @Test
+    public void testProcessWritesGzipBundleWhenAccepted() throws Exception {
+        when(mockRequest.getHeader(Constants.ACCEPT_ENCODING_HEADER)).thenReturn("gzip, deflate");
+        ByteArrayOutputStream output = captureOutputStream();
+        LabelsService service = new LabelsService(mockRequest, mockResponse);
+
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedConstruction<LabelsBuilder> mockedBuilder = mockLabels();
+             MockedStatic<LabelsBuilder> mockedModules = mockModules()) {
+            service.process();
+        }
+
+        verify(mockResponse).setHeader(Constants.CONTENT_ENCODING_HEADER, Constants.GZIP_ENCODING);
+        verify(mockResponse).setHeader(eq(Constants.LABELS_VERSION_HEADER), anyString());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            JSONObject labels = new JSONObject(new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals("Save", labels.getString("OBUIAPP_Save"));
+        }
+    }
+
+    /**
+     * Tests that the full bundle is written uncompressed when the client does not accept gzip.
+     *
+     * @throws Exception if processing fails
+     */
+    @Test
+    public void testProcessWritesPlainBundleWithoutGzip() throws Exception {
+        ByteArrayOutputStream output = captureOutputStream();
+        LabelsService service = new LabelsService(mockRequest, mockResponse);
+
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedConstruction<LabelsBuilder> mockedBuilder = mockLabels();
+             MockedStatic<LabelsBuilder> mockedModules = mockModules()) {
+            service.process();
+        }
+
+        verify(mockResponse, never()).setHeader(eq(Constants.CONTENT_ENCODING_HEADER), anyString());
+        JSONObject labels = new JSONObject(new String(output.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals("Save", labels.getString("OBUIAPP_Save"));
+    }
+
+    /**
+     * Tests that a 'since' version returns a delta instead of the full bundle.
+     *
+     * @throws Exception if processing fails
+     */
+    @Test
+    public void testProcessWritesDeltaForSinceVersion() throws Exception {
+        when(mockRequest.getParameter(LabelsService.SINCE_PARAMETER)).thenReturn("0");
+        StringWriter writer = new StringWriter();
+        when(mockResponse.getWriter()).thenReturn(new PrintWriter(writer));
+        LabelsService service = new LabelsService(mockRequest, mockResponse);
+
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedConstruction<LabelsBuilder> mockedBuilder = mockLabels();
+             MockedStatic<LabelsBuilder> mockedModules = mockModules()) {
+            service.process();
+        }
+
+        JSONObject delta = new JSONObject(writer.toString());
+        assertTrue(delta.getBoolean(LabelBundleCache.FULL));
+        assertEquals("Save", delta.getJSONObject(LabelBundleCache.LABELS).getString("OBUIAPP_Save"));
+    }
+
+    /**
+     * Tests that an invalid 'since' version is rejected.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Test(expected = UnprocessableContentException.class)
+    public void testProcessRejectsInvalidSinceVersion() throws IOException {
+        when(mockRequest.getParameter(LabelsService.SINCE_PARAMETER)).thenReturn("yesterday");
+        LabelsService service = new LabelsService(mockRequest, mockResponse);
+
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedConstruction<LabelsBuilder> mockedBuilder = mockLabels();
+             MockedStatic<LabelsBuilder> mockedModules = mockModules()) {
+            service.process();
+        }
+    }
+
+    /**
+     * Tests that a 'module' parameter returns the labels of that module with their own ETag.
+     *
+     * @throws Exception if processing fails
+     */
+    @Test
+    public void testProcessWritesModulePartition() throws Exception {
+        when(mockRequest.getParameter(LabelsService.MODULE_PARAMETER)).thenReturn("org.openbravo.client.application");
+        ByteArrayOutputStream output = captureOutputStream();
+        LabelsService service = new LabelsService(mockRequest, mockResponse);
+
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedConstruction<LabelsBuilder> mockedBuilder = mockLabels();
+             MockedStatic<LabelsBuilder> mockedModules = mockModules()) {
+            service.process();
+        }
+
+        verify(mockResponse).setHeader(eq(Constants.ETAG_HEADER), anyString());
+        verify(mockResponse, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        JSONObject labels = new JSONObject(new String(output.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals("Save", labels.getString("OBUIAPP_Save"));
+    }
+
+    /**
+     * Tests that a module partition already held by the client is answered with 304.
+     *
+     * @throws Exception if processing fails
+     */
+    @Test
+    public void testProcessReturnsNotModifiedForMatchingPartitionETag() throws Exception {
+        String module = "org.openbravo.client.application";
+        when(mockRequest.getParameter(LabelsService.MODULE_PARAMETER)).thenReturn(module);
+        LabelsService service = new LabelsService(mockRequest, mockResponse);
+
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedConstruction<LabelsBuilder> mockedBuilder = mockLabels();
+             MockedStatic<LabelsBuilder> mockedModules = mockModules()) {
+            String etag = LabelBundleCache.get(null, () -> new JSONObject().put("OBUIAPP_Save", "Save"),
+                LabelsBuilder::loadModules).getPartition(module).getETag();
+            when(mockRequest.getHeader(Constants.IF_NONE_MATCH_HEADER)).thenReturn(etag);
+            service.process();
+        }
+
+        verify(mockResponse).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(mockResponse, never()).getOutputStream();
+    }
+
+    /**
+     * Tests that the 'partitions' parameter lists every module partition.
+     *
+     * @throws Exception if processing fails
+     */
+    @Test
+    public void testProcessWritesPartitionIndex() throws Exception {
+        when(mockRequest.getParameter(LabelsService.PARTITIONS_PARAMETER)).thenReturn("");
+        StringWriter writer = new StringWriter();
+        when(mockResponse.getWriter()).thenReturn(new PrintWriter(writer));
+        LabelsService service = new LabelsService(mockRequest, mockResponse);
+
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedConstruction<LabelsBuilder> mockedBuilder = mockLabels();
+             MockedStatic<LabelsBuilder> mockedModules = mockModules()) {
+            service.process();
+        }
+
+        JSONObject index = new JSONObject(writer.toString());
+        JSONObject partition = index.getJSONArray(LabelsService.PARTITIONS).getJSONObject(0);
+        assertEquals("org.openbravo.client.application", partition.getString(LabelsService.MODULE));
+        assertEquals(1, partition.getInt(LabelsService.COUNT));
+        assertTrue(partition.getString(LabelsService.ETAG).startsWith("\""));
+    }
+
+    /**
+     * Tests that the partition index carries its own ETag and is answered with 304 when the
+     * client already holds it.
+     *
+     * @throws Exception if processing fails
+     */
+    @Test
+    public void testProcessReturnsNotModifiedForMatchingPartitionIndexETag() throws Exception {
+        when(mockRequest.getParameter(LabelsService.PARTITIONS_PARAMETER)).thenReturn("");
+        LabelsService service = new LabelsService(mockRequest, mockResponse);
+
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedConstruction<LabelsBuilder> mockedBuilder = mockLabels();
+             MockedStatic<LabelsBuilder> mockedModules = mockModules()) {
+            String etag = LabelBundleCache.get(null, () -> new JSONObject().put("OBUIAPP_Save", "Save"),
+                LabelsBuilder::loadModules).getPartitionsETag();
+            when(mockRequest.getHeader(Constants.IF_NONE_MATCH_HEADER)).thenReturn(etag);
+            service.process();
+        }
+
+        verify(mockResponse).setHeader(eq(Constants.ETAG_HEADER), anyString());
+        verify(mockResponse).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(mockResponse, never()).getWriter();
+    }
+}
@@ -19,15 +19,25 @@ package com.etendoerp.metadata.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -45,6 +55,9 @@ import org.openbravo.model.ad.domain.Preference;
 import org.openbravo.model.ad.system.Client;
 import org.openbravo.model.common.enterprise.Organization;
 
+import com.etendoerp.metadata.cache.PreferenceCache;
+import com.etendoerp.metadata.utils.Constants;
+
 /**
  * Unit tests for PreferencesService focusing on preference retrieval and processing.
  */
@@ -53,7 +66,7 @@ class PreferencesServiceTest {
 
     private HttpServletRequest mockRequest;
     private HttpServletResponse mockResponse;
-    private StringWriter responseWriter;
+    private ByteArrayOutputStream responseOutput;
     private OBContext mockContext;
 
     private static final String USER_ID = "USER_ID";
@@ -67,8 +80,24 @@ class PreferencesServiceTest {
     void setUp() throws Exception {
         mockRequest = mock(HttpServletRequest.class);
         mockResponse = mock(HttpServletResponse.class);
-        responseWriter = new StringWriter();
-        when(mockResponse.getWriter()).thenReturn(new PrintWriter(responseWriter));
+        PreferenceCache.clear();
+        responseOutput = new ByteArrayOutputStream();
+        lenient().when(mockResponse.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                responseOutput.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                // not used
+            }
+        });
 
         mockContext = mock(OBContext.class);
         User mockUser = mock(User.class);
@@ -106,7 +135,7 @@ class PreferencesServiceTest {
             PreferencesService service = new PreferencesService(mockRequest, mockResponse);
             service.process();
 
-            String output = responseWriter.toString();
+            String output = new String(responseOutput.toByteArray(), StandardCharsets.UTF_8);
             JSONObject result = new JSONObject(output);
             assertTrue(result.has(PREFERENCES_KEY));
             JSONObject preferences = result.getJSONObject(PREFERENCES_KEY);
@@ -136,10 +165,71 @@ class PreferencesServiceTest {
             PreferencesService service = new PreferencesService(mockRequest, mockResponse);
             service.process();
 
-            JSONObject result = new JSONObject(responseWriter.toString());
+            JSONObject result = new JSONObject(new String(responseOutput.toByteArray(), StandardCharsets.UTF_8));
             JSONObject preferences = result.getJSONObject(PREFERENCES_KEY);
             assertEquals(VALUE_W, preferences.getString("attribute1_WINDOW_ID"));
             assertEquals(VALUE_W, preferences.getString("attribute1"));
         }
     }
+
+    @Test
+    void processKeepsFirstValueOfDuplicatedKeys() throws Exception {
+        Preference first = mock(Preference.class);
+        when(first.getProperty()).thenReturn("property1");
+        when(first.getSearchKey()).thenReturn("first");
+        Preference second = mock(Preference.class);
+        when(second.getProperty()).thenReturn("property1");
+        when(second.getSearchKey()).thenReturn("second");
+
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedStatic<Preferences> mockedPreferences = mockStatic(Preferences.class)) {
+
+            mockedOBContext.when(OBContext::getOBContext).thenReturn(mockContext);
+            mockedPreferences.when(() -> Preferences.getAllPreferences(CLIENT_ID, ORG_ID, USER_ID, ROLE_ID))
+                             .thenReturn(List.of(first, second));
+
+            new PreferencesService(mockRequest, mockResponse).process();
+
+            JSONObject preferences = new JSONObject(new String(responseOutput.toByteArray(), StandardCharsets.UTF_8))
+                .getJSONObject(PREFERENCES_KEY);
+            assertEquals(1, preferences.length());
+            assertEquals("first", preferences.getString("property1"));
+        }
+    }
+
+    @Test
+    void processResolvesPreferencesOncePerContext() throws Exception {
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedStatic<Preferences> mockedPreferences = mockStatic(Preferences.class)) {
+
+            mockedOBContext.when(OBContext::getOBContext).thenReturn(mockContext);
+            mockedPreferences.when(() -> Preferences.getAllPreferences(CLIENT_ID, ORG_ID, USER_ID, ROLE_ID))
+                             .thenReturn(new ArrayList<>());
+
+            new PreferencesService(mockRequest, mockResponse).process();
+            new PreferencesService(mockRequest, mockResponse).process();
+
+            mockedPreferences.verify(() -> Preferences.getAllPreferences(CLIENT_ID, ORG_ID, USER_ID, ROLE_ID),
+                times(1));
+            verify(mockResponse, times(2)).setHeader(eq(Constants.ETAG_HEADER),
+                anyString());
+        }
+    }
+
+    @Test
+    void processReturnsNotModifiedForMatchingETag() throws Exception {
+        try (MockedStatic<OBContext> mockedOBContext = mockStatic(OBContext.class);
+             MockedStatic<Preferences> mockedPreferences = mockStatic(Preferences.class)) {
+
+            mockedOBContext.when(OBContext::getOBContext).thenReturn(mockContext);
+            String etag = PreferenceCache.get(CLIENT_ID, ORG_ID, USER_ID, ROLE_ID, Collections::emptyMap)
+                .getETag();
+            when(mockRequest.getHeader(Constants.IF_NONE_MATCH_HEADER)).thenReturn(etag);
+
+            new PreferencesService(mockRequest, mockResponse).process();
+
+            verify(mockResponse).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            verify(mockResponse, never()).getOutputStream();
+        }
+    }
 }
@@ -68,6 +68,13 @@ class ServiceFactoryTest {
     assertInstanceOf(WindowService.class, service);
   }
 
+  @Test
+  void getServiceReturnsWindowsService() {
+    MetadataService service = ServiceFactory.getService(mockRequestWithPath("/com.etendoerp.metadata.meta/windows"), mockResponse);
+    assertNotNull(service, SERVICE_NOT_NULL);
+    assertInstanceOf(WindowsService.class, service);
+  }
+
   @Test
   void getServiceReturnsTabService() {
     MetadataService service = ServiceFactory.getService(mockRequestWithPath("/com.etendoerp.metadata.meta/tab/456"), mockResponse);
@@ -110,6 +117,13 @@ class ServiceFactoryTest {
     assertInstanceOf(ToolbarService.class, service);
   }
 
+  @Test
+  void getServiceReturnsComboDataService() {
+    MetadataService service = ServiceFactory.getService(mockRequestWithPath("/com.etendoerp.metadata.meta/combo/789"), mockResponse);
+    assertNotNull(service, SERVICE_NOT_NULL);
+    assertInstanceOf(ComboDataService.class, service);
+  }
+
   @Test
   void getServiceReturnsSavedViewService() {
     MetadataService service = ServiceFactory.getService(mockRequestWithPath("/com.etendoerp.metadata.meta/saved-views/abc-123"), mockResponse);
@@ -138,6 +152,13 @@ class ServiceFactoryTest {
     assertInstanceOf(PreferencesService.class, service);
   }
 
+  @Test
+  void getServiceReturnsBootstrapService() {
+    MetadataService service = ServiceFactory.getService(mockRequestWithPath("/com.etendoerp.metadata.meta/bootstrap"), mockResponse);
+    assertNotNull(service, SERVICE_NOT_NULL);
+    assertInstanceOf(BootstrapService.class, service);
+  }
+
   @Test
   void getServiceReturnsEmailSendService() {
     MetadataService service = ServiceFactory.getService(mockRequestWithPath("/com.etendoerp.metadata.meta/email/send"), mockResponse);
@@ -109,4 +109,16 @@ public class ToolbarServiceTest {
         ToolbarService service = new ToolbarService(mockRequest, mockResponse);
         service.process();
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests window id extraction from toolbar paths.
+     */
+    @Test
+    public void testExtractWindowId() {
+        assertEquals("143", ToolbarService.extractWindowId("/toolbar/143"));
+        assertEquals("143", ToolbarService.extractWindowId("/com.etendoerp.metadata.meta/toolbar/143/"));
+        assertNull(ToolbarService.extractWindowId("/toolbar"));
+        assertNull(ToolbarService.extractWindowId("/toolbar/"));
+        assertNull(ToolbarService.extractWindowId(null));
+    }
+}
@@ -17,19 +17,26 @@
 
 package com.etendoerp.metadata.service;
 
+import com.etendoerp.metadata.builders.WindowBuilder;
+import org.codehaus.jettison.json.JSONObject;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openbravo.base.exception.OBException;
+import org.openbravo.dal.core.OBContext;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -159,4 +166,30 @@ public class WindowServiceTest {
             assertNotNull(EXCEPTION_NOT_NULL_MESSAGE, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a window tab path builds only the requested tab, with the window access applied.
+     *
+     * @throws IOException if an I/O error occurs during processing
+     */
+    @Test
+    public void testProcessWithTabPathBuildsSingleTab() throws IOException {
+        when(mockRequest.getPathInfo()).thenReturn("/com.etendoerp.metadata.meta/window/123/tab/456");
+        StringWriter output = new StringWriter();
+        when(mockResponse.getWriter()).thenReturn(new PrintWriter(output));
+
+        List<Object> windowIds = new ArrayList<>();
+        try (MockedStatic<OBContext> ignored = mockStatic(OBContext.class);
+             MockedConstruction<WindowBuilder> builders = mockConstruction(WindowBuilder.class,
+                     (builder, context) -> {
+                         windowIds.add(context.arguments().get(0));
+                         when(builder.toTabJSON("456")).thenReturn(new JSONObject().put("id", "456"));
+                     })) {
+            new WindowService(mockRequest, mockResponse).process();
+
+            assertEquals("Builder should be created for the window", List.of("123"), windowIds);
+            verify(builders.constructed().get(0), never()).toJSON();
+        }
+        assertTrue("Response should contain the tab", output.toString().contains("456"));
+    }
+}
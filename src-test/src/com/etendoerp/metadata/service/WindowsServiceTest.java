@@ -0,0 +1,123 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.when;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedConstruction;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.etendoerp.metadata.builders.WindowBuilder;
+import com.etendoerp.metadata.exceptions.InternalServerException;
+import com.etendoerp.metadata.exceptions.NotFoundException;
+import com.etendoerp.metadata.exceptions.UnprocessableContentException;
+
+/**
+ * Unit tests for {@link WindowsService}.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class WindowsServiceTest extends AbstractMockedContextTest {
+
+  @Test
+  void processRejectsMissingIds() {
+    when(request.getParameter(WindowsService.IDS_PARAMETER)).thenReturn(" , ");
+
+    WindowsService service = new WindowsService(request, response);
+    assertThrows(UnprocessableContentException.class, service::process);
+  }
+
+  @Test
+  void processRejectsTooManyIds() {
+    StringBuilder ids = new StringBuilder();
+    for (int i = 0; i <= WindowsService.MAX_WINDOWS; i++) {
+      ids.append("w").append(i).append(',');
+    }
+    when(request.getParameter(WindowsService.IDS_PARAMETER)).thenReturn(ids.toString());
+
+    WindowsService service = new WindowsService(request, response);
+    assertThrows(UnprocessableContentException.class, service::process);
+  }
+
+  @Test
+  void processReturnsWindowsInRequestedOrderWithoutDuplicates() throws Exception {
+    when(request.getParameter(WindowsService.IDS_PARAMETER)).thenReturn("143,100,143");
+
+    runWithMockedContext(() -> {
+      try (MockedConstruction<WindowBuilder> builders = mockConstruction(WindowBuilder.class,
+          (builder, context) -> when(builder.toJSON())
+              .thenReturn(new JSONObject().put("id", context.arguments().get(0))))) {
+        new WindowsService(request, response).process();
+
+        JSONObject result = new JSONObject(responseCapture.toString());
+        JSONArray windows = result.getJSONArray(WindowsService.WINDOWS);
+        assertEquals(2, builders.constructed().size());
+        assertEquals(2, windows.length());
+        assertEquals("143", windows.getJSONObject(0).getString("id"));
+        assertEquals("100", windows.getJSONObject(1).getString("id"));
+        assertEquals(0, result.getJSONArray(WindowsService.ERRORS).length());
+      }
+    });
+  }
+
+  @Test
+  void processReportsClientErrorsPerWindow() throws Exception {
+    when(request.getParameter(WindowsService.IDS_PARAMETER)).thenReturn("143,missing");
+
+    runWithMockedContext(() -> {
+      try (MockedConstruction<WindowBuilder> ignored = mockConstruction(WindowBuilder.class,
+          (builder, context) -> {
+            if ("missing".equals(context.arguments().get(0))) {
+              when(builder.toJSON()).thenThrow(new NotFoundException("Window not found"));
+            } else {
+              when(builder.toJSON()).thenReturn(new JSONObject().put("id", "143"));
+            }
+          })) {
+        new WindowsService(request, response).process();
+
+        JSONObject result = new JSONObject(responseCapture.toString());
+        assertEquals(1, result.getJSONArray(WindowsService.WINDOWS).length());
+        JSONObject error = result.getJSONArray(WindowsService.ERRORS).getJSONObject(0);
+        assertEquals("missing", error.getString("id"));
+        assertEquals(404, error.getInt("status"));
+      }
+    });
+  }
+
+  @Test
+  void processPropagatesServerErrors() throws Exception {
+    when(request.getParameter(WindowsService.IDS_PARAMETER)).thenReturn("143");
+
+    runWithMockedContext(() -> {
+      try (MockedConstruction<WindowBuilder> ignored = mockConstruction(WindowBuilder.class,
+          (builder, context) -> when(builder.toJSON()).thenThrow(new InternalServerException("boom")))) {
+        WindowsService service = new WindowsService(request, response);
+        assertThrows(InternalServerException.class, service::process);
+      }
+    });
+  }
+}
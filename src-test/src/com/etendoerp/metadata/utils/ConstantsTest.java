@@ -42,6 +42,7 @@ public class ConstantsTest {
         assertEquals("/session", Constants.SESSION_PATH);
         assertEquals("/menu", Constants.MENU_PATH);
         assertEquals("/window/", Constants.WINDOW_PATH);
+        assertEquals("/windows", Constants.WINDOWS_PATH);
         assertEquals("/tab/", Constants.TAB_PATH);
         assertEquals("/language", Constants.LANGUAGE_PATH);
         assertEquals("/message", Constants.MESSAGE_PATH);
@@ -160,6 +161,7 @@ public class ConstantsTest {
     public void testProcessPathConstants() {
         assertEquals("Report and process path", "/report-and-process/", Constants.REPORT_AND_PROCESS_PATH);
         assertEquals("Process metadata path", "/process/", Constants.PROCESS_PATH);
+        assertEquals("Combo data path", "/combo/", Constants.COMBO_PATH);
         assertEquals("Process execution path", "/process-execution", Constants.PROCESS_EXECUTION_PATH);
         assertEquals("Public JavaScript path", "/web/js/", Constants.PUBLIC_JS_PATH);
     }
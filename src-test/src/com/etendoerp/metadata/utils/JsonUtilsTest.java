@@ -0,0 +1,52 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link JsonUtils}.
+ */
+class JsonUtilsTest {
+
+    /**
+     * Verifies that top-level keys of the copy are independent from the source while nested
+     * values are shared.
+     */
+    @Test
+    void topLevelCopySharesNestedValues() throws Exception {
+        JSONArray parameters = new JSONArray().put("p1");
+        JSONObject source = new JSONObject().put("id", "process-1").put("parameters", parameters);
+
+        JSONObject copy = JsonUtils.topLevelCopy(source);
+        copy.put("fieldId", "field-1");
+        copy.remove("id");
+
+        assertNotSame(source, copy);
+        assertEquals("process-1", source.getString("id"));
+        assertFalse(source.has("fieldId"));
+        assertSame(parameters, copy.get("parameters"));
+    }
+}
@@ -17,11 +17,13 @@
 
 package com.etendoerp.metadata.widgets.resolvers;
 
+import com.etendoerp.metadata.cache.NotificationCache;
 import com.etendoerp.metadata.widgets.WidgetDataContext;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONObject;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -39,8 +41,12 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +56,11 @@ class NotificationResolverTest {
     @Mock OBContext obContext;
     @Mock User     mockUser;
 
+    @BeforeEach
+    void setUp() {
+        NotificationCache.clear();
+    }
+
     @Test
     void getTypeReturnsNotification() {
         assertEquals("NOTIFICATION", new NotificationResolver().getType());
@@ -88,4 +99,73 @@ class NotificationResolverTest {
             assertEquals(7, result.getInt("totalCount"));
         }
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void resolveServesRepeatedPollsFromCache() throws Exception {
+        WidgetDataContext ctx = mock(WidgetDataContext.class);
+        when(ctx.getObContext()).thenReturn(obContext);
+        when(obContext.getUser()).thenReturn(mockUser);
+        when(mockUser.getId()).thenReturn("user-2");
+
+        Query<Object[]> itemsQuery = mock(Query.class);
+        when(itemsQuery.setParameter(anyString(), any())).thenReturn(itemsQuery);
+        when(itemsQuery.setMaxResults(anyInt())).thenReturn(itemsQuery);
+        when(itemsQuery.list()).thenReturn(Collections.emptyList());
+
+        Query<Long> countQuery = mock(Query.class);
+        when(countQuery.setParameter(anyString(), any())).thenReturn(countQuery);
+        when(countQuery.uniqueResult()).thenReturn(3L);
+
+        when(session.createQuery(contains("AN_Note"), eq(Object[].class))).thenReturn(itemsQuery);
+        when(session.createQuery(contains("count("), eq(Long.class))).thenReturn(countQuery);
+
+        try (MockedStatic<OBDal> dalStatic = mockStatic(OBDal.class)) {
+            dalStatic.when(OBDal::getInstance).thenReturn(obDal);
+            when(obDal.getSession()).thenReturn(session);
+
+            NotificationResolver resolver = new NotificationResolver();
+            resolver.resolve(ctx);
+            JSONObject result = resolver.resolve(ctx);
+
+            assertEquals(3, result.getInt("totalCount"));
+            verify(countQuery, times(1)).uniqueResult();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void longPollKeepsTheRequestTransactionOpen() throws Exception {
+        WidgetDataContext ctx = mock(WidgetDataContext.class);
+        when(ctx.getObContext()).thenReturn(obContext);
+        when(obContext.getUser()).thenReturn(mockUser);
+        when(mockUser.getId()).thenReturn("user-3");
+
+        Query<Object[]> itemsQuery = mock(Query.class);
+        when(itemsQuery.setParameter(anyString(), any())).thenReturn(itemsQuery);
+        when(itemsQuery.setMaxResults(anyInt())).thenReturn(itemsQuery);
+        when(itemsQuery.list()).thenReturn(Collections.emptyList());
+
+        Query<Long> countQuery = mock(Query.class);
+        when(countQuery.setParameter(anyString(), any())).thenReturn(countQuery);
+        when(countQuery.uniqueResult()).thenReturn(1L);
+
+        when(session.createQuery(contains("AN_Note"), eq(Object[].class))).thenReturn(itemsQuery);
+        when(session.createQuery(contains("count("), eq(Long.class))).thenReturn(countQuery);
+
+        try (MockedStatic<OBDal> dalStatic = mockStatic(OBDal.class)) {
+            dalStatic.when(OBDal::getInstance).thenReturn(obDal);
+            when(obDal.getSession()).thenReturn(session);
+
+            NotificationResolver resolver = new NotificationResolver();
+            long version = resolver.resolve(ctx).getLong("version");
+            lenient().when(ctx.param("sinceVersion")).thenReturn(String.valueOf(version));
+            lenient().when(ctx.param("waitMs")).thenReturn("10");
+
+            JSONObject result = resolver.resolve(ctx);
+
+            assertEquals(version, result.getLong("version"));
+            verify(obDal, never()).commitAndClose();
+        }
+    }
 }
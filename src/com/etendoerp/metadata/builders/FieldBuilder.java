@@ -18,6 +18,7 @@
 package com.etendoerp.metadata.builders;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import java.util.Optional;
@@ -25,7 +26,6 @@ import java.util.Optional;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
-import org.openbravo.base.exception.OBException;
 import org.openbravo.client.application.ApplicationConstants;
 import org.openbravo.base.model.Entity;
 import org.openbravo.base.model.ModelProvider;
@@ -33,15 +33,11 @@ import org.openbravo.base.model.Property;
 import org.openbravo.base.model.domaintype.DomainType;
 import org.openbravo.base.model.domaintype.ForeignKeyDomainType;
 import org.openbravo.base.model.domaintype.PrimitiveDomainType;
+import org.openbravo.base.structure.BaseOBObject;
 import org.openbravo.client.application.DynamicExpressionParser;
-import org.openbravo.client.kernel.RequestContext;
 import org.openbravo.dal.core.DalUtil;
 import org.openbravo.dal.core.OBContext;
 import org.openbravo.dal.service.OBDal;
-import org.openbravo.data.FieldProvider;
-import org.openbravo.database.ConnectionProvider;
-import org.openbravo.erpCommon.utility.ComboTableData;
-import org.openbravo.erpCommon.utility.Utility;
 import org.openbravo.model.ad.access.FieldAccess;
 import org.openbravo.model.ad.datamodel.Column;
 import org.openbravo.model.ad.domain.Reference;
@@ -53,14 +49,17 @@ import org.openbravo.model.ad.ui.ProcessParameter;
 import org.openbravo.model.ad.ui.Tab;
 import org.openbravo.service.datasource.DataSource;
 import org.openbravo.service.datasource.DatasourceField;
-import org.openbravo.service.db.DalConnectionProvider;
 import org.openbravo.service.json.DataResolvingMode;
 import org.openbravo.service.json.JsonConstants;
 import org.openbravo.userinterface.selector.Selector;
 import org.openbravo.userinterface.selector.SelectorField;
 
 import com.etendoerp.etendorx.utils.DataSourceUtils;
+import com.etendoerp.metadata.cache.ReferenceListCache;
+import com.etendoerp.metadata.cache.SelectorMetadataCache;
+import com.etendoerp.metadata.data.EntityJsonSerializer;
 import com.etendoerp.metadata.data.ReferenceSelectors;
+import com.etendoerp.metadata.data.WindowSnapshot;
 import com.etendoerp.metadata.utils.Constants;
 import com.etendoerp.metadata.utils.SelectorPropertiesUtil;
 
@@ -90,10 +89,27 @@ public abstract class FieldBuilder extends Builder {
     protected FieldBuilder(Field field, FieldAccess fieldAccess) {
         this.field = field;
         this.fieldAccess = fieldAccess;
-        this.json = converter.toJsonObject(field, DataResolvingMode.FULL_TRANSLATABLE);
+        this.json = serialize(field, WindowSnapshot.translationsOf(field));
         this.lang = OBContext.getOBContext().getLanguage();
     }
 
+    /**
+     * Serializes a field or column with the per-entity plan of {@link EntityJsonSerializer},
+     * falling back to the generic converter for objects without entity metadata.
+     *
+     * @param bob          the object to serialize
+     * @param translations translated values resolved in bulk, or {@code null} to translate the
+     *                     object on demand
+     * @return the JSON representation of the object
+     */
+    protected JSONObject serialize(BaseOBObject bob, Map<String, Object> translations) {
+        EntityJsonSerializer serializer = EntityJsonSerializer.forObject(bob);
+        if (serializer == null) {
+            return converter.toJsonObject(bob, DataResolvingMode.FULL_TRANSLATABLE);
+        }
+        return serializer.toJsonObject(bob, translations);
+    }
+
     /**
      * Determines if a field represents a process (button or action field).
      * Checks both legacy process actions and new process definitions.
@@ -157,7 +173,8 @@ public abstract class FieldBuilder extends Builder {
 
     /**
      * Extracts selector and tree selector instances from a reference definition.
-     * Analyzes the reference to find configured selectors and tree selectors.
+     * Analyzes the reference to find configured selectors and tree selectors, using the
+     * window snapshot of the current build when it covers the reference.
      *
      * @param ref The reference definition to analyze (can be null)
      * @return ReferenceSelectors object containing found selector and tree selector
@@ -167,6 +184,11 @@ public abstract class FieldBuilder extends Builder {
         Selector selector = null;
         ReferencedTree treeSelector = null;
 
+        ReferenceSelectors preloaded = ref != null ? WindowSnapshot.selectorsOf(ref) : null;
+        if (preloaded != null) {
+            return preloaded;
+        }
+
         if (ref != null) {
             if (!ref.getOBUISELSelectorList().isEmpty()) {
                 selector = ref.getOBUISELSelectorList().get(0);
@@ -179,10 +201,25 @@ public abstract class FieldBuilder extends Builder {
         return new ReferenceSelectors(selector, treeSelector);
     }
 
+    /**
+     * Returns the fields of a selector, taken from the window snapshot of the current build
+     * when it covers the selector.
+     *
+     * @param selector The selector whose fields are requested
+     * @return The selector fields, including inactive ones
+     */
+    static List<SelectorField> getSelectorFields(Selector selector) {
+        List<SelectorField> preloaded = WindowSnapshot.selectorFieldsOf(selector);
+        return preloaded != null ? preloaded : selector.getOBUISELSelectorFieldList();
+    }
+
     /**
      * Creates selector information for a basic combo table selector.
      * Used when no custom selector or tree selector is configured.
-     * Sets up default table-based selection with standard parameters.
+     * Sets up default table-based selection with standard parameters. Combo values of legacy
+     * process parameters are not queried here: the selector points to the paged combo data
+     * endpoint ({@link Constants#COMBO_DATA_PATH_PROPERTY}), which the client calls when the
+     * combo is opened.
      *
      * @param fieldId The unique identifier of the field
      * @return JSONObject with combo table selector configuration
@@ -192,36 +229,6 @@ public abstract class FieldBuilder extends Builder {
         JSONObject selectorInfo = new JSONObject();
 
         ProcessParameter field = OBDal.getInstance().get(ProcessParameter.class, fieldId);
-        JSONArray comboData = null;
-
-        if (field != null && (field.getProcess() != null || field.getReference() != null)) {
-            comboData = new JSONArray();
-            try {
-                ConnectionProvider connProvider = DalConnectionProvider.getReadOnlyConnectionProvider();
-                var vars = RequestContext.get().getVariablesSecureApp();
-                var comboTableData = new ComboTableData(vars, connProvider,
-                        field.getReference().getId(), field.getDBColumnName(),
-                        field.getReferenceSearchKey() != null ? field.getReferenceSearchKey().getId() : "",
-                        field.getValidation() != null ? field.getValidation().getId() : null,
-                        Utility.getContext(connProvider, vars, "#AccessibleOrgTree", ""),
-                        Utility.getContext(connProvider, vars, "#User_Client", ""), 0);
-                Utility.fillSQLParameters(connProvider, vars, null, comboTableData,
-                        field.getProcess().getId(),
-                        Utility.getContext(connProvider, vars, "#AD_Org_ID", field.getProcess().getId()));
-                var select = comboTableData.select(false);
-                for (FieldProvider fieldProvider : select) {
-                    String id = fieldProvider.getField("ID");
-                    String name = fieldProvider.getField("NAME");
-                    JSONObject entry = new JSONObject();
-                    entry.put("id", id);
-                    entry.put("name", name);
-                    comboData.put(entry);
-                }
-            } catch (Exception e) {
-                logger.error("Error filling combo data for field {}", fieldId, e);
-                throw new OBException(e);
-            }
-        }
 
         selectorInfo.put(Constants.SELECTOR_DEFINITION_PROPERTY, (Object) null);
         selectorInfo.put(JsonConstants.SORTBY_PARAMETER, JsonConstants.IDENTIFIER);
@@ -233,8 +240,8 @@ public abstract class FieldBuilder extends Builder {
         selectorInfo.put(Constants.VALUE_FIELD_PROPERTY, JsonConstants.ID);
         selectorInfo.put(JsonConstants.SELECTEDPROPERTIES_PARAMETER, JsonConstants.ID);
         selectorInfo.put(JsonConstants.ADDITIONAL_PROPERTIES_PARAMETER, JsonConstants.ID + ",");
-        if (comboData != null) {
-            selectorInfo.put(Constants.RESPONSE_VALUES, comboData);
+        if (field != null && field.getProcess() != null && field.getReference() != null) {
+            selectorInfo.put(Constants.COMBO_DATA_PATH_PROPERTY, Constants.COMBO_PATH + fieldId);
         }
 
         return selectorInfo;
@@ -250,12 +257,11 @@ public abstract class FieldBuilder extends Builder {
      */
     static JSONArray addADListList(Reference ref) throws JSONException {
         JSONArray selectorInfo = new JSONArray();
-        for (org.openbravo.model.ad.domain.List list : ref.getADListList()) {
+        for (ReferenceListCache.Entry list : ReferenceListCache.get(ref, OBContext.getOBContext().getLanguage())) {
             JSONObject listElement = new JSONObject();
             listElement.put("id", list.getId());
-            listElement.put("value", list.getSearchKey());
-            listElement.put("label", list.get(org.openbravo.model.ad.domain.List.PROPERTY_NAME,
-                    OBContext.getOBContext().getLanguage(), list.getId()));
+            listElement.put("value", list.getValue());
+            listElement.put("label", list.getLabel());
             selectorInfo.put(listElement);
         }
         return selectorInfo;
@@ -294,6 +300,8 @@ public abstract class FieldBuilder extends Builder {
     /**
      * Creates comprehensive selector information for a custom selector.
      * Handles datasource determination, field properties, and search configuration.
+     * The field independent part is shared per selector and language through
+     * {@link SelectorMetadataCache}.
      *
      * @param fieldId  The unique identifier of the field
      * @param selector The custom selector configuration
@@ -301,6 +309,15 @@ public abstract class FieldBuilder extends Builder {
      * @throws JSONException if there's an error creating the JSON structure
      */
     protected static JSONObject addSelectorInfo(String fieldId, Selector selector) throws JSONException {
+        OBContext context = OBContext.getOBContext();
+        Language language = context != null ? context.getLanguage() : null;
+        JSONObject selectorInfo = SelectorMetadataCache.getDefinition(selector.getId(), language,
+                () -> buildSelectorDefinition(selector));
+        selectorInfo.put(Constants.FIELD_ID_PROPERTY, fieldId);
+        return selectorInfo;
+    }
+
+    private static JSONObject buildSelectorDefinition(Selector selector) throws JSONException {
         String dataSourceId;
         JSONObject selectorInfo = new JSONObject();
 
@@ -325,11 +342,10 @@ public abstract class FieldBuilder extends Builder {
             selectorInfo.put(JsonConstants.SORTBY_PARAMETER, JsonConstants.IDENTIFIER);
         }
         selectorInfo.put(JsonConstants.NOCOUNT_PARAMETER, true);
-        selectorInfo.put(Constants.FIELD_ID_PROPERTY, fieldId);
         // For now we only support suggestion style search (only drop down)
         selectorInfo.put(JsonConstants.TEXTMATCH_PARAMETER, selector.getSuggestiontextmatchstyle());
 
-        SelectorPropertiesUtil.setSelectorProperties(selector.getOBUISELSelectorFieldList(), selector.getDisplayfield(),
+        SelectorPropertiesUtil.setSelectorProperties(getSelectorFields(selector), selector.getDisplayfield(),
                 selector.getValuefield(), selectorInfo);
 
         selectorInfo.put("extraSearchFields", getExtraSearchFields(selector));
@@ -342,7 +358,7 @@ public abstract class FieldBuilder extends Builder {
         }
 
         JSONArray gridColumns = new JSONArray();
-        for (SelectorField selectorField : selector.getOBUISELSelectorFieldList()) {
+        for (SelectorField selectorField : getSelectorFields(selector)) {
             if (selectorField.isActive() && selectorField.isShowingrid()) {
                 gridColumns.put(SelectorPropertiesUtil.buildGridColumn(selectorField));
             }
@@ -359,7 +375,7 @@ public abstract class FieldBuilder extends Builder {
     /**
      * Adds out-field mappings to the selector JSON for a custom OBUISEL selector.
      * Iterates selector fields marked as out-fields and resolves target mappings
-     * from the tab's field list.
+     * through the per-tab out-field index kept by {@link SelectorMetadataCache}.
      *
      * Two types of out-field entries are produced:
      * <ul>
@@ -378,7 +394,7 @@ public abstract class FieldBuilder extends Builder {
      */
     public static void addOutFields(JSONObject selectorJson, Selector selector, Tab tab)
             throws JSONException {
-        List<SelectorField> outFields = selector.getOBUISELSelectorFieldList().stream()
+        List<SelectorField> outFields = getSelectorFields(selector).stream()
                 .filter(sf -> Boolean.TRUE.equals(sf.isOutfield()) && Boolean.TRUE.equals(sf.isActive()))
                 .collect(Collectors.toList());
 
@@ -386,19 +402,17 @@ public abstract class FieldBuilder extends Builder {
             return;
         }
 
-        List<Field> tabFields = tab.getADFieldList();
         JSONArray outFieldsArray = new JSONArray();
 
         for (SelectorField sf : outFields) {
             String selectorFieldProperty = getPropertyOrDataSourceField(sf);
-            List<Field> matchedFields = tabFields.stream()
-                    .filter(f -> sf.equals(f.getObuiselOutfield()))
-                    .collect(Collectors.toList());
+            List<SelectorMetadataCache.OutFieldTarget> targets =
+                    SelectorMetadataCache.getOutFieldTargets(tab, sf, FieldBuilder::getHqlName);
 
-            if (!matchedFields.isEmpty()) {
-                for (Field matchedField : matchedFields) {
+            if (!targets.isEmpty()) {
+                for (SelectorMetadataCache.OutFieldTarget target : targets) {
                     outFieldsArray.put(buildOutFieldEntry(
-                            "field", selectorFieldProperty, matchedField, sf.getSuffix()));
+                            "field", selectorFieldProperty, target, sf.getSuffix()));
                 }
             } else if (sf.getSuffix() != null && !sf.getSuffix().isEmpty()) {
                 outFieldsArray.put(buildCalloutInputEntry(selectorFieldProperty, sf.getSuffix()));
@@ -411,12 +425,12 @@ public abstract class FieldBuilder extends Builder {
     }
 
     private static JSONObject buildOutFieldEntry(String type, String selectorFieldProperty,
-            Field targetField, String suffix) throws JSONException {
+            SelectorMetadataCache.OutFieldTarget target, String suffix) throws JSONException {
         JSONObject entry = new JSONObject();
         entry.put("type", type);
         entry.put("selectorFieldProperty", selectorFieldProperty);
-        entry.put("targetColumnName", targetField.getColumn().getDBColumnName());
-        entry.put("targetHqlName", getHqlName(targetField));
+        entry.put("targetColumnName", target.getColumnName());
+        entry.put("targetHqlName", target.getHqlName());
         entry.put("suffix", suffix);
         return entry;
     }
@@ -434,7 +448,8 @@ public abstract class FieldBuilder extends Builder {
 
     /**
      * Generates list information for reference list fields (dropdown options).
-     * Converts reference list entries into JSON format with localized labels.
+     * Converts reference list entries into JSON format with localized labels. The translated
+     * entries are shared per reference and language through {@link ReferenceListCache}.
      *
      * @param refList  The reference containing list definitions
      * @param language The language for label localization
@@ -444,14 +459,13 @@ public abstract class FieldBuilder extends Builder {
     public static JSONArray getListInfo(Reference refList, Language language) throws JSONException {
         JSONArray result = new JSONArray();
 
-        for (org.openbravo.model.ad.domain.List list : refList.getADListList()) {
+        for (ReferenceListCache.Entry list : ReferenceListCache.get(refList, language)) {
             JSONObject listJson = new JSONObject();
 
             listJson.put("id", list.getId());
-            listJson.put("value", list.getSearchKey());
-            listJson.put("label", list.get(org.openbravo.model.ad.domain.List.PROPERTY_NAME, language, list.getId()));
-            listJson.put("color",
-                    list.get(org.openbravo.model.ad.domain.List.PROPERTY_ETMETACOLOR, language, list.getId()));
+            listJson.put("value", list.getValue());
+            listJson.put("label", list.getLabel());
+            listJson.put("color", list.getColor());
             listJson.put("active", list.isActive());
 
             result.put(listJson);
@@ -471,7 +485,7 @@ public abstract class FieldBuilder extends Builder {
     public static String getExtraSearchFields(Selector selector) {
         final String displayField = getDisplayField(selector);
         final StringBuilder sb = new StringBuilder();
-        for (SelectorField selectorField : selector.getOBUISELSelectorFieldList().stream().filter(
+        for (SelectorField selectorField : getSelectorFields(selector).stream().filter(
                 SelectorField::isActive).collect(Collectors.toList())) {
             String fieldName = getPropertyOrDataSourceField(selectorField);
             if (fieldName.equals(displayField)) {
@@ -17,7 +17,9 @@
 
 package com.etendoerp.metadata.builders;
 
-import com.etendoerp.metadata.cache.ADCacheProvider;
+import com.etendoerp.metadata.cache.RoleAccessMatrix;
+import com.etendoerp.metadata.cache.TabHierarchyCache;
+import com.etendoerp.metadata.data.ReferenceDictionary;
 import com.etendoerp.metadata.data.ReferenceSelectors;
 import com.etendoerp.metadata.utils.Constants;
 import com.etendoerp.metadata.utils.LegacyUtils;
@@ -25,33 +27,25 @@ import com.etendoerp.metadata.utils.Utils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
-import org.hibernate.criterion.Restrictions;
 import org.openbravo.base.model.Entity;
 import org.openbravo.base.model.ModelProvider;
 import org.openbravo.base.model.Property;
 import org.openbravo.client.application.ApplicationConstants;
 import org.openbravo.client.application.DynamicExpressionParser;
 import org.openbravo.client.kernel.KernelUtils;
-import org.openbravo.dal.service.OBDal;
 import org.openbravo.data.Sqlc;
 import org.openbravo.model.ad.access.FieldAccess;
 import org.openbravo.model.ad.datamodel.Column;
+import org.openbravo.model.ad.domain.Reference;
 import org.openbravo.model.ad.ui.Field;
 import org.openbravo.model.ad.ui.Process;
 import org.openbravo.model.ad.ui.Tab;
 import org.openbravo.model.ad.ui.Window;
-import org.openbravo.service.json.DataResolvingMode;
 
 import static com.etendoerp.metadata.utils.Utils.getAnyReferencedTab;
 import static com.etendoerp.metadata.utils.Utils.getReferencedTab;
 import org.openbravo.base.model.domaintype.DomainType;
-import org.openbravo.dal.core.OBContext;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import org.openbravo.model.ad.access.WindowAccess;
-import org.openbravo.model.ad.access.Role;
-import org.openbravo.dal.service.OBCriteria;
 
 /**
  * Concrete implementation of FieldBuilder for fields with database columns.
@@ -62,16 +56,6 @@ import org.openbravo.dal.service.OBCriteria;
  * @author Futit Services S.L.
  */
 public class FieldBuilderWithColumn extends FieldBuilder {
-    private static final Map<String, Boolean> windowAccessCache = new ConcurrentHashMap<>();
-
-    /**
-     * Clears the cache used to store window accessibility results for roles.
-     * This forces a database check on subsequent evaluations of referenced window accessibility.
-     */
-    public static void clearWindowAccessCache() {
-        windowAccessCache.clear();
-    }
-
     private static final String COLUMN_NAME = "columnName";
     private static final String COLUMN = "column";
     private static final String IS_MANDATORY = "isMandatory";
@@ -90,30 +74,25 @@ public class FieldBuilderWithColumn extends FieldBuilder {
     private static final String NULL_STRING = "null";
 
     private final Map<String, Tab> tabCache;
-    private final Set<String> accessibleWindowIds;
 
     /**
      * Constructs a FieldBuilderWithColumn without a request-scoped cache (backward-compatible).
      */
     public FieldBuilderWithColumn(Field field, FieldAccess fieldAccess) {
-        this(field, fieldAccess, null, null);
+        this(field, fieldAccess, null);
     }
 
     /**
-     * Constructs a FieldBuilderWithColumn with a shared request-scoped Tab cache and
-     * a pre-loaded set of accessible window IDs, reducing repeated DB lookups across
-     * fields in the same tab build.
+     * Constructs a FieldBuilderWithColumn with a shared request-scoped Tab cache, reducing
+     * repeated DB lookups across fields in the same tab build.
      *
-     * @param field               The UI field entity with an associated database column
-     * @param fieldAccess         The field access permissions (can be null)
-     * @param tabCache            Mutable map shared across all fields in the tab build; keyed by entity name
-     * @param accessibleWindowIds Pre-loaded set of window IDs accessible to the current role
+     * @param field       The UI field entity with an associated database column
+     * @param fieldAccess The field access permissions (can be null)
+     * @param tabCache    Mutable map shared across all fields in the tab build; keyed by entity name
      */
-    public FieldBuilderWithColumn(Field field, FieldAccess fieldAccess,
-            Map<String, Tab> tabCache, Set<String> accessibleWindowIds) {
+    public FieldBuilderWithColumn(Field field, FieldAccess fieldAccess, Map<String, Tab> tabCache) {
         super(field, fieldAccess);
         this.tabCache = tabCache;
-        this.accessibleWindowIds = accessibleWindowIds;
     }
 
     /**
@@ -175,7 +154,7 @@ public class FieldBuilderWithColumn extends FieldBuilder {
         Column column = field.getColumn();
         boolean mandatory = column.isMandatory();
         boolean isParentRecordProperty = isParentRecordProperty(field, field.getTab());
-        JSONObject columnJson = converter.toJsonObject(field.getColumn(), DataResolvingMode.FULL_TRANSLATABLE);
+        JSONObject columnJson = serialize(column, null);
         String columnName = column.getDBColumnName();
 
         String propertyPath = field.getProperty();
@@ -287,7 +266,7 @@ public class FieldBuilderWithColumn extends FieldBuilder {
         Entity parentEntity = null;
 
         if (field.getColumn().isLinkToParentColumn()) {
-            Tab parentTab = KernelUtils.getInstance().getParentTab(tab);
+            Tab parentTab = TabHierarchyCache.getParentTab(tab);
             // If the parent table is not based in a db table, don't try to retrieve the
             // record
             // Because tables not based on db tables do not have BaseOBObjects
@@ -368,7 +347,7 @@ public class FieldBuilderWithColumn extends FieldBuilder {
                     addOutFields(selectorJson, refSelectors.selector, field.getTab());
                 }
 
-                json.put(SELECTOR, selectorJson);
+                json.put(SELECTOR, ReferenceDictionary.keyed(selectorJson, ref, language));
             } catch (Exception e) {
                 logger.error("Error retrieving selector info for field: {} ({}). Skipping selector configuration.",
                         field.getId(), field.getName(), e);
@@ -385,7 +364,8 @@ public class FieldBuilderWithColumn extends FieldBuilder {
      */
     private void addSelectorReferenceList(Field field) throws JSONException {
         if (isRefListField(field)) {
-            json.put(REF_LIST, getListInfo(field.getColumn().getReferenceSearchKey(), language));
+            Reference ref = field.getColumn().getReferenceSearchKey();
+            json.put(REF_LIST, ReferenceDictionary.keyed(getListInfo(ref, language), ref, language));
         }
     }
 
@@ -399,7 +379,8 @@ public class FieldBuilderWithColumn extends FieldBuilder {
      */
     private void addButtonReferenceValues(Field field) throws JSONException {
         if (isButtonField(field) && field.getColumn().getReferenceSearchKey() != null) {
-            json.put(BUTTON_REF_LIST, addADListList(field.getColumn().getReferenceSearchKey()));
+            Reference ref = field.getColumn().getReferenceSearchKey();
+            json.put(BUTTON_REF_LIST, ReferenceDictionary.keyed(addADListList(ref), ref, language));
         }
     }
 
@@ -512,10 +493,7 @@ public class FieldBuilderWithColumn extends FieldBuilder {
             String windowId = json.optString(REFERENCED_WINDOW_ID);
 
             if (StringUtils.isNotEmpty(windowId) && !StringUtils.equals(windowId, NULL_STRING)) {
-                boolean isAccessible = accessibleWindowIds != null
-                        ? accessibleWindowIds.contains(windowId)
-                        : isWindowAccessible(windowId);
-                json.put(IS_REFERENCED_WINDOW_ACCESSIBLE, isAccessible);
+                json.put(IS_REFERENCED_WINDOW_ACCESSIBLE, isWindowAccessible(windowId));
             } else {
                 json.put(IS_REFERENCED_WINDOW_ACCESSIBLE, false);
             }
@@ -523,64 +501,19 @@ public class FieldBuilderWithColumn extends FieldBuilder {
     }
 
     /**
-     * Checks if the current user role has access to the specified window.
-     * Uses a static ConcurrentHashMap to cache results and avoid repetitive DB
-     * queries.
+     * Checks if the current user role has access to the specified window using the role's
+     * precompiled {@link RoleAccessMatrix}.
      *
      * @param windowId The ID of the window to check
      * @return true if the user has access, false otherwise
      */
     private boolean isWindowAccessible(String windowId) {
         try {
-            OBContext context = OBContext.getOBContext();
-            Role role = context.getRole();
-
-            if (role == null) {
-                return false;
-            }
-
-            // "RoleID_WindowID"
-            String cacheKey = role.getId() + "_" + windowId;
-
-            return windowAccessCache.computeIfAbsent(cacheKey, k -> checkAccessInDB(role, windowId));
-
+            RoleAccessMatrix access = RoleAccessMatrix.forCurrentRole();
+            return access != null && access.hasWindowAccess(windowId);
         } catch (Exception e) {
             logger.warn("Error checking window access for window {}: {}", windowId, e.getMessage());
             return false;
         }
     }
-
-    /**
-     * Performs the actual database query to check if a role has access to a window.
-     * This method is intended to be called only when the cache misses.
-     *
-     * @param role     The role to check
-     * @param windowId The ID of the window
-     * @return true if a record exists in AD_Window_Access, false otherwise
-     */
-    private boolean checkAccessInDB(Role role, String windowId) {
-        try {
-            OBDal dal = OBDal.getReadOnlyInstance();
-            Window window = ADCacheProvider.getWindow(windowId);
-            if (window == null) {
-                window = dal.get(Window.class, windowId);
-            }
-
-            if (window == null) {
-                return false;
-            }
-
-            OBCriteria<WindowAccess> criteria = dal.createCriteria(WindowAccess.class);
-            criteria.add(Restrictions.eq(WindowAccess.PROPERTY_ROLE, role));
-            criteria.add(Restrictions.eq(WindowAccess.PROPERTY_WINDOW, window));
-            criteria.add(Restrictions.eq(WindowAccess.PROPERTY_ACTIVE, true));
-
-            criteria.setMaxResults(1);
-
-            return criteria.uniqueResult() != null;
-        } catch (Exception e) {
-            logger.error("DB Error checking access for Role {} and Window {}", role.getId(), windowId, e);
-            return false;
-        }
-    }
 }
@@ -17,15 +17,23 @@
 
 package com.etendoerp.metadata.builders;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 import org.openbravo.base.weld.WeldUtils;
 import org.openbravo.client.kernel.I18NComponent;
+import org.openbravo.dal.service.OBDal;
 
 /**
  * Builds a JSON object containing all internationalization labels.
  */
 public class LabelsBuilder extends Builder {
+    private static final String LABEL_MODULES_HQL =
+        "select m.searchKey, m.module.javaPackage from ADMessage m where m.includeInI18N = true";
+
     @Override
     public JSONObject toJSON() throws JSONException {
         JSONObject result = new JSONObject();
@@ -36,4 +44,24 @@ public class LabelsBuilder extends Builder {
 
         return result;
     }
+
+    /**
+     * Returns the module of each label. I18N labels do not carry their module, so it is read
+     * from the messages they are built from.
+     *
+     * @return the Java package of the module of each label, by label key
+     */
+    public static Map<String, String> loadModules() {
+        List<Object[]> rows = OBDal.getInstance()
+            .getSession()
+            .createQuery(LABEL_MODULES_HQL, Object[].class)
+            .list();
+        Map<String, String> modules = new HashMap<>();
+
+        for (Object[] row : rows) {
+            modules.put((String) row[0], (String) row[1]);
+        }
+
+        return modules;
+    }
 }
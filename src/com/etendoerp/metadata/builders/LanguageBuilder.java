@@ -23,14 +23,19 @@ import static org.openbravo.model.ad.system.Language.PROPERTY_NAME;
 
 import java.util.List;
 
+import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 import org.hibernate.criterion.Restrictions;
 import org.openbravo.dal.service.OBDal;
 import org.openbravo.model.ad.system.Language;
 import org.openbravo.service.json.DataResolvingMode;
 
+import com.etendoerp.metadata.cache.LanguageRegistry;
+
 /**
  * Builds a JSON object containing all active system languages.
+ * <p>
+ * The list is served from {@link LanguageRegistry}, built once per language it is translated to.
  */
 public class LanguageBuilder extends Builder {
     private static final String PROPERTIES = String.join(",", PROPERTY_ID, PROPERTY_LANGUAGE, PROPERTY_NAME);
@@ -45,15 +50,27 @@ public class LanguageBuilder extends Builder {
             Restrictions.eq(Language.PROPERTY_SYSTEMLANGUAGE, true)).list();
     }
 
+    /**
+     * Returns the system languages, by language code. The JSON object is shared with the
+     * registry and must not be modified.
+     *
+     * @return the system languages
+     */
     public JSONObject toJSON() {
-        JSONObject json = new JSONObject();
-
         try {
-            for (Language lang : getLanguages()) {
-                json.put(lang.getLanguage(), converter.toJsonObject(lang, DataResolvingMode.FULL_TRANSLATABLE));
-            }
+            return LanguageRegistry.getLanguages(language, this::buildLanguages);
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
+
+            return new JSONObject();
+        }
+    }
+
+    private JSONObject buildLanguages() throws JSONException {
+        JSONObject json = new JSONObject();
+
+        for (Language lang : getLanguages()) {
+            json.put(lang.getLanguage(), converter.toJsonObject(lang, DataResolvingMode.FULL_TRANSLATABLE));
         }
 
         return json;
@@ -44,6 +44,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
+import com.etendoerp.metadata.cache.BoundedCache;
+
 /**
  * Resolves the parameters needed to launch a legacy (HTML-iframe) process from
  * the new UI.
@@ -59,6 +61,10 @@ import java.util.Set;
  *   <li>Standard button columns ({@code uipattern = 'S'}) that are tab-bound
  *       (the Classic framework routes them through the tab servlet)</li>
  * </ul>
+ * <p>
+ * Resolutions depend only on Application Dictionary data, so they are cached per field and
+ * process, at most {@link #MAX_CACHED_RESOLUTIONS} of them. The cache is dropped by {@link #clearCache()} when windows, tabs, fields, columns
+ * or legacy processes change.
  */
 public class LegacyProcessResolver {
 
@@ -115,8 +121,15 @@ public class LegacyProcessResolver {
     private static final Comparator<Boolean> DEFAULT_FIRST =
             Comparator.comparing(b -> !Boolean.TRUE.equals(b));
 
+    /** Maximum number of field resolutions kept at the same time. */
+    static final int MAX_CACHED_RESOLUTIONS = 10_000;
+
+    // Resolved params by field and process. Empty results are cached too, failures are not.
+    private static final BoundedCache<Optional<LegacyProcessParams>> resolvedParams =
+            new BoundedCache<>(MAX_CACHED_RESOLUTIONS);
+
     /**
-     * Private constructor — this is a stateless utility class.
+     * Private constructor — this is a utility class.
      * All entry points are static; instantiation is not meaningful.
      */
     private LegacyProcessResolver() {
@@ -177,24 +190,58 @@ public class LegacyProcessResolver {
         if (!isLegacy(field)) {
             return Optional.empty();
         }
+        String key = cacheKey(field);
         try {
-            String url = resolveUrl(field);
-            String command = resolveCommand(field);
-            String keyColumn = resolveKeyColumnName(field);
-
-            if (url == null || command == null || keyColumn == null) {
-                logger.warn("Could not fully resolve legacy params for field {}", field.getId());
-                return Optional.empty();
-            }
-
-            Map<String, String> additionalParams = resolveAdditionalParameters(field);
-            return Optional.of(new LegacyProcessParams(url, command, keyColumn, keyColumn, additionalParams));
+            return key != null ? resolvedParams.get(key, () -> resolveParams(field)) : resolveParams(field);
         } catch (Exception e) {
             logger.warn("Error resolving legacy process params for field {}: {}", field.getId(), e.getMessage());
             return Optional.empty();
         }
     }
 
+    /**
+     * Clears the cached legacy process resolutions, so that subsequent calls to
+     * {@link #resolve(Field)} read the Application Dictionary again.
+     */
+    public static void clearCache() {
+        resolvedParams.clear();
+    }
+
+    /**
+     * Returns the key of the field resolution in the cache, or {@code null} for fields without
+     * an identifier, which are resolved on every call.
+     *
+     * @param field a non-{@code null} legacy field
+     * @return the cache key, or {@code null} if the field cannot be cached
+     */
+    private static String cacheKey(Field field) {
+        if (field.getId() == null) {
+            return null;
+        }
+        Process process = field.getColumn().getProcess();
+        return field.getId() + "_" + (process != null ? process.getId() : "");
+    }
+
+    /**
+     * Runs the full resolution of the field without going through the cache.
+     *
+     * @param field a non-{@code null} legacy field
+     * @return the resolved params, or empty if URL, command or key column cannot be resolved
+     */
+    private static Optional<LegacyProcessParams> resolveParams(Field field) {
+        String url = resolveUrl(field);
+        String command = resolveCommand(field);
+        String keyColumn = resolveKeyColumnName(field);
+
+        if (url == null || command == null || keyColumn == null) {
+            logger.warn("Could not fully resolve legacy params for field {}", field.getId());
+            return Optional.empty();
+        }
+
+        Map<String, String> additionalParams = resolveAdditionalParameters(field);
+        return Optional.of(new LegacyProcessParams(url, command, keyColumn, keyColumn, additionalParams));
+    }
+
     // -------------------------------------------------------------------------
     // isLegacy helpers
     // -------------------------------------------------------------------------
@@ -26,7 +26,6 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
@@ -44,6 +43,8 @@ import org.openbravo.model.common.enterprise.OrgWarehouse;
 import org.openbravo.model.common.enterprise.Organization;
 import org.openbravo.model.common.enterprise.Warehouse;
 
+import com.etendoerp.metadata.cache.OrganizationWarehouseIndex;
+import com.etendoerp.metadata.cache.SessionRolesCache;
 import com.etendoerp.metadata.exceptions.InternalServerException;
 
 /**
@@ -51,9 +52,6 @@ import com.etendoerp.metadata.exceptions.InternalServerException;
  */
 public class SessionBuilder extends Builder {
 
-    /** Caches the built roles/organizations/warehouses tree per user, avoiding a rebuild on every request. */
-    private static final Map<String, String> ROLES_CACHE = new ConcurrentHashMap<>();
-
     /**
      * Loads a user's roles together with their role-organization links and organizations in a
      * single round trip, replacing the lazy {@code user.getADUserRolesList()} ->
@@ -80,15 +78,6 @@ public class SessionBuilder extends Builder {
             + " and w.organization.active = true"
             + " order by w.name";
 
-    /**
-     * Clears the cached roles tree for every user. Invoked by
-     * {@link com.etendoerp.metadata.cache.SessionCacheInvalidationObserver} when a role,
-     * role-organization, or organization-warehouse assignment changes.
-     */
-    public static void clearRolesCache() {
-        ROLES_CACHE.clear();
-    }
-
     public JSONObject toJSON() {
         try {
             JSONObject json = new JSONObject();
@@ -118,44 +107,56 @@ public class SessionBuilder extends Builder {
         }
     }
 
-    private JSONArray getRoles(User user) {
-        JSONArray roles = new JSONArray();
-
+    /**
+     * Returns the roles tree of the user from {@link SessionRolesCache}, as a pre-serialized
+     * fragment written verbatim into the session JSON.
+     */
+    private Object getRoles(User user) {
         try {
-            String cacheKey = user.getId();
-            String cached = ROLES_CACHE.get(cacheKey);
-            if (cached != null) {
-                return new JSONArray(cached);
-            }
+            return SessionRolesCache.get(user.getId(), language, () -> buildRoles(user.getId()));
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
 
-            List<UserRoles> userRoleList = OBDal.getInstance().getSession()
-                .createQuery(ROLES_BY_USER_HQL, UserRoles.class)
-                .setParameter("userId", cacheKey)
-                .list();
+            return new JSONArray();
+        }
+    }
 
-            Map<String, List<Warehouse>> warehousesByOrganization = getWarehousesByOrganization(userRoleList);
+    private JSONArray buildRoles(String userId) throws JSONException {
+        JSONArray roles = new JSONArray();
+        List<UserRoles> userRoleList = OBDal.getInstance().getSession()
+            .createQuery(ROLES_BY_USER_HQL, UserRoles.class)
+            .setParameter("userId", userId)
+            .list();
 
-            for (UserRoles userRole : userRoleList) {
-                JSONObject json = new JSONObject();
-                Role role = userRole.getRole();
-                Client client = role.getClient();
+        Map<String, List<Warehouse>> warehousesByOrganization = getWarehousesByOrganization(userRoleList);
 
-                json.put("id", role.getId());
-                json.put("name", role.get(Role.PROPERTY_NAME, language, role.getId()));
-                json.put("organizations", getOrganizations(role, warehousesByOrganization));
-                json.put("client", client.get(Client.PROPERTY_NAME, language, client.getId()));
+        for (UserRoles userRole : userRoleList) {
+            JSONObject json = new JSONObject();
+            Role role = userRole.getRole();
+            Client client = role.getClient();
 
-                roles.put(json);
-            }
+            json.put("id", role.getId());
+            json.put("name", role.get(Role.PROPERTY_NAME, language, role.getId()));
+            json.put("organizations", getOrganizations(role, warehousesByOrganization));
+            json.put("client", client.get(Client.PROPERTY_NAME, language, client.getId()));
 
-            ROLES_CACHE.put(cacheKey, roles.toString());
-        } catch (Exception e) {
-            logger.error(e.getMessage(), e);
+            roles.put(json);
         }
 
         return roles;
     }
 
+    /**
+     * Loads every active warehouse of a client with an active organization, in the same order
+     * as {@link #WAREHOUSES_BY_ORGANIZATION_HQL}, to build its {@link OrganizationWarehouseIndex}.
+     */
+    private static final String WAREHOUSES_BY_CLIENT_HQL =
+        "select w.id, w.organization.id from Warehouse w"
+            + " where w.active = true"
+            + " and w.client.id = :clientId"
+            + " and w.organization.active = true"
+            + " order by w.name";
+
     /**
      * Distributes warehouses across organizations using the natural tree,
      * matching Classic's RoleInfo.getOrganizationWarehouses() behavior:
@@ -179,8 +180,10 @@ public class SessionBuilder extends Builder {
 
             OrganizationStructureProvider osp = OBContext.getOBContext()
                 .getOrganizationStructureProvider(clientId);
+            OrganizationWarehouseIndex.Index index = OrganizationWarehouseIndex.get(clientId,
+                () -> loadWarehouseIndex(clientId, osp));
 
-            return distributeByNaturalTree(warehouses, orgIds, osp);
+            return distributeByNaturalTree(warehouses, orgIds, index);
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
             return Collections.emptyMap();
@@ -204,23 +207,41 @@ public class SessionBuilder extends Builder {
         return clientId;
     }
 
+    private static OrganizationWarehouseIndex.Index loadWarehouseIndex(String clientId,
+            OrganizationStructureProvider osp) {
+        List<Object[]> rows = OBDal.getInstance().getSession()
+            .createQuery(WAREHOUSES_BY_CLIENT_HQL, Object[].class)
+            .setParameter("clientId", clientId)
+            .list();
+        List<OrganizationWarehouseIndex.Entry> warehouses = new ArrayList<>();
+        for (Object[] row : rows) {
+            warehouses.add(new OrganizationWarehouseIndex.Entry((String) row[0], (String) row[1]));
+        }
+        return new OrganizationWarehouseIndex.Index(warehouses, osp::getNaturalTree);
+    }
+
     /**
      * Distributes warehouses across organizations using the natural tree,
-     * replicating Classic's RoleInfo behavior.
+     * replicating Classic's RoleInfo behavior. Each organization reads its visible warehouses
+     * from the client index, keeping only the ones loaded for the role organizations, so the
+     * cost is linear in the size of the result.
      */
     private Map<String, List<Warehouse>> distributeByNaturalTree(
-            List<Warehouse> warehouses, Set<String> orgIds, OrganizationStructureProvider osp) {
+            List<Warehouse> warehouses, Set<String> orgIds, OrganizationWarehouseIndex.Index index) {
+        Map<String, Warehouse> warehousesById = new HashMap<>();
+        for (Warehouse wh : warehouses) {
+            warehousesById.put(wh.getId(), wh);
+        }
         Map<String, List<Warehouse>> result = new HashMap<>();
         for (String orgId : orgIds) {
-            result.put(orgId, new ArrayList<>());
-        }
-        for (Warehouse wh : warehouses) {
-            String whOrgId = wh.getOrganization().getId();
-            for (String orgId : orgIds) {
-                if (osp.getNaturalTree(orgId).contains(whOrgId)) {
-                    result.get(orgId).add(wh);
+            List<Warehouse> orgWarehouses = new ArrayList<>();
+            for (OrganizationWarehouseIndex.Entry entry : index.getWarehouses(orgId)) {
+                Warehouse wh = warehousesById.get(entry.getWarehouseId());
+                if (wh != null) {
+                    orgWarehouses.add(wh);
                 }
             }
+            result.put(orgId, orgWarehouses);
         }
         return result;
     }
@@ -18,6 +18,7 @@
 package com.etendoerp.metadata.builders;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,8 +26,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
-import org.openbravo.client.kernel.KernelUtils;
 import org.openbravo.client.application.ApplicationUtils;
+import org.openbravo.dal.core.OBContext;
 import org.openbravo.model.ad.access.FieldAccess;
 import org.openbravo.model.ad.access.TabAccess;
 import org.openbravo.model.ad.datamodel.Column;
@@ -35,9 +36,13 @@ import org.openbravo.model.ad.ui.Tab;
 import org.openbravo.model.ad.utility.TableTree;
 import org.openbravo.service.json.DataResolvingMode;
 
+import com.etendoerp.metadata.cache.TabHierarchyCache;
+import com.etendoerp.metadata.cache.TableColumnCache;
 import com.etendoerp.metadata.data.TabProcessor;
+import com.etendoerp.metadata.data.WindowSnapshot;
 import com.etendoerp.metadata.exceptions.InternalServerException;
 import com.etendoerp.metadata.utils.Constants;
+import com.etendoerp.metadata.utils.JsonUtils;
 
 /**
  * Builds a JSON representation of a tab including its fields, parent columns, and access permissions.
@@ -56,6 +61,7 @@ public class TabBuilder extends Builder {
   private final TabAccess tabAccess;
   private final boolean isWindowReadOnly;
   private final List<FieldAccess> preloadedFieldAccessList;
+  private final boolean headerOnly;
 
   /**
    * Constructs a TabBuilder for the given tab.
@@ -88,10 +94,27 @@ public class TabBuilder extends Builder {
    */
   public TabBuilder(Tab tab, TabAccess tabAccess, boolean isWindowReadOnly,
       List<FieldAccess> preloadedFieldAccessList) {
+    this(tab, tabAccess, isWindowReadOnly, preloadedFieldAccessList, false);
+  }
+
+  /**
+   * Constructs a TabBuilder that can render the tab as a header, without its fields. Used by
+   * {@link WindowBuilder} in skeleton mode for the tabs whose fields are loaded on demand.
+   *
+   * @param tab                      the tab entity to build JSON for
+   * @param tabAccess                the role-specific tab access configuration, or {@code null}
+   * @param isWindowReadOnly         {@code true} if the parent window was resolved as read-only
+   * @param preloadedFieldAccessList the field access records for this tab, or {@code null}
+   * @param headerOnly               {@code true} to omit {@code fields} and mark the tab with
+   *                                 {@code fieldsLoaded = false}
+   */
+  public TabBuilder(Tab tab, TabAccess tabAccess, boolean isWindowReadOnly,
+      List<FieldAccess> preloadedFieldAccessList, boolean headerOnly) {
     this.tab = tab;
     this.tabAccess = tabAccess;
     this.isWindowReadOnly = isWindowReadOnly;
     this.preloadedFieldAccessList = preloadedFieldAccessList;
+    this.headerOnly = headerOnly;
   }
 
   public JSONObject toJSON() {
@@ -112,9 +135,13 @@ public class TabBuilder extends Builder {
       json.put("entityName", tab.getTable().getName());
       json.put("parentColumns", getParentColumns());
 
-      JSONObject fields = getFields();
-      enrichWithAuditFields(fields);
-      json.put("fields", fields);
+      if (headerOnly) {
+        json.put("fieldsLoaded", false);
+      } else {
+        JSONObject fields = getFields();
+        enrichWithAuditFields(fields);
+        json.put("fields", fields);
+      }
 
       Tab parentTab = getParentTab();
 
@@ -162,7 +189,7 @@ public class TabBuilder extends Builder {
   }
 
   private Tab getParentTab() {
-    return KernelUtils.getInstance().getParentTab(tab);
+    return TabHierarchyCache.getParentTab(tab);
   }
 
   /**
@@ -182,22 +209,13 @@ public class TabBuilder extends Builder {
     }
   }
 
-  private JSONArray getParentColumns() {
+  private JSONArray getParentColumns() throws JSONException {
     JSONArray jsonColumns = new JSONArray();
 
     if (tab.getTabLevel() == 0) return jsonColumns;
 
     Tab parentTab = getParentTab();
-    List<String> linkToParentColumns = new ArrayList<>();
-
-    for (Column column : tab.getTable().getADColumnList()) {
-      if (column.isLinkToParentColumn()) {
-        String entityColumnName = TabProcessor.getEntityColumnName(column);
-        if (StringUtils.isNotBlank(entityColumnName)) {
-          linkToParentColumns.add(entityColumnName);
-        }
-      }
-    }
+    List<String> linkToParentColumns = getColumnData(tab.getTable()).getLinkToParentColumns();
 
     if (parentTab != null) {
       String parentProperty = ApplicationUtils.getParentProperty(tab, parentTab);
@@ -246,40 +264,72 @@ public class TabBuilder extends Builder {
       return;
     }
 
+    TableColumnCache.Entry columnData = getColumnData(table);
     int baseGridPosition = 9000;
     int order = 0;
 
     for (String auditField : AUDIT_FIELDS) {
       if (!fieldsJson.has(auditField)) {
-        String dbColumnName = AUDIT_DB_COLUMNS.get(auditField);
-        Column column = findColumnByDBName(table, dbColumnName);
+        JSONObject template = columnData.getAuditField(auditField);
 
-        if (column != null) {
-          boolean showInGrid = shouldShowInGrid(auditField);
-          JSONObject syntheticField = createAuditField(column, auditField, baseGridPosition + order,
-              showInGrid);
+        if (template != null) {
+          JSONObject syntheticField = JsonUtils.topLevelCopy(template);
+          syntheticField.put("gridPosition", baseGridPosition + order);
+          syntheticField.put("tab", tab.getId());
+          syntheticField.put("tab$_identifier", tab.getIdentifier());
           fieldsJson.put(auditField, syntheticField);
           order++;
         } else {
-          logger.debug("Audit column '{}' not found in table '{}'- skipping audit field '{}'", dbColumnName,
-              table.getName(), auditField);
+          logger.debug("Audit column '{}' not found in table '{}'- skipping audit field '{}'",
+              AUDIT_DB_COLUMNS.get(auditField), table.getName(), auditField);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the column data of a table, built once per table and language with a single pass
+   * over its columns.
+   *
+   * @param table the table of the tab
+   * @return the link-to-parent columns and audit field templates of the table
+   * @throws JSONException if an audit field template cannot be built
+   */
+  private TableColumnCache.Entry getColumnData(Table table) throws JSONException {
+    return TableColumnCache.get(table, OBContext.getOBContext().getLanguage(), () -> loadColumnData(table));
+  }
+
+  private TableColumnCache.Entry loadColumnData(Table table) throws JSONException {
+    List<String> linkToParentColumns = new ArrayList<>();
+    Map<String, JSONObject> auditFields = new HashMap<>();
+
+    for (Column column : getColumns(table)) {
+      if (column.isLinkToParentColumn()) {
+        String entityColumnName = TabProcessor.getEntityColumnName(column);
+        if (StringUtils.isNotBlank(entityColumnName)) {
+          linkToParentColumns.add(entityColumnName);
+        }
+      }
+      for (String auditField : AUDIT_FIELDS) {
+        if (!auditFields.containsKey(auditField)
+            && StringUtils.equalsIgnoreCase(column.getDBColumnName(), AUDIT_DB_COLUMNS.get(auditField))) {
+          auditFields.put(auditField, createAuditField(column, auditField, shouldShowInGrid(auditField)));
         }
       }
     }
+    return new TableColumnCache.Entry(linkToParentColumns, auditFields);
   }
 
   /**
-   * Searches for a column in the table by its database column name.
+   * Returns the columns of a table, taken from the window snapshot of the current build when it
+   * covers the table.
    *
-   * @param table        the table to search in
-   * @param dbColumnName the database column name to search for
-   * @return the matching Column object, or null if not found
+   * @param table the table whose columns are requested
+   * @return the columns of the table
    */
-  private Column findColumnByDBName(Table table, String dbColumnName) {
-    return table.getADColumnList().stream()
-        .filter(col -> StringUtils.equalsIgnoreCase(col.getDBColumnName(), dbColumnName))
-        .findFirst()
-        .orElse(null);
+  private static List<Column> getColumns(Table table) {
+    List<Column> preloaded = WindowSnapshot.columnsOf(table);
+    return preloaded != null ? preloaded : table.getADColumnList();
   }
 
   /**
@@ -294,17 +344,17 @@ public class TabBuilder extends Builder {
   }
 
   /**
-   * Creates a JSON object representing a synthetic audit field with all required metadata.
+   * Creates the template of a synthetic audit field with all the metadata that does not depend
+   * on the tab. The grid position and the tab keys are added to a copy by
+   * {@link #enrichWithAuditFields(JSONObject)}.
    *
    * @param column the database column object (must not be null)
    * @param hqlName the HQL property name for the field
-   * @param gridPosition the position in the grid (used for ordering)
    * @param showInGrid whether the field should be visible in the grid view
-   * @return a complete JSON object representing the audit field
+   * @return the audit field template
    * @throws JSONException if there is an error creating the JSON structure
    */
-  private JSONObject createAuditField(Column column, String hqlName, int gridPosition, boolean
-          showInGrid)
+  private JSONObject createAuditField(Column column, String hqlName, boolean showInGrid)
       throws JSONException {
     if (column == null) {
       throw new IllegalArgumentException("Column cannot be null when creating audit field: " + hqlName);
@@ -321,7 +371,6 @@ public class TabBuilder extends Builder {
     field.put("isFirstFocusedField", false);
     field.put("sequenceNumber", JSONObject.NULL);
     field.put("showInGridView", showInGrid);
-    field.put("gridPosition", gridPosition);
     field.put("isReadOnly", true);
     field.put("isEditable", false);
     field.put("isUpdatable", false);
@@ -349,8 +398,6 @@ public class TabBuilder extends Builder {
     field.put("startinoddcolumn", false);
     field.put("startnewline", false);
     field.put("shownInStatusBar", false);
-    field.put("tab", tab.getId());
-    field.put("tab$_identifier", tab.getIdentifier());
     field.put("isAuditField", true);
 
     return field;
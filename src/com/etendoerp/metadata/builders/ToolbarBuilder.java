@@ -16,23 +16,46 @@
  */
 package com.etendoerp.metadata.builders;
 
+import com.etendoerp.metadata.cache.ToolbarCache;
 import com.etendoerp.metadata.data.Toolbar;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.dal.core.OBContext;
 import org.openbravo.dal.service.OBDal;
 import com.etendoerp.metadata.data.ToolbarWindow;
+import org.openbravo.model.ad.access.Role;
 import org.openbravo.model.ad.ui.Window;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Builder class for generating JSON representations of Toolbars.
  * This class extends the Builder class and provides methods to convert Toolbar objects
- * into JSON format, as well as to generate a JSON representation of the menu structure.
+ * into JSON format. Toolbars are read through {@link ToolbarCache}, so the toolbar rows and
+ * their window assignments are only loaded once per role.
  */
 public class ToolbarBuilder extends Builder {
-    private JSONArray toolbarWindowsToJSON(Toolbar toolbar) throws JSONException {
+    private final String windowId;
+
+    /**
+     * Creates a builder for every toolbar button.
+     */
+    public ToolbarBuilder() {
+        this(null);
+    }
+
+    /**
+     * Creates a builder for the toolbar buttons of a window.
+     *
+     * @param windowId the window id, or {@code null} for every toolbar button
+     */
+    public ToolbarBuilder(String windowId) {
+        this.windowId = windowId;
+    }
+
+    private JSONArray toolbarWindowsToJSON(Toolbar toolbar, List<String> windowIds) throws JSONException {
         JSONArray windowsArray = new JSONArray();
 
         for (ToolbarWindow tw : toolbar.getEtmetaToolbarWindowList()) {
@@ -47,19 +70,18 @@ public class ToolbarBuilder extends Builder {
                     .put("name", window.getName());
 
             windowsArray.put(windowJson);
+            windowIds.add(window.getId());
         }
 
         return windowsArray;
     }
 
-
-
-    /**
-   * Constructor that initializes the MenuManager.
-   * This ensures that the menu is loaded and ready for processing.
+  /**
+   * Serializes a toolbar button, collecting the windows it is assigned to.
    */
-  private JSONObject toolbarToJSON(Toolbar t) throws JSONException {
-    return new JSONObject().put("id", t.getId())
+  private ToolbarCache.Button toolbarToButton(Toolbar t) throws JSONException {
+    List<String> windowIds = new ArrayList<>();
+    JSONObject json = new JSONObject().put("id", t.getId())
         .put("client", t.getClient().getId())
         .put("organization", t.getOrganization().getId())
         .put("active", t.isActive())
@@ -74,29 +96,40 @@ public class ToolbarBuilder extends Builder {
         .put("seqno", t.getSeqno())
         .put("description", t.getDescription())
         .put("etmetaActionHandler", t.getEtmetaActionHandler())
-        .put("nameKey", t.getNameKey())
+        .put("nameKey", t.getNameKey() != null ? t.getNameKey().toString() : null)
         .put("action", t.getAction())
         .put("buttonType", t.getButtontype())
         .put("section", t.getSection())
         .put("module", t.getModule() != null ? t.getModule().getId() : null)
-        .put("windows", toolbarWindowsToJSON(t));
+        .put("windows", toolbarWindowsToJSON(t, windowIds));
+    return new ToolbarCache.Button(json, Boolean.TRUE.equals(t.isActive()), windowIds);
+  }
+
+  private ToolbarCache.Index loadIndex() throws JSONException {
+    List<ToolbarCache.Button> buttons = new ArrayList<>();
+    for (Toolbar t : OBDal.getInstance().createCriteria(Toolbar.class).list()) {
+      buttons.add(toolbarToButton(t));
+    }
+    return new ToolbarCache.Index(buttons);
   }
 
   /**
-   * Converts the current ToolbarBuilder instance into a JSON object.
-   * This method retrieves the menu structure and converts it into a JSON representation.
+   * Converts the toolbar buttons into a JSON response. Without a window every toolbar button is
+   * returned; with a window, only its active buttons and the active global ones.
    *
-   * @return JSONObject representing the menu structure.
+   * @return JSONObject with the toolbar buttons under {@code response.data}.
    * @throws JSONException if there is an error during JSON creation.
    */
   @Override
   public JSONObject toJSON() throws JSONException {
     JSONObject output = new JSONObject();
     try {
-      List<Toolbar> list = OBDal.getInstance().createCriteria(Toolbar.class).list();
+      Role role = OBContext.getOBContext().getRole();
+      ToolbarCache.Index index = ToolbarCache.get(role != null ? role.getId() : null, this::loadIndex);
+      List<JSONObject> list = windowId == null ? index.getToolbars() : index.getWindowToolbars(windowId);
       JSONArray data = new JSONArray();
-      for (Toolbar t : list) {
-        data.put(toolbarToJSON(t));
+      for (JSONObject t : list) {
+        data.put(t);
       }
       JSONObject response = new JSONObject().put("data", data)
           .put("startRow", 0)
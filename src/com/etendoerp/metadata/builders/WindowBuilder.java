@@ -30,18 +30,18 @@ import java.util.stream.Collectors;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
-import org.hibernate.criterion.Restrictions;
 import org.openbravo.dal.service.OBDal;
 import org.openbravo.model.ad.access.FieldAccess;
 import org.openbravo.model.ad.access.Role;
 import org.openbravo.model.ad.access.TabAccess;
-import org.openbravo.model.ad.access.WindowAccess;
 import org.openbravo.model.ad.ui.Tab;
 import org.openbravo.model.ad.ui.Window;
 import org.openbravo.service.json.DataResolvingMode;
 
 import org.openbravo.dal.core.OBContext;
 import com.etendoerp.metadata.cache.ADCacheProvider;
+import com.etendoerp.metadata.cache.RoleAccessMatrix;
+import com.etendoerp.metadata.data.WindowSnapshot;
 import com.etendoerp.metadata.exceptions.NotFoundException;
 import com.etendoerp.metadata.exceptions.UnauthorizedException;
 
@@ -51,6 +51,7 @@ import com.etendoerp.metadata.exceptions.UnauthorizedException;
 public class WindowBuilder extends Builder {
     private static final Map<String, Boolean> tabAllowedCache = new ConcurrentHashMap<>();
     private final String id;
+    private final boolean skeleton;
 
     /**
      * Creates a new WindowBuilder for the window with the given ID.
@@ -58,44 +59,33 @@ public class WindowBuilder extends Builder {
      * @param id the database ID of the window to build
      */
     public WindowBuilder(String id) {
+        this(id, false);
+    }
+
+    /**
+     * Creates a new WindowBuilder for the window with the given ID.
+     *
+     * @param id       the database ID of the window to build
+     * @param skeleton {@code true} to render the fields of the first tab only; the other tabs are
+     *                 returned as headers, without {@code fields}, and are loaded on demand with
+     *                 {@link #toTabJSON(String)}
+     */
+    public WindowBuilder(String id, boolean skeleton) {
         this.id = id;
+        this.skeleton = skeleton;
     }
 
-    private static WindowAccess getWindowAccess(String id) {
-        OBDal dal = OBDal.getReadOnlyInstance();
+    private static Window getWindow(String id) {
         Window adWindow = ADCacheProvider.getWindow(id);
         if (adWindow == null) {
-            adWindow = dal.get(Window.class, id);
+            adWindow = OBDal.getReadOnlyInstance().get(Window.class, id);
         }
 
         if (adWindow == null) {
             throw new NotFoundException("Window with ID " + id + " not found.");
         }
 
-        Role role = OBContext.getOBContext().getRole();
-        WindowAccess windowAccess = (WindowAccess) dal.createCriteria(WindowAccess.class) //
-                .add(Restrictions.eq(WindowAccess.PROPERTY_ROLE, role)) //
-                .add(Restrictions.eq(WindowAccess.PROPERTY_ACTIVE, true)) //
-                .add(Restrictions.eq(WindowAccess.PROPERTY_WINDOW, adWindow))//
-                .setMaxResults(1) //
-                .uniqueResult();
-
-        if (windowAccess == null) {
-            boolean windowExistsForSomeRole = dal.createCriteria(WindowAccess.class) //
-                    .add(Restrictions.eq(WindowAccess.PROPERTY_ACTIVE, true)) //
-                    .add(Restrictions.eq(WindowAccess.PROPERTY_WINDOW, adWindow)) //
-                    .setMaxResults(1) //
-                    .uniqueResult() != null;
-
-            if (!windowExistsForSomeRole) {
-                throw new UnauthorizedException("Role " + role.getName() + " is not authorized for window " + id);
-            }
-
-            // Role has no explicit access configured: signal implicit read-only access
-            return null;
-        }
-
-        return windowAccess;
+        return adWindow;
     }
 
     /**
@@ -103,14 +93,14 @@ public class WindowBuilder extends Builder {
      * associated {@link Tab} in the same round-trip to avoid an N+1 query pattern when the
      * caller iterates and calls {@link TabAccess#getTab()} for every entry.
      *
-     * @param windowAccess the window access whose tab accesses should be loaded
+     * @param windowAccessId the ID of the window access whose tab accesses should be loaded
      * @return all tab accesses (active and inactive) for the given window access, with tabs
      *         pre-fetched
      */
-    private static List<TabAccess> getTabAccessesWithTabs(WindowAccess windowAccess) {
+    private static List<TabAccess> getTabAccessesWithTabs(String windowAccessId) {
         OBDal dal = OBDal.getReadOnlyInstance();
         Map<String, Object> params = new HashMap<>();
-        params.put("windowAccessId", windowAccess.getId());
+        params.put("windowAccessId", windowAccessId);
         return dal.createQuery(TabAccess.class,
                 "as ta left join fetch ta.tab where ta.windowAccess.id = :windowAccessId", params)
                 .setFilterOnActive(false)
@@ -144,8 +134,13 @@ public class WindowBuilder extends Builder {
         return fieldAccesses.stream().collect(Collectors.groupingBy(fa -> fa.getTabAccess().getId()));
     }
 
-    private static JSONArray createTabsJson(List<TabAccess> tabAccesses, List<Tab> tabs, boolean isWindowReadOnly) {
-        final List<JSONObject> result = new ArrayList<>();
+    /**
+     * Resolves the tabs of the window the role can read, with their access records. Tabs with an
+     * active, readable {@link TabAccess} come first; the remaining tabs of the window follow with
+     * no access record.
+     */
+    private static List<TabRender> getTabRenders(List<TabAccess> tabAccesses, List<Tab> tabs) {
+        final List<TabRender> renders = new ArrayList<>();
         final Set<String> processedTabIds = new HashSet<>();
         final Map<String, List<FieldAccess>> fieldAccessesByTabAccessId = getFieldAccessesByTabAccessId(tabAccesses);
 
@@ -154,20 +149,86 @@ public class WindowBuilder extends Builder {
             if (tabAccess.isActive() && tabAccess.isAllowRead() && isTabAllowedCached(tab)) {
                 List<FieldAccess> fieldAccesses = fieldAccessesByTabAccessId.getOrDefault(tabAccess.getId(),
                         Collections.emptyList());
-                result.add(new TabBuilder(tab, tabAccess, isWindowReadOnly, fieldAccesses).toJSON());
+                renders.add(new TabRender(tab, tabAccess, fieldAccesses));
                 processedTabIds.add(tab.getId());
             }
         }
 
         for (Tab tab : tabs) {
             if (!processedTabIds.contains(tab.getId()) && isTabAllowedCached(tab)) {
-                result.add(new TabBuilder(tab, null, isWindowReadOnly).toJSON());
+                renders.add(new TabRender(tab, null, null));
             }
         }
+        return renders;
+    }
 
+    /**
+     * Marks every tab but the first one of the window (lowest tab level, then lowest sequence
+     * number) as a header, rendered without its fields.
+     */
+    private static void markHeaders(List<TabRender> renders) {
+        TabRender first = null;
+        for (TabRender render : renders) {
+            render.headerOnly = true;
+            if (first == null || isBefore(render.tab, first.tab)) {
+                first = render;
+            }
+        }
+        if (first != null) {
+            first.headerOnly = false;
+        }
+    }
+
+    private static Set<String> getRenderedTabIds(List<TabRender> renders) {
+        return renders.stream()
+                .filter(render -> !render.headerOnly)
+                .map(render -> render.tab.getId())
+                .collect(Collectors.toSet());
+    }
+
+    private static boolean isBefore(Tab tab, Tab other) {
+        int byLevel = Long.compare(valueOf(tab.getTabLevel()), valueOf(other.getTabLevel()));
+        return byLevel != 0
+                ? byLevel < 0
+                : valueOf(tab.getSequenceNumber()) < valueOf(other.getSequenceNumber());
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : Long.MAX_VALUE;
+    }
+
+    /**
+     * Renders the tabs in order on the calling thread. The builders navigate entities of the
+     * request session and read the thread-bound context and snapshot, so they cannot run on a pool.
+     */
+    private static JSONArray createTabsJson(List<TabRender> renders, boolean isWindowReadOnly) {
+        final List<JSONObject> result = new ArrayList<>(renders.size());
+        for (TabRender render : renders) {
+            result.add(render.toJSON(isWindowReadOnly));
+        }
         return new JSONArray(result);
     }
 
+    /**
+     * A tab to render, with its resolved access records.
+     */
+    private static final class TabRender {
+        private final Tab tab;
+        private final TabAccess tabAccess;
+        private final List<FieldAccess> fieldAccesses;
+        private boolean headerOnly;
+
+        TabRender(Tab tab, TabAccess tabAccess, List<FieldAccess> fieldAccesses) {
+            this.tab = tab;
+            this.tabAccess = tabAccess;
+            this.fieldAccesses = fieldAccesses;
+        }
+
+        JSONObject toJSON(boolean isWindowReadOnly) {
+            return new TabBuilder(tab, tabAccess, isWindowReadOnly, fieldAccesses, headerOnly).toJSON();
+        }
+    }
+
     /**
      * Clears the cache used to store whether a tab is allowed for the current context.
      * This forces a re-evaluation of tab access permissions on subsequent requests.
@@ -181,27 +242,85 @@ public class WindowBuilder extends Builder {
         return tabAllowedCache.computeIfAbsent(tab.getId(), id -> true);
     }
 
+    /**
+     * Builds the window with its tabs. In skeleton mode, only the first tab includes its fields.
+     *
+     * @return the window metadata
+     * @throws NotFoundException     if the window does not exist
+     * @throws UnauthorizedException if the role cannot open the window
+     */
     public JSONObject toJSON() {
-        WindowAccess windowAccess = getWindowAccess(id);
-        boolean isReadOnly = (windowAccess == null) || !windowAccess.isEditableField();
+        Window window = getWindow(id);
+        RoleAccessMatrix access = getAuthorizedAccess();
+        String windowAccessId = access.getWindowAccessId(id);
 
-        Window window = windowAccess != null
-                ? windowAccess.getWindow()
-                : OBDal.getReadOnlyInstance().get(Window.class, id);
+        // A role without explicit access configured gets implicit read-only access
+        boolean isReadOnly = windowAccessId == null || !access.isWindowEditable(id);
 
-        List<TabAccess> tabAccesses = windowAccess != null
-                ? getTabAccessesWithTabs(windowAccess)
+        List<TabAccess> tabAccesses = windowAccessId != null
+                ? getTabAccessesWithTabs(windowAccessId)
                 : Collections.emptyList();
+        List<TabRender> renders = getTabRenders(tabAccesses, window.getADTabList());
+        if (skeleton) {
+            markHeaders(renders);
+        }
 
         JSONObject windowJson = converter.toJsonObject(window, DataResolvingMode.FULL_TRANSLATABLE);
 
-        try {
+        // Fields, columns and selectors of cache-missed tabs are bulk-loaded once per build; in
+        // skeleton mode, fields are only loaded for the tabs rendered with them
+        try (WindowSnapshot.Scope ignored = WindowSnapshot.open(window.getId(),
+                skeleton ? getRenderedTabIds(renders) : null)) {
             windowJson.put("id", window.getId());
-            windowJson.put("tabs", createTabsJson(tabAccesses, window.getADTabList(), isReadOnly));
+            windowJson.put("tabs", createTabsJson(renders, isReadOnly));
         } catch (JSONException e) {
             logger.error("Error creating JSON for window tabs: {}", e.getMessage(), e);
         }
 
         return windowJson;
     }
+
+    /**
+     * Builds one tab of the window, with its fields, applying the same role access as
+     * {@link #toJSON()}. Serves the tabs returned as headers in skeleton mode.
+     *
+     * @param tabId the ID of the tab to build
+     * @return the tab metadata
+     * @throws NotFoundException     if the window does not exist, or the tab is not a readable tab
+     *                               of the window
+     * @throws UnauthorizedException if the role cannot open the window
+     */
+    public JSONObject toTabJSON(String tabId) {
+        Window window = getWindow(id);
+        RoleAccessMatrix access = getAuthorizedAccess();
+        String windowAccessId = access.getWindowAccessId(id);
+        boolean isReadOnly = windowAccessId == null || !access.isWindowEditable(id);
+
+        List<TabAccess> tabAccesses = windowAccessId != null
+                ? getTabAccessesWithTabs(windowAccessId).stream()
+                        .filter(tabAccess -> tabId.equals(tabAccess.getTab().getId()))
+                        .collect(Collectors.toList())
+                : Collections.emptyList();
+        List<Tab> tabs = window.getADTabList().stream()
+                .filter(tab -> tabId.equals(tab.getId()))
+                .collect(Collectors.toList());
+
+        List<TabRender> renders = getTabRenders(tabAccesses, tabs);
+        if (renders.isEmpty()) {
+            throw new NotFoundException("Tab with ID " + tabId + " not found in window " + id + ".");
+        }
+        try (WindowSnapshot.Scope ignored = WindowSnapshot.open(window.getId(), Set.of(tabId))) {
+            return renders.get(0).toJSON(isReadOnly);
+        }
+    }
+
+    private RoleAccessMatrix getAuthorizedAccess() {
+        Role role = OBContext.getOBContext().getRole();
+        RoleAccessMatrix access = RoleAccessMatrix.forRole(role.getId());
+
+        if (access.getWindowAccessId(id) == null && !RoleAccessMatrix.isGrantedToAnyRole(id)) {
+            throw new UnauthorizedException("Role " + role.getName() + " is not authorized for window " + id);
+        }
+        return access;
+    }
 }
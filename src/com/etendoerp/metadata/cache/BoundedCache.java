@@ -0,0 +1,145 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded map of cached values, shared by the caches that keep one value per key built on
+ * demand.
+ * <p>
+ * Values are built outside the lock, so a slow load never blocks readers of other keys; two
+ * requests missing the same key at the same time may both build it, and the first stored value
+ * wins. Once {@code maxEntries} values are kept, the least recently used one is evicted to make
+ * room for the new one. A {@link #clear()} that happens while a value is being built keeps that
+ * value from being stored, since it may have been built from data the clear invalidated. Caches
+ * created with a time to live rebuild a value once it is older than that.
+ *
+ * @param <V> the type of the cached values
+ */
+public final class BoundedCache<V> {
+  private final Map<String, Slot<V>> values;
+  private final long ttlMillis;
+  private long generation;
+
+  /**
+   * Creates an empty cache whose values never expire.
+   *
+   * @param maxEntries the maximum number of values kept at the same time
+   */
+  public BoundedCache(int maxEntries) {
+    this(maxEntries, Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates an empty cache whose values are rebuilt once they are older than the given time.
+   *
+   * @param maxEntries the maximum number of values kept at the same time
+   * @param ttlMillis  the time, in milliseconds, after which a value is rebuilt
+   */
+  public BoundedCache(int maxEntries, long ttlMillis) {
+    this.ttlMillis = ttlMillis;
+    this.values = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Slot<V>> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  private static final class Slot<V> {
+    private final V value;
+    private final long loadedAt = System.currentTimeMillis();
+
+    Slot(V value) {
+      this.value = value;
+    }
+  }
+
+  /**
+   * Builds a value on a cache miss.
+   *
+   * @param <V> the type of the value
+   * @param <E> the exception the load may throw
+   */
+  @FunctionalInterface
+  public interface Loader<V, E extends Exception> {
+    /**
+     * Builds the value.
+     *
+     * @return the value
+     * @throws E if the value cannot be built
+     */
+    V load() throws E;
+  }
+
+  /**
+   * Returns the value of the key, building it with the loader on a cache miss. {@code null}
+   * values are returned but not stored.
+   *
+   * @param key    the key
+   * @param loader builds the value on a cache miss
+   * @param <E>    the exception the load may throw
+   * @return the cached or freshly built value
+   * @throws E if the value cannot be built
+   */
+  public <E extends Exception> V get(String key, Loader<V, E> loader) throws E {
+    long loadGeneration;
+    synchronized (this) {
+      Slot<V> slot = values.get(key);
+      if (isUsable(slot)) {
+        return slot.value;
+      }
+      loadGeneration = generation;
+    }
+    V loaded = loader.load();
+    synchronized (this) {
+      if (loaded == null || generation != loadGeneration) {
+        return loaded;
+      }
+      Slot<V> previous = values.get(key);
+      if (isUsable(previous)) {
+        return previous.value;
+      }
+      values.put(key, new Slot<>(loaded));
+      return loaded;
+    }
+  }
+
+  private boolean isUsable(Slot<V> slot) {
+    return slot != null && System.currentTimeMillis() - slot.loadedAt < ttlMillis;
+  }
+
+  /**
+   * Drops every value. Values being built when this is called are not stored.
+   */
+  public synchronized void clear() {
+    generation++;
+    values.clear();
+  }
+
+  /**
+   * Returns the number of values kept.
+   *
+   * @return the number of values
+   */
+  synchronized int size() {
+    return values.size();
+  }
+}
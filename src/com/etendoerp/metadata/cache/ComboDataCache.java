@@ -0,0 +1,94 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Short-lived cache of combo values ({@code ComboTableData} results) served by the combo data
+ * endpoint. Values are keyed by the caller with everything the query depends on (reference,
+ * validation, role and the context the validation is evaluated with), so every user of the same
+ * role opening the same combo shares one query result. Callers must not cache combos filled with
+ * user or session context variables.
+ * <p>
+ * The values are business data that no observer tracks, so entries expire after
+ * {@link #ENTRY_TTL_MILLIS}. At most {@link #MAX_ENTRIES} results are kept in a
+ * {@link BoundedCache}, which evicts the least recently used one when full. Validation rule
+ * changes drop the cache through {@link MetadataCacheManager#invalidateReferences()}.
+ */
+public final class ComboDataCache {
+  /** Maximum number of combo results kept at the same time. */
+  static final int MAX_ENTRIES = 1_000;
+  /** Time after which an entry is reloaded from the database. */
+  static final long ENTRY_TTL_MILLIS = 60L * 1000L;
+
+  private static final BoundedCache<List<Value>> entries =
+      new BoundedCache<>(MAX_ENTRIES, ENTRY_TTL_MILLIS);
+
+  private ComboDataCache() {
+  }
+
+  /**
+   * Immutable combo value.
+   */
+  public static final class Value {
+    private final String id;
+    private final String name;
+
+    /**
+     * Creates a combo value.
+     *
+     * @param id   the record identifier
+     * @param name the display name
+     */
+    public Value(String id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  /**
+   * Returns the cached values for the key, running the loader when there is no usable entry.
+   *
+   * @param key    the key identifying the combo query and its context
+   * @param loader runs the query on a cache miss
+   * @return the combo values, in display order
+   * @throws Exception if the loader fails
+   */
+  @SuppressWarnings("java:S112")
+  public static List<Value> get(String key, BoundedCache.Loader<List<Value>, Exception> loader)
+      throws Exception {
+    return entries.get(key, () -> Collections.unmodifiableList(loader.load()));
+  }
+
+  /**
+   * Drops every cached combo result.
+   */
+  public static void clear() {
+    entries.clear();
+  }
+}
@@ -46,9 +46,12 @@ import com.etendoerp.metadata.utils.Constants;
  * (role/user/language) plus a {@code max(updated)} aggregate over the relevant AD entity,
  * rather than hashing the full response body. This avoids buffering the JSON payload.
  * <p>
- * {@code /meta/labels} has no single existing "module version" concept that is cheaply
- * queryable per-request; {@code max(AD_Module.updated)} across enabled modules is used as
- * the practical equivalent, since any module install/update touches that column.
+ * {@code /meta/labels} is fingerprinted with the version of the label bundle of the language in
+ * {@link LabelBundleCache}, which changes whenever a message or its translation changes, plus
+ * {@code max(AD_Module.updated)} across enabled modules. When the bundle is not loaded or is
+ * stale, no ETag is computed and the request is served normally. Only the full bundle is covered:
+ * requests with {@code since}, {@code module} or {@code partitions} return other content for the
+ * same path and are left to {@code LabelsService}.
  *
  * @author Futit Services S.L.
  */
@@ -60,6 +63,9 @@ public final class HttpCacheSupport {
 
     private static final Set<String> CACHEABLE_METHODS = Set.of(Constants.GET, Constants.HEAD);
 
+    private static final Set<String> LABELS_VARIANT_PARAMETERS = Set.of(Constants.LABELS_SINCE_PARAMETER,
+            Constants.LABELS_MODULE_PARAMETER, Constants.LABELS_PARTITIONS_PARAMETER);
+
     private static final String MENU_MAX_UPDATED_HQL =
             "select max(m." + Constants.UPDATED + ") from ADMenu m where m.module.enabled = true";
     private static final String ROLE_MAX_UPDATED_HQL =
@@ -81,7 +87,18 @@ public final class HttpCacheSupport {
     public static boolean isCacheable(HttpServletRequest req, String normalizedPath) {
         String method = req.getMethod();
 
-        return method != null && CACHEABLE_METHODS.contains(method) && CACHEABLE_PATHS.contains(normalizedPath);
+        return method != null && CACHEABLE_METHODS.contains(method) && CACHEABLE_PATHS.contains(normalizedPath)
+                && !(Constants.LABELS_PATH.equals(normalizedPath) && isLabelsVariant(req));
+    }
+
+    private static boolean isLabelsVariant(HttpServletRequest req) {
+        for (String parameter : LABELS_VARIANT_PARAMETERS) {
+            if (req.getParameter(parameter) != null) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -182,13 +199,15 @@ public final class HttpCacheSupport {
         OBContext context = OBContext.getOBContext();
         Language language = context != null ? context.getLanguage() : null;
 
-        if (language == null) {
+        Long version = LabelBundleCache.currentVersion(language);
+
+        if (version == null) {
             return null;
         }
 
         Date maxUpdated = executeMaxUpdated(MODULE_MAX_UPDATED_HQL);
 
-        return language.getId() + "|" + timestampOf(maxUpdated);
+        return language.getId() + "|" + version + "|" + timestampOf(maxUpdated);
     }
 
     private static Date executeMaxUpdated(String hql) {
@@ -201,7 +220,7 @@ public final class HttpCacheSupport {
         return date != null ? date.getTime() : 0L;
     }
 
-    private static String sha256Hex(String input) {
+    static String sha256Hex(String input) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
@@ -0,0 +1,496 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Cache of the I18N label bundle of each language, served by {@code /meta/labels}.
+ * <p>
+ * Each bundle is kept serialized and gzip-compressed, so a full label request is a byte copy.
+ * Bundles carry a version: when labels change, the next request reloads the bundle, compares it
+ * with the previous one and gives a new version to the labels that were added, changed or
+ * removed. {@link Bundle#delta(long)} returns only what changed after a given version, so clients
+ * that already hold the labels download only the changes.
+ * <p>
+ * Versions grow monotonically and start at the current time in milliseconds, so a version
+ * obtained before a server restart is older than any bundle of the new process and is answered
+ * with the full bundle. Deltas are answered for {@link #DELTA_HISTORY_MILLIS} after a change;
+ * older versions get the full bundle, so the history of removed labels does not grow forever.
+ * <p>
+ * Each bundle is also split into partitions, one per module, so clients can load only the
+ * labels of the modules they use. Every partition is serialized and compressed on its own and
+ * has its own ETag, computed from its content.
+ * <p>
+ * Bundles are marked as stale by {@link LabelCacheInvalidationObserver} when a message or its
+ * translation changes, and by {@link MetadataCacheManager#invalidateAll()}. Stale bundles keep
+ * their history, so deltas stay available across reloads. Each language is reloaded under its
+ * own lock, so a slow reload does not hold back the requests of other languages.
+ */
+public final class LabelBundleCache {
+  /** Key of the version in delta responses. */
+  public static final String VERSION = "version";
+  /** Key of the flag telling whether a delta response holds the full bundle. */
+  public static final String FULL = "full";
+  /** Key of the added or changed labels in delta responses. */
+  public static final String LABELS = "labels";
+  /** Key of the removed label keys in delta responses. */
+  public static final String REMOVED = "removed";
+  /** Partition of the labels whose module is unknown. */
+  public static final String UNASSIGNED_PARTITION = "unassigned";
+
+  /** How long a version keeps being answered with a delta once the labels change after it. */
+  static final long DELTA_HISTORY_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+  private static final Partition EMPTY_PARTITION = Partition.of(new LinkedHashMap<>());
+
+  private static final Map<String, Bundle> bundles = new ConcurrentHashMap<>();
+  // One monitor per language id; never dropped, since there are only a few languages
+  private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+  private static final AtomicLong lastVersion = new AtomicLong();
+  private static final AtomicLong invalidations = new AtomicLong();
+
+  private LabelBundleCache() {
+  }
+
+  /**
+   * Builds the labels of the current language on a cache miss.
+   */
+  @FunctionalInterface
+  public interface Loader {
+    /**
+     * Builds the labels, as a JSON object of label keys to values.
+     *
+     * @return the labels
+     * @throws JSONException if the labels cannot be built
+     */
+    JSONObject load() throws JSONException;
+  }
+
+  /**
+   * Builds the module of each label on a cache miss.
+   */
+  @FunctionalInterface
+  public interface ModuleLoader {
+    /**
+     * Builds the module of each label.
+     *
+     * @return the Java package of the module of each label, by label key
+     */
+    Map<String, String> load();
+  }
+
+  /**
+   * Immutable, serialized labels of a module.
+   */
+  public static final class Partition {
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+    private final int size;
+
+    private Partition(byte[] json, int size) {
+      this.json = json;
+      this.gzip = compress(json);
+      this.etag = HttpCacheSupport.sha256Hex(new String(json, StandardCharsets.UTF_8));
+      this.size = size;
+    }
+
+    static Partition of(Map<String, String> labels) {
+      return new Partition(toBytes(new JSONObject(labels)), labels.size());
+    }
+
+    /**
+     * Returns the labels of the partition as UTF-8 JSON. The array is shared and must not be
+     * modified.
+     *
+     * @return the serialized labels
+     */
+    public byte[] getJson() {
+      return json;
+    }
+
+    /**
+     * Returns the labels of the partition as gzip-compressed UTF-8 JSON. The array is shared and
+     * must not be modified.
+     *
+     * @return the compressed labels
+     */
+    public byte[] getGzip() {
+      return gzip;
+    }
+
+    /**
+     * Returns the quoted, strong ETag of the partition, derived from its content.
+     *
+     * @return the ETag
+     */
+    public String getETag() {
+      return etag;
+    }
+
+    public int getSize() {
+      return size;
+    }
+  }
+
+  /**
+   * Immutable, serialized label bundle of a language.
+   */
+  public static final class Bundle {
+    private final long version;
+    private final long baseVersion;
+    private final long generation;
+    private final Map<String, String> labels;
+    private final Map<String, Long> changedAt;
+    private final Map<String, Long> removedAt;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final Map<String, String> modules;
+    private final Map<String, Partition> partitions;
+    private final String partitionsETag;
+
+    @SuppressWarnings("java:S107")
+    private Bundle(long version, long baseVersion, long generation, Map<String, String> labels,
+        Map<String, Long> changedAt, Map<String, Long> removedAt, byte[] json, byte[] gzip,
+        Map<String, String> modules, Map<String, Partition> partitions) {
+      this.version = version;
+      this.baseVersion = baseVersion;
+      this.generation = generation;
+      this.labels = Collections.unmodifiableMap(labels);
+      this.changedAt = Collections.unmodifiableMap(changedAt);
+      this.removedAt = Collections.unmodifiableMap(removedAt);
+      this.json = json;
+      this.gzip = gzip;
+      this.modules = Collections.unmodifiableMap(modules);
+      this.partitions = Collections.unmodifiableMap(partitions);
+      this.partitionsETag = partitionsETagOf(version, partitions);
+    }
+
+    private static String partitionsETagOf(long version, Map<String, Partition> partitions) {
+      StringBuilder fingerprint = new StringBuilder().append(version);
+      for (Map.Entry<String, Partition> entry : new TreeMap<>(partitions).entrySet()) {
+        fingerprint.append('|').append(entry.getKey()).append('=').append(entry.getValue().getETag());
+      }
+      return HttpCacheSupport.sha256Hex(fingerprint.toString());
+    }
+
+    static Bundle initial(Map<String, String> labels, byte[] json, Map<String, String> modules, long version,
+        long generation) {
+      Map<String, Long> changedAt = new HashMap<>();
+      for (String key : labels.keySet()) {
+        changedAt.put(key, version);
+      }
+      return new Bundle(version, version, generation, labels, changedAt, new HashMap<>(), json, compress(json),
+          modules, partition(labels, modules));
+    }
+
+    /**
+     * Returns the bundle that follows this one with the given labels. Labels that were added,
+     * changed or removed are given the new version; when nothing changed, this bundle is kept
+     * with its version. Versions older than {@link #DELTA_HISTORY_MILLIS} before the new one
+     * stop being answered with a delta, unless they are the current version, and the removals
+     * only they needed are dropped.
+     */
+    Bundle next(Map<String, String> newLabels, byte[] newJson, Map<String, String> newModules, long newVersion,
+        long newGeneration) {
+      long nextBaseVersion = Math.max(baseVersion, Math.min(version, newVersion - DELTA_HISTORY_MILLIS));
+      Map<String, Long> nextChangedAt = new HashMap<>();
+      Map<String, Long> nextRemovedAt = new HashMap<>();
+      for (Map.Entry<String, Long> entry : removedAt.entrySet()) {
+        if (entry.getValue() > nextBaseVersion) {
+          nextRemovedAt.put(entry.getKey(), entry.getValue());
+        }
+      }
+      boolean changed = false;
+      for (Map.Entry<String, String> entry : newLabels.entrySet()) {
+        String key = entry.getKey();
+        if (labels.containsKey(key) && Objects.equals(labels.get(key), entry.getValue())) {
+          nextChangedAt.put(key, changedAt.get(key));
+        } else {
+          nextChangedAt.put(key, newVersion);
+          nextRemovedAt.remove(key);
+          changed = true;
+        }
+      }
+      for (String key : labels.keySet()) {
+        if (!newLabels.containsKey(key)) {
+          nextRemovedAt.put(key, newVersion);
+          changed = true;
+        }
+      }
+      if (!changed) {
+        Map<String, Partition> nextPartitions = modules.equals(newModules)
+            ? partitions
+            : partition(labels, newModules);
+        return new Bundle(version, baseVersion, newGeneration, labels, changedAt, removedAt, json, gzip,
+            newModules, nextPartitions);
+      }
+      return new Bundle(newVersion, nextBaseVersion, newGeneration, newLabels, nextChangedAt, nextRemovedAt,
+          newJson, compress(newJson), newModules, partition(newLabels, newModules));
+    }
+
+    public long getVersion() {
+      return version;
+    }
+
+    /**
+     * Returns the full bundle as UTF-8 JSON. The array is shared and must not be modified.
+     *
+     * @return the serialized bundle
+     */
+    public byte[] getJson() {
+      return json;
+    }
+
+    /**
+     * Returns the full bundle as gzip-compressed UTF-8 JSON. The array is shared and must not
+     * be modified.
+     *
+     * @return the compressed bundle
+     */
+    public byte[] getGzip() {
+      return gzip;
+    }
+
+    /**
+     * Returns the labels of a module. Modules without labels get an empty partition.
+     *
+     * @param module the Java package of the module, or {@link #UNASSIGNED_PARTITION}
+     * @return the partition of the module
+     */
+    public Partition getPartition(String module) {
+      return partitions.getOrDefault(module, EMPTY_PARTITION);
+    }
+
+    /**
+     * Returns every partition of the bundle, by module.
+     *
+     * @return the partitions
+     */
+    public Map<String, Partition> getPartitions() {
+      return partitions;
+    }
+
+    /**
+     * Returns the quoted, strong ETag of the partition index, derived from the bundle version
+     * and the ETag of every partition. It changes when a label changes, and when labels move
+     * to another module without changing.
+     *
+     * @return the ETag of the partition index
+     */
+    public String getPartitionsETag() {
+      return partitionsETag;
+    }
+
+    /**
+     * Returns the labels added or changed, and the keys removed, after the given version. When
+     * the version is unknown to this bundle (older than the history it keeps, or newer than its
+     * current version), every label is returned and {@code full} is {@code true}.
+     *
+     * @param since the version the client already holds
+     * @return the delta, with the current version
+     * @throws JSONException if the delta cannot be built
+     */
+    public JSONObject delta(long since) throws JSONException {
+      return delta(since, null);
+    }
+
+    /**
+     * Same as {@link #delta(long)}, restricted to the labels of a module. Removed keys are
+     * always returned, since their module is no longer known.
+     *
+     * @param since  the version the client already holds
+     * @param module the Java package of the module, or {@code null} for every module
+     * @return the delta, with the current version
+     * @throws JSONException if the delta cannot be built
+     */
+    public JSONObject delta(long since, String module) throws JSONException {
+      boolean full = since < baseVersion || since > version;
+      JSONObject changedLabels = new JSONObject();
+      for (Map.Entry<String, String> entry : labels.entrySet()) {
+        if (module != null && !module.equals(moduleOf(modules, entry.getKey()))) {
+          continue;
+        }
+        if (full || changedAt.get(entry.getKey()) > since) {
+          changedLabels.put(entry.getKey(), entry.getValue());
+        }
+      }
+      JSONArray removed = new JSONArray();
+      if (!full) {
+        for (Map.Entry<String, Long> entry : removedAt.entrySet()) {
+          if (entry.getValue() > since) {
+            removed.put(entry.getKey());
+          }
+        }
+      }
+      return new JSONObject()
+          .put(VERSION, version)
+          .put(FULL, full)
+          .put(LABELS, changedLabels)
+          .put(REMOVED, removed);
+    }
+  }
+
+  /**
+   * Returns the label bundle of the given language, loading it with the loader on first use or
+   * after an invalidation. A {@code null} language is loaded on every call.
+   *
+   * @param language the language of the labels
+   * @param loader   builds the labels on a cache miss
+   * @return the label bundle
+   * @throws JSONException if the labels cannot be built
+   */
+  public static Bundle get(Language language, Loader loader) throws JSONException {
+    return get(language, loader, Collections::emptyMap);
+  }
+
+  /**
+   * Returns the label bundle of the given language, loading it with the loaders on first use or
+   * after an invalidation. A {@code null} language is loaded on every call.
+   *
+   * @param language      the language of the labels
+   * @param loader        builds the labels on a cache miss
+   * @param moduleLoader  builds the module of each label on a cache miss; labels without a
+   *                      module go to {@link #UNASSIGNED_PARTITION}
+   * @return the label bundle
+   * @throws JSONException if the labels cannot be built
+   */
+  public static Bundle get(Language language, Loader loader, ModuleLoader moduleLoader) throws JSONException {
+    long generation = invalidations.get();
+    if (language == null || language.getId() == null) {
+      JSONObject labels = loader.load();
+      return Bundle.initial(toMap(labels), toBytes(labels), moduleLoader.load(), nextVersion(), generation);
+    }
+    String key = language.getId();
+    Bundle bundle = bundles.get(key);
+    if (bundle != null && bundle.generation == generation) {
+      return bundle;
+    }
+    synchronized (locks.computeIfAbsent(key, id -> new Object())) {
+      bundle = bundles.get(key);
+      if (bundle != null && bundle.generation == generation) {
+        return bundle;
+      }
+      JSONObject labels = loader.load();
+      Map<String, String> map = toMap(labels);
+      Map<String, String> modules = new HashMap<>(moduleLoader.load());
+      Bundle next = bundle == null
+          ? Bundle.initial(map, toBytes(labels), modules, nextVersion(), generation)
+          : bundle.next(map, toBytes(labels), modules, nextVersion(), generation);
+      bundles.put(key, next);
+      return next;
+    }
+  }
+
+  /**
+   * Returns the version of the bundle of the given language, when it is loaded and up to date.
+   * Does not load anything.
+   *
+   * @param language the language of the labels
+   * @return the version, or {@code null} when the next request of the language reloads its
+   *         labels
+   */
+  public static Long currentVersion(Language language) {
+    if (language == null || language.getId() == null) {
+      return null;
+    }
+    Bundle bundle = bundles.get(language.getId());
+    return bundle != null && bundle.generation == invalidations.get() ? bundle.version : null;
+  }
+
+  /**
+   * Marks every bundle as stale. The next request of each language reloads its labels and
+   * keeps the history of changes.
+   */
+  public static void invalidate() {
+    invalidations.incrementAndGet();
+  }
+
+  /**
+   * Drops every bundle together with its history.
+   */
+  public static void clear() {
+    bundles.clear();
+  }
+
+  private static long nextVersion() {
+    return lastVersion.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+  }
+
+  private static String moduleOf(Map<String, String> modules, String key) {
+    String module = modules.get(key);
+    return module != null ? module : UNASSIGNED_PARTITION;
+  }
+
+  private static Map<String, Partition> partition(Map<String, String> labels, Map<String, String> modules) {
+    Map<String, Map<String, String>> labelsByModule = new LinkedHashMap<>();
+    for (Map.Entry<String, String> entry : labels.entrySet()) {
+      labelsByModule.computeIfAbsent(moduleOf(modules, entry.getKey()), module -> new LinkedHashMap<>())
+          .put(entry.getKey(), entry.getValue());
+    }
+    Map<String, Partition> partitions = new LinkedHashMap<>();
+    for (Map.Entry<String, Map<String, String>> entry : labelsByModule.entrySet()) {
+      partitions.put(entry.getKey(), Partition.of(entry.getValue()));
+    }
+    return partitions;
+  }
+
+  private static Map<String, String> toMap(JSONObject labels) throws JSONException {
+    Map<String, String> map = new LinkedHashMap<>();
+    Iterator<?> keys = labels.keys();
+    while (keys.hasNext()) {
+      String key = (String) keys.next();
+      map.put(key, labels.getString(key));
+    }
+    return map;
+  }
+
+  private static byte[] toBytes(JSONObject labels) {
+    return labels.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] compress(byte[] data) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+    try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+      gzip.write(data);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Registry of the system languages, shared by every request.
+ * <p>
+ * It keeps the serialized language list of the session endpoint per language it is translated
+ * to. Only JSON is kept, never the language entities. At most {@link #MAX_ENTRIES} lists are
+ * kept in a {@link BoundedCache}, which evicts the least recently used one when full.
+ * <p>
+ * The registry is dropped by {@link LanguageCacheInvalidationObserver} when a language
+ * changes, and by {@link MetadataCacheManager#invalidateAll()}.
+ */
+public final class LanguageRegistry {
+  static final int MAX_ENTRIES = 1_000;
+
+  private static final BoundedCache<JSONObject> languageLists = new BoundedCache<>(MAX_ENTRIES);
+
+  private LanguageRegistry() {
+  }
+
+  /**
+   * Returns the language list translated to the given language, building it with the loader on
+   * first use. The JSON object is shared and must not be modified. A {@code null} language is
+   * built on every call.
+   *
+   * @param language the language the list is translated to
+   * @param loader   builds the list on a cache miss
+   * @return the languages, by language code
+   * @throws JSONException if the list cannot be built
+   */
+  public static JSONObject getLanguages(Language language,
+      BoundedCache.Loader<JSONObject, JSONException> loader) throws JSONException {
+    if (language == null || language.getId() == null) {
+      return loader.load();
+    }
+    return languageLists.get(language.getId(), loader);
+  }
+
+  /**
+   * Drops every language list.
+   */
+  public static void clear() {
+    languageLists.clear();
+  }
+}
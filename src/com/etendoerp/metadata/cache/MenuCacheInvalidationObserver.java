@@ -94,7 +94,8 @@ class MenuCacheInvalidationObserver extends EntityPersistenceEventObserver {
   }
 
   /**
-   * Invalidates the menu cache when the event targets one of the observed entities.
+   * Invalidates the menu cache when the event targets one of the observed entities. The role
+   * access matrices are dropped as well, since they remember process access decisions.
    *
    * @param event The persistence event.
    */
@@ -103,6 +104,7 @@ class MenuCacheInvalidationObserver extends EntityPersistenceEventObserver {
       return;
     }
     MenuBuilder.clearMenuCache();
+    RoleAccessMatrix.clear();
   }
 
   @Override
@@ -20,7 +20,7 @@ package com.etendoerp.metadata.cache;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.etendoerp.metadata.builders.FieldBuilderWithColumn;
+import com.etendoerp.metadata.builders.LegacyProcessResolver;
 import com.etendoerp.metadata.builders.MenuBuilder;
 import com.etendoerp.metadata.builders.WindowBuilder;
 import com.etendoerp.metadata.data.TabProcessor;
@@ -37,7 +37,10 @@ public class MetadataCacheManager {
   }
 
   /**
-   * Invalidates all metadata caches: field, field access, tab allowed, window access, and menu.
+   * Invalidates all metadata caches: field, field access, tab allowed, role access matrices,
+   * table columns, tab hierarchies, reference lists, selectors, process definitions, legacy
+   * process resolutions, combo values, toolbars, label bundles (marked as stale), session roles
+   * trees, organization warehouse indexes, the language registry, and menu.
    * Called by {@link MetadataCacheInvalidationObserver} when Application Dictionary entities change.
    */
   public static void invalidateAll() {
@@ -45,7 +48,47 @@ public class MetadataCacheManager {
     TabProcessor.clearFieldCache();
     TabProcessor.clearFieldAccessCache();
     WindowBuilder.clearTabAllowedCache();
-    FieldBuilderWithColumn.clearWindowAccessCache();
+    RoleAccessMatrix.clear();
+    TableColumnCache.clear();
+    TabHierarchyCache.clear();
+    ReferenceListCache.clear();
+    SelectorMetadataCache.clear();
+    ProcessDefinitionCache.clear();
+    LegacyProcessResolver.clearCache();
+    ComboDataCache.clear();
+    ToolbarCache.clear();
+    LabelBundleCache.invalidate();
+    SessionRolesCache.clear();
+    OrganizationWarehouseIndex.clear();
+    LanguageRegistry.clear();
     MenuBuilder.clearMenuCache();
   }
+
+  /**
+   * Invalidates the reference caches and the field caches that embed reference data.
+   * Called by {@link ReferenceCacheInvalidationObserver} when references, their values,
+   * selectors or validation rules change.
+   */
+  public static void invalidateReferences() {
+    logger.info("Invalidating reference metadata caches");
+    ReferenceListCache.clear();
+    SelectorMetadataCache.clear();
+    ProcessDefinitionCache.clear();
+    ComboDataCache.clear();
+    TabProcessor.clearFieldCache();
+    TabProcessor.clearFieldAccessCache();
+  }
+
+  /**
+   * Invalidates the process definitions, the legacy process resolutions and the field caches
+   * that embed them in button fields. Called by {@link ProcessCacheInvalidationObserver} when
+   * processes, their parameters, report definitions or legacy process mappings change.
+   */
+  public static void invalidateProcesses() {
+    logger.info("Invalidating process metadata caches");
+    ProcessDefinitionCache.clear();
+    LegacyProcessResolver.clearCache();
+    TabProcessor.clearFieldCache();
+    TabProcessor.clearFieldAccessCache();
+  }
 }
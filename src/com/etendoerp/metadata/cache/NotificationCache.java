@@ -0,0 +1,337 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory per-user notification state used by the {@code NOTIFICATION} widget: the unread
+ * counter and a bounded buffer with the most recent notifications.
+ * <p>
+ * Entries are primed from the database on the first poll of a user (cold start) and are then
+ * kept up to date by {@link NotificationCacheInvalidationObserver} once the transaction that
+ * changed the notes commits: new notes are applied as a delta, while updates and deletes mark the
+ * entry as stale so the next poll reloads it. Every change bumps a globally unique version
+ * number, which lets clients long-poll with {@link #awaitChange(String, long, long)} and wake up
+ * only when their state actually changed.
+ * <p>
+ * Loads and changes are ordered with change stamps: a load takes the stamp of its user with
+ * {@link #loadStamp(String)} before querying, and {@link #prime(String, long, long, List)} does
+ * not store the result if a change was committed in the meantime. A new note is only applied as
+ * a delta to an entry loaded before the note was flushed, since later loads may already count
+ * it; other entries are invalidated instead.
+ * <p>
+ * Entries expire after {@link #ENTRY_TTL_MILLIS} as a safety net for changes this node does not
+ * observe (other cluster nodes, bulk imports with triggers disabled).
+ */
+public final class NotificationCache {
+  /** Maximum number of recent notifications kept per user. */
+  public static final int BUFFER_SIZE = 50;
+  /** Maximum number of users tracked at the same time. */
+  static final int MAX_ENTRIES = 10_000;
+  /** Time after which an entry is reloaded from the database even without events. */
+  static final long ENTRY_TTL_MILLIS = 5L * 60L * 1000L;
+
+  /** Number of change stamp stripes users are hashed to. */
+  private static final int STAMP_STRIPES = 256;
+
+  private static final AtomicLong versionSequence = new AtomicLong();
+  private static final AtomicLongArray changeStamps = new AtomicLongArray(STAMP_STRIPES);
+  private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  private NotificationCache() {
+  }
+
+  /**
+   * Immutable notification row as exposed by the widget.
+   */
+  public static final class Item {
+    private final String text;
+    private final Object priority;
+    private final Date time;
+
+    /**
+     * Creates a notification item.
+     *
+     * @param text     the note text
+     * @param priority the raw priority value stored in the note
+     * @param time     the creation date of the note
+     */
+    public Item(String text, Object priority, Date time) {
+      this.text = text;
+      this.priority = priority;
+      this.time = time != null ? new Date(time.getTime()) : null;
+    }
+
+    public String getText() {
+      return text;
+    }
+
+    public Object getPriority() {
+      return priority;
+    }
+
+    public Date getTime() {
+      return time != null ? new Date(time.getTime()) : null;
+    }
+  }
+
+  /**
+   * Immutable view of a user's notification state at a given version.
+   */
+  public static final class Snapshot {
+    private final long unreadCount;
+    private final List<Item> items;
+    private final long version;
+
+    Snapshot(long unreadCount, List<Item> items, long version) {
+      this.unreadCount = unreadCount;
+      this.items = Collections.unmodifiableList(items);
+      this.version = version;
+    }
+
+    public long getUnreadCount() {
+      return unreadCount;
+    }
+
+    /**
+     * Returns the most recent notifications, newest first, bounded by {@link #BUFFER_SIZE}.
+     *
+     * @return the buffered notifications
+     */
+    public List<Item> getItems() {
+      return items;
+    }
+
+    public long getVersion() {
+      return version;
+    }
+  }
+
+  private static final class Entry {
+    private final Deque<Item> recent = new ArrayDeque<>();
+    private final long loadedAt = System.currentTimeMillis();
+    private final long loadStamp;
+    private long unreadCount;
+    private long version;
+    private boolean stale;
+
+    Entry(long loadStamp, long unreadCount, List<Item> items) {
+      this.loadStamp = loadStamp;
+      this.unreadCount = unreadCount;
+      for (Item item : items) {
+        if (recent.size() >= BUFFER_SIZE) {
+          break;
+        }
+        recent.addLast(item);
+      }
+      this.version = versionSequence.incrementAndGet();
+    }
+
+    synchronized boolean isUsable() {
+      return !stale && System.currentTimeMillis() - loadedAt < ENTRY_TTL_MILLIS;
+    }
+
+    synchronized Snapshot snapshot() {
+      return new Snapshot(unreadCount, new ArrayList<>(recent), version);
+    }
+
+    synchronized void add(Item item) {
+      unreadCount++;
+      recent.addFirst(item);
+      while (recent.size() > BUFFER_SIZE) {
+        recent.removeLast();
+      }
+      changed();
+    }
+
+    synchronized void markStale() {
+      stale = true;
+      changed();
+    }
+
+    synchronized void await(long knownVersion, long timeoutMillis) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + timeoutMillis;
+      long remaining = timeoutMillis;
+      while (version == knownVersion && !stale && remaining > 0) {
+        wait(remaining);
+        remaining = deadline - System.currentTimeMillis();
+      }
+    }
+
+    private void changed() {
+      version = versionSequence.incrementAndGet();
+      notifyAll();
+    }
+  }
+
+  /**
+   * Returns the cached state of the given user, or {@code null} when there is no usable entry
+   * (never loaded, expired or marked stale) and the caller must load it from the database.
+   *
+   * @param userId the user whose notifications are requested
+   * @return the current snapshot, or {@code null} on a cache miss
+   */
+  public static Snapshot get(String userId) {
+    Entry entry = entries.get(userId);
+    return entry != null && entry.isUsable() ? entry.snapshot() : null;
+  }
+
+  /**
+   * Returns the current change stamp of the given user. It must be taken before the state of the
+   * user is read from the database and passed to {@link #prime(String, long, long, List)}.
+   *
+   * @param userId the user whose state is going to be loaded
+   * @return the change stamp
+   */
+  public static long loadStamp(String userId) {
+    return changeStamps.get(stripe(userId));
+  }
+
+  /**
+   * Starts a change of the notes of the given user, before it is flushed to the database.
+   *
+   * @param userId the user whose notes change
+   * @return the change stamp, to be passed to {@link #onCreated(String, Item, long)} once the
+   *         change is committed
+   */
+  public static long beginChange(String userId) {
+    return changeStamps.incrementAndGet(stripe(userId));
+  }
+
+  /**
+   * Stores the state loaded from the database for the given user, replacing any stale entry.
+   * Waiters on the previous entry are woken up so they re-read the fresh state. The state is not
+   * stored when a change of the user was committed after {@code loadStamp} was taken, because
+   * the load may have missed it.
+   *
+   * @param userId      the user the state belongs to
+   * @param loadStamp   the stamp taken with {@link #loadStamp(String)} before loading the state
+   * @param unreadCount the unread notification count
+   * @param items       the most recent notifications, newest first
+   * @return the snapshot of the loaded state
+   */
+  public static Snapshot prime(String userId, long loadStamp, long unreadCount, List<Item> items) {
+    Entry fresh = new Entry(loadStamp, unreadCount, items);
+    if (loadStamp(userId) != loadStamp) {
+      return fresh.snapshot();
+    }
+    if (entries.size() >= MAX_ENTRIES && !entries.containsKey(userId)) {
+      evictUnusable();
+      if (entries.size() >= MAX_ENTRIES) {
+        return fresh.snapshot();
+      }
+    }
+    Entry previous = entries.put(userId, fresh);
+    if (previous != null) {
+      previous.markStale();
+    }
+    return fresh.snapshot();
+  }
+
+  /**
+   * Applies a committed new notification to the user's cached state. The note is only added to
+   * an entry loaded before {@code changeStamp}; an entry loaded later may already include it and
+   * is invalidated instead. Users without a usable entry are ignored: their next poll loads the
+   * state, including this note, from the database.
+   *
+   * @param userId      the recipient of the notification
+   * @param item        the new notification
+   * @param changeStamp the stamp returned by {@link #beginChange(String)} when the note was
+   *                    flushed
+   */
+  public static void onCreated(String userId, Item item, long changeStamp) {
+    if (userId == null) {
+      return;
+    }
+    beginChange(userId);
+    Entry entry = entries.get(userId);
+    if (entry == null || !entry.isUsable()) {
+      return;
+    }
+    if (entry.loadStamp < changeStamp) {
+      entry.add(item);
+    } else {
+      invalidate(userId);
+    }
+  }
+
+  /**
+   * Marks the user's cached state as stale so it is reloaded on the next poll, waking up any
+   * client long-polling on it. Loads started before this call are not stored.
+   *
+   * @param userId the user whose notifications changed
+   */
+  public static void invalidate(String userId) {
+    if (userId == null) {
+      return;
+    }
+    beginChange(userId);
+    Entry entry = entries.remove(userId);
+    if (entry != null) {
+      entry.markStale();
+    }
+  }
+
+  /**
+   * Blocks until the user's state moves past {@code knownVersion}, the entry is invalidated, or
+   * the timeout elapses. Returns immediately when the user has no cached entry.
+   *
+   * @param userId        the user to wait for
+   * @param knownVersion  the version the client already holds
+   * @param timeoutMillis the maximum time to wait
+   * @throws InterruptedException if the waiting thread is interrupted
+   */
+  public static void awaitChange(String userId, long knownVersion, long timeoutMillis)
+      throws InterruptedException {
+    Entry entry = entries.get(userId);
+    if (entry != null && timeoutMillis > 0) {
+      entry.await(knownVersion, timeoutMillis);
+    }
+  }
+
+  /**
+   * Drops every cached entry, waking up all long-polling clients. Loads in progress are not
+   * stored.
+   */
+  public static void clear() {
+    for (int i = 0; i < STAMP_STRIPES; i++) {
+      changeStamps.incrementAndGet(i);
+    }
+    for (String userId : entries.keySet()) {
+      invalidate(userId);
+    }
+  }
+
+  private static int stripe(String userId) {
+    return (userId != null ? userId.hashCode() : 0) & (STAMP_STRIPES - 1);
+  }
+
+  private static void evictUnusable() {
+    entries.entrySet().removeIf(e -> !e.getValue().isUsable());
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.enterprise.event.Observes;
+
+import org.hibernate.resource.transaction.spi.TransactionStatus;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.base.model.Property;
+import org.openbravo.base.structure.BaseOBObject;
+import org.openbravo.client.kernel.event.EntityDeleteEvent;
+import org.openbravo.client.kernel.event.EntityNewEvent;
+import org.openbravo.client.kernel.event.EntityPersistenceEventObserver;
+import org.openbravo.client.kernel.event.EntityUpdateEvent;
+import org.openbravo.client.kernel.event.TransactionCompletedEvent;
+
+/**
+ * Keeps {@link NotificationCache} in sync with the notes module ({@code AN_Note}).
+ * <p>
+ * New active notes are applied to the recipient's cached counter and recent-items buffer;
+ * updates (e.g. marking a note as read) and deletes mark the affected users' entries as stale
+ * so their next poll reloads them. Note events arrive while the session is flushed, so the
+ * changes are queued per thread and only applied to the cache when the transaction commits; a
+ * rolled back transaction discards them. When the notes module is not installed the entity does
+ * not exist and this observer watches nothing.
+ * <p>
+ * The base class {@link EntityPersistenceEventObserver#isValidEvent} already skips events during
+ * bulk imports (when TriggerHandler is disabled).
+ */
+class NotificationCacheInvalidationObserver extends EntityPersistenceEventObserver {
+
+  static final String NOTE_ENTITY = "AN_Note";
+  static final String PROPERTY_USER = "userContact";
+  static final String PROPERTY_ACTIVE = "isactive";
+  static final String PROPERTY_NOTE = "note";
+  static final String PROPERTY_PRIORITY = "priority";
+  static final String PROPERTY_CREATION_DATE = "creationDate";
+
+  private static final Entity[] entities = resolveObservedEntities();
+  private static final ThreadLocal<List<Runnable>> pendingChanges = ThreadLocal.withInitial(ArrayList::new);
+
+  private static Entity[] resolveObservedEntities() {
+    Entity note = ModelProvider.getInstance().getEntity(NOTE_ENTITY, false);
+    return note != null ? new Entity[] { note } : new Entity[0];
+  }
+
+  public void onNew(@Observes EntityNewEvent event) {
+    if (!isValidEvent(event)) {
+      return;
+    }
+    BaseOBObject note = event.getTargetInstance();
+    if (!isActive(note.get(PROPERTY_ACTIVE))) {
+      return;
+    }
+    String userId = getId(note.get(PROPERTY_USER));
+    if (userId == null) {
+      return;
+    }
+    Object creationDate = note.get(PROPERTY_CREATION_DATE);
+    NotificationCache.Item item = new NotificationCache.Item((String) note.get(PROPERTY_NOTE),
+        note.get(PROPERTY_PRIORITY), creationDate instanceof Date ? (Date) creationDate : new Date());
+    long changeStamp = NotificationCache.beginChange(userId);
+    pendingChanges.get().add(() -> NotificationCache.onCreated(userId, item, changeStamp));
+  }
+
+  public void onUpdate(@Observes EntityUpdateEvent event) {
+    if (!isValidEvent(event)) {
+      return;
+    }
+    Property userProperty = event.getTargetInstance().getEntity().getProperty(PROPERTY_USER, false);
+    if (userProperty != null) {
+      String previousUserId = getId(event.getPreviousState(userProperty));
+      String currentUserId = getId(event.getCurrentState(userProperty));
+      pendingChanges.get().add(() -> {
+        NotificationCache.invalidate(previousUserId);
+        NotificationCache.invalidate(currentUserId);
+      });
+    } else {
+      pendingChanges.get().add(NotificationCache::clear);
+    }
+  }
+
+  public void onDelete(@Observes EntityDeleteEvent event) {
+    if (!isValidEvent(event)) {
+      return;
+    }
+    String userId = getId(event.getTargetInstance().get(PROPERTY_USER));
+    pendingChanges.get().add(() -> NotificationCache.invalidate(userId));
+  }
+
+  public void onTransactionCompleted(@Observes TransactionCompletedEvent event) {
+    List<Runnable> changes = pendingChanges.get();
+    if (changes.isEmpty()) {
+      return;
+    }
+    pendingChanges.remove();
+    if (event.getTransaction() != null && event.getTransaction().getStatus() == TransactionStatus.COMMITTED) {
+      changes.forEach(Runnable::run);
+    }
+  }
+
+  private static boolean isActive(Object value) {
+    return Boolean.TRUE.equals(value) || "Y".equals(value);
+  }
+
+  private static String getId(Object value) {
+    return value instanceof BaseOBObject ? (String) ((BaseOBObject) value).getId() : null;
+  }
+
+  @Override
+  protected Entity[] getObservedEntities() {
+    return entities;
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cache of the warehouses visible from each organization of a client, following the natural
+ * tree rule of {@code RoleInfo.getOrganizationWarehouses()}: a warehouse is visible from every
+ * organization whose natural tree contains the organization of the warehouse.
+ * <p>
+ * The natural tree relation is symmetric (an organization is in the natural tree of another
+ * one when it is one of its ancestors or descendants), so the index is built by walking the
+ * natural tree of each warehouse organization once, instead of checking every warehouse
+ * against the natural tree of every organization. Only identifiers are kept. At most
+ * {@link #MAX_ENTRIES} clients are kept in a {@link BoundedCache}, which evicts the least
+ * recently used one when full.
+ * <p>
+ * Entries are dropped by {@link SessionCacheInvalidationObserver} when an organization, a
+ * warehouse or a tree node changes, and by {@link MetadataCacheManager#invalidateAll()}.
+ */
+public final class OrganizationWarehouseIndex {
+  static final int MAX_ENTRIES = 1_000;
+
+  private static final BoundedCache<Index> indexes = new BoundedCache<>(MAX_ENTRIES);
+
+  private OrganizationWarehouseIndex() {
+  }
+
+  /**
+   * Warehouse of the index, together with its organization.
+   */
+  public static final class Entry {
+    private final String warehouseId;
+    private final String organizationId;
+
+    /**
+     * Creates an index entry.
+     *
+     * @param warehouseId    the warehouse id
+     * @param organizationId the id of the organization of the warehouse
+     */
+    public Entry(String warehouseId, String organizationId) {
+      this.warehouseId = warehouseId;
+      this.organizationId = organizationId;
+    }
+
+    public String getWarehouseId() {
+      return warehouseId;
+    }
+
+    public String getOrganizationId() {
+      return organizationId;
+    }
+  }
+
+  /**
+   * Immutable warehouses of a client, by the organizations they are visible from.
+   */
+  public static final class Index {
+    private final Map<String, List<Entry>> warehousesByOrganization;
+
+    /**
+     * Indexes the given warehouses.
+     *
+     * @param warehouses  the warehouses of the client, in the order they must be returned
+     * @param naturalTree returns the natural tree of an organization
+     */
+    public Index(List<Entry> warehouses, Function<String, Set<String>> naturalTree) {
+      Map<String, Set<String>> naturalTrees = new HashMap<>();
+      Map<String, List<Entry>> byOrganization = new HashMap<>();
+      for (Entry warehouse : warehouses) {
+        Set<String> organizationIds = naturalTrees.computeIfAbsent(warehouse.organizationId, naturalTree);
+        for (String organizationId : organizationIds) {
+          byOrganization.computeIfAbsent(organizationId, id -> new ArrayList<>()).add(warehouse);
+        }
+      }
+      Map<String, List<Entry>> index = new HashMap<>();
+      for (Map.Entry<String, List<Entry>> entry : byOrganization.entrySet()) {
+        index.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+      }
+      this.warehousesByOrganization = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Returns the warehouses visible from an organization.
+     *
+     * @param organizationId the organization id
+     * @return the visible warehouses, in index order
+     */
+    public List<Entry> getWarehouses(String organizationId) {
+      return warehousesByOrganization.getOrDefault(organizationId, Collections.emptyList());
+    }
+  }
+
+  /**
+   * Returns the index of the given client, building it with the loader on first use.
+   * A {@code null} client is built on every call.
+   *
+   * @param clientId the client id
+   * @param loader   builds the index on a cache miss
+   * @return the index
+   */
+  public static Index get(String clientId, BoundedCache.Loader<Index, RuntimeException> loader) {
+    if (clientId == null) {
+      return loader.load();
+    }
+    return indexes.get(clientId, loader);
+  }
+
+  /**
+   * Drops the index of every client.
+   */
+  public static void clear() {
+    indexes.clear();
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+/**
+ * Cache of the resolved preferences served by the preferences endpoint, keyed by client,
+ * organization, user and role, the same context {@code Preferences.getAllPreferences} resolves
+ * them for.
+ * <p>
+ * Each entry keeps the response serialized as UTF-8 JSON bytes together with its ETag, so
+ * clients that already hold the preferences get a {@code 304 Not Modified} without the
+ * preferences being resolved or serialized again. At most {@link #MAX_ENTRIES} entries are
+ * kept in a {@link BoundedCache}, which evicts the least recently used one when full.
+ * <p>
+ * Entries are dropped by {@link PreferenceCacheInvalidationObserver} when a preference changes.
+ */
+public final class PreferenceCache {
+  /** Maximum number of preference sets kept at the same time. */
+  static final int MAX_ENTRIES = 10_000;
+  /** Key of the preferences in the response. */
+  public static final String PREFERENCES = "preferences";
+
+  private static final BoundedCache<Entry> entries = new BoundedCache<>(MAX_ENTRIES);
+
+  private PreferenceCache() {
+  }
+
+  /**
+   * Immutable, serialized preferences of a context.
+   */
+  public static final class Entry {
+    private final byte[] json;
+    private final String etag;
+
+    Entry(Map<String, String> preferences) throws JSONException {
+      String serialized = new JSONObject().put(PREFERENCES, new JSONObject(preferences)).toString();
+      this.json = serialized.getBytes(StandardCharsets.UTF_8);
+      this.etag = HttpCacheSupport.sha256Hex(serialized);
+    }
+
+    /**
+     * Returns the response as UTF-8 JSON. The array is shared and must not be modified.
+     *
+     * @return the serialized response
+     */
+    public byte[] getJson() {
+      return json;
+    }
+
+    /**
+     * Returns the quoted, strong ETag of the response, derived from its content.
+     *
+     * @return the ETag
+     */
+    public String getETag() {
+      return etag;
+    }
+  }
+
+  /**
+   * Returns the preferences of the given context, resolving them with the loader on first use.
+   * Contexts with a missing identifier are resolved on every call.
+   *
+   * @param clientId       the client id
+   * @param organizationId the organization id
+   * @param userId         the user id
+   * @param roleId         the role id
+   * @param loader         resolves the preferences on a cache miss
+   * @return the serialized preferences
+   * @throws JSONException if the preferences cannot be serialized
+   */
+  public static Entry get(String clientId, String organizationId, String userId, String roleId,
+      BoundedCache.Loader<Map<String, String>, RuntimeException> loader) throws JSONException {
+    if (clientId == null || organizationId == null || userId == null || roleId == null) {
+      return new Entry(loader.load());
+    }
+    String key = String.join("_", clientId, organizationId, userId, roleId);
+    return entries.get(key, () -> new Entry(loader.load()));
+  }
+
+  /**
+   * Drops the preferences of every context.
+   */
+  public static void clear() {
+    entries.clear();
+  }
+}
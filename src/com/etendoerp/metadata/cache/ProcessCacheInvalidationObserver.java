@@ -0,0 +1,78 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import javax.enterprise.event.Observes;
+
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.client.application.Parameter;
+import org.openbravo.client.application.Process;
+import org.openbravo.client.application.ReportDefinition;
+import org.openbravo.client.kernel.event.EntityDeleteEvent;
+import org.openbravo.client.kernel.event.EntityNewEvent;
+import org.openbravo.client.kernel.event.EntityPersistenceEventObserver;
+import org.openbravo.client.kernel.event.EntityUpdateEvent;
+import org.openbravo.model.ad.domain.ModelImplementation;
+import org.openbravo.model.ad.domain.ModelImplementationMapping;
+
+/**
+ * Observes changes to OBUIAPP process definitions, their parameters and report definitions,
+ * and to legacy processes and their model implementation mappings, and invalidates the process
+ * caches through {@link MetadataCacheManager#invalidateProcesses()}.
+ * <p>
+ * The base class {@link EntityPersistenceEventObserver#isValidEvent} already
+ * skips events during bulk imports (when TriggerHandler is disabled).
+ */
+class ProcessCacheInvalidationObserver extends EntityPersistenceEventObserver {
+
+  private static final Entity[] entities = {
+      ModelProvider.getInstance().getEntity(Process.ENTITY_NAME),
+      ModelProvider.getInstance().getEntity(Parameter.ENTITY_NAME),
+      ModelProvider.getInstance().getEntity(ReportDefinition.ENTITY_NAME),
+      ModelProvider.getInstance().getEntity(org.openbravo.model.ad.ui.Process.ENTITY_NAME),
+      ModelProvider.getInstance().getEntity(ModelImplementation.ENTITY_NAME),
+      ModelProvider.getInstance().getEntity(ModelImplementationMapping.ENTITY_NAME)
+  };
+
+  public void onNew(@Observes EntityNewEvent event) {
+    if (!isValidEvent(event)) {
+      return;
+    }
+    MetadataCacheManager.invalidateProcesses();
+  }
+
+  public void onUpdate(@Observes EntityUpdateEvent event) {
+    if (!isValidEvent(event)) {
+      return;
+    }
+    MetadataCacheManager.invalidateProcesses();
+  }
+
+  public void onDelete(@Observes EntityDeleteEvent event) {
+    if (!isValidEvent(event)) {
+      return;
+    }
+    MetadataCacheManager.invalidateProcesses();
+  }
+
+  @Override
+  protected Entity[] getObservedEntities() {
+    return entities;
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.base.structure.BaseOBObject;
+import org.openbravo.client.application.Process;
+import org.openbravo.model.ad.access.Role;
+import org.openbravo.model.ad.system.Language;
+
+import com.etendoerp.metadata.utils.JsonUtils;
+
+/**
+ * Cache of OBUIAPP process definitions ({@code OBUIAPP_Process}) with their parameters.
+ * <p>
+ * Definitions are built once per process, role and language, and shared by
+ * {@code /meta/process/{id}} and by every button field that launches the process. The role is
+ * part of the key because the converter drops properties the role cannot read and window
+ * reference parameters embed the window as the role sees it. Callers receive a copy to which
+ * they can add their own top-level keys. At most {@link #MAX_ENTRIES} definitions are kept in a
+ * {@link BoundedCache}, which evicts the least recently used one when full.
+ * <p>
+ * Entries are dropped by {@link ProcessCacheInvalidationObserver} when a process, a parameter
+ * or a report definition changes, and by {@link MetadataCacheManager#invalidateAll()} and
+ * {@link MetadataCacheManager#invalidateReferences()}.
+ */
+public final class ProcessDefinitionCache {
+  /** Maximum number of definitions kept at the same time. */
+  static final int MAX_ENTRIES = 5_000;
+
+  private static final BoundedCache<JSONObject> definitions = new BoundedCache<>(MAX_ENTRIES);
+
+  private ProcessDefinitionCache() {
+  }
+
+  /**
+   * Returns a copy of the definition of the process for the given role and language, building
+   * it with the loader on first use. The copy follows the contract of
+   * {@link JsonUtils#topLevelCopy}. Processes without an identifier are built on every call.
+   *
+   * @param process  the process definition
+   * @param role     the role the definition is built for
+   * @param language the language the definition is translated to
+   * @param loader   builds the definition on a cache miss
+   * @return a copy of the cached definition
+   * @throws JSONException if the definition cannot be built or copied
+   */
+  public static JSONObject getDefinition(Process process, Role role, Language language,
+      BoundedCache.Loader<JSONObject, JSONException> loader) throws JSONException {
+    if (process.getId() == null) {
+      return loader.load();
+    }
+    String key = String.join("_", process.getId(), idOf(role), idOf(language));
+    return JsonUtils.topLevelCopy(definitions.get(key, loader));
+  }
+
+  /**
+   * Drops every cached process definition.
+   */
+  public static void clear() {
+    definitions.clear();
+  }
+
+  private static String idOf(BaseOBObject object) {
+    return object != null ? (String) object.getId() : "";
+  }
+}
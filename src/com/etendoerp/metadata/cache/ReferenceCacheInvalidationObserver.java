@@ -0,0 +1,73 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import javax.enterprise.event.Observes;
+
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.ModelProvider;
+import org.openbravo.client.kernel.event.EntityDeleteEvent;
+import org.openbravo.client.kernel.event.EntityNewEvent;
+import org.openbravo.client.kernel.event.EntityPersistenceEventObserver;
+import org.openbravo.client.kernel.event.EntityUpdateEvent;
+
+/**
+ * Observes changes to references, their list values (including translations), custom
+ * selectors and validation rules, and invalidates the reference caches through
+ * {@link MetadataCacheManager#invalidateReferences()}.
+ * <p>
+ * The base class {@link EntityPersistenceEventObserver#isValidEvent} already
+ * skips events during bulk imports (when TriggerHandler is disabled).
+ */
+class ReferenceCacheInvalidationObserver extends EntityPersistenceEventObserver {
+
+  private static final Entity[] entities = {
+      ModelProvider.getInstance().getEntity("ADReference"),
+      ModelProvider.getInstance().getEntity("ADList"),
+      ModelProvider.getInstance().getEntity("ADListTrl"),
+      ModelProvider.getInstance().getEntity("OBUISEL_Selector"),
+      ModelProvider.getInstance().getEntity("OBUISEL_SelectorField"),
+      ModelProvider.getInstance().getEntity("ADValRule")
+  };
+
+  public void onNew(@Observes EntityNewEvent event) {
+    if (!isValidEvent(event)) {
+      return;
+    }
+    MetadataCacheManager.invalidateReferences();
+  }
+
+  public void onUpdate(@Observes EntityUpdateEvent event) {
+    if (!isValidEvent(event)) {
+      return;
+    }
+    MetadataCacheManager.invalidateReferences();
+  }
+
+  public void onDelete(@Observes EntityDeleteEvent event) {
+    if (!isValidEvent(event)) {
+      return;
+    }
+    MetadataCacheManager.invalidateReferences();
+  }
+
+  @Override
+  protected Entity[] getObservedEntities() {
+    return entities;
+  }
+}
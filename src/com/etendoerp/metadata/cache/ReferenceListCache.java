@@ -0,0 +1,114 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openbravo.model.ad.domain.Reference;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Shared cache of translated reference list values ({@code AD_Ref_List}) keyed by reference and
+ * language. Every list field, process parameter and button list built for the same reference and
+ * language reuses the same immutable entries instead of loading and translating the list again.
+ * At most {@link #MAX_ENTRIES} lists are kept in a {@link BoundedCache}, which evicts the least
+ * recently used one when full.
+ * <p>
+ * Entries are dropped by {@link ReferenceCacheInvalidationObserver} when a reference, a list
+ * value or one of its translations changes, and by {@link MetadataCacheManager#invalidateAll()}.
+ */
+public final class ReferenceListCache {
+  /** Maximum number of reference lists kept at the same time. */
+  static final int MAX_ENTRIES = 10_000;
+
+  private static final BoundedCache<List<Entry>> entries = new BoundedCache<>(MAX_ENTRIES);
+
+  private ReferenceListCache() {
+  }
+
+  /**
+   * Immutable, translated reference list value.
+   */
+  public static final class Entry {
+    private final String id;
+    private final String value;
+    private final Object label;
+    private final Object color;
+    private final boolean active;
+
+    Entry(String id, String value, Object label, Object color, boolean active) {
+      this.id = id;
+      this.value = value;
+      this.label = label;
+      this.color = color;
+      this.active = active;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    public Object getLabel() {
+      return label;
+    }
+
+    public Object getColor() {
+      return color;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+  }
+
+  /**
+   * Returns the translated list values of the reference, loading them on first use.
+   *
+   * @param reference the list reference
+   * @param language  the language used to translate labels and colors
+   * @return the list values, in the order defined by the reference
+   */
+  public static List<Entry> get(Reference reference, Language language) {
+    String key = reference.getId() + "_" + (language != null ? language.getId() : null);
+    return entries.get(key, () -> load(reference, language));
+  }
+
+  /**
+   * Drops every cached reference list.
+   */
+  public static void clear() {
+    entries.clear();
+  }
+
+  private static List<Entry> load(Reference reference, Language language) {
+    List<Entry> result = new ArrayList<>();
+    for (org.openbravo.model.ad.domain.List list : reference.getADListList()) {
+      result.add(new Entry(list.getId(), list.getSearchKey(),
+          list.get(org.openbravo.model.ad.domain.List.PROPERTY_NAME, language, list.getId()),
+          list.get(org.openbravo.model.ad.domain.List.PROPERTY_ETMETACOLOR, language, list.getId()),
+          Boolean.TRUE.equals(list.isActive())));
+    }
+    return Collections.unmodifiableList(result);
+  }
+}
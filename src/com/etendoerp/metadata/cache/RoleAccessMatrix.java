@@ -0,0 +1,242 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.openbravo.dal.core.OBContext;
+import org.openbravo.dal.service.OBDal;
+import org.openbravo.model.ad.access.Role;
+
+/**
+ * Precompiled access decisions of a role, loaded once per role and kept until the access
+ * configuration changes.
+ * <p>
+ * Window access is stored as bitsets over a module-wide window index (granted and editable), so
+ * every check made while building a window, its tabs and its fields is a single bit test instead
+ * of a criteria query. Process access decisions, which depend on the process and the window it is
+ * launched from, are evaluated once per role and (process, window) pair and remembered in the
+ * same way.
+ * <p>
+ * Matrices are loaded outside of any map lock, so loading one role never blocks the others. Every
+ * {@link #clear()} bumps a generation counter, and a matrix whose load started before the last
+ * clear is used by its caller but not kept.
+ * <p>
+ * Entries are dropped by {@link MetadataCacheManager#invalidateAll()} (window, tab and field
+ * access changes) and by {@link MenuCacheInvalidationObserver} (process and process definition
+ * access changes).
+ */
+public final class RoleAccessMatrix {
+  private static final String WINDOW_ACCESS_HQL = "select wa.window.id, wa.id, wa.editableField "
+      + "from ADWindowAccess wa where wa.role.id = :roleId and wa.active = true";
+  private static final String GRANTED_WINDOWS_HQL = "select distinct wa.window.id "
+      + "from ADWindowAccess wa where wa.active = true";
+
+  private static final Map<String, Integer> windowIndex = new ConcurrentHashMap<>();
+  private static final Map<String, Integer> processIndex = new ConcurrentHashMap<>();
+  private static final AtomicInteger windowSequence = new AtomicInteger();
+  private static final AtomicInteger processSequence = new AtomicInteger();
+  private static final Map<String, RoleAccessMatrix> matrices = new ConcurrentHashMap<>();
+  private static final AtomicReference<BitSet> grantedWindows = new AtomicReference<>();
+  private static final AtomicLong generation = new AtomicLong();
+
+  private final BitSet windows = new BitSet();
+  private final BitSet editableWindows = new BitSet();
+  private final Map<String, String> windowAccessIds = new HashMap<>();
+  private final BitSet evaluatedProcesses = new BitSet();
+  private final BitSet grantedProcesses = new BitSet();
+
+  private RoleAccessMatrix() {
+  }
+
+  /**
+   * Returns the access matrix of the role in the current {@link OBContext}, loading it on first
+   * use.
+   *
+   * @return the matrix of the current role, or {@code null} when there is no context or role
+   */
+  public static RoleAccessMatrix forCurrentRole() {
+    OBContext context = OBContext.getOBContext();
+    Role role = context != null ? context.getRole() : null;
+    return role != null ? forRole(role.getId()) : null;
+  }
+
+  /**
+   * Returns the access matrix of the given role, loading it on first use.
+   *
+   * @param roleId the role ID
+   * @return the role's access matrix
+   */
+  public static RoleAccessMatrix forRole(String roleId) {
+    RoleAccessMatrix matrix = matrices.get(roleId);
+    if (matrix != null) {
+      return matrix;
+    }
+    long loadGeneration = generation.get();
+    matrix = load(roleId);
+    RoleAccessMatrix previous = matrices.putIfAbsent(roleId, matrix);
+    if (previous != null) {
+      return previous;
+    }
+    if (generation.get() != loadGeneration) {
+      // Cleared while loading: the matrix may predate the change that triggered the clear
+      matrices.remove(roleId, matrix);
+    }
+    return matrix;
+  }
+
+  /**
+   * Returns whether the window is granted to at least one role through an active window access.
+   * Used to tell windows the current role simply lacks access to from windows nobody can open.
+   *
+   * @param windowId the window ID
+   * @return {@code true} if any role has active access to the window
+   */
+  public static boolean isGrantedToAnyRole(String windowId) {
+    BitSet granted = grantedWindows.get();
+    if (granted == null) {
+      long loadGeneration = generation.get();
+      granted = loadGrantedWindows();
+      if (grantedWindows.compareAndSet(null, granted) && generation.get() != loadGeneration) {
+        grantedWindows.compareAndSet(granted, null);
+      }
+    }
+    Integer index = windowIndex.get(windowId);
+    return index != null && granted.get(index);
+  }
+
+  /**
+   * Drops every loaded matrix so they are rebuilt from the database on next use.
+   */
+  public static void clear() {
+    generation.incrementAndGet();
+    matrices.clear();
+    grantedWindows.set(null);
+  }
+
+  /**
+   * Returns whether the role has active access to the window.
+   *
+   * @param windowId the window ID
+   * @return {@code true} if access is granted
+   */
+  public boolean hasWindowAccess(String windowId) {
+    Integer index = windowIndex.get(windowId);
+    return index != null && windows.get(index);
+  }
+
+  /**
+   * Returns whether the role's access to the window allows editing.
+   *
+   * @param windowId the window ID
+   * @return {@code true} if access is granted and editable
+   */
+  public boolean isWindowEditable(String windowId) {
+    Integer index = windowIndex.get(windowId);
+    return index != null && editableWindows.get(index);
+  }
+
+  /**
+   * Returns the ID of the role's active window access record for the window.
+   *
+   * @param windowId the window ID
+   * @return the window access ID, or {@code null} if the role has no access
+   */
+  public String getWindowAccessId(String windowId) {
+    return windowAccessIds.get(windowId);
+  }
+
+  /**
+   * Returns whether the role may run the process from the given window. The decision is computed
+   * with {@code evaluator} the first time the pair is checked and answered from the matrix after
+   * that.
+   *
+   * @param processId the process definition ID
+   * @param windowId  the window the process is launched from
+   * @param evaluator computes the access decision on a miss
+   * @return {@code true} if access is granted
+   */
+  public boolean hasProcessAccess(String processId, String windowId, BooleanSupplier evaluator) {
+    int index = processIndex.computeIfAbsent(processId + "_" + windowId,
+        k -> processSequence.getAndIncrement());
+    synchronized (grantedProcesses) {
+      if (evaluatedProcesses.get(index)) {
+        return grantedProcesses.get(index);
+      }
+    }
+    boolean granted = evaluator.getAsBoolean();
+    synchronized (grantedProcesses) {
+      grantedProcesses.set(index, granted);
+      evaluatedProcesses.set(index);
+    }
+    return granted;
+  }
+
+  private static int indexOfWindow(String windowId) {
+    return windowIndex.computeIfAbsent(windowId, k -> windowSequence.getAndIncrement());
+  }
+
+  private static RoleAccessMatrix load(String roleId) {
+    RoleAccessMatrix matrix = new RoleAccessMatrix();
+    OBContext.setAdminMode(true);
+    try {
+      List<Object[]> rows = OBDal.getReadOnlyInstance()
+          .getSession()
+          .createQuery(WINDOW_ACCESS_HQL, Object[].class)
+          .setParameter("roleId", roleId)
+          .list();
+      for (Object[] row : rows) {
+        String windowId = (String) row[0];
+        int index = indexOfWindow(windowId);
+        matrix.windows.set(index);
+        if (Boolean.TRUE.equals(row[2])) {
+          matrix.editableWindows.set(index);
+        }
+        matrix.windowAccessIds.put(windowId, (String) row[1]);
+      }
+    } finally {
+      OBContext.restorePreviousMode();
+    }
+    return matrix;
+  }
+
+  private static BitSet loadGrantedWindows() {
+    OBContext.setAdminMode(true);
+    try {
+      List<String> windowIds = OBDal.getReadOnlyInstance()
+          .getSession()
+          .createQuery(GRANTED_WINDOWS_HQL, String.class)
+          .list();
+      BitSet granted = new BitSet();
+      for (String windowId : windowIds) {
+        granted.set(indexOfWindow(windowId));
+      }
+      return granted;
+    } finally {
+      OBContext.restorePreviousMode();
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.model.ad.system.Language;
+import org.openbravo.model.ad.ui.Field;
+import org.openbravo.model.ad.ui.Tab;
+import org.openbravo.userinterface.selector.SelectorField;
+
+import com.etendoerp.metadata.data.WindowSnapshot;
+import com.etendoerp.metadata.utils.JsonUtils;
+
+/**
+ * Cache of custom selector ({@code OBUISEL_Selector}) metadata.
+ * <p>
+ * Selector definitions, including the properties computed by
+ * {@link com.etendoerp.metadata.utils.SelectorPropertiesUtil}, are built once per selector and
+ * language and shared by every field and parameter using that selector; callers receive a copy
+ * to which they add their field specific keys. Out-field targets are resolved through a per-tab
+ * index of the fields pointing to a selector field, so each selector no longer scans the whole
+ * field list of the tab. Both are kept in a {@link BoundedCache}, at most {@link #MAX_ENTRIES}
+ * definitions and {@link #MAX_ENTRIES} tab indexes.
+ * <p>
+ * Entries are dropped by {@link ReferenceCacheInvalidationObserver} when a selector or selector
+ * field changes, and by {@link MetadataCacheManager#invalidateAll()}.
+ */
+public final class SelectorMetadataCache {
+  /** Maximum number of definitions, and of out-field indexes, kept at the same time. */
+  static final int MAX_ENTRIES = 5_000;
+
+  private static final BoundedCache<JSONObject> definitions = new BoundedCache<>(MAX_ENTRIES);
+  private static final BoundedCache<Map<String, List<OutFieldTarget>>> outFieldIndexes =
+      new BoundedCache<>(MAX_ENTRIES);
+
+  private SelectorMetadataCache() {
+  }
+
+  /**
+   * Immutable out-field target: a tab field whose value is filled from a selector field.
+   */
+  public static final class OutFieldTarget {
+    private final String columnName;
+    private final String hqlName;
+
+    OutFieldTarget(String columnName, String hqlName) {
+      this.columnName = columnName;
+      this.hqlName = hqlName;
+    }
+
+    public String getColumnName() {
+      return columnName;
+    }
+
+    public String getHqlName() {
+      return hqlName;
+    }
+  }
+
+  /**
+   * Returns a copy of the selector definition for the given language, building it with the
+   * loader on first use. The copy follows the contract of {@link JsonUtils#topLevelCopy}.
+   *
+   * @param selectorId the selector identifier
+   * @param language   the language the definition is translated to
+   * @param loader     builds the definition on a cache miss
+   * @return a copy of the cached definition
+   * @throws JSONException if the definition cannot be built or copied
+   */
+  public static JSONObject getDefinition(String selectorId, Language language,
+      BoundedCache.Loader<JSONObject, JSONException> loader) throws JSONException {
+    String key = selectorId + "_" + (language != null ? language.getId() : null);
+    return JsonUtils.topLevelCopy(definitions.get(key, loader));
+  }
+
+  /**
+   * Returns the out-field targets of the tab that are filled from the given selector field.
+   * The index of the tab is built on first use with a single pass over its fields.
+   *
+   * @param tab             the tab containing the selector field
+   * @param selectorField   the selector out-field
+   * @param hqlNameResolver resolves the HQL property name of a tab field
+   * @return the targets in field list order, or an empty list when no field references it
+   */
+  public static List<OutFieldTarget> getOutFieldTargets(Tab tab, SelectorField selectorField,
+      Function<Field, String> hqlNameResolver) {
+    String tabId = tab.getId();
+    Map<String, List<OutFieldTarget>> index = tabId != null
+        ? outFieldIndexes.get(tabId, () -> buildOutFieldIndex(tab, hqlNameResolver))
+        : buildOutFieldIndex(tab, hqlNameResolver);
+    return index.getOrDefault(selectorField.getId(), Collections.emptyList());
+  }
+
+  /**
+   * Drops every cached selector definition and out-field index.
+   */
+  public static void clear() {
+    definitions.clear();
+    outFieldIndexes.clear();
+  }
+
+  private static Map<String, List<OutFieldTarget>> buildOutFieldIndex(Tab tab,
+      Function<Field, String> hqlNameResolver) {
+    Map<String, List<OutFieldTarget>> index = new HashMap<>();
+    List<Field> fields = WindowSnapshot.fieldsOf(tab);
+    for (Field field : fields != null ? fields : tab.getADFieldList()) {
+      SelectorField outField = field.getObuiselOutfield();
+      if (outField != null) {
+        index.computeIfAbsent(outField.getId(), k -> new ArrayList<>())
+            .add(new OutFieldTarget(field.getColumn().getDBColumnName(), hqlNameResolver.apply(field)));
+      }
+    }
+    index.replaceAll((k, v) -> Collections.unmodifiableList(v));
+    return Collections.unmodifiableMap(index);
+  }
+}
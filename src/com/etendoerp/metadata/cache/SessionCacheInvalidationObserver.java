@@ -23,22 +23,26 @@ import org.openbravo.base.model.Entity;
 import org.openbravo.base.model.ModelProvider;
 import org.openbravo.client.kernel.event.EntityDeleteEvent;
 import org.openbravo.client.kernel.event.EntityNewEvent;
+import org.openbravo.client.kernel.event.EntityPersistenceEvent;
 import org.openbravo.client.kernel.event.EntityPersistenceEventObserver;
 import org.openbravo.client.kernel.event.EntityUpdateEvent;
-
-import com.etendoerp.metadata.builders.SessionBuilder;
+import org.openbravo.model.ad.utility.Tree;
+import org.openbravo.model.ad.utility.TreeNode;
 
 /**
  * Observes changes to the entities that make up a user's role/organization/warehouse
- * tree (role assignment, role-organization access, and organization-warehouse links,
- * plus the role/organization/warehouse/client records themselves) and clears the
- * {@link SessionBuilder} roles cache so it gets rebuilt on the next session request.
+ * tree and clears the {@link SessionRolesCache} and the {@link OrganizationWarehouseIndex}
+ * so they get rebuilt on the next session request. The observed entities are the role
+ * assignments, role-organization accesses and organization-warehouse links, the
+ * role/organization/warehouse/client records themselves, and the nodes of the organization
+ * tree, which the natural trees are built from.
  * <p>
  * Follows the same pattern as {@link MetadataCacheInvalidationObserver}.
  * The base class {@link EntityPersistenceEventObserver#isValidEvent} already
  * skips events during bulk imports (when TriggerHandler is disabled).
  */
 class SessionCacheInvalidationObserver extends EntityPersistenceEventObserver {
+  private static final String ORGANIZATION_TREE = "OO";
 
   private static final Entity[] entities = {
       ModelProvider.getInstance().getEntity("ADUserRoles"),
@@ -47,28 +51,46 @@ class SessionCacheInvalidationObserver extends EntityPersistenceEventObserver {
       ModelProvider.getInstance().getEntity("ADRole"),
       ModelProvider.getInstance().getEntity("Organization"),
       ModelProvider.getInstance().getEntity("Warehouse"),
-      ModelProvider.getInstance().getEntity("ADClient")
+      ModelProvider.getInstance().getEntity("ADClient"),
+      ModelProvider.getInstance().getEntity("ADTreeNode")
   };
 
   public void onNew(@Observes EntityNewEvent event) {
-    if (!isValidEvent(event)) {
+    if (!isValidEvent(event) || !affectsSessions(event)) {
       return;
     }
-    SessionBuilder.clearRolesCache();
+    invalidate();
   }
 
   public void onUpdate(@Observes EntityUpdateEvent event) {
-    if (!isValidEvent(event)) {
+    if (!isValidEvent(event) || !affectsSessions(event)) {
       return;
     }
-    SessionBuilder.clearRolesCache();
+    invalidate();
   }
 
   public void onDelete(@Observes EntityDeleteEvent event) {
-    if (!isValidEvent(event)) {
+    if (!isValidEvent(event) || !affectsSessions(event)) {
       return;
     }
-    SessionBuilder.clearRolesCache();
+    invalidate();
+  }
+
+  /**
+   * Tree nodes only matter for the organization tree; changes to menu, product or account tree
+   * nodes leave the session caches untouched.
+   */
+  private static boolean affectsSessions(EntityPersistenceEvent event) {
+    if (!(event.getTargetInstance() instanceof TreeNode)) {
+      return true;
+    }
+    Tree tree = ((TreeNode) event.getTargetInstance()).getTree();
+    return tree == null || ORGANIZATION_TREE.equals(tree.getTypeArea());
+  }
+
+  private static void invalidate() {
+    SessionRolesCache.clear();
+    OrganizationWarehouseIndex.clear();
   }
 
   @Override
@@ -0,0 +1,93 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONString;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Cache of the roles tree (roles, their organizations and warehouses) returned by the session
+ * endpoint, keyed by user and language.
+ * <p>
+ * Each tree is serialized once into an immutable {@link Fragment}, which is put as is into the
+ * session JSON and written without being parsed or copied again. At most {@link #MAX_ENTRIES}
+ * trees are kept in a {@link BoundedCache}, which evicts the least recently used one when full.
+ * <p>
+ * Entries are dropped by {@link SessionCacheInvalidationObserver} when a role, an organization,
+ * a warehouse or one of their assignments changes, and by
+ * {@link MetadataCacheManager#invalidateAll()}.
+ */
+public final class SessionRolesCache {
+  /** Maximum number of roles trees kept at the same time. */
+  static final int MAX_ENTRIES = 10_000;
+
+  private static final BoundedCache<Fragment> fragments = new BoundedCache<>(MAX_ENTRIES);
+
+  private SessionRolesCache() {
+  }
+
+  /**
+   * Immutable, serialized roles tree. It is written verbatim when the JSON object holding it is
+   * serialized.
+   */
+  public static final class Fragment implements JSONString {
+    private final String json;
+
+    Fragment(String json) {
+      this.json = json;
+    }
+
+    @Override
+    public String toJSONString() {
+      return json;
+    }
+
+    @Override
+    public String toString() {
+      return json;
+    }
+  }
+
+  /**
+   * Returns the roles tree of the user in the given language, building it with the loader on
+   * first use. A {@code null} user is built on every call.
+   *
+   * @param userId   the user id
+   * @param language the language role, organization and warehouse names are translated to
+   * @param loader   builds the roles tree on a cache miss
+   * @return the serialized roles tree
+   * @throws JSONException if the tree cannot be built
+   */
+  public static Fragment get(String userId, Language language,
+      BoundedCache.Loader<JSONArray, JSONException> loader) throws JSONException {
+    if (userId == null) {
+      return new Fragment(loader.load().toString());
+    }
+    String key = userId + "_" + (language != null ? language.getId() : null);
+    return fragments.get(key, () -> new Fragment(loader.load().toString()));
+  }
+
+  /**
+   * Drops the roles tree of every user.
+   */
+  public static void clear() {
+    fragments.clear();
+  }
+}
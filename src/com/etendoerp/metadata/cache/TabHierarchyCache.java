@@ -0,0 +1,152 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openbravo.client.kernel.KernelUtils;
+import org.openbravo.dal.service.OBDal;
+import org.openbravo.model.ad.ui.Tab;
+import org.openbravo.model.ad.ui.Window;
+
+/**
+ * Cache of the tab hierarchy of each window.
+ * <p>
+ * The hierarchy follows the rule of {@link KernelUtils#getParentTab(Tab)}: with the tabs
+ * ordered by sequence number, the parent of a tab is the closest preceding tab one level
+ * above it. It is computed once per window with a single pass over its tabs, so parent lookups
+ * no longer sort and scan the tab list of the window for every tab built. At most
+ * {@link #MAX_ENTRIES} windows are kept in a {@link BoundedCache}, which evicts the least
+ * recently used one when full.
+ * <p>
+ * Entries are dropped by {@link MetadataCacheInvalidationObserver} when a window or a tab
+ * changes, and by {@link MetadataCacheManager#invalidateAll()}.
+ */
+public final class TabHierarchyCache {
+  /** Maximum number of window hierarchies kept at the same time. */
+  static final int MAX_ENTRIES = 5_000;
+
+  private static final BoundedCache<Map<String, Node>> hierarchies = new BoundedCache<>(MAX_ENTRIES);
+
+  private TabHierarchyCache() {
+  }
+
+  /**
+   * Immutable position of a tab in the hierarchy of its window.
+   */
+  public static final class Node {
+    private final String parentTabId;
+    private final List<String> childTabIds;
+    private final long level;
+
+    Node(String parentTabId, List<String> childTabIds, long level) {
+      this.parentTabId = parentTabId;
+      this.childTabIds = Collections.unmodifiableList(childTabIds);
+      this.level = level;
+    }
+
+    public String getParentTabId() {
+      return parentTabId;
+    }
+
+    public List<String> getChildTabIds() {
+      return childTabIds;
+    }
+
+    public long getLevel() {
+      return level;
+    }
+  }
+
+  /**
+   * Returns the position of the tab in the hierarchy of its window, computing the hierarchy on
+   * first use.
+   *
+   * @param tab the tab
+   * @return the node of the tab, or {@code null} when the tab has no persisted window
+   */
+  public static Node getNode(Tab tab) {
+    Window window = tab.getWindow();
+    if (window == null || window.getId() == null) {
+      return null;
+    }
+    return hierarchies.get(window.getId(), () -> build(window.getADTabList())).get(tab.getId());
+  }
+
+  /**
+   * Returns the parent tab of the given tab. Tabs without a persisted window are resolved with
+   * {@link KernelUtils#getParentTab(Tab)}.
+   *
+   * @param tab the tab
+   * @return the parent tab, or {@code null} for a top-level tab
+   */
+  public static Tab getParentTab(Tab tab) {
+    Node node = getNode(tab);
+    if (node == null) {
+      return KernelUtils.getInstance().getParentTab(tab);
+    }
+    String parentTabId = node.getParentTabId();
+    if (parentTabId == null) {
+      return null;
+    }
+    Tab parentTab = ADCacheProvider.getTab(parentTabId);
+    return parentTab != null ? parentTab : OBDal.getReadOnlyInstance().get(Tab.class, parentTabId);
+  }
+
+  /**
+   * Drops the hierarchy of every window.
+   */
+  public static void clear() {
+    hierarchies.clear();
+  }
+
+  static Map<String, Node> build(List<Tab> tabs) {
+    List<Tab> sorted = new ArrayList<>(tabs);
+    sorted.sort(Comparator.comparing(Tab::getSequenceNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+
+    // Last tab seen at each level, in sequence order
+    Map<Long, String> lastTabByLevel = new HashMap<>();
+    Map<String, String> parents = new HashMap<>();
+    Map<String, List<String>> children = new HashMap<>();
+    for (Tab tab : sorted) {
+      long level = levelOf(tab);
+      String parentTabId = level > 0 ? lastTabByLevel.get(level - 1) : null;
+      parents.put(tab.getId(), parentTabId);
+      children.put(tab.getId(), new ArrayList<>());
+      if (parentTabId != null) {
+        children.get(parentTabId).add(tab.getId());
+      }
+      lastTabByLevel.put(level, tab.getId());
+    }
+
+    Map<String, Node> nodes = new HashMap<>();
+    for (Tab tab : sorted) {
+      nodes.put(tab.getId(), new Node(parents.get(tab.getId()), children.get(tab.getId()), levelOf(tab)));
+    }
+    return Collections.unmodifiableMap(nodes);
+  }
+
+  private static long levelOf(Tab tab) {
+    return tab.getTabLevel() != null ? tab.getTabLevel() : 0L;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.model.ad.datamodel.Table;
+import org.openbravo.model.ad.system.Language;
+
+/**
+ * Cache of the column data of a table used to build every tab on that table.
+ * <p>
+ * For each table and language it keeps the link-to-parent column names and the prebuilt
+ * synthetic audit fields ({@code creationDate}, {@code createdBy}, {@code updated},
+ * {@code updatedBy}), so tab builds no longer scan the column list of the table or serialize
+ * the audit columns again. Only plain values and JSON are kept, never the column entities. At
+ * most {@link #MAX_ENTRIES} tables are kept in a {@link BoundedCache}, which evicts the least
+ * recently used one when full.
+ * <p>
+ * Entries are dropped by {@link MetadataCacheInvalidationObserver} when a column changes, and
+ * by {@link MetadataCacheManager#invalidateAll()}.
+ */
+public final class TableColumnCache {
+  /** Maximum number of tables kept at the same time. */
+  static final int MAX_ENTRIES = 5_000;
+
+  private static final BoundedCache<Entry> entries = new BoundedCache<>(MAX_ENTRIES);
+
+  private TableColumnCache() {
+  }
+
+  /**
+   * Immutable column data of a table.
+   */
+  public static final class Entry {
+    private final List<String> linkToParentColumns;
+    private final Map<String, JSONObject> auditFields;
+
+    /**
+     * Creates the column data of a table.
+     *
+     * @param linkToParentColumns the entity names of the link-to-parent columns, in column order
+     * @param auditFields         the audit field templates by property name, for the audit
+     *                            columns present in the table
+     */
+    public Entry(List<String> linkToParentColumns, Map<String, JSONObject> auditFields) {
+      this.linkToParentColumns = Collections.unmodifiableList(linkToParentColumns);
+      this.auditFields = Collections.unmodifiableMap(new HashMap<>(auditFields));
+    }
+
+    public List<String> getLinkToParentColumns() {
+      return linkToParentColumns;
+    }
+
+    /**
+     * Returns the template of an audit field. Templates are shared and must be copied before
+     * adding tab specific keys.
+     *
+     * @param name the audit property name
+     * @return the template, or {@code null} when the table has no such audit column
+     */
+    public JSONObject getAuditField(String name) {
+      return auditFields.get(name);
+    }
+  }
+
+  /**
+   * Returns the column data of the table for the given language, building it with the loader
+   * on first use. Tables without an identifier are built on every call.
+   *
+   * @param table    the table
+   * @param language the language the audit fields are translated to
+   * @param loader   builds the column data on a cache miss
+   * @return the column data
+   * @throws JSONException if the column data cannot be built
+   */
+  public static Entry get(Table table, Language language, BoundedCache.Loader<Entry, JSONException> loader)
+      throws JSONException {
+    String tableId = table.getId();
+    if (tableId == null) {
+      return loader.load();
+    }
+    String key = tableId + "_" + (language != null ? language.getId() : null);
+    return entries.get(key, loader);
+  }
+
+  /**
+   * Drops the column data of every table.
+   */
+  public static void clear() {
+    entries.clear();
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+/**
+ * Cache of the toolbar button configuration ({@code ETMETA_TOOLBAR_BUTTON} and
+ * {@code ETMETA_TOOLBAR_BUTTON_WINDOW}), indexed by window.
+ * <p>
+ * The toolbar rows are read and serialized once per role, because the rows visible to a role
+ * depend on its readable clients and organizations. Each index keeps every button in load order
+ * and, for each window, the active buttons assigned to it followed by the active global buttons
+ * (the ones without any active window assignment). Only JSON is kept, never the entities. At
+ * most {@link #MAX_ENTRIES} roles are kept in a {@link BoundedCache}, which evicts the least
+ * recently used one when full.
+ * <p>
+ * Entries are dropped by {@link ToolbarCacheInvalidationObserver} when a toolbar button or one
+ * of its window assignments changes, and by {@link MetadataCacheManager#invalidateAll()}.
+ */
+public final class ToolbarCache {
+  static final int MAX_ENTRIES = 1_000;
+
+  private static final BoundedCache<Index> indexes = new BoundedCache<>(MAX_ENTRIES);
+
+  private ToolbarCache() {
+  }
+
+  /**
+   * Serialized toolbar button, together with the windows it is assigned to.
+   */
+  public static final class Button {
+    private final JSONObject json;
+    private final boolean active;
+    private final List<String> windowIds;
+
+    /**
+     * Creates a serialized toolbar button.
+     *
+     * @param json      the button JSON
+     * @param active    whether the button is active
+     * @param windowIds the ids of the windows with an active assignment to the button; empty
+     *                  for a global button
+     */
+    public Button(JSONObject json, boolean active, List<String> windowIds) {
+      this.json = json;
+      this.active = active;
+      this.windowIds = Collections.unmodifiableList(new ArrayList<>(windowIds));
+    }
+  }
+
+  /**
+   * Immutable toolbar buttons of a role, indexed by window.
+   */
+  public static final class Index {
+    private final List<JSONObject> toolbars;
+    private final List<JSONObject> globalToolbars;
+    private final Map<String, List<JSONObject>> toolbarsByWindow;
+
+    /**
+     * Indexes the given buttons.
+     *
+     * @param buttons the serialized buttons, in the order they must be returned
+     */
+    public Index(List<Button> buttons) {
+      List<JSONObject> all = new ArrayList<>();
+      List<JSONObject> global = new ArrayList<>();
+      Map<String, List<JSONObject>> byWindow = new HashMap<>();
+      for (Button button : buttons) {
+        all.add(button.json);
+        if (!button.active) {
+          continue;
+        }
+        if (button.windowIds.isEmpty()) {
+          global.add(button.json);
+        }
+        for (String windowId : button.windowIds) {
+          byWindow.computeIfAbsent(windowId, id -> new ArrayList<>()).add(button.json);
+        }
+      }
+      Map<String, List<JSONObject>> windows = new HashMap<>();
+      for (Map.Entry<String, List<JSONObject>> entry : byWindow.entrySet()) {
+        List<JSONObject> windowToolbars = new ArrayList<>(entry.getValue());
+        windowToolbars.addAll(global);
+        windows.put(entry.getKey(), Collections.unmodifiableList(windowToolbars));
+      }
+      this.toolbars = Collections.unmodifiableList(all);
+      this.globalToolbars = Collections.unmodifiableList(global);
+      this.toolbarsByWindow = Collections.unmodifiableMap(windows);
+    }
+
+    /**
+     * Returns every toolbar button, active or not. The JSON objects are shared and must not be
+     * modified.
+     *
+     * @return the toolbar buttons
+     */
+    public List<JSONObject> getToolbars() {
+      return toolbars;
+    }
+
+    /**
+     * Returns the active toolbar buttons of a window: the ones assigned to it followed by the
+     * global ones. The JSON objects are shared and must not be modified.
+     *
+     * @param windowId the window id
+     * @return the toolbar buttons of the window
+     */
+    public List<JSONObject> getWindowToolbars(String windowId) {
+      return toolbarsByWindow.getOrDefault(windowId, globalToolbars);
+    }
+  }
+
+  /**
+   * Returns the toolbar index for the given role, building it with the loader on first use.
+   * A {@code null} role is built on every call.
+   *
+   * @param roleId the role the toolbar rows are read for
+   * @param loader builds the index on a cache miss
+   * @return the toolbar index
+   * @throws JSONException if the index cannot be built
+   */
+  public static Index get(String roleId, BoundedCache.Loader<Index, JSONException> loader)
+      throws JSONException {
+    if (roleId == null) {
+      return loader.load();
+    }
+    return indexes.get(roleId, loader);
+  }
+
+  /**
+   * Drops the toolbar index of every role.
+   */
+  public static void clear() {
+    indexes.clear();
+  }
+}
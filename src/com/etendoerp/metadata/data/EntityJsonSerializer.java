@@ -0,0 +1,169 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.base.exception.OBException;
+import org.openbravo.base.model.Entity;
+import org.openbravo.base.model.Property;
+import org.openbravo.base.structure.BaseOBObject;
+import org.openbravo.dal.core.DalUtil;
+import org.openbravo.dal.core.IdentifierProvider;
+import org.openbravo.dal.core.OBContext;
+import org.openbravo.model.ad.system.Language;
+import org.openbravo.service.json.DataToJsonConverter;
+import org.openbravo.service.json.JsonConstants;
+
+/**
+ * Serializes entities to the same JSON shape as {@link DataToJsonConverter} in
+ * {@code FULL_TRANSLATABLE} mode, using a per-entity plan built once from the
+ * {@link org.openbravo.base.model.ModelProvider} metadata.
+ * <p>
+ * The plan keeps only the properties the converter writes (one-to-many properties are dropped)
+ * together with the way each one is written, so serializing an object no longer walks and
+ * classifies the whole property list. Translatable properties take their values from a map
+ * of translations resolved in bulk by the caller, e.g. {@link WindowSnapshot}; without one
+ * they are translated one object at a time, as the converter does. Identifiers, of the object and
+ * of the objects it references, are resolved in the context language as well.
+ */
+public final class EntityJsonSerializer {
+  private static final Map<Entity, EntityJsonSerializer> serializers = new ConcurrentHashMap<>();
+  private static final ThreadLocal<DateConverter> dateConverters = ThreadLocal.withInitial(DateConverter::new);
+
+  private final Entity entity;
+  private final List<PropertyWriter> writers;
+
+  private EntityJsonSerializer(Entity entity) {
+    this.entity = entity;
+    List<PropertyWriter> plan = new ArrayList<>();
+    for (Property property : entity.getProperties()) {
+      if (!property.isOneToMany()) {
+        plan.add(new PropertyWriter(property));
+      }
+    }
+    this.writers = Collections.unmodifiableList(plan);
+  }
+
+  /**
+   * Returns the serializer of the entity of the given object.
+   *
+   * @param bob the object to serialize
+   * @return the serializer, or {@code null} when the object carries no entity metadata
+   */
+  public static EntityJsonSerializer forObject(BaseOBObject bob) {
+    Entity entity = bob.getEntity();
+    return entity != null ? serializers.computeIfAbsent(entity, EntityJsonSerializer::new) : null;
+  }
+
+  /**
+   * Serializes an object of this serializer's entity.
+   *
+   * @param bob          the object to serialize
+   * @param translations translated values by property name, already resolved for the current
+   *                     language; {@code null} to translate each translatable property on demand
+   * @return the JSON representation of the object
+   */
+  public JSONObject toJsonObject(BaseOBObject bob, Map<String, Object> translations) {
+    try {
+      Language language = OBContext.getOBContext().getLanguage();
+      JSONObject json = new JSONObject();
+      json.put(JsonConstants.IDENTIFIER, identifierOf(bob, language));
+      json.put(JsonConstants.ENTITYNAME, bob.getEntityName());
+      json.put(JsonConstants.REF, bob.getEntityName() + "/" + bob.getId());
+
+      boolean derivedReadable = OBContext.getOBContext().getEntityAccessChecker().isDerivedReadable(entity);
+      for (PropertyWriter writer : writers) {
+        if (!derivedReadable || writer.property.allowDerivedRead()) {
+          writer.write(json, bob, language, translations);
+        }
+      }
+      return json;
+    } catch (JSONException e) {
+      throw new OBException("Error serializing " + bob.getEntityName() + " " + bob.getId(), e);
+    }
+  }
+
+  private static String identifierOf(BaseOBObject bob, Language language) {
+    return IdentifierProvider.getInstance().getIdentifier(bob, true, language);
+  }
+
+  /**
+   * Writes one property, with the way to do it decided when the plan is built.
+   */
+  private static final class PropertyWriter {
+    private final Property property;
+    private final String name;
+    private final boolean translatable;
+    private final boolean date;
+    private final String referencedPropertyName;
+    private final String identifierKey;
+
+    PropertyWriter(Property property) {
+      this.property = property;
+      this.name = property.getName();
+      this.translatable = property.isTranslatable();
+      this.date = property.isPrimitive() && property.getPrimitiveObjectType() != null
+          && Date.class.isAssignableFrom(property.getPrimitiveObjectType());
+      Property referenced = property.getReferencedProperty();
+      this.referencedPropertyName = referenced != null ? referenced.getName() : null;
+      this.identifierKey = name + DalUtil.FIELDSEPARATOR + JsonConstants.IDENTIFIER;
+    }
+
+    void write(JSONObject json, BaseOBObject bob, Language language, Map<String, Object> translations)
+        throws JSONException {
+      Object value = translatable ? translatedValue(bob, language, translations) : bob.get(name);
+      if (value instanceof BaseOBObject) {
+        BaseOBObject referenced = (BaseOBObject) value;
+        json.put(name, referencedPropertyName != null ? referenced.get(referencedPropertyName) : referenced.getId());
+        json.put(identifierKey, identifierOf(referenced, language));
+      } else if (value == null) {
+        json.put(name, JSONObject.NULL);
+      } else if (date) {
+        json.put(name, dateConverters.get().convert(property, value));
+      } else {
+        json.put(name, value);
+      }
+    }
+
+    private Object translatedValue(BaseOBObject bob, Language language, Map<String, Object> translations) {
+      if (translations == null) {
+        return bob.get(name, language, (String) bob.getId());
+      }
+      Object translated = translations.get(name);
+      return translated != null ? translated : bob.get(name);
+    }
+  }
+
+  /**
+   * Reuses the date formatting of {@link DataToJsonConverter}, one instance per thread since its
+   * formats are not thread safe.
+   */
+  private static final class DateConverter extends DataToJsonConverter {
+    Object convert(Property property, Object value) {
+      return convertPrimitiveValue(property, value);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.model.ad.domain.Reference;
+import org.openbravo.model.ad.system.Language;
+
+import com.etendoerp.metadata.utils.Constants;
+import com.etendoerp.metadata.utils.JsonUtils;
+
+/**
+ * Moves the reference data repeated by the fields of a window or tab payload into a single
+ * top-level dictionary.
+ * <p>
+ * Requested with {@code references=shared}. The selector definition, list values
+ * ({@code refList}) and button list values ({@code buttonRefList}) of every field are stored
+ * once under {@code references.<key>.<id>}, and the field points to them with
+ * {@code <key>Ref}. Selectors keep their field specific keys ({@code fieldId},
+ * {@code outFields}, {@code comboDataPath}) inline.
+ * <p>
+ * Entries are identified by the key the field builders give each value with
+ * {@link #keyed(Object, Reference, Language)}: the search key reference of the field and the
+ * language the value was built in. Values are never compared by content, and values without a
+ * key get an entry of their own, identified by the field. Since entry ids do not depend on the
+ * request, the rewritten copy of a cached field map is kept as long as the cached map itself,
+ * which also lets {@link SparseFieldset} reuse its pruned copies.
+ */
+public final class ReferenceDictionary {
+  /** Query parameter that enables the dictionary. */
+  public static final String PARAMETER = "references";
+  /** Value of {@link #PARAMETER} that enables the dictionary. */
+  public static final String SHARED = "shared";
+  /** Top-level key of the dictionary in the payload. */
+  public static final String DICTIONARY_KEY = "references";
+  /** Suffix of the field key pointing to a dictionary entry. */
+  public static final String REF_SUFFIX = "Ref";
+
+  private static final String TABS = "tabs";
+  private static final String ID = "id";
+  private static final String FIELDS = "fields";
+  private static final String SELECTOR = "selector";
+  private static final List<String> SHARED_KEYS = List.of(SELECTOR, "refList", "buttonRefList");
+  private static final Set<String> FIELD_SPECIFIC_SELECTOR_KEYS = Set.of(Constants.FIELD_ID_PROPERTY,
+      Constants.COMBO_DATA_PATH_PROPERTY, "outFields");
+
+  // Tracked by identity: Jettison objects do not override equals
+  private static final Map<Object, String> keys = Collections.synchronizedMap(new WeakHashMap<>());
+  private static final Map<JSONObject, RewrittenFields> rewrittenFields = new WeakHashMap<>();
+
+  private final JSONObject dictionary = new JSONObject();
+
+  private ReferenceDictionary() {
+  }
+
+  /**
+   * Tells whether the request asks for the shared reference dictionary.
+   *
+   * @param request the HTTP request
+   * @return {@code true} when {@code references=shared} is present
+   */
+  public static boolean isRequested(HttpServletRequest request) {
+    return SHARED.equals(request.getParameter(PARAMETER));
+  }
+
+  /**
+   * Records the dictionary key of a selector or list value written by a field builder. The key
+   * lives as long as the value, so it is kept by cached fields and by their pruned copies.
+   *
+   * @param value     the value written to the field
+   * @param reference the search key reference the value was built from; {@code null} leaves the
+   *                  value without a key
+   * @param language  the language the value was built in
+   * @param <T>       the type of the value
+   * @return the value itself
+   */
+  public static <T> T keyed(T value, Reference reference, Language language) {
+    if (value != null && reference != null) {
+      keys.put(value, language != null ? reference.getId() + "/" + language.getLanguage() : reference.getId());
+    }
+    return value;
+  }
+
+  /**
+   * Returns a copy of a window or tab payload whose fields point to a shared dictionary of
+   * reference data. The payload itself, which may contain cached objects, is not modified.
+   *
+   * @param payload the window or tab payload
+   * @return the rewritten payload, with the dictionary under {@link #DICTIONARY_KEY}
+   * @throws JSONException if the payload cannot be copied
+   */
+  public static JSONObject apply(JSONObject payload) throws JSONException {
+    ReferenceDictionary references = new ReferenceDictionary();
+    JSONObject result = references.rewriteOwner(payload);
+    result.put(DICTIONARY_KEY, references.dictionary);
+    return result;
+  }
+
+  /**
+   * Rewrites several window or tab payloads against one dictionary shared by all of them.
+   * Each element of the list is replaced by its rewritten copy.
+   *
+   * @param payloads the payloads to rewrite
+   * @return the shared dictionary
+   * @throws JSONException if a payload cannot be copied
+   */
+  public static JSONObject applyAll(List<JSONObject> payloads) throws JSONException {
+    ReferenceDictionary references = new ReferenceDictionary();
+    for (int i = 0; i < payloads.size(); i++) {
+      payloads.set(i, references.rewriteOwner(payloads.get(i)));
+    }
+    return references.dictionary;
+  }
+
+  private JSONObject rewriteOwner(JSONObject owner) throws JSONException {
+    JSONObject copy = JsonUtils.topLevelCopy(owner);
+    Object tabs = owner.opt(TABS);
+    if (tabs instanceof JSONArray) {
+      JSONArray source = (JSONArray) tabs;
+      List<Object> rewritten = new ArrayList<>(source.length());
+      for (int i = 0; i < source.length(); i++) {
+        Object tab = source.get(i);
+        rewritten.add(tab instanceof JSONObject ? rewriteOwner((JSONObject) tab) : tab);
+      }
+      copy.put(TABS, new JSONArray(rewritten));
+    }
+    Object fields = owner.opt(FIELDS);
+    if (fields instanceof JSONObject) {
+      copy.put(FIELDS, rewriteFields((JSONObject) fields));
+    }
+    return copy;
+  }
+
+  private JSONObject rewriteFields(JSONObject fields) throws JSONException {
+    RewrittenFields rewritten;
+    synchronized (rewrittenFields) {
+      rewritten = rewrittenFields.get(fields);
+    }
+    if (rewritten == null) {
+      rewritten = RewrittenFields.of(fields);
+      synchronized (rewrittenFields) {
+        rewrittenFields.put(fields, rewritten);
+      }
+    }
+
+    for (SharedEntry entry : rewritten.entries) {
+      JSONObject entries = dictionary.optJSONObject(entry.section);
+      if (entries == null) {
+        entries = new JSONObject();
+        dictionary.put(entry.section, entries);
+      }
+      if (!entries.has(entry.id)) {
+        entries.put(entry.id, entry.value);
+      }
+    }
+    return rewritten.fields;
+  }
+
+  /**
+   * A field map whose shared values point to dictionary entries, with the entries it points to.
+   */
+  private static final class RewrittenFields {
+    private final JSONObject fields = new JSONObject();
+    private final List<SharedEntry> entries = new ArrayList<>();
+
+    static RewrittenFields of(JSONObject source) throws JSONException {
+      RewrittenFields rewritten = new RewrittenFields();
+      Iterator<?> names = source.keys();
+      while (names.hasNext()) {
+        String name = (String) names.next();
+        Object field = source.opt(name);
+        rewritten.fields.put(name, field instanceof JSONObject ? rewritten.rewriteField((JSONObject) field) : field);
+      }
+      return rewritten;
+    }
+
+    private Object rewriteField(JSONObject field) throws JSONException {
+      Object fieldId = field.opt(ID);
+      JSONObject rewritten = null;
+      for (String key : SHARED_KEYS) {
+        Object value = field.opt(key);
+        if (value == null || value == JSONObject.NULL) {
+          continue;
+        }
+        String id = keys.get(value);
+        if (id == null && fieldId instanceof String) {
+          id = (String) fieldId;
+        } else if (id == null) {
+          continue;
+        }
+        if (rewritten == null) {
+          rewritten = JsonUtils.topLevelCopy(field);
+        }
+        if (SELECTOR.equals(key) && value instanceof JSONObject) {
+          JSONObject selector = (JSONObject) value;
+          JSONObject specific = new JSONObject();
+          JSONObject shared = new JSONObject();
+          Iterator<?> selectorKeys = selector.keys();
+          while (selectorKeys.hasNext()) {
+            String selectorKey = (String) selectorKeys.next();
+            (FIELD_SPECIFIC_SELECTOR_KEYS.contains(selectorKey) ? specific : shared)
+                .put(selectorKey, selector.opt(selectorKey));
+          }
+          rewritten.put(SELECTOR, specific);
+          rewritten.put(SELECTOR + REF_SUFFIX, id);
+          entries.add(new SharedEntry(SELECTOR, id, shared));
+        } else {
+          rewritten.remove(key);
+          rewritten.put(key + REF_SUFFIX, id);
+          entries.add(new SharedEntry(key, id, value));
+        }
+      }
+      return rewritten != null ? rewritten : field;
+    }
+  }
+
+  private static final class SharedEntry {
+    private final String section;
+    private final String id;
+    private final Object value;
+
+    SharedEntry(String section, String id, Object value) {
+      this.section = section;
+      this.id = id;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.dal.core.DalUtil;
+import org.openbravo.service.json.JsonConstants;
+
+import com.etendoerp.metadata.exceptions.UnprocessableContentException;
+import com.etendoerp.metadata.utils.Constants;
+
+/**
+ * Server-side pruning of window, tab and process payloads for lightweight clients.
+ * <p>
+ * Two query parameters select what is kept:
+ * <ul>
+ * <li>{@code profile}: {@code full} (default) keeps everything; {@code compact} removes the
+ * bookkeeping keys written by the entity converter (references, entity names and the audit and
+ * client/organization properties of the dictionary records) from every object.</li>
+ * <li>{@code fields}: comma-separated keys kept in each field and parameter entry, besides
+ * {@code id}. Window, tab and process objects are not affected.</li>
+ * </ul>
+ * Only the known containers are walked: {@code tabs}, the {@code fields} and {@code parameters}
+ * maps and the nested {@code column}, so keys of those maps, which are field names, are never
+ * removed. Fieldsets are parsed once per distinct parameter combination, and the pruned copy of
+ * a cached field map is kept as long as the cached map itself, so repeated requests with the
+ * same profile do not prune the same fields again.
+ */
+public final class SparseFieldset {
+  /** Query parameter with the name of the profile. */
+  public static final String PROFILE_PARAMETER = "profile";
+  /** Query parameter with the keys kept in field and parameter entries. */
+  public static final String FIELDS_PARAMETER = "fields";
+  /** Profile that keeps the full payload. */
+  public static final String PROFILE_FULL = "full";
+  /** Profile that drops the converter bookkeeping keys. */
+  public static final String PROFILE_COMPACT = "compact";
+
+  /** Fieldset that leaves payloads untouched. */
+  public static final SparseFieldset FULL = new SparseFieldset(PROFILE_FULL, false, null);
+
+  static final int MAX_FIELDSETS = 256;
+
+  private static final String TABS = "tabs";
+  private static final String FIELDS = "fields";
+  private static final String PARAMETERS = "parameters";
+  private static final String COLUMN = "column";
+  private static final Set<String> REFERENCE_PROPERTIES = Set.of("client", "organization",
+      Constants.CREATED_BY, Constants.UPDATED_BY);
+  private static final Set<String> COMPACT_DROPPED_KEYS = compactDroppedKeys();
+
+  private static final Map<String, SparseFieldset> fieldsets = new ConcurrentHashMap<>();
+  private static final Map<JSONObject, Map<String, JSONObject>> prunedEntries = new WeakHashMap<>();
+
+  private final String key;
+  private final boolean compact;
+  private final Set<String> entryKeys;
+
+  private SparseFieldset(String key, boolean compact, Set<String> entryKeys) {
+    this.key = key;
+    this.compact = compact;
+    this.entryKeys = entryKeys;
+  }
+
+  private static Set<String> compactDroppedKeys() {
+    Set<String> keys = new TreeSet<>(List.of(JsonConstants.REF, JsonConstants.ENTITYNAME, "recordTime",
+        Constants.CREATION_DATE, Constants.UPDATED));
+    for (String property : REFERENCE_PROPERTIES) {
+      keys.add(property);
+      keys.add(property + DalUtil.FIELDSEPARATOR + JsonConstants.IDENTIFIER);
+    }
+    return Collections.unmodifiableSet(keys);
+  }
+
+  /**
+   * Returns the fieldset requested with the {@code profile} and {@code fields} parameters.
+   *
+   * @param request the HTTP request
+   * @return the requested fieldset, {@link #FULL} when none is requested
+   * @throws UnprocessableContentException if the profile is unknown
+   */
+  public static SparseFieldset fromRequest(HttpServletRequest request) {
+    return of(request.getParameter(PROFILE_PARAMETER), request.getParameter(FIELDS_PARAMETER));
+  }
+
+  /**
+   * Returns the fieldset for the given profile and field list.
+   *
+   * @param profile the profile name, or {@code null} for {@code full}
+   * @param fields  comma-separated keys kept in field entries, or {@code null} to keep all
+   * @return the fieldset, {@link #FULL} when nothing is pruned
+   * @throws UnprocessableContentException if the profile is unknown
+   */
+  public static SparseFieldset of(String profile, String fields) {
+    String profileName = StringUtils.isBlank(profile) ? PROFILE_FULL : profile.trim();
+    if (!PROFILE_FULL.equals(profileName) && !PROFILE_COMPACT.equals(profileName)) {
+      throw new UnprocessableContentException("Unknown metadata profile: " + profileName);
+    }
+    Set<String> entryKeys = parseKeys(fields);
+    if (PROFILE_FULL.equals(profileName) && entryKeys == null) {
+      return FULL;
+    }
+
+    String cacheKey = profileName + "|" + (entryKeys != null ? String.join(",", entryKeys) : "");
+    SparseFieldset fieldset = fieldsets.get(cacheKey);
+    if (fieldset == null) {
+      fieldset = new SparseFieldset(cacheKey, PROFILE_COMPACT.equals(profileName), entryKeys);
+      if (fieldsets.size() < MAX_FIELDSETS) {
+        fieldsets.putIfAbsent(cacheKey, fieldset);
+      }
+    }
+    return fieldset;
+  }
+
+  private static Set<String> parseKeys(String fields) {
+    if (StringUtils.isBlank(fields)) {
+      return null;
+    }
+    Set<String> keys = new TreeSet<>();
+    for (String field : fields.split(",")) {
+      if (StringUtils.isNotBlank(field)) {
+        keys.add(field.trim());
+      }
+    }
+    keys.add(JsonConstants.ID);
+    return Collections.unmodifiableSet(keys);
+  }
+
+  /**
+   * Drops every parsed fieldset and pruned field map.
+   */
+  public static void clear() {
+    fieldsets.clear();
+    synchronized (prunedEntries) {
+      prunedEntries.clear();
+    }
+  }
+
+  public boolean isFull() {
+    return this == FULL;
+  }
+
+  /**
+   * Returns the pruned copy of a window, tab or process payload. The payload itself, which may
+   * contain cached objects, is never modified.
+   *
+   * @param payload the payload built by the endpoint
+   * @return the pruned payload, or the payload itself for {@link #FULL}
+   * @throws JSONException if the payload cannot be copied
+   */
+  public JSONObject apply(JSONObject payload) throws JSONException {
+    return isFull() ? payload : pruneObject(payload);
+  }
+
+  private JSONObject pruneObject(JSONObject source) throws JSONException {
+    JSONObject pruned = new JSONObject();
+    Iterator<?> keys = source.keys();
+    while (keys.hasNext()) {
+      String name = (String) keys.next();
+      if (compact && COMPACT_DROPPED_KEYS.contains(name)) {
+        continue;
+      }
+      Object value = source.opt(name);
+      if (TABS.equals(name) && value instanceof JSONArray) {
+        value = pruneArray((JSONArray) value);
+      } else if ((FIELDS.equals(name) || PARAMETERS.equals(name)) && value instanceof JSONObject) {
+        value = pruneEntries((JSONObject) value);
+      } else if (COLUMN.equals(name) && value instanceof JSONObject) {
+        value = pruneObject((JSONObject) value);
+      }
+      pruned.put(name, value);
+    }
+    return pruned;
+  }
+
+  private JSONArray pruneArray(JSONArray source) throws JSONException {
+    List<Object> pruned = new ArrayList<>(source.length());
+    for (int i = 0; i < source.length(); i++) {
+      Object item = source.get(i);
+      pruned.add(item instanceof JSONObject ? pruneObject((JSONObject) item) : item);
+    }
+    return new JSONArray(pruned);
+  }
+
+  private JSONObject pruneEntries(JSONObject source) throws JSONException {
+    synchronized (prunedEntries) {
+      JSONObject cached = prunedEntries.getOrDefault(source, Collections.emptyMap()).get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    JSONObject pruned = new JSONObject();
+    Iterator<?> names = source.keys();
+    while (names.hasNext()) {
+      String name = (String) names.next();
+      Object entry = source.opt(name);
+      pruned.put(name, entry instanceof JSONObject ? pruneEntry((JSONObject) entry) : entry);
+    }
+
+    synchronized (prunedEntries) {
+      prunedEntries.computeIfAbsent(source, k -> new ConcurrentHashMap<>()).put(key, pruned);
+    }
+    return pruned;
+  }
+
+  private JSONObject pruneEntry(JSONObject entry) throws JSONException {
+    if (entryKeys == null) {
+      return pruneObject(entry);
+    }
+    JSONObject selected = new JSONObject();
+    for (String name : entryKeys) {
+      if (entry.has(name)) {
+        selected.put(name, entry.opt(name));
+      }
+    }
+    return pruneObject(selected);
+  }
+}
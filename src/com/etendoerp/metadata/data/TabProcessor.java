@@ -20,35 +20,29 @@ package com.etendoerp.metadata.data;
 import static com.etendoerp.metadata.utils.Utils.evaluateDisplayLogicAtServerLevel;
 import static org.openbravo.client.application.process.BaseProcessActionHandler.hasAccess;
 
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import com.etendoerp.metadata.builders.FieldBuilderWithoutColumn;
 import com.etendoerp.metadata.cache.ADCacheProvider;
+import com.etendoerp.metadata.cache.RoleAccessMatrix;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
-import org.hibernate.criterion.Restrictions;
 import org.openbravo.base.exception.OBException;
 import org.openbravo.base.model.Entity;
 import org.openbravo.base.model.ModelProvider;
 import org.openbravo.base.model.Property;
 import org.openbravo.client.application.Process;
 import org.openbravo.dal.core.OBContext;
-import org.openbravo.dal.service.OBCriteria;
-import org.openbravo.dal.service.OBDal;
 import org.openbravo.model.ad.access.FieldAccess;
-import org.openbravo.model.ad.access.Role;
 import org.openbravo.model.ad.access.TabAccess;
-import org.openbravo.model.ad.access.WindowAccess;
 import org.openbravo.model.ad.datamodel.Column;
 import org.openbravo.model.ad.ui.Field;
 import org.openbravo.model.ad.ui.Tab;
@@ -127,6 +121,23 @@ public class TabProcessor {
       BiConsumer<T, String> nameSetter,
       BiFunction<T, Boolean, JSONObject> fieldMapper,
       ConcurrentMap<String, JSONObject> cache) {
+    return getFields(id, updated, () -> data, accessPredicate, columnExtractor, customJsExtractor,
+        clientClassExtractor, nameExtractor, nameSetter, fieldMapper, cache);
+  }
+
+  /**
+   * Same as {@link #getFields(String, String, List, Predicate, Function, Function, Function,
+   * Function, BiConsumer, BiFunction, ConcurrentMap)}, but only resolves the field list on a
+   * cache miss.
+   */
+  @SuppressWarnings("java:S107")
+  private static <T> JSONObject getFields(String id, String updated, Supplier<List<T>> data,
+      Predicate<T> accessPredicate, Function<T, Column> columnExtractor, Function<T, String> customJsExtractor,
+      Function<T, String> clientClassExtractor,
+      Function<T, String> nameExtractor,
+      BiConsumer<T, String> nameSetter,
+      BiFunction<T, Boolean, JSONObject> fieldMapper,
+      ConcurrentMap<String, JSONObject> cache) {
     String cacheKey = getCacheKey(id, updated);
     JSONObject list = cache.get(cacheKey);
     if (list != null) return list;
@@ -135,7 +146,7 @@ public class TabProcessor {
         clientClassExtractor, nameExtractor, nameSetter, fieldMapper);
     JSONObject result = new JSONObject();
 
-    for (T fieldLike : data) {
+    for (T fieldLike : data.get()) {
       try {
         if (accessPredicate.test(fieldLike)) {
           processFieldItem(fieldLike, processors, result);
@@ -199,27 +210,26 @@ public class TabProcessor {
    * @return a JSON object mapping field names to their JSON representations
    */
   public static JSONObject getTabFields(Tab tab) {
-    // Use ADCS-cached fields if available (avoids lazy-loading tab.getADFieldList()).
+    Map<String, Tab> tabCache = new HashMap<>();
+    return getFields(tab.getId(), tab.getUpdated().toString(), () -> resolveTabFields(tab),
+        TabProcessor::isFieldAccessible,
+        Field::getColumn, Field::getEtmetaCustomjs, Field::getClientclass, Field::getName,
+        Field::setName, (field, withCol) -> getJSONField(field, withCol, tabCache), fieldCache);
+  }
+
+  /**
+   * Resolves the field list of a tab without lazy-loading {@code tab.getADFieldList()} when
+   * possible: ADCS-cached fields first, then the window snapshot of the current build.
+   */
+  private static List<Field> resolveTabFields(Tab tab) {
     // Defensive copy: ADCS fields are shared across threads; getFields() may mutate
     // field names via nameSetter for custom JS fields.
     List<Field> fields = ADCacheProvider.getFieldsOfTab(tab);
     if (fields != null) {
-      fields = new java.util.ArrayList<>(fields);
-    } else {
-      fields = tab.getADFieldList();
+      return new java.util.ArrayList<>(fields);
     }
-
-    Map<String, Tab> tabCache = new HashMap<>();
-    // holder[0] is null until the first field is processed; loadAccessibleWindowIds() is never
-    // called on a cache hit because getFields() returns before invoking the fieldMapper lambda.
-    @SuppressWarnings("unchecked")
-    Set<String>[] holder = new Set[]{null};
-    return getFields(tab.getId(), tab.getUpdated().toString(), fields, TabProcessor::isFieldAccessible,
-        Field::getColumn, Field::getEtmetaCustomjs, Field::getClientclass, Field::getName,
-        Field::setName, (field, withCol) -> {
-          if (holder[0] == null) holder[0] = loadAccessibleWindowIds();
-          return getJSONField(field, withCol, tabCache, holder[0]);
-        }, fieldCache);
+    fields = WindowSnapshot.fieldsOf(tab);
+    return fields != null ? fields : tab.getADFieldList();
   }
 
   /**
@@ -244,18 +254,13 @@ public class TabProcessor {
    */
   public static JSONObject getTabFields(TabAccess tabAccess, List<FieldAccess> fieldAccessList) {
     Map<String, Tab> tabCache = new HashMap<>();
-    @SuppressWarnings("unchecked")
-    Set<String>[] holder = new Set[]{null};
     return getFields(tabAccess.getId(), tabAccess.getUpdated().toString(), fieldAccessList,
         TabProcessor::isFieldAccessAccessible, fieldAccess -> fieldAccess.getField().getColumn(),
         fieldAccess -> fieldAccess.getField().getEtmetaCustomjs(),
         fieldAccess -> fieldAccess.getField().getClientclass(),
         fieldAccess -> fieldAccess.getField().getName(),
         (fieldAccess, name) -> fieldAccess.getField().setName(name),
-        (access, withCol) -> {
-          if (holder[0] == null) holder[0] = loadAccessibleWindowIds();
-          return getJSONField(access, withCol, tabCache, holder[0]);
-        }, fieldAccessCache);
+        (access, withCol) -> getJSONField(access, withCol, tabCache), fieldAccessCache);
   }
 
   /**
@@ -324,11 +329,10 @@ public class TabProcessor {
     }
   }
 
-  private static JSONObject getJSONField(Field field, boolean withColumn,
-      Map<String, Tab> tabCache, Set<String> accessibleWindowIds) {
+  private static JSONObject getJSONField(Field field, boolean withColumn, Map<String, Tab> tabCache) {
     try {
       if (withColumn) {
-        return new FieldBuilderWithColumn(field, null, tabCache, accessibleWindowIds).toJSON();
+        return new FieldBuilderWithColumn(field, null, tabCache).toJSON();
       }
       return new FieldBuilderWithoutColumn(field, null).toJSON();
     } catch (JSONException e) {
@@ -337,11 +341,10 @@ public class TabProcessor {
     }
   }
 
-  private static JSONObject getJSONField(FieldAccess access, boolean withColumn,
-      Map<String, Tab> tabCache, Set<String> accessibleWindowIds) {
+  private static JSONObject getJSONField(FieldAccess access, boolean withColumn, Map<String, Tab> tabCache) {
     try {
       if (withColumn) {
-        return new FieldBuilderWithColumn(access.getField(), access, tabCache, accessibleWindowIds).toJSON();
+        return new FieldBuilderWithColumn(access.getField(), access, tabCache).toJSON();
       }
       return new FieldBuilderWithoutColumn(access.getField(), access).toJSON();
     } catch (JSONException e) {
@@ -350,33 +353,6 @@ public class TabProcessor {
     }
   }
 
-  /**
-   * Loads all window IDs accessible to the current role in a single query.
-   * Returns an empty set if the role cannot be resolved.
-   */
-  private static Set<String> loadAccessibleWindowIds() {
-    try {
-      OBContext context = OBContext.getOBContext();
-      Role role = context != null ? context.getRole() : null;
-      if (role == null) {
-        return Collections.emptySet();
-      }
-      OBCriteria<WindowAccess> criteria = OBDal.getReadOnlyInstance().createCriteria(WindowAccess.class);
-      criteria.add(Restrictions.eq(WindowAccess.PROPERTY_ROLE, role));
-      criteria.add(Restrictions.eq(WindowAccess.PROPERTY_ACTIVE, true));
-      Set<String> result = new HashSet<>();
-      for (WindowAccess wa : criteria.list()) {
-        if (wa.getWindow() != null) {
-          result.add(wa.getWindow().getId());
-        }
-      }
-      return result;
-    } catch (Exception e) {
-      logger.warn("Error loading accessible window IDs: {}", e.getMessage(), e);
-      return Collections.emptySet();
-    }
-  }
-
   /**
    * Clears the internal field metadata cache.
    * This method removes all cached JSONObject representations of standard fields
@@ -397,6 +373,8 @@ public class TabProcessor {
 
   /**
    * Checks whether the current role has access to the process linked to a field's column.
+   * The decision is evaluated once per role, process and window and then answered from the
+   * role's {@link RoleAccessMatrix}.
    *
    * @param field    the field to check
    * @param windowId the window ID used for access evaluation
@@ -411,7 +389,12 @@ public class TabProcessor {
 
     if (process == null) return true;
 
-    return hasAccess(process, Map.of("windowId", windowId));
+    RoleAccessMatrix access = RoleAccessMatrix.forCurrentRole();
+    if (access == null) {
+      return hasAccess(process, Map.of("windowId", windowId));
+    }
+    return access.hasProcessAccess(process.getId(), windowId,
+        () -> hasAccess(process, Map.of("windowId", windowId)));
   }
 
   private static String getContext() {
@@ -0,0 +1,418 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.openbravo.base.structure.BaseOBObject;
+import org.openbravo.dal.core.OBContext;
+import org.openbravo.dal.service.OBDal;
+import org.openbravo.model.ad.datamodel.Column;
+import org.openbravo.model.ad.datamodel.Table;
+import org.openbravo.model.ad.domain.Reference;
+import org.openbravo.model.ad.domain.ReferencedTree;
+import org.openbravo.model.ad.system.Language;
+import org.openbravo.model.ad.ui.Field;
+import org.openbravo.model.ad.ui.FieldTrl;
+import org.openbravo.model.ad.ui.Tab;
+import org.openbravo.userinterface.selector.Selector;
+import org.openbravo.userinterface.selector.SelectorField;
+
+/**
+ * Application Dictionary data needed to build one window, loaded with a fixed number of
+ * set-based queries instead of navigating the object graph lazily field by field.
+ * <p>
+ * The loader fetches, for every tab of the window, the fields together with their column,
+ * reference, search key reference and validation, the columns of the tab tables, and the
+ * selectors, tree selectors and selector fields of the referenced search keys. Every list is
+ * the entity's own collection ({@code tab.getADFieldList()}, {@code table.getADColumnList()},
+ * ...) initialized by a fetch join, so it keeps the order of the collection mapping and the
+ * builders see exactly what the lazy navigation returns. The result is kept in immutable
+ * indexes that {@link TabProcessor},
+ * {@link com.etendoerp.metadata.builders.TabBuilder} and
+ * {@link com.etendoerp.metadata.builders.FieldBuilder} consult before falling back to the lazy
+ * collections of the entities. Field translations for the language of the build are loaded
+ * with one more query the first time they are requested.
+ * <p>
+ * A snapshot is bound to the building thread with {@link #open(String)} and loaded on first
+ * use, so builds served entirely from the field caches do not run any of its queries. A build
+ * that renders the fields of some tabs only binds it with {@link #open(String, Set)}: fields,
+ * their selectors and their translations are then loaded for those tabs only, while the tab
+ * tables keep being loaded for the whole window.
+ * Lookups for objects outside the bound window return {@code null}, and callers then use the
+ * regular entity navigation.
+ */
+public final class WindowSnapshot {
+  private static final ThreadLocal<Holder> current = new ThreadLocal<>();
+
+  private static final String SEARCH_KEYS_SUBQUERY = "select f.column.referenceSearchKey.id from ADField f "
+      + "where f.tab.window.id = :windowId";
+  private static final String TABS_HQL = "as t left join fetch t." + Tab.PROPERTY_ADFIELDLIST + " f "
+      + "left join fetch f.column c left join fetch c.reference left join fetch c.referenceSearchKey "
+      + "left join fetch c.validation where t.window.id = :windowId";
+  private static final String TABLES_HQL = "as tb left join fetch tb." + Table.PROPERTY_ADCOLUMNLIST + " "
+      + "where tb.id in (select t.table.id from ADTab t where t.window.id = :windowId)";
+  // Two bags cannot be fetched by the same query: selectors and tree selectors are fetched apart
+  private static final String REFERENCE_SELECTORS_HQL = "as r left join fetch r."
+      + Reference.PROPERTY_OBUISELSELECTORLIST + " where r.id in (" + SEARCH_KEYS_SUBQUERY + "%s)";
+  private static final String REFERENCE_TREES_HQL = "as r left join fetch r."
+      + Reference.PROPERTY_ADREFERENCEDTREELIST + " where r.id in (" + SEARCH_KEYS_SUBQUERY + "%s)";
+  private static final String SELECTORS_HQL = "as s left join fetch s." + Selector.PROPERTY_OBUISELSELECTORFIELDLIST
+      + " where s.reference.id in (" + SEARCH_KEYS_SUBQUERY + "%s)";
+  private static final String FIELD_TRANSLATIONS_HQL = "as ft where ft.field.tab.window.id = :windowId "
+      + "and ft.language.id = :languageId";
+  private static final String PARAM_WINDOW_ID = "windowId";
+  private static final String PARAM_LANGUAGE_ID = "languageId";
+  private static final String PARAM_TAB_IDS = "tabIds";
+
+  private final String windowId;
+  private final Set<String> tabIds;
+  private final Map<String, List<Field>> fieldsByTab;
+  private final Map<String, List<Column>> columnsByTable;
+  private final Map<String, ReferenceSelectors> selectorsByReference;
+  private final Map<String, List<SelectorField>> fieldsBySelector;
+  private Map<String, Map<String, Object>> fieldTranslations;
+
+  WindowSnapshot(String windowId, Set<String> tabIds, Collection<Tab> tabs, Collection<Table> tables,
+      Collection<Reference> references, Collection<Selector> selectors) {
+    this.windowId = windowId;
+    this.tabIds = tabIds;
+    this.fieldsByTab = index(tabs, Tab::getId, Tab::getADFieldList);
+    this.columnsByTable = index(tables, Table::getId, Table::getADColumnList);
+    this.fieldsBySelector = index(selectors, Selector::getId, Selector::getOBUISELSelectorFieldList);
+
+    // Same choice as FieldBuilder.getReferenceSelectors: the first of each collection
+    Map<String, ReferenceSelectors> byReference = new HashMap<>();
+    for (Reference reference : references) {
+      List<Selector> referenceSelectors = reference.getOBUISELSelectorList();
+      List<ReferencedTree> referenceTrees = reference.getADReferencedTreeList();
+      byReference.put(reference.getId(), new ReferenceSelectors(
+          referenceSelectors.isEmpty() ? null : referenceSelectors.get(0),
+          referenceTrees.isEmpty() ? null : referenceTrees.get(0)));
+    }
+    this.selectorsByReference = Collections.unmodifiableMap(byReference);
+  }
+
+  /**
+   * Handle that restores the previously bound snapshot when closed.
+   */
+  public static final class Scope implements AutoCloseable {
+    private final Holder previous;
+
+    private Scope(Holder previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (previous != null) {
+        current.set(previous);
+      } else {
+        current.remove();
+      }
+    }
+  }
+
+  private static final class Holder {
+    private final String windowId;
+    private final Set<String> tabIds;
+    private WindowSnapshot snapshot;
+
+    Holder(String windowId, Set<String> tabIds) {
+      this.windowId = windowId;
+      this.tabIds = tabIds;
+    }
+
+    synchronized WindowSnapshot get() {
+      if (snapshot == null) {
+        snapshot = load(windowId, tabIds);
+      }
+      return snapshot;
+    }
+  }
+
+  /**
+   * Binds a lazily loaded snapshot of the window to the current thread until the returned
+   * scope is closed.
+   *
+   * @param windowId the window being built
+   * @return the scope to close when the build finishes
+   */
+  public static Scope open(String windowId) {
+    return open(windowId, null);
+  }
+
+  /**
+   * Binds a lazily loaded snapshot of the window to the current thread until the returned
+   * scope is closed, loading fields only for the given tabs.
+   *
+   * @param windowId the window being built
+   * @param tabIds   the tabs whose fields are rendered, or {@code null} for every tab
+   * @return the scope to close when the build finishes
+   */
+  public static Scope open(String windowId, Set<String> tabIds) {
+    Scope scope = new Scope(current.get());
+    current.set(new Holder(windowId, tabIds != null ? Set.copyOf(tabIds) : null));
+    return scope;
+  }
+
+  /**
+   * Returns the snapshot bound to the current thread, loading it on first use.
+   *
+   * @return the bound snapshot, or {@code null} when no window build is in progress
+   */
+  public static WindowSnapshot current() {
+    Holder holder = current.get();
+    return holder != null ? holder.get() : null;
+  }
+
+  /**
+   * Returns the fields of the tab from the bound snapshot.
+   *
+   * @param tab the tab
+   * @return the fields, or {@code null} when no snapshot covers the tab
+   */
+  public static List<Field> fieldsOf(Tab tab) {
+    WindowSnapshot snapshot = current();
+    return snapshot != null ? snapshot.getFields(tab) : null;
+  }
+
+  /**
+   * Returns the columns of the table from the bound snapshot.
+   *
+   * @param table the table
+   * @return the columns, or {@code null} when no snapshot covers the table
+   */
+  public static List<Column> columnsOf(Table table) {
+    WindowSnapshot snapshot = current();
+    return snapshot != null ? snapshot.getColumns(table) : null;
+  }
+
+  /**
+   * Returns the selectors of the reference from the bound snapshot.
+   *
+   * @param reference the search key reference
+   * @return the selectors, or {@code null} when no snapshot covers the reference
+   */
+  public static ReferenceSelectors selectorsOf(Reference reference) {
+    WindowSnapshot snapshot = current();
+    return snapshot != null ? snapshot.getReferenceSelectors(reference) : null;
+  }
+
+  /**
+   * Returns the fields of the selector from the bound snapshot.
+   *
+   * @param selector the selector
+   * @return the selector fields, or {@code null} when no snapshot covers the selector
+   */
+  public static List<SelectorField> selectorFieldsOf(Selector selector) {
+    WindowSnapshot snapshot = current();
+    return snapshot != null ? snapshot.getSelectorFields(selector) : null;
+  }
+
+  /**
+   * Returns the translated values of a field from the bound snapshot.
+   *
+   * @param field the field
+   * @return the translated values by property name, or {@code null} when no snapshot covers
+   *     the field
+   */
+  public static Map<String, Object> translationsOf(Field field) {
+    WindowSnapshot snapshot = current();
+    return snapshot != null ? snapshot.getTranslations(field) : null;
+  }
+
+  /**
+   * Loads the snapshot of a window with one query per kind of object, independent of the number
+   * of tabs and fields.
+   *
+   * @param windowId the window to load
+   * @return the loaded snapshot
+   */
+  public static WindowSnapshot load(String windowId) {
+    return load(windowId, null);
+  }
+
+  /**
+   * Loads the snapshot of a window, with the fields, selectors and field translations of the
+   * given tabs only.
+   *
+   * @param windowId the window to load
+   * @param tabIds   the tabs whose fields are loaded, or {@code null} for every tab
+   * @return the loaded snapshot
+   */
+  public static WindowSnapshot load(String windowId, Set<String> tabIds) {
+    Map<String, Object> params = new HashMap<>();
+    params.put(PARAM_WINDOW_ID, windowId);
+    if (tabIds != null) {
+      params.put(PARAM_TAB_IDS, tabIds);
+    }
+    String fieldScope = tabScope("f.tab.id", tabIds);
+    Collection<Reference> references = list(Reference.class, String.format(REFERENCE_SELECTORS_HQL, fieldScope),
+        params);
+    // Same session: the second query initializes the tree selectors of the same instances
+    references.addAll(list(Reference.class, String.format(REFERENCE_TREES_HQL, fieldScope), params));
+    return new WindowSnapshot(windowId, tabIds,
+        list(Tab.class, TABS_HQL + tabScope("t.id", tabIds), params),
+        list(Table.class, TABLES_HQL, Map.of(PARAM_WINDOW_ID, windowId)),
+        references,
+        list(Selector.class, String.format(SELECTORS_HQL, fieldScope), params));
+  }
+
+  /**
+   * Returns the condition restricting a query to the given tabs, or an empty string for every
+   * tab of the window.
+   */
+  private static String tabScope(String tabIdProperty, Set<String> tabIds) {
+    return tabIds != null ? " and " + tabIdProperty + " in (:" + PARAM_TAB_IDS + ")" : "";
+  }
+
+  /**
+   * Runs a fetch join query. Roots are repeated once per fetched child, so they are collected
+   * by id, in query order.
+   */
+  private static <T extends BaseOBObject> Collection<T> list(Class<T> type, String hql,
+      Map<String, Object> params) {
+    Map<Object, T> roots = new LinkedHashMap<>();
+    for (T root : OBDal.getReadOnlyInstance()
+        .createQuery(type, hql, params)
+        .setFilterOnActive(false)
+        .setFilterOnReadableClients(false)
+        .setFilterOnReadableOrganization(false)
+        .list()) {
+      roots.putIfAbsent(root.getId(), root);
+    }
+    return new ArrayList<>(roots.values());
+  }
+
+  private static Map<String, Map<String, Object>> loadFieldTranslations(String windowId, Set<String> tabIds) {
+    Language language = OBContext.getOBContext().getLanguage();
+    if (language == null) {
+      return Collections.emptyMap();
+    }
+    Map<String, Object> params = new HashMap<>();
+    params.put(PARAM_WINDOW_ID, windowId);
+    params.put(PARAM_LANGUAGE_ID, language.getId());
+    if (tabIds != null) {
+      params.put(PARAM_TAB_IDS, tabIds);
+    }
+    List<FieldTrl> rows = OBDal.getReadOnlyInstance()
+        .createQuery(FieldTrl.class, FIELD_TRANSLATIONS_HQL + tabScope("ft.field.tab.id", tabIds), params)
+        .setFilterOnActive(false)
+        .setFilterOnReadableClients(false)
+        .setFilterOnReadableOrganization(false)
+        .list();
+
+    Map<String, Map<String, Object>> translations = new HashMap<>();
+    for (FieldTrl row : rows) {
+      Map<String, Object> values = new HashMap<>();
+      values.put(Field.PROPERTY_NAME, row.getName());
+      values.put(Field.PROPERTY_DESCRIPTION, row.getDescription());
+      values.put(Field.PROPERTY_HELPCOMMENT, row.getHelpComment());
+      translations.put(row.getField().getId(), Collections.unmodifiableMap(values));
+    }
+    return Collections.unmodifiableMap(translations);
+  }
+
+  private static <P, T> Map<String, List<T>> index(Collection<P> parents, Function<P, String> idExtractor,
+      Function<P, List<T>> children) {
+    Map<String, List<T>> indexed = new HashMap<>();
+    for (P parent : parents) {
+      indexed.put(idExtractor.apply(parent), Collections.unmodifiableList(new ArrayList<>(children.apply(parent))));
+    }
+    return Collections.unmodifiableMap(indexed);
+  }
+
+  public String getWindowId() {
+    return windowId;
+  }
+
+  /**
+   * Returns the fields of a tab of this window, including inactive ones.
+   *
+   * @param tab the tab
+   * @return the fields, or {@code null} when the tab does not belong to this window or its
+   *     fields were not loaded
+   */
+  public List<Field> getFields(Tab tab) {
+    if (tab.getWindow() == null || !windowId.equals(tab.getWindow().getId())
+        || tabIds != null && !tabIds.contains(tab.getId())) {
+      return null;
+    }
+    return fieldsByTab.getOrDefault(tab.getId(), Collections.emptyList());
+  }
+
+  /**
+   * Returns the translated values of a field of this window in the language of the current
+   * context. The translations of all the fields are loaded with one query on first use.
+   *
+   * @param field the field
+   * @return the translated values by property name, empty when the field has no translation,
+   *     or {@code null} when the field does not belong to this window
+   */
+  public Map<String, Object> getTranslations(Field field) {
+    if (field.getTab() == null || getFields(field.getTab()) == null) {
+      return null;
+    }
+    if (fieldTranslations == null) {
+      fieldTranslations = loadFieldTranslations(windowId, tabIds);
+    }
+    return fieldTranslations.getOrDefault(field.getId(), Collections.emptyMap());
+  }
+
+  /**
+   * Returns the columns of a table used by a tab of this window, including inactive ones.
+   *
+   * @param table the table
+   * @return the columns, or {@code null} when no tab of this window uses the table
+   */
+  public List<Column> getColumns(Table table) {
+    return columnsByTable.get(table.getId());
+  }
+
+  /**
+   * Returns the selector and tree selector of a search key reference used by this window.
+   *
+   * @param reference the search key reference
+   * @return the selectors, or {@code null} when no field of this window uses the reference
+   */
+  public ReferenceSelectors getReferenceSelectors(Reference reference) {
+    return selectorsByReference.get(reference.getId());
+  }
+
+  /**
+   * Returns the fields of a selector used by this window, including inactive ones.
+   *
+   * @param selector the selector
+   * @return the selector fields, or {@code null} when no field of this window uses the selector
+   */
+  public List<SelectorField> getSelectorFields(Selector selector) {
+    if (selector.getReference() == null || !selectorsByReference.containsKey(selector.getReference().getId())) {
+      return null;
+    }
+    return fieldsBySelector.getOrDefault(selector.getId(), Collections.emptyList());
+  }
+}
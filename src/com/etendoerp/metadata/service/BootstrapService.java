@@ -0,0 +1,132 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.http.entity.ContentType;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.dal.core.OBContext;
+import org.openbravo.model.ad.system.Language;
+
+import com.etendoerp.metadata.builders.LanguageBuilder;
+import com.etendoerp.metadata.builders.MenuBuilder;
+import com.etendoerp.metadata.builders.SessionBuilder;
+import com.etendoerp.metadata.utils.Utils;
+
+/**
+ * Serves GET /meta/bootstrap with everything a client needs on start up, in one request.
+ * <p>
+ * The response is a JSON object with one section per document, each holding the same body as
+ * the endpoint it comes from: {@code session} ({@code /meta/session}), {@code menu}
+ * ({@code /meta/menu}), {@code labelsVersion} and {@code labels} ({@code /meta/labels}),
+ * {@code preferences} ({@code /meta/preferences}) and {@code languages}
+ * ({@code /meta/language}). The request context is set up once for all of them, labels and
+ * preferences are copied from their caches as serialized bytes, and each section is flushed to
+ * the client as soon as it is built. A section that fails holds the error instead
+ * ({@code {"error": ...}}) so the rest of the response is still delivered.
+ */
+public class BootstrapService extends MetadataService {
+    static final String SESSION = "session";
+    static final String MENU = "menu";
+    static final String LABELS_VERSION = "labelsVersion";
+    static final String LABELS = "labels";
+    static final String PREFERENCES = "preferences";
+    static final String LANGUAGES = "languages";
+
+    /**
+     * Builds the serialized body of a section.
+     */
+    @FunctionalInterface
+    interface Section {
+        /**
+         * Builds the section.
+         *
+         * @return the section as UTF-8 JSON bytes
+         * @throws Exception if the section cannot be built
+         */
+        byte[] build() throws Exception;
+    }
+
+    /**
+     * Creates a new BootstrapService for the given request/response pair.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     */
+    public BootstrapService(HttpServletRequest request, HttpServletResponse response) {
+        super(request, response);
+    }
+
+    @Override
+    public void process() throws IOException {
+        HttpServletResponse response = getResponse();
+        response.setContentType(ContentType.APPLICATION_JSON.getMimeType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        OBContext.setAdminMode(true);
+        try (OutputStream output = response.getOutputStream()) {
+            OBContext context = OBContext.getOBContext();
+            Language language = context.getLanguage();
+
+            output.write('{');
+            writeSection(output, SESSION, () -> toBytes(new SessionBuilder().toJSON()), true);
+            writeSection(output, MENU, () -> toBytes(new MenuBuilder().toJSON()), false);
+            // The version goes first: if the labels change in between, the client asks for a delta
+            // it partly has instead of missing one
+            writeSection(output, LABELS_VERSION,
+                    () -> toBytes(String.valueOf(LabelsService.getBundle(language).getVersion())), false);
+            writeSection(output, LABELS, () -> LabelsService.getBundle(language).getJson(), false);
+            writeSection(output, PREFERENCES, () -> PreferencesService.getPreferences(context).getJson(), false);
+            writeSection(output, LANGUAGES, () -> toBytes(new LanguageBuilder().toJSON()), false);
+            output.write('}');
+        } catch (IOException e) {
+            logger.warn(e.getMessage(), e);
+
+            throw e;
+        } finally {
+            OBContext.restorePreviousMode();
+        }
+    }
+
+    private void writeSection(OutputStream output, String name, Section section, boolean first) throws IOException {
+        byte[] body;
+        try {
+            body = section.build();
+        } catch (Exception e) {
+            logger.error("Error building bootstrap section {}: {}", name, e.getMessage(), e);
+            body = toBytes(Utils.convertToJson(e));
+        }
+        if (!first) {
+            output.write(',');
+        }
+        output.write(toBytes(JSONObject.quote(name)));
+        output.write(':');
+        output.write(body);
+        output.flush();
+    }
+
+    private static byte[] toBytes(Object value) {
+        return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.service;
+
+import static com.etendoerp.metadata.utils.Constants.COMBO_PATH;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.base.structure.BaseOBObject;
+import org.openbravo.client.kernel.RequestContext;
+import org.openbravo.dal.core.OBContext;
+import org.openbravo.dal.service.OBDal;
+import org.openbravo.data.FieldProvider;
+import org.openbravo.database.ConnectionProvider;
+import org.openbravo.erpCommon.utility.ComboTableData;
+import org.openbravo.erpCommon.utility.Utility;
+import org.openbravo.model.ad.domain.Reference;
+import org.openbravo.model.ad.domain.ReferencedTable;
+import org.openbravo.model.ad.domain.Validation;
+import org.openbravo.model.ad.ui.ProcessParameter;
+import org.openbravo.service.db.DalConnectionProvider;
+import org.openbravo.service.json.JsonConstants;
+
+import com.etendoerp.metadata.cache.ComboDataCache;
+import com.etendoerp.metadata.exceptions.InternalServerException;
+import com.etendoerp.metadata.exceptions.NotFoundException;
+
+/**
+ * Serves GET /meta/combo/{parameterId} with the values of a legacy process parameter combo.
+ * <p>
+ * Values are loaded with {@link ComboTableData} only when the client opens the combo, and are
+ * shared per (reference, validation, role) and evaluation context through
+ * {@link ComboDataCache}. Combos whose validation rule or table reference filter reads context
+ * variables ({@code @...@}, such as {@code @#AD_User_ID@} or session values) depend on the
+ * caller and are never shared. Results are paged with {@code _startRow}/{@code _endRow} (inclusive)
+ * and can be filtered by name with {@code search}.
+ */
+public class ComboDataService extends MetadataService {
+    static final String SEARCH_PARAMETER = "search";
+    static final int DEFAULT_PAGE_SIZE = 75;
+    static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Creates a new ComboDataService for the given request/response pair.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     */
+    public ComboDataService(HttpServletRequest request, HttpServletResponse response) {
+        super(request, response);
+    }
+
+    @Override
+    public void process() throws IOException {
+        String parameterId = extractParameterId(getRequest().getPathInfo());
+        if (StringUtils.isEmpty(parameterId)) {
+            throw new NotFoundException("Invalid combo path: " + getRequest().getPathInfo());
+        }
+
+        try {
+            OBContext.setAdminMode(true);
+            ProcessParameter parameter = OBDal.getInstance().get(ProcessParameter.class, parameterId);
+            if (parameter == null || parameter.getProcess() == null || parameter.getReference() == null) {
+                throw new NotFoundException("Combo parameter not found: " + parameterId);
+            }
+
+            List<ComboDataCache.Value> values = usesContextVariables(parameter)
+                    ? loadValues(parameter)
+                    : ComboDataCache.get(buildCacheKey(parameter), () -> loadValues(parameter));
+            write(buildPage(values));
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InternalServerException(e.getMessage(), e);
+        } finally {
+            OBContext.restorePreviousMode();
+        }
+    }
+
+    /**
+     * Builds the cache key of a parameter combo: reference, validation and role, plus the
+     * column, organization and language the combo query is evaluated with.
+     */
+    static String buildCacheKey(ProcessParameter parameter) {
+        OBContext context = OBContext.getOBContext();
+        return String.join("|",
+                parameter.getReference().getId(),
+                idOf(parameter.getReferenceSearchKey()),
+                idOf(parameter.getValidation()),
+                parameter.getDBColumnName(),
+                idOf(context.getRole()),
+                idOf(context.getCurrentOrganization()),
+                idOf(context.getLanguage()));
+    }
+
+    /**
+     * Returns whether the combo query is filled with context variables by
+     * {@link Utility#fillSQLParameters}: its validation code or the where clause of its table
+     * reference contains {@code @...@} placeholders.
+     */
+    static boolean usesContextVariables(ProcessParameter parameter) {
+        Validation validation = parameter.getValidation();
+        if (validation != null && hasContextVariable(validation.getValidationCode())) {
+            return true;
+        }
+        Reference searchKey = parameter.getReferenceSearchKey();
+        if (searchKey != null) {
+            for (ReferencedTable table : searchKey.getADReferencedTableList()) {
+                if (hasContextVariable(table.getSQLWhereClause())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasContextVariable(String sql) {
+        return sql != null && sql.indexOf('@') != -1;
+    }
+
+    private static String idOf(BaseOBObject object) {
+        return object != null ? (String) object.getId() : "";
+    }
+
+    private List<ComboDataCache.Value> loadValues(ProcessParameter parameter) throws Exception {
+        ConnectionProvider connProvider = DalConnectionProvider.getReadOnlyConnectionProvider();
+        var vars = RequestContext.get().getVariablesSecureApp();
+        var comboTableData = new ComboTableData(vars, connProvider,
+                parameter.getReference().getId(), parameter.getDBColumnName(),
+                parameter.getReferenceSearchKey() != null ? parameter.getReferenceSearchKey().getId() : "",
+                parameter.getValidation() != null ? parameter.getValidation().getId() : null,
+                Utility.getContext(connProvider, vars, "#AccessibleOrgTree", ""),
+                Utility.getContext(connProvider, vars, "#User_Client", ""), 0);
+        Utility.fillSQLParameters(connProvider, vars, null, comboTableData,
+                parameter.getProcess().getId(),
+                Utility.getContext(connProvider, vars, "#AD_Org_ID", parameter.getProcess().getId()));
+
+        List<ComboDataCache.Value> values = new ArrayList<>();
+        for (FieldProvider fieldProvider : comboTableData.select(false)) {
+            values.add(new ComboDataCache.Value(fieldProvider.getField("ID"), fieldProvider.getField("NAME")));
+        }
+        return values;
+    }
+
+    private JSONObject buildPage(List<ComboDataCache.Value> values) throws JSONException {
+        List<ComboDataCache.Value> matches = filter(values, getRequest().getParameter(SEARCH_PARAMETER));
+        int startRow = Math.max(parseInt(getRequest().getParameter(JsonConstants.STARTROW_PARAMETER), 0), 0);
+        int requestedEnd = parseInt(getRequest().getParameter(JsonConstants.ENDROW_PARAMETER),
+                startRow + DEFAULT_PAGE_SIZE - 1);
+        int endRow = Math.min(Math.min(requestedEnd, startRow + MAX_PAGE_SIZE - 1), matches.size() - 1);
+
+        JSONArray data = new JSONArray();
+        for (int i = startRow; i <= endRow; i++) {
+            ComboDataCache.Value value = matches.get(i);
+            data.put(new JSONObject().put("id", value.getId()).put("name", value.getName()));
+        }
+
+        JSONObject response = new JSONObject();
+        response.put(JsonConstants.RESPONSE_STATUS, JsonConstants.RPCREQUEST_STATUS_SUCCESS);
+        response.put(JsonConstants.RESPONSE_STARTROW, startRow);
+        response.put(JsonConstants.RESPONSE_ENDROW, Math.max(endRow, startRow - 1));
+        response.put(JsonConstants.RESPONSE_TOTALROWS, matches.size());
+        response.put(JsonConstants.RESPONSE_DATA, data);
+        return new JSONObject().put(JsonConstants.RESPONSE_RESPONSE, response);
+    }
+
+    private static List<ComboDataCache.Value> filter(List<ComboDataCache.Value> values, String search) {
+        if (StringUtils.isBlank(search)) {
+            return values;
+        }
+        String needle = search.trim().toLowerCase(Locale.ROOT);
+        List<ComboDataCache.Value> matches = new ArrayList<>();
+        for (ComboDataCache.Value value : values) {
+            if (value.getName() != null && value.getName().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(value);
+            }
+        }
+        return matches;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Extracts the parameter ID from paths like {@code /combo/{parameterId}}, ignoring the
+     * servlet prefix and trailing slashes.
+     */
+    private static String extractParameterId(String pathInfo) {
+        if (pathInfo == null) {
+            return null;
+        }
+        int index = pathInfo.indexOf(COMBO_PATH);
+        if (index == -1) {
+            return null;
+        }
+        String id = pathInfo.substring(index + COMBO_PATH.length());
+        return id.endsWith("/") ? id.substring(0, id.length() - 1) : id;
+    }
+}
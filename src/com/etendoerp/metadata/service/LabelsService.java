@@ -18,18 +18,48 @@
 package com.etendoerp.metadata.service;
 
 import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
 import org.openbravo.dal.core.OBContext;
+import org.openbravo.model.ad.system.Language;
 
 import com.etendoerp.metadata.builders.LabelsBuilder;
+import com.etendoerp.metadata.cache.HttpCacheSupport;
+import com.etendoerp.metadata.cache.LabelBundleCache;
 import com.etendoerp.metadata.exceptions.InternalServerException;
+import com.etendoerp.metadata.exceptions.UnprocessableContentException;
+import com.etendoerp.metadata.utils.Constants;
 
-/** Serves GET /meta/labels with all I18N labels for the current language. */
+/**
+ * Serves GET /meta/labels with all I18N labels for the current language.
+ * <p>
+ * Labels are served from {@link LabelBundleCache}: the full bundle is written as pre-serialized
+ * bytes, gzip-compressed when the client accepts it, and its version is returned in the
+ * {@code X-Labels-Version} header. With {@code ?since=<version>} only the labels changed after
+ * that version are returned, as {@code {version, full, labels, removed}}.
+ * <p>
+ * Labels are also partitioned by module. {@code ?partitions} lists the partitions with their
+ * ETag and label count, and {@code ?module=<javaPackage>} returns the labels of one module.
+ * Both carry their own ETag and are answered with {@code 304 Not Modified} when the client
+ * already holds them. Both {@code module} and {@code since} can be combined to get the delta of
+ * a module. The servlet level ETag of {@link HttpCacheSupport} only covers the full bundle.
+ */
 public class LabelsService extends MetadataService {
+    static final String SINCE_PARAMETER = Constants.LABELS_SINCE_PARAMETER;
+    static final String MODULE_PARAMETER = Constants.LABELS_MODULE_PARAMETER;
+    static final String PARTITIONS_PARAMETER = Constants.LABELS_PARTITIONS_PARAMETER;
+    static final String PARTITIONS = "partitions";
+    static final String MODULE = "module";
+    static final String ETAG = "etag";
+    static final String COUNT = "count";
+
     /**
      * Creates a new LabelsService for the given request/response pair.
      *
@@ -44,11 +74,97 @@ public class LabelsService extends MetadataService {
     public void process() throws IOException {
         try {
             OBContext.setAdminMode(true);
-            write(new LabelsBuilder().toJSON());
+            OBContext context = OBContext.getOBContext();
+            LabelBundleCache.Bundle bundle = getBundle(context != null ? context.getLanguage() : null);
+            getResponse().setHeader(Constants.LABELS_VERSION_HEADER, String.valueOf(bundle.getVersion()));
+
+            String since = getRequest().getParameter(SINCE_PARAMETER);
+            String module = getRequest().getParameter(MODULE_PARAMETER);
+            if (since != null) {
+                write(bundle.delta(parseVersion(since), module));
+            } else if (getRequest().getParameter(PARTITIONS_PARAMETER) != null) {
+                if (!isNotModified(bundle.getPartitionsETag())) {
+                    write(partitionsToJSON(bundle));
+                }
+            } else if (module != null) {
+                writePartition(bundle.getPartition(module));
+            } else {
+                getResponse().setHeader(Constants.VARY_HEADER, Constants.ACCEPT_ENCODING_HEADER);
+                writeEncoded(bundle.getJson(), bundle.getGzip());
+            }
         } catch (JSONException e) {
             throw new InternalServerException(e.getMessage());
         } finally {
             OBContext.restorePreviousMode();
         }
     }
+
+    /**
+     * Returns the label bundle of the given language, loading it on a cache miss.
+     *
+     * @param language the language the labels are translated to
+     * @return the label bundle
+     * @throws JSONException if the labels cannot be serialized
+     */
+    static LabelBundleCache.Bundle getBundle(Language language) throws JSONException {
+        return LabelBundleCache.get(language, () -> new LabelsBuilder().toJSON(), LabelsBuilder::loadModules);
+    }
+
+    private void writePartition(LabelBundleCache.Partition partition) throws IOException {
+        getResponse().setHeader(Constants.VARY_HEADER, Constants.ACCEPT_ENCODING_HEADER);
+        if (!isNotModified(partition.getETag())) {
+            writeEncoded(partition.getJson(), partition.getGzip());
+        }
+    }
+
+    /**
+     * Sets the ETag of the response and answers {@code 304 Not Modified} when the client already
+     * holds it.
+     *
+     * @param etag the ETag of the response
+     * @return {@code true} when the response was answered with 304 and nothing must be written
+     */
+    private boolean isNotModified(String etag) {
+        HttpServletResponse response = getResponse();
+        response.setHeader(Constants.CACHE_CONTROL_HEADER, Constants.CACHE_CONTROL_PRIVATE_MUST_REVALIDATE);
+        response.setHeader(Constants.ETAG_HEADER, etag);
+        if (HttpCacheSupport.matches(getRequest().getHeader(Constants.IF_NONE_MATCH_HEADER), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    private void writeEncoded(byte[] json, byte[] gzip) throws IOException {
+        if (acceptsGzip()) {
+            write(gzip, Constants.GZIP_ENCODING);
+        } else {
+            write(json, null);
+        }
+    }
+
+    private static JSONObject partitionsToJSON(LabelBundleCache.Bundle bundle) throws JSONException {
+        JSONArray partitions = new JSONArray();
+        for (Map.Entry<String, LabelBundleCache.Partition> entry : bundle.getPartitions().entrySet()) {
+            JSONObject partition = new JSONObject();
+            partition.put(MODULE, entry.getKey());
+            partition.put(ETAG, entry.getValue().getETag());
+            partition.put(COUNT, entry.getValue().getSize());
+            partitions.put(partition);
+        }
+        return new JSONObject().put(LabelBundleCache.VERSION, bundle.getVersion()).put(PARTITIONS, partitions);
+    }
+
+    private boolean acceptsGzip() {
+        String acceptEncoding = getRequest().getHeader(Constants.ACCEPT_ENCODING_HEADER);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains(Constants.GZIP_ENCODING);
+    }
+
+    private static long parseVersion(String since) {
+        try {
+            return Long.parseLong(since.trim());
+        } catch (NumberFormatException e) {
+            throw new UnprocessableContentException("Invalid '" + SINCE_PARAMETER + "' version: " + since);
+        }
+    }
 }
@@ -18,6 +18,7 @@
 package com.etendoerp.metadata.service;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 
@@ -30,6 +31,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.codehaus.jettison.json.JSONObject;
 
+import com.etendoerp.metadata.utils.Constants;
+
 /** Base class for all metadata endpoint services. */
 public abstract class MetadataService {
     private static final ThreadLocal<HttpServletRequest> requestThreadLocal = new ThreadLocal<>();
@@ -75,6 +78,32 @@ public abstract class MetadataService {
         }
     }
 
+    /**
+     * Writes an already serialized JSON body, as UTF-8 bytes.
+     *
+     * @param data            the serialized JSON
+     * @param contentEncoding the encoding the bytes are compressed with (e.g. {@code gzip}), or
+     *                        {@code null} for uncompressed bytes
+     * @throws IOException if an I/O error occurs
+     */
+    protected void write(byte[] data, String contentEncoding) throws IOException {
+        HttpServletResponse response = getResponse();
+        response.setContentType(ContentType.APPLICATION_JSON.getMimeType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (contentEncoding != null) {
+            response.setHeader(Constants.CONTENT_ENCODING_HEADER, contentEncoding);
+        }
+        response.setContentLength(data.length);
+
+        try (OutputStream output = response.getOutputStream()) {
+            output.write(data);
+        } catch (IOException e) {
+            logger.warn(e.getMessage(), e);
+
+            throw e;
+        }
+    }
+
     /**
      * Main processing method to be implemented by subclasses.
      *
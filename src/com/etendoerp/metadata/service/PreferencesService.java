@@ -17,21 +17,29 @@
 package com.etendoerp.metadata.service;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.codehaus.jettison.json.JSONObject;
+import org.codehaus.jettison.json.JSONException;
 import org.openbravo.dal.core.OBContext;
 import org.openbravo.erpCommon.businessUtility.Preferences;
 import org.openbravo.model.ad.domain.Preference;
 
+import com.etendoerp.metadata.cache.HttpCacheSupport;
+import com.etendoerp.metadata.cache.PreferenceCache;
+import com.etendoerp.metadata.utils.Constants;
+
 /**
  * Service that returns all resolved preferences for the current user session.
  * Exposes preferences as a JSON map so that the new UI can load them at login
  * and use them for display logic expressions.
+ * <p>
+ * Resolved preferences are served from {@link PreferenceCache} with an ETag, and a request
+ * whose {@code If-None-Match} matches it is answered with {@code 304 Not Modified}.
  */
 public class PreferencesService extends MetadataService {
 
@@ -49,23 +57,16 @@ public class PreferencesService extends MetadataService {
     public void process() throws IOException {
         OBContext.setAdminMode();
         try {
-            final JSONObject result = new JSONObject();
-            final JSONObject preferences = new JSONObject();
-
-            final List<Preference> allPrefs = Preferences.getAllPreferences(
-                    OBContext.getOBContext().getCurrentClient().getId(),
-                    OBContext.getOBContext().getCurrentOrganization().getId(),
-                    OBContext.getOBContext().getUser().getId(),
-                    OBContext.getOBContext().getRole().getId());
-
-            final List<String> handledIds = new ArrayList<>();
-
-            for (Preference pref : allPrefs) {
-                processPreference(pref, preferences, handledIds);
+            PreferenceCache.Entry entry = getPreferences(OBContext.getOBContext());
+
+            HttpServletResponse response = getResponse();
+            response.setHeader(Constants.CACHE_CONTROL_HEADER, Constants.CACHE_CONTROL_PRIVATE_MUST_REVALIDATE);
+            response.setHeader(Constants.ETAG_HEADER, entry.getETag());
+            if (HttpCacheSupport.matches(getRequest().getHeader(Constants.IF_NONE_MATCH_HEADER), entry.getETag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
             }
-
-            result.put("preferences", preferences);
-            write(result);
+            write(entry.getJson(), null);
         } catch (Exception e) {
             logger.error("Error retrieving preferences: {}", e.getMessage(), e);
             throw new IOException("Error retrieving preferences", e);
@@ -74,38 +75,59 @@ public class PreferencesService extends MetadataService {
         }
     }
 
-    private void processPreference(Preference pref, JSONObject preferences, List<String> handledIds) 
-            throws Exception {
+    /**
+     * Returns the serialized preferences of the given context, resolving them on a cache miss.
+     *
+     * @param context the context whose client, organization, user and role the preferences are
+     *                resolved for
+     * @return the serialized preferences
+     * @throws JSONException if the preferences cannot be serialized
+     */
+    static PreferenceCache.Entry getPreferences(OBContext context) throws JSONException {
+        String clientId = context.getCurrentClient().getId();
+        String organizationId = context.getCurrentOrganization().getId();
+        String userId = context.getUser().getId();
+        String roleId = context.getRole().getId();
+
+        return PreferenceCache.get(clientId, organizationId, userId, roleId,
+                () -> resolvePreferences(Preferences.getAllPreferences(clientId, organizationId, userId, roleId)));
+    }
+
+    /**
+     * Resolves the preference values, keeping the first value found for each key.
+     */
+    static Map<String, String> resolvePreferences(List<Preference> allPrefs) {
+        Map<String, String> preferences = new LinkedHashMap<>();
+
+        for (Preference pref : allPrefs) {
+            processPreference(pref, preferences);
+        }
+
+        return preferences;
+    }
+
+    private static void processPreference(Preference pref, Map<String, String> preferences) {
         String key = getPreferenceKey(pref);
         if (key == null) {
             return;
         }
 
-        String value = pref.getSearchKey();
+        String value = pref.getSearchKey() != null ? pref.getSearchKey() : "";
 
         // If the preference is window-specific, add a window-scoped entry
         if (pref.getWindow() != null) {
-            String windowKey = key + "_" + pref.getWindow().getId();
-            addPreferenceIfNotExists(windowKey, value, preferences, handledIds);
+            preferences.putIfAbsent(key + "_" + pref.getWindow().getId(), value);
         }
 
         // Add the global entry (non-window-scoped), skip duplicates
-        addPreferenceIfNotExists(key, value, preferences, handledIds);
+        preferences.putIfAbsent(key, value);
     }
 
-    private String getPreferenceKey(Preference pref) {
+    private static String getPreferenceKey(Preference pref) {
         if (pref.getProperty() != null) {
             return pref.getProperty();
         } else {
             return pref.getAttribute();
         }
     }
-
-    private void addPreferenceIfNotExists(String key, String value, JSONObject preferences, 
-            List<String> handledIds) throws Exception {
-        if (!handledIds.contains(key)) {
-            handledIds.add(key);
-            preferences.put(key, value != null ? value : "");
-        }
-    }
 }
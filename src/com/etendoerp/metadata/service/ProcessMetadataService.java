@@ -28,13 +28,17 @@ import org.openbravo.dal.core.OBContext;
 import org.openbravo.dal.service.OBDal;
 
 import com.etendoerp.metadata.builders.ProcessDefinitionBuilder;
+import com.etendoerp.metadata.cache.ProcessDefinitionCache;
+import com.etendoerp.metadata.data.SparseFieldset;
 import com.etendoerp.metadata.exceptions.InternalServerException;
 import com.etendoerp.metadata.exceptions.NotFoundException;
 
 /**
  * Service to return process definition metadata including parameters and configuration.
  * This service handles requests to /meta/process/{processId} and returns a JSON response
- * with all the process metadata needed to display the parameter form in the UI.
+ * with all the process metadata needed to display the parameter form in the UI, pruned with
+ * the {@link SparseFieldset} requested by the client. Definitions are shared per role and
+ * language through {@link ProcessDefinitionCache}.
  */
 public class ProcessMetadataService extends MetadataService {
     /**
@@ -49,6 +53,7 @@ public class ProcessMetadataService extends MetadataService {
 
     @Override
     public void process() throws IOException {
+        SparseFieldset fieldset = SparseFieldset.fromRequest(getRequest());
         try {
             OBContext.setAdminMode(true);
 
@@ -63,8 +68,10 @@ public class ProcessMetadataService extends MetadataService {
                 throw new NotFoundException("Process not found with id: " + processId);
             }
 
-            // Build and return JSON response
-            write(new ProcessDefinitionBuilder(process).toJSON());
+            // Build and return JSON response, reusing the definition cached for the role and language
+            OBContext context = OBContext.getOBContext();
+            write(fieldset.apply(ProcessDefinitionCache.getDefinition(process, context.getRole(),
+                    context.getLanguage(), () -> new ProcessDefinitionBuilder(process).toJSON())));
 
         } catch (JSONException e) {
             logger.error("Error building process metadata JSON: " + e.getMessage(), e);
@@ -60,9 +60,11 @@ public final class ServiceFactory {
         // Exact match services
         EXACT_MATCH_SERVICES.put(SESSION_PATH, SessionService::new);
         EXACT_MATCH_SERVICES.put(MENU_PATH, MenuService::new);
+        EXACT_MATCH_SERVICES.put(WINDOWS_PATH, WindowsService::new);
         EXACT_MATCH_SERVICES.put(MESSAGE_PATH, MessageService::new);
         EXACT_MATCH_SERVICES.put(LABELS_PATH, LabelsService::new);
         EXACT_MATCH_SERVICES.put(PREFERENCES_PATH, PreferencesService::new);
+        EXACT_MATCH_SERVICES.put(BOOTSTRAP_PATH, BootstrapService::new);
         EXACT_MATCH_SERVICES.put(WIDGET_CLASSES_PATH, WidgetClassesService::new);
         EXACT_MATCH_SERVICES.put(EMAIL_SEND_PATH, EmailSendService::new);
         EXACT_MATCH_SERVICES.put(EMAIL_CONFIG_PATH, EmailConfigService::new);
@@ -82,6 +84,7 @@ public final class ServiceFactory {
         PREFIX_MATCH_SERVICES.put(FAVORITES_PATH, FavoritesService::new);
         PREFIX_MATCH_SERVICES.put(WIDGET_DATA_PATH, WidgetDataService::new);
         PREFIX_MATCH_SERVICES.put(EMAIL_PATH, EmailService::new);
+        PREFIX_MATCH_SERVICES.put(COMBO_PATH, ComboDataService::new);
         PREFIX_MATCH_SERVICES.put(LEGACY_PATH, LegacyService::new);
     }
 
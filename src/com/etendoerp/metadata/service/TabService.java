@@ -21,14 +21,22 @@ import java.io.IOException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
 import org.openbravo.dal.core.OBContext;
 import org.openbravo.dal.service.OBDal;
 import org.openbravo.model.ad.ui.Tab;
 
 import com.etendoerp.metadata.builders.TabBuilder;
+import com.etendoerp.metadata.data.ReferenceDictionary;
+import com.etendoerp.metadata.data.SparseFieldset;
+import com.etendoerp.metadata.exceptions.InternalServerException;
 import com.etendoerp.metadata.exceptions.NotFoundException;
 
-/** Serves GET /meta/tab/{id} with tab metadata including fields. */
+/**
+ * Serves GET /meta/tab/{id} with tab metadata including fields, pruned with the
+ * {@link SparseFieldset} requested by the client.
+ */
 public class TabService extends MetadataService {
     /**
      * Creates a new TabService for the given request/response pair.
@@ -42,6 +50,7 @@ public class TabService extends MetadataService {
 
     @Override
     public void process() throws IOException {
+        SparseFieldset fieldset = SparseFieldset.fromRequest(getRequest());
         try {
             OBContext.setAdminMode(true);
             String pathInfo = getRequest().getPathInfo();
@@ -57,7 +66,13 @@ public class TabService extends MetadataService {
                 throw new NotFoundException("Tab not found: " + tabId);
             }
 
-            write(new TabBuilder(tab, null, false).toJSON());
+            JSONObject tabJson = new TabBuilder(tab, null, false).toJSON();
+            if (ReferenceDictionary.isRequested(getRequest())) {
+                tabJson = ReferenceDictionary.apply(tabJson);
+            }
+            write(fieldset.apply(tabJson));
+        } catch (JSONException e) {
+            throw new InternalServerException("Failed to shape tab metadata: " + e.getMessage(), e);
         } finally {
             OBContext.restorePreviousMode();
         }
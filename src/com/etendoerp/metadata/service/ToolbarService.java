@@ -17,6 +17,8 @@
 
 package com.etendoerp.metadata.service;
 
+import static com.etendoerp.metadata.utils.Constants.TOOLBAR_PATH;
+
 import com.etendoerp.metadata.builders.ToolbarBuilder;
 import com.etendoerp.metadata.exceptions.InternalServerException;
 import org.codehaus.jettison.json.JSONException;
@@ -28,6 +30,9 @@ import java.io.IOException;
 
 /**
  * Toolbar Service - Provides toolbar metadata in JSON format.
+ * <p>
+ * {@code /toolbar} returns every toolbar button; {@code /toolbar/{windowId}} returns only the
+ * active buttons of that window together with the active global ones.
  */
 public class ToolbarService extends MetadataService {
   /**
@@ -43,7 +48,8 @@ public class ToolbarService extends MetadataService {
   /**
    * Processes the request to retrieve toolbar metadata and writes it to the response.
    * The method sets the OBContext to admin mode to ensure it has the necessary permissions
-   * to access the toolbar data. It then constructs a ToolbarBuilder instance, converts it to
+   * to access the toolbar data. It then constructs a ToolbarBuilder instance for the window in
+   * the path, if any, converts it to
    * JSON, and writes the JSON to the response. If a JSONException occurs during this process,
    * it throws an InternalServerException. Finally, it restores the previous OBContext mode.
    *
@@ -53,11 +59,32 @@ public class ToolbarService extends MetadataService {
   public void process() throws IOException {
     try {
       OBContext.setAdminMode(true);
-      write(new ToolbarBuilder().toJSON());
+      write(new ToolbarBuilder(extractWindowId(getRequest().getPathInfo())).toJSON());
     } catch (JSONException e) {
       throw new InternalServerException(e.getMessage());
     } finally {
       OBContext.restorePreviousMode();
     }
   }
+
+  /**
+   * Extracts the window id from paths like {@code /toolbar/143}.
+   *
+   * @param pathInfo the request path
+   * @return the window id, or {@code null} when the path has no window segment
+   */
+  static String extractWindowId(String pathInfo) {
+    if (pathInfo == null) {
+      return null;
+    }
+    int index = pathInfo.indexOf(TOOLBAR_PATH + "/");
+    if (index == -1) {
+      return null;
+    }
+    String windowId = pathInfo.substring(index + TOOLBAR_PATH.length() + 1);
+    if (windowId.endsWith("/")) {
+      windowId = windowId.substring(0, windowId.length() - 1);
+    }
+    return windowId.isEmpty() ? null : windowId;
+  }
 }
@@ -18,6 +18,11 @@
 package com.etendoerp.metadata.service;
 
 import com.etendoerp.metadata.builders.WindowBuilder;
+import com.etendoerp.metadata.data.ReferenceDictionary;
+import com.etendoerp.metadata.data.SparseFieldset;
+import com.etendoerp.metadata.exceptions.InternalServerException;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
 import org.openbravo.base.exception.OBException;
 import org.openbravo.dal.core.OBContext;
 
@@ -33,6 +38,11 @@ import java.io.IOException;
  * Creates a new {@code WindowService} instance using the given request and response.
  */
 public class WindowService extends MetadataService {
+    static final String TABS_PARAMETER = "tabs";
+    static final String TABS_SKELETON = "skeleton";
+    private static final String WINDOW_SEGMENT = "window";
+    private static final String TAB_SEGMENT = "tab";
+
     /**
      * Creates a new WindowService.
      *
@@ -47,7 +57,13 @@ public class WindowService extends MetadataService {
      * Processes the service request for a Window metadata.
      * <p>
      * This method extracts the window identifier from the request path, validates it,
-     * and writes the corresponding Window metadata in JSON format to the response.
+     * and writes the corresponding Window metadata in JSON format to the response, pruned
+     * with the {@link SparseFieldset} requested by the client.
+     * </p>
+     * <p>
+     * With {@code tabs=skeleton}, only the first tab includes its fields; the other tabs are
+     * returned as headers and their fields are served by {@code /window/{id}/tab/{tabId}},
+     * with the role access of the window applied.
      * </p>
      *
      * @throws IOException if an error occurs while writing the response
@@ -56,15 +72,25 @@ public class WindowService extends MetadataService {
     @Override
     public void process() throws IOException {
         String path = getRequest().getPathInfo();
-        String windowId = extractWindowId(path);
+        String windowId = extractSegmentAfter(path, WINDOW_SEGMENT);
+        String tabId = extractSegmentAfter(path, TAB_SEGMENT);
 
         if (windowId == null || windowId.isEmpty()) {
             throw new OBException("Invalid window id in URL: " + path);
         }
 
+        SparseFieldset fieldset = SparseFieldset.fromRequest(getRequest());
         try {
             OBContext.setAdminMode(true);
-            write(new WindowBuilder(windowId).toJSON());
+            boolean skeleton = TABS_SKELETON.equals(getRequest().getParameter(TABS_PARAMETER));
+            WindowBuilder builder = new WindowBuilder(windowId, skeleton);
+            JSONObject metadata = tabId != null ? builder.toTabJSON(tabId) : builder.toJSON();
+            if (ReferenceDictionary.isRequested(getRequest())) {
+                metadata = ReferenceDictionary.apply(metadata);
+            }
+            write(fieldset.apply(metadata));
+        } catch (JSONException e) {
+            throw new InternalServerException("Failed to shape window metadata: " + e.getMessage(), e);
         } finally {
             OBContext.restorePreviousMode();
         }
@@ -72,30 +98,31 @@ public class WindowService extends MetadataService {
 
 
     /**
-     * Extracts the window identifier from the given request path.
+     * Extracts the identifier following the given segment of the request path.
      * <p>
-     * The method splits the path into segments and searches for the "window"
-     * segment. The window identifier is expected to be the following segment.
+     * The method splits the path into segments and searches for the named
+     * segment. The identifier is expected to be the following segment.
      * If the identifier contains query parameters, they are removed.
      * </p>
      *
      * <pre>
      * Example:
-     * Input path: /com.etendoerp.metadata.meta/window/115
-     * Segments: ["", "com.etendoerp.metadata.meta", "window", "115"]
-     * Result: "115"
+     * Input path: /com.etendoerp.metadata.meta/window/115/tab/186
+     * Segments: ["", "com.etendoerp.metadata.meta", "window", "115", "tab", "186"]
+     * Result: "115" for "window", "186" for "tab"
      * </pre>
      *
      * @param pathInfo the path info from the HTTP request (may be {@code null})
-     * @return the extracted window identifier, or {@code null} if not found
+     * @param segment  the name of the segment preceding the identifier
+     * @return the extracted identifier, or {@code null} if not found
      */
-    private String extractWindowId(String pathInfo) {
+    private String extractSegmentAfter(String pathInfo, String segment) {
         if (pathInfo == null) {
             return null;
         }
         String[] segments = pathInfo.split("/");
         for (int i = 0; i < segments.length; i++) {
-            if ("window".equals(segments[i]) && i + 1 < segments.length && !segments[i + 1].isEmpty()) {
+            if (segment.equals(segments[i]) && i + 1 < segments.length && !segments[i + 1].isEmpty()) {
                 String id = segments[i + 1];
                 int idx = id.indexOf('?');
                 if (idx != -1) {
@@ -0,0 +1,133 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openbravo.dal.core.OBContext;
+
+import com.etendoerp.metadata.builders.WindowBuilder;
+import com.etendoerp.metadata.data.ReferenceDictionary;
+import com.etendoerp.metadata.data.SparseFieldset;
+import com.etendoerp.metadata.exceptions.InternalServerException;
+import com.etendoerp.metadata.exceptions.UnprocessableContentException;
+import com.etendoerp.metadata.utils.Utils;
+
+/**
+ * Serves GET /meta/windows?ids={id1},{id2},... with the metadata of several windows in one
+ * response.
+ * <p>
+ * The windows are built in one request context, so the context setup, the role access matrix
+ * and the field caches are resolved once for the whole set. Windows the role cannot open, or
+ * that do not exist, are reported under {@code errors} instead of failing the request. The
+ * {@code profile}, {@code fields} and {@code references} parameters behave as in
+ * {@link WindowService}; with {@code references=shared} a single dictionary is shared by all
+ * the windows of the response.
+ */
+public class WindowsService extends MetadataService {
+    static final String IDS_PARAMETER = "ids";
+    static final String WINDOWS = "windows";
+    static final String ERRORS = "errors";
+    /** Maximum number of windows served by one request. */
+    static final int MAX_WINDOWS = 25;
+
+    /**
+     * Creates a new WindowsService for the given request/response pair.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     */
+    public WindowsService(HttpServletRequest request, HttpServletResponse response) {
+        super(request, response);
+    }
+
+    @Override
+    public void process() throws IOException {
+        Set<String> windowIds = parseIds(getRequest().getParameter(IDS_PARAMETER));
+        SparseFieldset fieldset = SparseFieldset.fromRequest(getRequest());
+
+        try {
+            OBContext.setAdminMode(true);
+            List<JSONObject> windows = new ArrayList<>(windowIds.size());
+            JSONArray errors = new JSONArray();
+            for (String windowId : windowIds) {
+                try {
+                    windows.add(new WindowBuilder(windowId).toJSON());
+                } catch (RuntimeException e) {
+                    int status = Utils.getHttpStatusFor(e);
+                    if (status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                        throw e;
+                    }
+                    errors.put(new JSONObject()
+                            .put("id", windowId)
+                            .put("status", status)
+                            .put("message", e.getMessage()));
+                }
+            }
+
+            JSONObject result = new JSONObject();
+            if (ReferenceDictionary.isRequested(getRequest())) {
+                result.put(ReferenceDictionary.DICTIONARY_KEY, ReferenceDictionary.applyAll(windows));
+            }
+            JSONArray windowsJson = new JSONArray();
+            for (JSONObject window : windows) {
+                windowsJson.put(fieldset.apply(window));
+            }
+            result.put(WINDOWS, windowsJson);
+            result.put(ERRORS, errors);
+            write(result);
+        } catch (JSONException e) {
+            throw new InternalServerException("Failed to build windows metadata: " + e.getMessage(), e);
+        } finally {
+            OBContext.restorePreviousMode();
+        }
+    }
+
+    /**
+     * Parses the comma-separated window IDs, dropping blanks and duplicates while keeping the
+     * requested order.
+     */
+    private static Set<String> parseIds(String ids) {
+        Set<String> windowIds = new LinkedHashSet<>();
+        if (ids != null) {
+            for (String id : ids.split(",")) {
+                if (StringUtils.isNotBlank(id)) {
+                    windowIds.add(id.trim());
+                }
+            }
+        }
+        if (windowIds.isEmpty()) {
+            throw new UnprocessableContentException("At least one window id is required in '" + IDS_PARAMETER + "'");
+        }
+        if (windowIds.size() > MAX_WINDOWS) {
+            throw new UnprocessableContentException("At most " + MAX_WINDOWS + " windows can be requested at once");
+        }
+        return windowIds;
+    }
+}
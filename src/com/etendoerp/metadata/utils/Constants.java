@@ -37,11 +37,16 @@ public class Constants {
     public static final String SESSION_PATH = "/session";
     public static final String MENU_PATH = "/menu";
     public static final String WINDOW_PATH = "/window/";
+    public static final String WINDOWS_PATH = "/windows";
     public static final String TAB_PATH = "/tab/";
     public static final String LANGUAGE_PATH = "/language";
     public static final String MESSAGE_PATH = "/message";
     public static final String LABELS_PATH = "/labels";
+    public static final String LABELS_SINCE_PARAMETER = "since";
+    public static final String LABELS_MODULE_PARAMETER = "module";
+    public static final String LABELS_PARTITIONS_PARAMETER = "partitions";
     public static final String PREFERENCES_PATH = "/preferences";
+    public static final String BOOTSTRAP_PATH = "/bootstrap";
     public static final boolean DEFAULT_CHECKON_SAVE = true;
     public static final boolean DEFAULT_EDITABLE_FIELD = true;
     public static final String LIST_REFERENCE_ID = "17";
@@ -99,6 +104,11 @@ public class Constants {
     public static final String CACHE_CONTROL_HEADER = "Cache-Control";
     public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
     public static final String CACHE_CONTROL_PRIVATE_MUST_REVALIDATE = "private, must-revalidate";
+    public static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    public static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    public static final String VARY_HEADER = "Vary";
+    public static final String GZIP_ENCODING = "gzip";
+    public static final String LABELS_VERSION_HEADER = "X-Labels-Version";
     public static final String LOCATION_PATH = "/location/";
     public static final String EMAIL_PATH = "/email";
     public static final String EMAIL_SEND_PATH = "/email/send";
@@ -116,6 +126,13 @@ public class Constants {
     public static final String WIDGET_DATA_PATH = "/widget/";
     public static final String WIDGET_CLASSES_PATH = "/widget/classes";
     public static final String FAVORITES_PATH = "/favorites";
+    public static final String COMBO_PATH = "/combo/";
+    /**
+     * Selector JSON key carrying the path of the paged combo data endpoint for a combo table
+     * selector (e.g. {@code /combo/<parameterId>}). Values are fetched when the combo is opened
+     * instead of while building the metadata.
+     */
+    public static final String COMBO_DATA_PATH_PROPERTY = "comboDataPath";
 
     // Audit Fields
     public static final String CREATION_DATE = "creationDate";
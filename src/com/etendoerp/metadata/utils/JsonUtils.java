@@ -0,0 +1,55 @@
+/*
+ *************************************************************************
+ * The contents of this file are subject to the Etendo License
+ * (the "License"), you may not use this file except in compliance with
+ * the License.
+ * You may obtain a copy of the License at
+ * https://github.com/etendosoftware/etendo_core/blob/main/legal/Etendo_license.txt
+ * Software distributed under the License is distributed on an
+ * "AS IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing rights
+ * and limitations under the License.
+ * All portions are Copyright © 2021-2026 FUTIT SERVICES, S.L
+ * All Rights Reserved.
+ * Contributor(s): Futit Services S.L.
+ *************************************************************************
+ */
+
+package com.etendoerp.metadata.utils;
+
+import java.util.Iterator;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+/**
+ * Helpers for JSON values shared by the metadata caches.
+ * <p>
+ * Cached metadata (process and selector definitions, field maps, audit field templates) is
+ * handed out as a top-level copy of the cached object. The copy is the caller's: its keys can be
+ * added, replaced or removed. Nested objects and arrays are the cached ones, shared by every
+ * request, and must never be modified; callers that need to change a nested value put a new
+ * object under its key instead.
+ */
+public class JsonUtils {
+    private JsonUtils() {
+    }
+
+    /**
+     * Returns a top-level copy of a JSON object. Nested objects and arrays are shared with the
+     * source, see the class documentation.
+     *
+     * @param source the object to copy
+     * @return a new object with the same keys and values
+     * @throws JSONException if a key cannot be copied
+     */
+    public static JSONObject topLevelCopy(JSONObject source) throws JSONException {
+        JSONObject copy = new JSONObject();
+        Iterator<?> keys = source.keys();
+        while (keys.hasNext()) {
+            String key = (String) keys.next();
+            copy.put(key, source.opt(key));
+        }
+        return copy;
+    }
+}
@@ -61,6 +61,7 @@ import org.openbravo.service.json.DataToJsonConverter;
 import java.io.BufferedReader;
 
 import com.etendoerp.metadata.builders.ProcessDefinitionBuilder;
+import com.etendoerp.metadata.cache.ProcessDefinitionCache;
 import com.etendoerp.metadata.exceptions.MethodNotAllowedException;
 import com.etendoerp.metadata.exceptions.NotFoundException;
 import com.etendoerp.metadata.exceptions.UnauthorizedException;
@@ -190,8 +191,10 @@ public class Utils {
             return new JSONObject();
         }
 
-        JSONObject processJson = new ProcessDefinitionBuilder(process).toJSON();
-        Language language = OBContext.getOBContext().getLanguage();
+        OBContext context = OBContext.getOBContext();
+        Language language = context.getLanguage();
+        JSONObject processJson = ProcessDefinitionCache.getDefinition(process, context.getRole(), language,
+                () -> new ProcessDefinitionBuilder(process).toJSON());
         Column column = field.getColumn();
 
         processJson.put("fieldId", field.getId());
@@ -220,6 +223,9 @@ public class Utils {
 
     /**
      * Sets up the OBContext with language and other context information from the HTTP request.
+     * <p>
+     * No servlet or filter of this module calls this method; the request context of the
+     * {@code /meta} endpoints is set up before they are reached.
      *
      * @param request the HTTP servlet request containing context information
      */
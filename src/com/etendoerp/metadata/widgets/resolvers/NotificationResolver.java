@@ -17,6 +17,7 @@
 
 package com.etendoerp.metadata.widgets.resolvers;
 
+import com.etendoerp.metadata.cache.NotificationCache;
 import com.etendoerp.metadata.widgets.WidgetDataContext;
 import com.etendoerp.metadata.widgets.WidgetDataResolver;
 import org.codehaus.jettison.json.JSONArray;
@@ -24,10 +25,21 @@ import org.codehaus.jettison.json.JSONObject;
 import org.hibernate.query.Query;
 import org.openbravo.dal.service.OBDal;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 /**
- * Queries AD_Note for the current user's notifications.
+ * Serves the current user's notifications from {@link NotificationCache}.
+ * The database (AN_Note) is only queried on a cold start, when the user's cached entry is
+ * missing, expired or invalidated, or when more rows than the cached buffer are requested.
+ * <p>
+ * Long-polling: when the client sends the {@code sinceVersion} it already holds together with
+ * {@code waitMs}, the call blocks (up to {@link #MAX_WAIT_MILLIS}) until the user's
+ * notifications change, so clients wake up only when their count changes. A waiting poll keeps
+ * its servlet worker thread, and the database connection of its transaction, for the whole wait;
+ * the cap is kept short so parked clients cannot exhaust the connector or connection pools.
+ * <p>
  * Priority mapping: 0 = normal, 1 = high, 2 = success.
  */
 public class NotificationResolver implements WidgetDataResolver {
@@ -54,10 +66,15 @@ public class NotificationResolver implements WidgetDataResolver {
 
     private static final String PARAM_USER_ID = "userId";
 
+    static final long MAX_WAIT_MILLIS = 5_000L;
+
     @Override
     public JSONObject resolve(WidgetDataContext ctx) throws Exception {
         try {
             return fetchNotifications(ctx);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return emptyResult();
         } catch (Exception e) {
             // AN_Note may not be mapped if the notifications module is not installed
             return emptyResult();
@@ -68,11 +85,43 @@ public class NotificationResolver implements WidgetDataResolver {
         String userId = ctx.getObContext().getUser().getId();
         int limit = parseIntParam(ctx.param("rowsNumber"), 10);
 
-        List<Object[]> rows = executeItemsQuery(userId, limit);
+        NotificationCache.Snapshot snapshot = getSnapshot(userId);
+        long sinceVersion = parseLongParam(ctx.param("sinceVersion"), -1L);
+        long waitMillis = Math.min(parseLongParam(ctx.param("waitMs"), 0L), MAX_WAIT_MILLIS);
+
+        if (sinceVersion == snapshot.getVersion() && waitMillis > 0) {
+            NotificationCache.awaitChange(userId, sinceVersion, waitMillis);
+            snapshot = getSnapshot(userId);
+        }
+
+        List<NotificationCache.Item> items = limit <= NotificationCache.BUFFER_SIZE
+                ? snapshot.getItems().subList(0, Math.min(limit, snapshot.getItems().size()))
+                : toItems(executeItemsQuery(userId, limit));
+
+        return new JSONObject()
+                .put("items", buildItemsArray(items))
+                .put("totalCount", snapshot.getUnreadCount())
+                .put("version", snapshot.getVersion());
+    }
+
+    private NotificationCache.Snapshot getSnapshot(String userId) {
+        NotificationCache.Snapshot snapshot = NotificationCache.get(userId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long loadStamp = NotificationCache.loadStamp(userId);
+        List<NotificationCache.Item> items = toItems(executeItemsQuery(userId, NotificationCache.BUFFER_SIZE));
         Long total = executeCountQuery(userId);
+        return NotificationCache.prime(userId, loadStamp, total != null ? total : 0L, items);
+    }
 
-        JSONArray items = buildItemsArray(rows);
-        return new JSONObject().put("items", items).put("totalCount", total != null ? total : 0);
+    private List<NotificationCache.Item> toItems(List<Object[]> rows) {
+        List<NotificationCache.Item> items = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            items.add(new NotificationCache.Item(row[0] != null ? row[0].toString() : null, row[1],
+                    row[2] instanceof Date ? (Date) row[2] : null));
+        }
+        return items;
     }
 
     private List<Object[]> executeItemsQuery(String userId, int limit) {
@@ -90,13 +139,14 @@ public class NotificationResolver implements WidgetDataResolver {
         return countQ.uniqueResult();
     }
 
-    private JSONArray buildItemsArray(List<Object[]> rows) throws Exception {
+    private JSONArray buildItemsArray(List<NotificationCache.Item> notifications) throws Exception {
         JSONArray items = new JSONArray();
-        for (Object[] row : rows) {
+        for (NotificationCache.Item item : notifications) {
+            Date time = item.getTime();
             items.put(new JSONObject()
-                    .put("text",     row[0])
-                    .put("priority", mapPriority(row[1]))
-                    .put("time",     row[2] != null ? row[2].toString() : null));
+                    .put("text",     item.getText())
+                    .put("priority", mapPriority(item.getPriority()))
+                    .put("time",     time != null ? time.toString() : null));
         }
         return items;
     }
@@ -116,4 +166,8 @@ public class NotificationResolver implements WidgetDataResolver {
     private int parseIntParam(String val, int def) {
         try { return val != null ? Integer.parseInt(val) : def; } catch (Exception e) { return def; }
     }
+
+    private long parseLongParam(String val, long def) {
+        try { return val != null ? Long.parseLong(val) : def; } catch (Exception e) { return def; }
+    }
 }